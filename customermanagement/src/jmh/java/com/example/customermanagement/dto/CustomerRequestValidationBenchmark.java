@@ -0,0 +1,77 @@
+package com.example.customermanagement.dto;
+
+import com.example.customermanagement.constants.CustomerConstants;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Bean validation of {@link CustomerRequest} as done for every create, update and batch item, and the
+ * {@code EMAIL_REGEX} match on its own to show its share of the total.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CustomerRequestValidationBenchmark {
+
+    private static final Pattern EMAIL_PATTERN = Pattern.compile(CustomerConstants.EMAIL_REGEX);
+
+    private ValidatorFactory validatorFactory;
+    private Validator validator;
+    private CustomerRequest valid;
+    private CustomerRequest invalidEmail;
+
+    @Setup
+    public void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+        valid = request("vimalkumar.customer+news@example-mail.co.in");
+        invalidEmail = request("vimalkumar.customer at example-mail.co.in");
+    }
+
+    @TearDown
+    public void tearDown() {
+        validatorFactory.close();
+    }
+
+    private static CustomerRequest request(String email) {
+        CustomerRequest request = new CustomerRequest();
+        request.setName("Vimal Kumar");
+        request.setEmail(email);
+        request.setAnnualSpend(new BigDecimal("1234.50"));
+        return request;
+    }
+
+    @Benchmark
+    public Object validateValid() {
+        return validator.validate(valid);
+    }
+
+    @Benchmark
+    public Object validateInvalidEmail() {
+        return validator.validate(invalidEmail);
+    }
+
+    @Benchmark
+    public boolean emailRegex() {
+        return EMAIL_PATTERN.matcher(valid.getEmail()).matches();
+    }
+}
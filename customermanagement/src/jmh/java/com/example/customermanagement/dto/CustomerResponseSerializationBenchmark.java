@@ -0,0 +1,81 @@
+package com.example.customermanagement.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of customer lists and pages with the same mapper setup Spring MVC uses,
+ * written to a discarding stream so only encoding is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CustomerResponseSerializationBenchmark {
+
+    @Param({"1", "50", "500"})
+    public int size;
+
+    private final OutputStream discard = OutputStream.nullOutputStream();
+    private ObjectWriter listWriter;
+    private ObjectWriter pageWriter;
+    private List<CustomerResponse> customers;
+    private CustomerPageResponse page;
+
+    @Setup
+    public void setUp() {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        LocalDateTime now = LocalDateTime.now();
+        customers = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            CustomerResponse customer = new CustomerResponse();
+            customer.setId(UUID.randomUUID());
+            customer.setName("Customer " + i);
+            customer.setEmail("customer" + i + "@example.com");
+            customer.setAnnualSpend(BigDecimal.valueOf(123_456 + i, 2));
+            customer.setLastPurchaseDate(now.minusDays(i));
+            customer.setTier("Gold");
+            customers.add(customer);
+        }
+        listWriter = objectMapper.writerFor(objectMapper.getTypeFactory()
+                        .constructCollectionType(List.class, CustomerResponse.class))
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        pageWriter = objectMapper.writerFor(CustomerPageResponse.class)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        page = new CustomerPageResponse(customers, "AAAAAAAAAAAAAAAAAAAAAA");
+    }
+
+    @Benchmark
+    public void serializeList() throws IOException {
+        listWriter.writeValue(discard, customers);
+    }
+
+    @Benchmark
+    public void serializePage() throws IOException {
+        pageWriter.writeValue(discard, page);
+    }
+}
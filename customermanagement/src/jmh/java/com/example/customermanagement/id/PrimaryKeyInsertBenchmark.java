@@ -0,0 +1,81 @@
+package com.example.customermanagement.id;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Insert throughput into an H2 table keyed by UUID, comparing random (version 4) keys with
+ * {@link UuidV7Generator}. The table is never truncated, so each iteration inserts into a bigger
+ * primary key index; compare the per-iteration scores to see how each generator holds up as it grows.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 10, time = 3)
+@Fork(1)
+public class PrimaryKeyInsertBenchmark {
+
+    private static final int BATCH = 1000;
+
+    @Param({"random", "v7"})
+    public String generator;
+
+    private Supplier<UUID> ids;
+    private Connection connection;
+    private PreparedStatement insert;
+    private int row;
+
+    @Setup
+    public void setUp() throws SQLException {
+        ids = "v7".equals(generator) ? UuidV7Generator::next : UUID::randomUUID;
+        connection = DriverManager.getConnection("jdbc:h2:mem:pk_" + generator + ";DB_CLOSE_DELAY=-1", "sa", "");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("create table customers (id uuid primary key, name varchar(255), email varchar(255))");
+        }
+        connection.setAutoCommit(false);
+        insert = connection.prepareStatement("insert into customers (id, name, email) values (?, ?, ?)");
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("drop all objects");
+        }
+        connection.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public int insertBatch() throws SQLException {
+        for (int i = 0; i < BATCH; i++, row++) {
+            insert.setObject(1, ids.get());
+            insert.setString(2, "Customer " + row);
+            insert.setString(3, "customer" + row + "@example.com");
+            insert.addBatch();
+        }
+        int[] counts = insert.executeBatch();
+        connection.commit();
+        return counts.length;
+    }
+}
@@ -0,0 +1,224 @@
+package com.example.customermanagement.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Closed-loop HTTP load test against a running instance. Seeds customers through the batch endpoint,
+ * then keeps {@code --concurrency} clients issuing a read-heavy mix (lookup by id, first list page,
+ * name search, update) for {@code --duration} seconds after a warmup, and reports throughput and
+ * latency percentiles. Each run appends one JSON line to {@code --out} so the platform-thread and
+ * virtual-thread modes can be compared run by run.
+ */
+public class LoadTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        String url = options.getOrDefault("url", "http://localhost:8080");
+        String label = options.getOrDefault("label", "run");
+        int concurrency = Integer.parseInt(options.getOrDefault("concurrency", "200"));
+        int warmupSeconds = Integer.parseInt(options.getOrDefault("warmup", "10"));
+        int durationSeconds = Integer.parseInt(options.getOrDefault("duration", "30"));
+        int seed = Integer.parseInt(options.getOrDefault("seed", "2000"));
+        Path out = Path.of(options.getOrDefault("out", "target/load-result.json"));
+
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        String token = UUID.randomUUID().toString().substring(0, 8);
+        List<String> ids = seed(client, url, token, seed);
+        System.out.printf("Seeded %d customers, running %d clients for %ds after %ds warmup%n",
+                ids.size(), concurrency, durationSeconds, warmupSeconds);
+
+        long start = System.nanoTime();
+        long measureFrom = start + Duration.ofSeconds(warmupSeconds).toNanos();
+        long end = measureFrom + Duration.ofSeconds(durationSeconds).toNanos();
+        Recorder[] recorders = new Recorder[concurrency];
+        CountDownLatch done = new CountDownLatch(concurrency);
+        ExecutorService clients = Executors.newFixedThreadPool(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            Recorder recorder = recorders[i] = new Recorder();
+            clients.execute(() -> {
+                try {
+                    run(client, url, token, ids, measureFrom, end, recorder);
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        done.await();
+        clients.shutdown();
+
+        Map<String, Object> result = summarize(label, concurrency, durationSeconds, recorders);
+        System.out.println(MAPPER.writerWithDefaultPrettyPrinter().writeValueAsString(result));
+        Files.createDirectories(out.toAbsolutePath().getParent());
+        Files.writeString(out, MAPPER.writeValueAsString(result) + "\n",
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    private static List<String> seed(HttpClient client, String url, String token, int count)
+            throws IOException, InterruptedException {
+        ArrayNode customers = MAPPER.createArrayNode();
+        for (int i = 0; i < count; i++) {
+            ObjectNode customer = customers.addObject();
+            customer.put("name", "Load " + token + " Customer " + i);
+            customer.put("email", "load." + token + "." + i + "@example.com");
+            customer.put("annualSpend", ThreadLocalRandom.current().nextInt(20_000));
+        }
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(URI.create(url + "/customers/batch"))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(MAPPER.writeValueAsString(customers)))
+                        .build(),
+                HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() >= 300) {
+            throw new IllegalStateException("Seeding failed with " + response.statusCode() + ": " + response.body());
+        }
+        List<String> ids = new ArrayList<>(count);
+        for (JsonNode item : MAPPER.readTree(response.body()).path("results")) {
+            if (item.hasNonNull("id")) {
+                ids.add(item.get("id").asText());
+            }
+        }
+        return ids;
+    }
+
+    private static void run(HttpClient client, String url, String token, List<String> ids,
+                            long measureFrom, long end, Recorder recorder) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (true) {
+            HttpRequest request = next(url, token, ids, random);
+            long sent = System.nanoTime();
+            if (sent >= end) {
+                return;
+            }
+            String error = null;
+            try {
+                int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                if (status >= 400) {
+                    error = "HTTP " + status;
+                }
+            } catch (IOException e) {
+                error = e.getClass().getSimpleName();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (sent >= measureFrom) {
+                recorder.record(System.nanoTime() - sent, error);
+            }
+        }
+    }
+
+    private static HttpRequest next(String url, String token, List<String> ids, ThreadLocalRandom random) {
+        String id = ids.get(random.nextInt(ids.size()));
+        int pick = random.nextInt(100);
+        if (pick < 60) {
+            return HttpRequest.newBuilder(URI.create(url + "/customers/" + id)).GET().build();
+        }
+        if (pick < 75) {
+            return HttpRequest.newBuilder(URI.create(url + "/customers?size=20")).GET().build();
+        }
+        if (pick < 90) {
+            return HttpRequest.newBuilder(URI.create(url + "/customers?size=20&name=customer+" + random.nextInt(100)))
+                    .GET().build();
+        }
+        int i = random.nextInt(1_000_000);
+        String body = "{\"name\":\"Load " + token + " Customer u" + i + "\",\"email\":\"load." + token + ".u" + id
+                + "@example.com\",\"annualSpend\":" + random.nextInt(20_000) + "}";
+        return HttpRequest.newBuilder(URI.create(url + "/customers/" + id))
+                .header("Content-Type", "application/json")
+                .PUT(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private static Map<String, Object> summarize(String label, int concurrency, int durationSeconds,
+                                                 Recorder[] recorders) {
+        int total = 0;
+        Map<String, Integer> errors = new TreeMap<>();
+        for (Recorder recorder : recorders) {
+            total += recorder.count;
+            recorder.errors.forEach((error, count) -> errors.merge(error, count, Integer::sum));
+        }
+        long[] latencies = new long[total];
+        int offset = 0;
+        for (Recorder recorder : recorders) {
+            System.arraycopy(recorder.latencies, 0, latencies, offset, recorder.count);
+            offset += recorder.count;
+        }
+        Arrays.sort(latencies);
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("label", label);
+        result.put("concurrency", concurrency);
+        result.put("durationSeconds", durationSeconds);
+        result.put("requests", total);
+        result.put("errors", errors);
+        result.put("throughputPerSecond", Math.round(total / (double) durationSeconds));
+        result.put("p50Millis", percentile(latencies, 0.50));
+        result.put("p99Millis", percentile(latencies, 0.99));
+        result.put("p999Millis", percentile(latencies, 0.999));
+        result.put("maxMillis", total == 0 ? 0 : latencies[total - 1] / 1e6);
+        return result;
+    }
+
+    private static double percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return Math.round(sorted[Math.max(index, 0)] / 1e3) / 1e3;
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            if (!args[i].startsWith("--")) {
+                throw new IllegalArgumentException("Expected --option value pairs but got " + args[i]);
+            }
+            options.put(args[i].substring(2), args[i + 1]);
+        }
+        return options;
+    }
+
+    private static final class Recorder {
+        private long[] latencies = new long[1 << 14];
+        private int count;
+        private final Map<String, Integer> errors = new HashMap<>();
+
+        void record(long nanos, String error) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = nanos;
+            if (error != null) {
+                errors.merge(error, 1, Integer::sum);
+            }
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.example.customermanagement.logging;
+
+import com.example.customermanagement.CustomermanagementApplication;
+import com.example.customermanagement.controller.CustomerController;
+import com.example.customermanagement.dto.CustomerRequest;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Requests per second through {@link RequestSummaryFilter} and {@link CustomerController} with the
+ * default logging setup against the {@code prod} profile. A cached lookup by id shows the logging
+ * share of a cheap request; a create adds the SQL echo. Standard output is redirected to a file for
+ * the fork, as it would be to a container log, and its size is printed at teardown.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RequestLoggingBenchmark {
+
+    private static final AtomicLong CREATED = new AtomicLong();
+
+    @Param({"default", "prod"})
+    public String profile;
+
+    private PrintStream originalOut;
+    private Path directory;
+    private Path log;
+    private ConfigurableApplicationContext context;
+    private RequestSummaryFilter filter;
+    private HttpServlet getById;
+    private HttpServlet create;
+
+    @Setup
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("request-logging-benchmark");
+        log = directory.resolve("stdout.log");
+        originalOut = System.out;
+        System.setOut(new PrintStream(new FileOutputStream(log.toFile()), true));
+        context = new SpringApplicationBuilder(CustomermanagementApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles(profile)
+                .run("--spring.datasource.url=jdbc:h2:mem:request_logging_benchmark",
+                        "--customer.ingest.log-path=" + directory.resolve("purchase-events.log"));
+        filter = context.getBean(RequestSummaryFilter.class);
+        CustomerController controller = context.getBean(CustomerController.class);
+        UUID id = controller.createCustomer(request("seed@example.com")).getBody().getId();
+        getById = new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse resp) {
+                controller.getCustomerById(id);
+            }
+        };
+        create = new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse resp) {
+                controller.createCustomer(request("created" + CREATED.incrementAndGet() + "@example.com"));
+            }
+        };
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        context.close();
+        System.out.flush();
+        System.setOut(originalOut);
+        System.out.printf("%n%s profile wrote %,d bytes of log%n", profile, Files.size(log));
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    private static CustomerRequest request(String email) {
+        CustomerRequest request = new CustomerRequest();
+        request.setName("Logging Benchmark");
+        request.setEmail(email);
+        request.setAnnualSpend(new BigDecimal("1500"));
+        return request;
+    }
+
+    private Object handle(String method, String route, HttpServlet servlet) throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, route);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain(servlet));
+        return response;
+    }
+
+    @Benchmark
+    public Object getCustomerById() throws ServletException, IOException {
+        return handle("GET", "/customers/{id}", getById);
+    }
+
+    @Benchmark
+    public Object createCustomer() throws ServletException, IOException {
+        return handle("POST", "/customers", create);
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.customermanagement.repository;
+
+import com.example.customermanagement.CustomermanagementApplication;
+import com.example.customermanagement.model.Customer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Limit;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Repository lookups against the embedded H2 database, with the application context started once per
+ * fork and the customer cache bypassed. Each lookup picks a random seeded row. Hibernate's query path
+ * takes many iterations to reach C2, hence the long warmup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 10, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CustomerRepositoryBenchmark {
+
+    private static final int ROWS = 10_000;
+
+    private ConfigurableApplicationContext context;
+    private CustomerRepository customerRepository;
+    private UUID[] ids;
+    private String[] emails;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(CustomermanagementApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.jpa.show-sql=false",
+                        "--spring.datasource.url=jdbc:h2:mem:customer_benchmark",
+                        "--logging.level.root=WARN",
+                        "--logging.level.com.example.customermanagement=WARN");
+        customerRepository = context.getBean(CustomerRepository.class);
+        List<Customer> customers = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            Customer customer = new Customer();
+            customer.setName("Customer " + i);
+            customer.setEmail("customer" + i + "@example.com");
+            customer.setAnnualSpend(BigDecimal.valueOf(i));
+            customers.add(customer);
+        }
+        List<Customer> saved = customerRepository.saveAll(customers);
+        ids = saved.stream().map(Customer::getId).toArray(UUID[]::new);
+        emails = saved.stream().map(Customer::getEmail).toArray(String[]::new);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Object findById() {
+        return customerRepository.findById(ids[ThreadLocalRandom.current().nextInt(ROWS)]);
+    }
+
+    @Benchmark
+    public Object findByEmail() {
+        return customerRepository.findByEmail(emails[ThreadLocalRandom.current().nextInt(ROWS)]);
+    }
+
+    @Benchmark
+    public Object keysetPage() {
+        return customerRepository.findByIdGreaterThanOrderByIdAsc(ids[ThreadLocalRandom.current().nextInt(ROWS)], Limit.of(50));
+    }
+
+    @Benchmark
+    public Object namePrefixPage() {
+        return customerRepository.findByNameNormalizedStartingWithOrderByNameNormalizedAscIdAsc(
+                "customer " + ThreadLocalRandom.current().nextInt(100), Limit.of(50));
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.customermanagement.repository;
+
+import com.example.customermanagement.CustomermanagementApplication;
+import com.example.customermanagement.model.Customer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Insert and lookup throughput of the in-memory database against the file-backed {@code h2-file}
+ * profile, with the customer cache bypassed. The file database is created in a fresh temporary
+ * directory per fork and migrated by Flyway like a real start; inserts commit one row each.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 10, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StorageBenchmark {
+
+    private static final int ROWS = 10_000;
+    private static final AtomicLong INSERTED = new AtomicLong();
+
+    @Param({"mem", "file"})
+    public String storage;
+
+    private Path directory;
+    private ConfigurableApplicationContext context;
+    private CustomerRepository customerRepository;
+    private UUID[] ids;
+    private String[] emails;
+
+    @Setup
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("customer-storage-benchmark");
+        String url = storage.equals("file")
+                ? "jdbc:h2:file:" + directory.resolve("customer_db") + ";DB_CLOSE_ON_EXIT=FALSE"
+                : "jdbc:h2:mem:customer_storage_benchmark";
+        context = new SpringApplicationBuilder(CustomermanagementApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles(storage.equals("file") ? "h2-file" : "default")
+                .run("--spring.jpa.show-sql=false",
+                        "--spring.datasource.url=" + url,
+                        "--customer.ingest.log-path=" + directory.resolve("purchase-events.log"),
+                        "--logging.level.root=WARN",
+                        "--logging.level.com.example.customermanagement=WARN");
+        customerRepository = context.getBean(CustomerRepository.class);
+        List<Customer> customers = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            customers.add(customer("customer" + i + "@example.com", i));
+        }
+        List<Customer> saved = customerRepository.saveAll(customers);
+        ids = saved.stream().map(Customer::getId).toArray(UUID[]::new);
+        emails = saved.stream().map(Customer::getEmail).toArray(String[]::new);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        context.close();
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    private static Customer customer(String email, long spend) {
+        Customer customer = new Customer();
+        customer.setName("Customer " + spend);
+        customer.setEmail(email);
+        customer.setAnnualSpend(BigDecimal.valueOf(spend));
+        return customer;
+    }
+
+    @Benchmark
+    public Object insert() {
+        long n = INSERTED.incrementAndGet();
+        return customerRepository.save(customer("inserted" + n + "@example.com", n));
+    }
+
+    @Benchmark
+    public Object findById() {
+        return customerRepository.findById(ids[ThreadLocalRandom.current().nextInt(ROWS)]);
+    }
+
+    @Benchmark
+    public Object findByEmail() {
+        return customerRepository.findByEmail(emails[ThreadLocalRandom.current().nextInt(ROWS)]);
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.customermanagement.service;
+
+import com.example.customermanagement.CustomermanagementApplication;
+import com.example.customermanagement.dto.CustomerRequest;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Sustained import throughput in rows per second against the embedded H2 database: the streaming
+ * import from CSV and from NDJSON, next to the batch create endpoint's service on the same NDJSON.
+ * Every invocation loads {@value #ROWS} new customers, one in fifty of them repeating an email from the
+ * same input, parsed from bytes prepared outside the measured window. The table is emptied after each
+ * iteration so every iteration checks emails against the same table size.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@OperationsPerInvocation(CustomerImportBenchmark.ROWS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class CustomerImportBenchmark {
+
+    static final int ROWS = 10_000;
+    private static final AtomicLong RUN = new AtomicLong();
+
+    private ConfigurableApplicationContext context;
+    private CustomerImportService customerImportService;
+    private CustomerBatchService customerBatchService;
+    private ObjectMapper objectMapper;
+    private JdbcTemplate jdbcTemplate;
+
+    private byte[] csv;
+    private byte[] ndjson;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(CustomermanagementApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.jpa.show-sql=false",
+                        "--spring.datasource.url=jdbc:h2:mem:customer_import_benchmark",
+                        "--customer.batch.max-items=" + ROWS,
+                        "--logging.level.root=WARN",
+                        "--logging.level.com.example.customermanagement=WARN");
+        customerImportService = context.getBean(CustomerImportService.class);
+        customerBatchService = context.getBean(CustomerBatchService.class);
+        objectMapper = context.getBean(ObjectMapper.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+    }
+
+    @Setup(Level.Invocation)
+    public void prepareInput() {
+        long run = RUN.incrementAndGet();
+        StringBuilder csvRows = new StringBuilder("name,email,annualSpend,lastPurchaseDate\n");
+        StringBuilder jsonRows = new StringBuilder();
+        for (int i = 0; i < ROWS; i++) {
+            int email = i % 50 == 49 ? i - 1 : i;
+            String name = "Import " + run + " Customer " + i;
+            String address = "import." + run + "." + email + "@example.com";
+            int spend = i * 7 % 20_000;
+            csvRows.append(name).append(',').append(address).append(',').append(spend).append(",2024-05-01T10:00:00\n");
+            jsonRows.append("{\"name\":\"").append(name).append("\",\"email\":\"").append(address)
+                    .append("\",\"annualSpend\":").append(spend).append(",\"lastPurchaseDate\":\"2024-05-01T10:00:00\"}\n");
+        }
+        csv = csvRows.toString().getBytes(StandardCharsets.UTF_8);
+        ndjson = jsonRows.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @TearDown(Level.Iteration)
+    public void emptyTable() {
+        jdbcTemplate.update("delete from customers");
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Object importCsv() throws IOException {
+        return customerImportService.importCustomers(new ByteArrayInputStream(csv), CustomerImportService.Format.CSV);
+    }
+
+    @Benchmark
+    public Object importNdjson() throws IOException {
+        return customerImportService.importCustomers(new ByteArrayInputStream(ndjson), CustomerImportService.Format.JSON);
+    }
+
+    @Benchmark
+    public Object batchCreate() throws IOException {
+        try (MappingIterator<CustomerRequest> requests = objectMapper.readerFor(CustomerRequest.class)
+                .readValues(new ByteArrayInputStream(ndjson))) {
+            return customerBatchService.createCustomers(requests);
+        }
+    }
+}
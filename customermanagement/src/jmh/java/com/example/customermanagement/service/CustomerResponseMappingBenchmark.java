@@ -0,0 +1,69 @@
+package com.example.customermanagement.service;
+
+import com.example.customermanagement.config.CustomerTierProperties;
+import com.example.customermanagement.model.Customer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-row cost of {@code CustomerServiceImpl.toResponse}, the entity to DTO mapping (tier included)
+ * every read endpoint pays for each customer it returns.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CustomerResponseMappingBenchmark {
+
+    private static final int ROWS = 1024;
+
+    private final Customer[] customers = new Customer[ROWS];
+    private CustomerServiceImpl customerService;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < ROWS; i++) {
+            Customer customer = new Customer();
+            customer.setId(UUID.randomUUID());
+            customer.setName("Customer " + i);
+            customer.setEmail("customer" + i + "@example.com");
+            customer.setAnnualSpend(BigDecimal.valueOf(random.nextInt(2_000_000), 2));
+            customer.setLastPurchaseDate(random.nextInt(10) == 0 ? null : now.minusDays(random.nextInt(500)));
+            customers[i] = customer;
+        }
+        TierEngine tierEngine = new TierEngine();
+        tierEngine.tierProperties = new CustomerTierProperties();
+        tierEngine.init();
+        customerService = new CustomerServiceImpl();
+        customerService.tierEngine = tierEngine;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void toResponse(Blackhole blackhole) {
+        TierEngine.Evaluator tiers = customerService.tierEngine.now();
+        for (Customer customer : customers) {
+            blackhole.consume(customerService.toResponse(customer, tiers));
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.example.customermanagement.service;
+
+import com.example.customermanagement.CustomermanagementApplication;
+import com.example.customermanagement.dto.CustomerRequest;
+import com.example.customermanagement.event.CustomerChangedEvent;
+import com.example.customermanagement.model.Customer;
+import com.example.customermanagement.repository.CustomerRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Update and delete through {@link CustomerService} against the embedded H2 database, next to the
+ * read-then-write sequence they replaced (lookup, existence check or load, then write). Both sides
+ * publish the same change event so cache and name index upkeep is paid either way. Besides throughput
+ * each benchmark reports a {@code statements} counter in the same unit, taken from Hibernate
+ * statistics, so {@code statements / score} is the number of JDBC statements per request.
+ * Delete benchmarks insert the row to remove before each invocation, outside the measured window.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 10, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CustomerWritePathBenchmark {
+
+    private static final int ROWS = 10_000;
+    private static final AtomicLong SEQUENCE = new AtomicLong();
+
+    private ConfigurableApplicationContext context;
+    private CustomerService customerService;
+    private CustomerRepository customerRepository;
+    private CustomerMapper customerMapper;
+    private Statistics statistics;
+    private UUID[] ids;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Statements {
+        public long statements;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            statements = 0;
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Victim {
+        UUID id;
+
+        @Setup(Level.Invocation)
+        public void insert(CustomerWritePathBenchmark benchmark) {
+            id = benchmark.customerRepository.save(customer(UUID.randomUUID().toString())).getId();
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(CustomermanagementApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.jpa.show-sql=false",
+                        "--spring.jpa.properties.hibernate.generate_statistics=true",
+                        "--spring.datasource.url=jdbc:h2:mem:customer_write_benchmark",
+                        "--logging.level.root=WARN",
+                        "--logging.level.com.example.customermanagement=WARN");
+        customerService = context.getBean(CustomerService.class);
+        customerRepository = context.getBean(CustomerRepository.class);
+        customerMapper = context.getBean(CustomerMapper.class);
+        statistics = context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+        List<Customer> customers = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            customers.add(customer(String.valueOf(i)));
+        }
+        ids = customerRepository.saveAll(customers).stream().map(Customer::getId).toArray(UUID[]::new);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Object update(Statements counters) {
+        long before = statistics.getPrepareStatementCount();
+        Object response = customerService.updateCustomer(randomId(), request());
+        counters.statements += statistics.getPrepareStatementCount() - before;
+        return response;
+    }
+
+    @Benchmark
+    public Object updateLoadThenSave(Statements counters) {
+        long before = statistics.getPrepareStatementCount();
+        Customer customer = customerRepository.findById(randomId()).orElseThrow();
+        customerMapper.updateEntity(customer, request());
+        Customer saved = customerRepository.save(customer);
+        context.publishEvent(CustomerChangedEvent.updated(saved));
+        counters.statements += statistics.getPrepareStatementCount() - before;
+        return saved;
+    }
+
+    @Benchmark
+    public void delete(Victim victim, Statements counters) {
+        long before = statistics.getPrepareStatementCount();
+        customerService.deleteCustomer(victim.id);
+        counters.statements += statistics.getPrepareStatementCount() - before;
+    }
+
+    @Benchmark
+    public void deleteCheckThenDelete(Victim victim, Statements counters) {
+        long before = statistics.getPrepareStatementCount();
+        customerService.getCustomerById(victim.id);
+        if (customerRepository.existsById(victim.id)) {
+            customerRepository.deleteById(victim.id);
+            context.publishEvent(CustomerChangedEvent.deleted(victim.id));
+        }
+        counters.statements += statistics.getPrepareStatementCount() - before;
+    }
+
+    private UUID randomId() {
+        return ids[ThreadLocalRandom.current().nextInt(ROWS)];
+    }
+
+    private static CustomerRequest request() {
+        long i = SEQUENCE.incrementAndGet();
+        CustomerRequest request = new CustomerRequest();
+        request.setName("Updated " + i);
+        request.setEmail("updated" + i + "@example.com");
+        request.setAnnualSpend(BigDecimal.valueOf(i % 20_000));
+        return request;
+    }
+
+    private static Customer customer(String suffix) {
+        Customer customer = new Customer();
+        customer.setName("Customer " + suffix);
+        customer.setEmail("customer" + suffix + "@example.com");
+        customer.setAnnualSpend(BigDecimal.valueOf(1_000));
+        return customer;
+    }
+}
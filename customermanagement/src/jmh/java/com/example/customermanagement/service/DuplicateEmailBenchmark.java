@@ -0,0 +1,89 @@
+package com.example.customermanagement.service;
+
+import com.example.customermanagement.CustomermanagementApplication;
+import com.example.customermanagement.dto.CustomerRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Creating customers with emails already taken, as a retrying signup client does, and with new ones,
+ * with the email filter on and off. Without the filter a duplicate costs an insert that the unique
+ * constraint rejects; with it, one indexed existence query. The table holds {@value #ROWS} customers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DuplicateEmailBenchmark {
+
+    private static final int ROWS = 10_000;
+    private static final AtomicLong CREATED = new AtomicLong();
+
+    @Param({"on", "off"})
+    public String emailFilter;
+
+    private ConfigurableApplicationContext context;
+    private CustomerService customerService;
+    private long duplicates;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(CustomermanagementApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.jpa.show-sql=false",
+                        "--spring.datasource.url=jdbc:h2:mem:duplicate_email_benchmark",
+                        "--customer.email-filter.enabled=" + emailFilter.equals("on"),
+                        "--logging.level.root=WARN",
+                        "--logging.level.com.example.customermanagement=WARN");
+        customerService = context.getBean(CustomerService.class);
+        for (int i = 0; i < ROWS; i++) {
+            customerService.createCustomer(request("existing" + i + "@example.com"));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Object duplicateEmail() {
+        try {
+            return customerService.createCustomer(request("existing" + (duplicates++ % ROWS) + "@example.com"));
+        } catch (RuntimeException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public Object newEmail() {
+        return customerService.createCustomer(request("new" + CREATED.incrementAndGet() + "@example.com"));
+    }
+
+    private static CustomerRequest request(String email) {
+        CustomerRequest request = new CustomerRequest();
+        request.setName("Signup Customer");
+        request.setEmail(email);
+        request.setAnnualSpend(new BigDecimal("120.00"));
+        return request;
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.customermanagement.service;
+
+import com.example.customermanagement.CustomermanagementApplication;
+import com.example.customermanagement.dto.CustomerRequest;
+import com.example.customermanagement.dto.CustomerResponse;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Many threads reading the same customer, by id and by email, with read coalescing on and off. The
+ * customer cache is disabled so every read that is not coalesced costs a query. Teardown prints the
+ * share of reads that joined another one in flight.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(32)
+@Fork(1)
+public class ReadCoalescingBenchmark {
+
+    @Param({"on", "off"})
+    public String singleFlight;
+
+    private ConfigurableApplicationContext context;
+    private CustomerService customerService;
+    private UUID id;
+    private String email;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(CustomermanagementApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.jpa.show-sql=false",
+                        "--spring.datasource.url=jdbc:h2:mem:read_coalescing_benchmark",
+                        "--customer.cache.enabled=false",
+                        "--customer.single-flight.enabled=" + singleFlight.equals("on"),
+                        "--logging.level.root=WARN",
+                        "--logging.level.com.example.customermanagement=WARN");
+        customerService = context.getBean(CustomerService.class);
+        CustomerRequest request = new CustomerRequest();
+        request.setName("Hot Customer");
+        request.setEmail("hot@example.com");
+        request.setAnnualSpend(new BigDecimal("2500.00"));
+        CustomerResponse created = customerService.createCustomer(request);
+        id = created.getId();
+        email = created.getEmail();
+    }
+
+    @TearDown
+    public void tearDown() {
+        MeterRegistry registry = context.getBean(MeterRegistry.class);
+        for (String key : new String[]{"id", "email"}) {
+            double leader = calls(registry, key, "leader");
+            double shared = calls(registry, key, "shared");
+            System.out.printf("%nsingle-flight %s, by %s: %.0f reads ran, %.0f joined (%.1f%% coalesced)%n",
+                    singleFlight, key, leader, shared, leader + shared == 0 ? 0 : 100 * shared / (leader + shared));
+        }
+        context.close();
+    }
+
+    private static double calls(MeterRegistry registry, String key, String outcome) {
+        FunctionCounter counter = registry.find("customer.single.flight.calls").tags("key", key, "outcome", outcome).functionCounter();
+        return counter == null ? 0 : counter.count();
+    }
+
+    @Benchmark
+    public CustomerResponse getById() {
+        return customerService.getCustomerById(id);
+    }
+
+    @Benchmark
+    public CustomerResponse getByEmail() {
+        return customerService.getCustomerByEmail(email);
+    }
+}
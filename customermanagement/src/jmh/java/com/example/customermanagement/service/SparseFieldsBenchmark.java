@@ -0,0 +1,110 @@
+package com.example.customermanagement.service;
+
+import com.example.customermanagement.CustomermanagementApplication;
+import com.example.customermanagement.constants.CustomerConstants;
+import com.example.customermanagement.model.Customer;
+import com.example.customermanagement.model.CustomerField;
+import com.example.customermanagement.repository.CustomerRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A page of {@value #PAGE} customers read and serialized, in full against {@code ?fields=id,tier} and
+ * {@code ?fields=name,email}, from the id-ordered listing and from the tier filter. Setup prints the
+ * JSON size of each page. Run with {@code -prof gc} for the allocation per page.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 10, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SparseFieldsBenchmark {
+
+    private static final int ROWS = 10_000;
+    private static final int PAGE = 500;
+
+    @Param({"all", "tier", "name,email"})
+    public String fields;
+
+    private ConfigurableApplicationContext context;
+    private CustomerService customerService;
+    private ObjectWriter writer;
+    private Set<CustomerField> selected;
+    private final OutputStream discard = OutputStream.nullOutputStream();
+
+    @Setup
+    public void setUp() throws IOException {
+        context = new SpringApplicationBuilder(CustomermanagementApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.jpa.show-sql=false",
+                        "--spring.datasource.url=jdbc:h2:mem:sparse_fields_benchmark",
+                        "--logging.level.root=WARN",
+                        "--logging.level.com.example.customermanagement=WARN");
+        customerService = context.getBean(CustomerService.class);
+        CustomerRepository customerRepository = context.getBean(CustomerRepository.class);
+        LocalDateTime now = LocalDateTime.now();
+        List<Customer> customers = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            Customer customer = new Customer();
+            customer.setName("Customer " + i);
+            customer.setEmail("customer" + i + "@example.com");
+            customer.setAnnualSpend(BigDecimal.valueOf(i * 137L % 2_000_000, 2));
+            customer.setLastPurchaseDate(now.minusDays(i % 400));
+            customer.setTier(CustomerConstants.GOLD);
+            customers.add(customer);
+        }
+        customerRepository.saveAll(customers);
+        writer = context.getBean(ObjectMapper.class).writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        selected = fields.equals("all") ? null : CustomerFields.parse(fields);
+        System.out.printf("%nfields=%s: %d bytes of JSON per page%n", fields, writer.writeValueAsBytes(listPage()).length);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void list() throws IOException {
+        writer.writeValue(discard, listPage());
+    }
+
+    @Benchmark
+    public void byTier() throws IOException {
+        writer.writeValue(discard, selected == null
+                ? customerService.getCustomersByTier(CustomerConstants.GOLD, null, PAGE)
+                : customerService.getCustomersByTier(CustomerConstants.GOLD, null, PAGE, selected));
+    }
+
+    private Object listPage() {
+        return selected == null
+                ? customerService.getCustomers(null, PAGE)
+                : customerService.getCustomers(null, PAGE, selected);
+    }
+}
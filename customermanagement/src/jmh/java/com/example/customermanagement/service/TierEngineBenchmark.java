@@ -0,0 +1,85 @@
+package com.example.customermanagement.service;
+
+import com.example.customermanagement.config.CustomerTierProperties;
+import com.example.customermanagement.constants.CustomerConstants;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-row tier cost of the original {@code CustomerResponse.calculateTier()} against {@link TierEngine}.
+ * Run with {@code -prof gc} to compare allocation per row.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TierEngineBenchmark {
+
+    private static final int ROWS = 1024;
+
+    private final BigDecimal[] spends = new BigDecimal[ROWS];
+    private final LocalDateTime[] lastPurchaseDates = new LocalDateTime[ROWS];
+    private TierEngine tierEngine;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < ROWS; i++) {
+            spends[i] = BigDecimal.valueOf(random.nextInt(2_000_000), 2);
+            lastPurchaseDates[i] = random.nextInt(10) == 0 ? null : now.minusDays(random.nextInt(500));
+        }
+        tierEngine = new TierEngine();
+        tierEngine.tierProperties = new CustomerTierProperties();
+        tierEngine.init();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void legacyCalculateTier(Blackhole blackhole) {
+        for (int i = 0; i < ROWS; i++) {
+            blackhole.consume(legacyTier(spends[i], lastPurchaseDates[i]));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void tierEngine(Blackhole blackhole) {
+        TierEngine.Evaluator tiers = tierEngine.now();
+        for (int i = 0; i < ROWS; i++) {
+            blackhole.consume(tiers.tierOf(spends[i], lastPurchaseDates[i]));
+        }
+    }
+
+    private static String legacyTier(BigDecimal annualSpend, LocalDateTime lastPurchaseDate) {
+        if (annualSpend == null) {
+            return CustomerConstants.SILVER;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        long months = lastPurchaseDate != null ? ChronoUnit.MONTHS.between(lastPurchaseDate, now) : Long.MAX_VALUE;
+        if (annualSpend.compareTo(new BigDecimal("10000")) >= 0 && months <= 6) {
+            return CustomerConstants.PLATINUM;
+        } else if (annualSpend.compareTo(new BigDecimal("1000")) >= 0 && months <= 12) {
+            return CustomerConstants.GOLD;
+        }
+        return CustomerConstants.SILVER;
+    }
+}
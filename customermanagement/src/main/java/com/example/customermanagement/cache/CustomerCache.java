@@ -0,0 +1,214 @@
+package com.example.customermanagement.cache;
+
+import com.example.customermanagement.config.CustomerCacheProperties;
+import com.example.customermanagement.event.CustomerChangedEvent;
+import com.example.customermanagement.model.Customer;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Bounded read-through cache of customers keyed by id, with a secondary email-to-id index.
+ * <p>
+ * Cached entities are detached copies and must be treated as read-only. Email entries are only hints:
+ * a hit is served when the cached customer still carries the requested email, so an email change or a
+ * delete only has to evict the id entry.
+ */
+@Component
+public class CustomerCache {
+
+    @Autowired
+    CustomerCacheProperties cacheProperties;
+
+    @Autowired(required = false)
+    MeterRegistry meterRegistry;
+
+    // Hit and miss statistics cost a counter update on every read, so they are only kept when published.
+    @Value("${customer.metrics.enabled:true}")
+    boolean metricsEnabled;
+
+    private static final Logger log = LoggerFactory.getLogger(CustomerCache.class);
+
+    private final AtomicLong evictions = new AtomicLong();
+    private Cache<UUID, Customer> byId;
+    private Cache<String, UUID> byEmail;
+
+    @PostConstruct
+    void init() {
+        Caffeine<Object, Object> builder = Caffeine.newBuilder()
+                .maximumSize(cacheProperties.getMaximumSize())
+                .expireAfterWrite(cacheProperties.getTtl());
+        if (metricsEnabled) {
+            builder.recordStats();
+        }
+        byId = builder.build();
+        byEmail = builder.build();
+        if (metricsEnabled && meterRegistry != null) {
+            CaffeineCacheMetrics.monitor(meterRegistry, byId, "customersById");
+            CaffeineCacheMetrics.monitor(meterRegistry, byEmail, "customersByEmail");
+        }
+        log.info("Customer cache enabled: {}, maximum size: {}, ttl: {}",
+                cacheProperties.isEnabled(), cacheProperties.getMaximumSize(), cacheProperties.getTtl());
+    }
+
+    public Optional<Customer> getById(UUID id, Function<UUID, Optional<Customer>> loader) {
+        if (!cacheProperties.isEnabled()) {
+            return loader.apply(id);
+        }
+        return Optional.ofNullable(byId.get(id, key -> loader.apply(key).map(CustomerCache::copyOf).orElse(null)));
+    }
+
+    public Optional<Customer> getByEmail(String email, Function<String, Optional<Customer>> loader) {
+        if (!cacheProperties.isEnabled()) {
+            return loader.apply(email);
+        }
+        UUID id = byEmail.getIfPresent(email);
+        if (id != null) {
+            Customer cached = byId.getIfPresent(id);
+            if (cached != null && email.equals(cached.getEmail())) {
+                return Optional.of(cached);
+            }
+        }
+        long generation = evictions.get();
+        Optional<Customer> loaded = loader.apply(email).map(CustomerCache::copyOf);
+        loaded.ifPresent(customer -> putLoaded(customer, generation));
+        return loaded;
+    }
+
+    /**
+     * Customers for the given ids that exist, loading only those not cached with one call to
+     * {@code loader}, which gets the missing ids and returns the customers it found by id.
+     */
+    public Map<UUID, Customer> getAllById(Collection<UUID> ids, Function<Set<UUID>, Map<UUID, Customer>> loader) {
+        if (!cacheProperties.isEnabled()) {
+            return loader.apply(new LinkedHashSet<>(ids));
+        }
+        Map<UUID, Customer> found = new HashMap<>();
+        Set<UUID> missing = new LinkedHashSet<>();
+        for (UUID id : ids) {
+            Customer cached = byId.getIfPresent(id);
+            if (cached != null) {
+                found.put(id, cached);
+            } else {
+                missing.add(id);
+            }
+        }
+        if (!missing.isEmpty()) {
+            long generation = evictions.get();
+            loader.apply(missing).forEach((id, customer) -> {
+                Customer copy = copyOf(customer);
+                putLoaded(copy, generation);
+                found.put(id, copy);
+            });
+        }
+        return found;
+    }
+
+    /**
+     * Customers for the given emails that exist, keyed by email; {@code loader} is called once with the
+     * emails that missed and its results are cached.
+     */
+    public Map<String, Customer> getAllByEmail(Collection<String> emails, Function<Set<String>, Map<String, Customer>> loader) {
+        if (!cacheProperties.isEnabled()) {
+            return loader.apply(new LinkedHashSet<>(emails));
+        }
+        Map<String, Customer> found = new HashMap<>();
+        Set<String> missing = new LinkedHashSet<>();
+        for (String email : emails) {
+            peekByEmail(email).ifPresentOrElse(customer -> found.put(email, customer), () -> missing.add(email));
+        }
+        if (!missing.isEmpty()) {
+            long generation = evictions.get();
+            loader.apply(missing).forEach((email, customer) -> {
+                Customer copy = copyOf(customer);
+                putLoaded(copy, generation);
+                found.put(email, copy);
+            });
+        }
+        return found;
+    }
+
+    /**
+     * Cached customer for {@code id}, without loading it; for callers that load asynchronously and
+     * {@link #put} the result.
+     */
+    public Optional<Customer> peekById(UUID id) {
+        return cacheProperties.isEnabled() ? Optional.ofNullable(byId.getIfPresent(id)) : Optional.empty();
+    }
+
+    public Optional<Customer> peekByEmail(String email) {
+        if (!cacheProperties.isEnabled()) {
+            return Optional.empty();
+        }
+        UUID id = byEmail.getIfPresent(email);
+        Customer cached = id == null ? null : byId.getIfPresent(id);
+        return cached != null && email.equals(cached.getEmail()) ? Optional.of(cached) : Optional.empty();
+    }
+
+    public void put(Customer customer) {
+        if (cacheProperties.isEnabled()) {
+            byId.put(customer.getId(), copyOf(customer));
+            byEmail.put(customer.getEmail(), customer.getId());
+        }
+    }
+
+    public void evict(UUID id) {
+        evictions.incrementAndGet();
+        byId.invalidate(id);
+    }
+
+    public void clear() {
+        evictions.incrementAndGet();
+        byId.invalidateAll();
+        byEmail.invalidateAll();
+    }
+
+    public CacheStats stats() {
+        return byId.stats();
+    }
+
+    @EventListener
+    public void onCustomerChanged(CustomerChangedEvent event) {
+        evict(event.getId());
+    }
+
+    /**
+     * Caches a copy loaded outside {@code byId}'s own loader, unless an eviction ran since
+     * {@code generation} was read: the row may predate that write and would otherwise outlive it.
+     */
+    private void putLoaded(Customer copy, long generation) {
+        byId.asMap().compute(copy.getId(), (id, cached) -> evictions.get() == generation ? copy : cached);
+        byEmail.put(copy.getEmail(), copy.getId());
+    }
+
+    private static Customer copyOf(Customer customer) {
+        Customer copy = new Customer();
+        copy.setId(customer.getId());
+        copy.setName(customer.getName());
+        copy.setEmail(customer.getEmail());
+        copy.setAnnualSpend(customer.getAnnualSpend());
+        copy.setLastPurchaseDate(customer.getLastPurchaseDate());
+        copy.setTier(customer.getTier());
+        copy.setVersion(customer.getVersion());
+        return copy;
+    }
+}
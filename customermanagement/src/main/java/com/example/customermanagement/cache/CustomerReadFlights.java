@@ -0,0 +1,88 @@
+package com.example.customermanagement.cache;
+
+import com.example.customermanagement.config.SingleFlightProperties;
+import com.example.customermanagement.dto.CustomerResponse;
+import com.example.customermanagement.event.CustomerChangedEvent;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Coalesces concurrent reads of the same customer by id or by email into one lookup and one mapped
+ * {@link CustomerResponse}, which every waiting caller then shares and must not modify.
+ */
+@Component
+public class CustomerReadFlights {
+
+    @Autowired
+    SingleFlightProperties singleFlightProperties;
+
+    @Autowired(required = false)
+    MeterRegistry meterRegistry;
+
+    private static final Logger log = LoggerFactory.getLogger(CustomerReadFlights.class);
+
+    private SingleFlight<UUID, CustomerResponse> byId;
+    private SingleFlight<String, CustomerResponse> byEmail;
+
+    @PostConstruct
+    void init() {
+        byId = new SingleFlight<>(singleFlightProperties.getTimeout());
+        byEmail = new SingleFlight<>(singleFlightProperties.getTimeout());
+        if (meterRegistry != null) {
+            registerMeters(meterRegistry, "id", byId);
+            registerMeters(meterRegistry, "email", byEmail);
+        }
+        log.info("Customer read coalescing enabled: {}, timeout: {}",
+                singleFlightProperties.isEnabled(), singleFlightProperties.getTimeout());
+    }
+
+    private static void registerMeters(MeterRegistry registry, String key, SingleFlight<?, ?> flight) {
+        callCounter(registry, key, "leader", flight, SingleFlight::leaders);
+        callCounter(registry, key, "shared", flight, SingleFlight::shared);
+        callCounter(registry, key, "timeout", flight, SingleFlight::timedOut);
+        Gauge.builder("customer.single.flight.in.flight", flight, SingleFlight::inFlight)
+                .description("Customer reads currently running with callers able to join them")
+                .tag("key", key)
+                .register(registry);
+        Gauge.builder("customer.single.flight.waiting", flight, SingleFlight::waiting)
+                .description("Customer reads currently waiting for another caller's lookup")
+                .tag("key", key)
+                .register(registry);
+    }
+
+    private static void callCounter(MeterRegistry registry, String key, String outcome, SingleFlight<?, ?> flight,
+                                    ToDoubleFunction<SingleFlight<?, ?>> count) {
+        FunctionCounter.builder("customer.single.flight.calls", flight, count)
+                .description("Customer reads that ran the lookup (leader), joined one in flight and got its outcome (shared), or gave up waiting (timeout)")
+                .tag("key", key)
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+
+    public CustomerResponse byId(UUID id, Supplier<CustomerResponse> read) {
+        return singleFlightProperties.isEnabled() ? byId.execute(id, read) : read.get();
+    }
+
+    public CustomerResponse byEmail(String email, Supplier<CustomerResponse> read) {
+        return singleFlightProperties.isEnabled() ? byEmail.execute(email, read) : read.get();
+    }
+
+    // A read that started before a write may return the old state; callers arriving after the write
+    // must not join it. The previous email of a changed customer is unknown, so every email read goes.
+    @EventListener
+    public void onCustomerChanged(CustomerChangedEvent event) {
+        byId.forget(event.getId());
+        byEmail.forgetAll();
+    }
+}
@@ -0,0 +1,147 @@
+package com.example.customermanagement.cache;
+
+import com.example.customermanagement.config.EmailFilterProperties;
+import com.example.customermanagement.constants.CustomerConstants;
+import com.example.customermanagement.event.CustomerChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.Locale;
+
+/**
+ * Emails that may belong to a customer, kept in a {@link BloomFilter} so that creating a customer with
+ * a new email needs no duplicate check against the table. Loaded at startup from a streaming scan and
+ * updated from change events. Deleted and replaced emails stay set, so the filter is rebuilt from the
+ * table when its false positive rate has drifted to twice the configured one.
+ */
+@Component
+public class EmailFilter {
+
+    private static final String SELECT_EMAILS = "select email from customers";
+
+    @Autowired
+    EmailFilterProperties filterProperties;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired(required = false)
+    MeterRegistry meterRegistry;
+
+    private static final Logger log = LoggerFactory.getLogger(EmailFilter.class);
+
+    private volatile BloomFilter filter;
+    // Receives changes as well while a rebuild scans the table, so none committed meanwhile are lost.
+    private volatile BloomFilter rebuilding;
+    private Counter certainlyNew;
+    private Counter possibleDuplicate;
+
+    @PostConstruct
+    void init() {
+        MeterRegistry registry = meterRegistry != null ? meterRegistry : new SimpleMeterRegistry();
+        certainlyNew = checkCounter(registry, "new");
+        possibleDuplicate = checkCounter(registry, "maybe");
+        if (!filterProperties.isEnabled()) {
+            log.info("Email filter disabled; duplicate emails are caught by the unique constraint only");
+            return;
+        }
+        Gauge.builder("customer.email.filter.false.positive.rate", this, EmailFilter::expectedFalsePositiveRate)
+                .description("Estimated chance that a new email still needs a duplicate check")
+                .register(registry);
+        rebuild();
+    }
+
+    private static Counter checkCounter(MeterRegistry registry, String result) {
+        return Counter.builder("customer.email.filter.checks")
+                .description("Creates whose email was certainly new (new) or needed a duplicate check (maybe)")
+                .tag("result", result)
+                .register(registry);
+    }
+
+    /**
+     * Whether {@code email} may already belong to a customer and must be checked against the table;
+     * false when it certainly does not, or when the filter is disabled and the unique constraint alone
+     * decides.
+     */
+    public boolean needsDuplicateCheck(String email) {
+        BloomFilter current = filter;
+        if (current == null || email == null) {
+            return false;
+        }
+        if (current.mightContain(normalize(email))) {
+            possibleDuplicate.increment();
+            return true;
+        }
+        certainlyNew.increment();
+        return false;
+    }
+
+    @EventListener
+    public void onCustomerChanged(CustomerChangedEvent event) {
+        if (event.getCustomer() == null || event.getCustomer().getEmail() == null) {
+            return;
+        }
+        String email = normalize(event.getCustomer().getEmail());
+        BloomFilter next = rebuilding;
+        if (next != null) {
+            next.put(email);
+        }
+        BloomFilter current = filter;
+        if (current != null) {
+            current.put(email);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${customer.email-filter.check-interval-millis:60000}")
+    public void rebuildIfSaturated() {
+        BloomFilter current = filter;
+        if (current != null && current.expectedFalsePositiveRate() > 2 * filterProperties.getFalsePositiveRate()) {
+            log.info("Email filter false positive rate reached {}; rebuilding", current.expectedFalsePositiveRate());
+            rebuild();
+        }
+    }
+
+    synchronized void rebuild() {
+        long started = System.nanoTime();
+        Long rows = jdbcTemplate.queryForObject("select count(*) from customers", Long.class);
+        BloomFilter next = BloomFilter.create(Math.max(filterProperties.getExpectedInsertions(), 2 * (rows == null ? 0 : rows)),
+                filterProperties.getFalsePositiveRate());
+        rebuilding = next;
+        try {
+            jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(SELECT_EMAILS,
+                        ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                statement.setFetchSize(CustomerConstants.STREAM_FETCH_SIZE);
+                return statement;
+            }, (RowCallbackHandler) rs -> next.put(normalize(rs.getString(1))));
+            filter = next;
+        } finally {
+            rebuilding = null;
+        }
+        log.info("Email filter built from {} customers in {} ms: {} bits, {} hashes",
+                rows, (System.nanoTime() - started) / 1_000_000, next.bitSize(), next.hashCount());
+    }
+
+    public double expectedFalsePositiveRate() {
+        BloomFilter current = filter;
+        return current == null ? 1.0 : current.expectedFalsePositiveRate();
+    }
+
+    // Coarser than the unique constraint, which can only add checks, never skip one that was needed.
+    private static String normalize(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.customermanagement.cache;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Runs at most one call per key at a time. The first caller for a key runs the work; callers arriving
+ * while it is in flight wait for the same result, or the same exception, instead of repeating it.
+ * <p>
+ * No lock is held while the work runs: callers meet on a {@link CompletableFuture} published with
+ * {@code putIfAbsent} and removed when it completes, so the next call after that runs afresh. A waiting
+ * caller gives up after {@code timeout} and runs the work itself, so one stuck call cannot stall every
+ * request for its key.
+ */
+public class SingleFlight<K, V> {
+
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final long timeoutNanos;
+    private final LongAdder leaders = new LongAdder();
+    private final LongAdder shared = new LongAdder();
+    private final LongAdder timedOut = new LongAdder();
+    private final AtomicInteger waiting = new AtomicInteger();
+
+    public SingleFlight(Duration timeout) {
+        this.timeoutNanos = timeout.toNanos();
+    }
+
+    public V execute(K key, Supplier<V> work) {
+        CompletableFuture<V> call = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, call);
+        if (existing != null) {
+            return await(existing, work);
+        }
+        leaders.increment();
+        V value;
+        try {
+            value = work.get();
+        } catch (RuntimeException | Error e) {
+            inFlight.remove(key, call);
+            call.completeExceptionally(e);
+            throw e;
+        }
+        // Unpublish before completing, so that only callers which arrived while the work ran get its result.
+        inFlight.remove(key, call);
+        call.complete(value);
+        return value;
+    }
+
+    /**
+     * Stops callers from joining the call in flight for {@code key}, if any, so they read afresh; for
+     * when the data it is reading has just changed.
+     */
+    public void forget(K key) {
+        inFlight.remove(key);
+    }
+
+    public void forgetAll() {
+        inFlight.clear();
+    }
+
+    private V await(CompletableFuture<V> call, Supplier<V> work) {
+        V value;
+        waiting.incrementAndGet();
+        try {
+            value = call.get(timeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            timedOut.increment();
+            return work.get();
+        } catch (ExecutionException e) {
+            shared.increment();
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw (Error) e.getCause();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a shared call", e);
+        } finally {
+            waiting.decrementAndGet();
+        }
+        shared.increment();
+        return value;
+    }
+
+    /** Calls that ran the work. */
+    public long leaders() {
+        return leaders.sum();
+    }
+
+    /** Calls that got the result, or the exception, of another caller's work; timed out waits are not counted. */
+    public long shared() {
+        return shared.sum();
+    }
+
+    /** Waiting calls that gave up after the timeout and ran the work themselves. */
+    public long timedOut() {
+        return timedOut.sum();
+    }
+
+    public int inFlight() {
+        return inFlight.size();
+    }
+
+    /** Calls currently waiting for another caller's work. */
+    public int waiting() {
+        return waiting.get();
+    }
+}
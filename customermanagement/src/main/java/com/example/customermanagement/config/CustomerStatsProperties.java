@@ -0,0 +1,30 @@
+package com.example.customermanagement.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+
+@ConfigurationProperties(prefix = "customer.stats")
+public class CustomerStatsProperties {
+    private Duration ttl = Duration.ofSeconds(5);
+    private List<BigDecimal> spendBuckets = List.of(new BigDecimal("100"), new BigDecimal("1000"),
+            new BigDecimal("5000"), new BigDecimal("10000"), new BigDecimal("50000"));
+
+    public Duration getTtl() {
+        return ttl;
+    }
+
+    public void setTtl(Duration ttl) {
+        this.ttl = ttl;
+    }
+
+    public List<BigDecimal> getSpendBuckets() {
+        return spendBuckets;
+    }
+
+    public void setSpendBuckets(List<BigDecimal> spendBuckets) {
+        this.spendBuckets = spendBuckets;
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.customermanagement.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.math.BigDecimal;
+
+@ConfigurationProperties(prefix = "customer.tier")
+public class CustomerTierProperties {
+    private BigDecimal platinumMinSpend = new BigDecimal("10000");
+    private int platinumWindowMonths = 6;
+    private BigDecimal goldMinSpend = new BigDecimal("1000");
+    private int goldWindowMonths = 12;
+    private int recomputeChunkSize = 1000;
+
+    public BigDecimal getPlatinumMinSpend() {
+        return platinumMinSpend;
+    }
+
+    public void setPlatinumMinSpend(BigDecimal platinumMinSpend) {
+        this.platinumMinSpend = platinumMinSpend;
+    }
+
+    public int getPlatinumWindowMonths() {
+        return platinumWindowMonths;
+    }
+
+    public void setPlatinumWindowMonths(int platinumWindowMonths) {
+        this.platinumWindowMonths = platinumWindowMonths;
+    }
+
+    public BigDecimal getGoldMinSpend() {
+        return goldMinSpend;
+    }
+
+    public void setGoldMinSpend(BigDecimal goldMinSpend) {
+        this.goldMinSpend = goldMinSpend;
+    }
+
+    public int getGoldWindowMonths() {
+        return goldWindowMonths;
+    }
+
+    public void setGoldWindowMonths(int goldWindowMonths) {
+        this.goldWindowMonths = goldWindowMonths;
+    }
+
+    public int getRecomputeChunkSize() {
+        return recomputeChunkSize;
+    }
+
+    public void setRecomputeChunkSize(int recomputeChunkSize) {
+        this.recomputeChunkSize = recomputeChunkSize;
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.customermanagement.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "customer.ingest")
+public class PurchaseIngestProperties {
+    private int queueCapacity = 100_000;
+    private long flushIntervalMillis = 200;
+    private int batchSize = 500;
+    private String logPath = "data/purchase-events.log";
+    private boolean syncLog = true;
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public void setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+
+    public long getFlushIntervalMillis() {
+        return flushIntervalMillis;
+    }
+
+    public void setFlushIntervalMillis(long flushIntervalMillis) {
+        this.flushIntervalMillis = flushIntervalMillis;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public String getLogPath() {
+        return logPath;
+    }
+
+    public void setLogPath(String logPath) {
+        this.logPath = logPath;
+    }
+
+    public boolean isSyncLog() {
+        return syncLog;
+    }
+
+    public void setSyncLog(boolean syncLog) {
+        this.syncLog = syncLog;
+    }
+}
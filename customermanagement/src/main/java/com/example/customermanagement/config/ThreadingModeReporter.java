@@ -0,0 +1,35 @@
+package com.example.customermanagement.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+@Component
+public class ThreadingModeReporter {
+
+    @Autowired
+    Environment environment;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    boolean virtualThreadsRequested;
+
+    private static final Logger log = LoggerFactory.getLogger(ThreadingModeReporter.class);
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reportThreadingMode() {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            log.info("Request handling runs on virtual threads");
+        } else if (virtualThreadsRequested) {
+            log.warn("Virtual threads were requested but need Java 21 or later (running {}); using platform threads",
+                    Runtime.version().feature());
+        } else {
+            log.info("Request handling runs on the platform thread pool");
+        }
+    }
+}
@@ -10,6 +10,30 @@ public class CustomerConstants {
     public static final String SILVER = "Silver";
     public static final String GOLD = "Gold";
     public static final String PLATINUM = "Platinum";
+    public static final String NAME_QUERY_REQUIRED = "Name to search for must not be blank";
+    public static final String INVALID_TIER = "Tier must be one of Silver, Gold or Platinum";
     public static final String EMAIL_REGEX = "^[A-Za-z0-9+_.-]+@[A-Za-z0-9.-]+$";
 
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 500;
+    public static final int STREAM_FETCH_SIZE = 500;
+    public static final String INVALID_CURSOR = "Invalid cursor";
+    public static final String DUPLICATE_EMAIL = "Email already exists";
+    public static final String CONSTRAINT_VIOLATION = "Customer data violates a database constraint";
+    public static final String CONCURRENT_UPDATE = "Customer was modified concurrently, retry the request";
+    public static final String INVALID_PATCH = "Invalid merge patch";
+    public static final String AMOUNT_REQUIRED = "Amount is required";
+    public static final String INVALID_AMOUNT = "Amount must not be negative";
+    public static final String AMOUNT_OUT_OF_RANGE = "Amount must have at most 36 integer digits and 2 decimals";
+    public static final int PURCHASE_MAX_ATTEMPTS = 3;
+    public static final String CUSTOMER_ID_REQUIRED = "Customer id is required";
+    public static final String INGEST_QUEUE_FULL = "Purchase ingestion queue is full, retry later";
+    public static final int INGEST_RETRY_AFTER_SECONDS = 1;
+    public static final String VERSION_MISMATCH = "Customer has been modified since the version given in If-Match";
+    public static final String BATCH_TOO_LARGE = "Batch exceeds the maximum of %d items";
+    public static final String INVALID_PAGE_SIZE = "Page size must be between 1 and " + MAX_PAGE_SIZE;
+    public static final String LOOKUP_TOO_LARGE = "Lookup exceeds the maximum of %d keys";
+    public static final String LOOKUP_KEY_REQUIRED = "Lookup ids and emails must not be null";
+    public static final String INVALID_FIELDS = "Fields must be a comma-separated list of id, name, email, annualSpend, lastPurchaseDate and tier";
+
 }
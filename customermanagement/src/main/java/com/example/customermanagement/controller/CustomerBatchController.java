@@ -0,0 +1,78 @@
+package com.example.customermanagement.controller;
+
+import com.example.customermanagement.dto.CustomerBatchResponse;
+import com.example.customermanagement.dto.CustomerBatchUpdateRequest;
+import com.example.customermanagement.dto.CustomerRequest;
+import com.example.customermanagement.service.CustomerBatchService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/customers/batch")
+@Tag(name = "Customer Management", description = "API for managing customers")
+public class CustomerBatchController {
+
+    @Autowired
+    CustomerBatchService customerBatchService;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    private static final Logger log = LoggerFactory.getLogger(CustomerBatchController.class);
+
+    @PostMapping(consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    @Operation(summary = "Create customers from a JSON array or newline-delimited JSON body")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Batch processed; see per-item results"),
+            @ApiResponse(responseCode = "400", description = "Malformed body or too many items")
+    })
+    public ResponseEntity<CustomerBatchResponse> createCustomers(InputStream body) throws IOException {
+        log.info("Received batch create request");
+        try (JsonItemIterator<CustomerRequest> requests = new JsonItemIterator<>(objectMapper, CustomerRequest.class, body)) {
+            return ResponseEntity.ok(customerBatchService.createCustomers(requests));
+        }
+    }
+
+    @PutMapping(consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    @Operation(summary = "Update customers from a JSON array or newline-delimited JSON body")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Batch processed; see per-item results"),
+            @ApiResponse(responseCode = "400", description = "Malformed body or too many items")
+    })
+    public ResponseEntity<CustomerBatchResponse> updateCustomers(InputStream body) throws IOException {
+        log.info("Received batch update request");
+        try (JsonItemIterator<CustomerBatchUpdateRequest> requests = new JsonItemIterator<>(objectMapper, CustomerBatchUpdateRequest.class, body)) {
+            return ResponseEntity.ok(customerBatchService.updateCustomers(requests));
+        }
+    }
+
+    @DeleteMapping(consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    @Operation(summary = "Delete customers by a JSON array or newline-delimited list of IDs")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Batch processed; see per-item results"),
+            @ApiResponse(responseCode = "400", description = "Malformed body or too many items")
+    })
+    public ResponseEntity<CustomerBatchResponse> deleteCustomers(InputStream body) throws IOException {
+        log.info("Received batch delete request");
+        try (JsonItemIterator<UUID> ids = new JsonItemIterator<>(objectMapper, UUID.class, body)) {
+            return ResponseEntity.ok(customerBatchService.deleteCustomers(ids));
+        }
+    }
+}
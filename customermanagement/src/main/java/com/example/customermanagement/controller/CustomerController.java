@@ -1,9 +1,22 @@
 package com.example.customermanagement.controller;
 
+import com.example.customermanagement.constants.CustomerConstants;
+import com.example.customermanagement.dto.CustomerPageResponse;
 import com.example.customermanagement.dto.CustomerRequest;
 import com.example.customermanagement.dto.CustomerResponse;
+import com.example.customermanagement.dto.PurchaseRequest;
+import com.example.customermanagement.exception.BadRequestException;
 import com.example.customermanagement.exception.ResourceNotFoundException;
+import com.example.customermanagement.model.CustomerField;
+import com.example.customermanagement.search.NameNormalizer;
+import com.example.customermanagement.service.CustomerFields;
 import com.example.customermanagement.service.CustomerService;
+import com.example.customermanagement.service.TierEngine;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -13,14 +26,23 @@ import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.util.List;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 @RestController
+@Profile("!reactive")
 @RequestMapping("/customers")
 @Tag(name = "Customer Management", description = "API for managing customers")
 public class CustomerController {
@@ -28,8 +50,13 @@ public class CustomerController {
     @Autowired
     CustomerService customerService;
 
+    @Autowired
+    ObjectMapper objectMapper;
+
     private static final Logger log = LoggerFactory.getLogger(CustomerController.class);
 
+    private static final String MERGE_PATCH_JSON = "application/merge-patch+json";
+
     @PostMapping
     @Operation(summary = "Create a new customer")
     @ApiResponses(value = {
@@ -37,50 +64,167 @@ public class CustomerController {
             @ApiResponse(responseCode = "400", description = "Invalid input")
     })
     public ResponseEntity<CustomerResponse> createCustomer(@Valid @RequestBody CustomerRequest customerRequest) {
-        log.info("Received request to create customer with email: {}", customerRequest.getEmail());
+        log.debug("Received request to create customer with email: {}", customerRequest.getEmail());
         CustomerResponse response = customerService.createCustomer(customerRequest);
         log.debug("Customer created with ID: {}", response.getId());
-        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        return withETag(ResponseEntity.status(HttpStatus.CREATED), response);
     }
 
     @GetMapping("/{id}")
-    @Operation(summary = "Get customer by ID")
+    @Operation(summary = "Get customer by ID",
+            description = "Returns 304 without a body when If-None-Match carries the current ETag")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Customer found"),
+            @ApiResponse(responseCode = "304", description = "Customer not modified"),
             @ApiResponse(responseCode = "404", description = "Customer not found")
     })
     public ResponseEntity<CustomerResponse> getCustomerById(
             @Parameter(description = "ID of the customer to be retrieved") @PathVariable UUID id) throws ResourceNotFoundException {
-        log.info("Received request to get customer with ID: {}", id);
+        log.debug("Received request to get customer with ID: {}", id);
         CustomerResponse response = customerService.getCustomerById(id);
         log.debug("Returning customer with ID: {}", id);
-        return ResponseEntity.ok(response);
+        // Spring answers a matching If-None-Match with 304 before the body is serialized.
+        return withETag(ResponseEntity.ok(), response);
+    }
+
+    @GetMapping(path = "/{id}", params = "fields")
+    @Operation(summary = "Get only the requested fields of a customer by ID",
+            description = "Served from the same cached read as the full customer, with the same ETag")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Customer found"),
+            @ApiResponse(responseCode = "304", description = "Customer not modified"),
+            @ApiResponse(responseCode = "400", description = "Invalid fields"),
+            @ApiResponse(responseCode = "404", description = "Customer not found")
+    })
+    public ResponseEntity<Map<String, Object>> getCustomerFieldsById(
+            @Parameter(description = "ID of the customer to be retrieved") @PathVariable UUID id,
+            @Parameter(description = "Comma-separated fields to return: id, name, email, annualSpend, lastPurchaseDate, tier") @RequestParam String fields) throws ResourceNotFoundException {
+        Set<CustomerField> selected = CustomerFields.parse(fields);
+        log.debug("Received request for fields {} of customer with ID: {}", selected, id);
+        CustomerResponse response = customerService.getCustomerById(id);
+        return withETag(ResponseEntity.ok(), response, CustomerFields.select(response, selected));
     }
 
     @GetMapping
-    @Operation(summary = "Search customers by name or email")
+    @Operation(summary = "List customers, or search them by name, email or tier")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Customers found"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor, page size or tier"),
             @ApiResponse(responseCode = "404", description = "No customers found")
     })
     public ResponseEntity<?> searchCustomers(
             @Parameter(description = "Name to search for") @RequestParam(required = false) String name,
-            @Parameter(description = "Email to search for") @RequestParam(required = false) String email) throws ResourceNotFoundException {
+            @Parameter(description = "Email to search for") @RequestParam(required = false) String email,
+            @Parameter(description = "Tier to filter by (Silver, Gold or Platinum)") @RequestParam(required = false) String tier,
+            @Parameter(description = "Continuation token returned as nextCursor by the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size") @RequestParam(required = false) Integer size) throws ResourceNotFoundException {
+        int pageSize = size != null ? size : CustomerConstants.DEFAULT_PAGE_SIZE;
 
         if (name != null) {
-            log.info("Received request to search customers by name: {}", name);
-            List<CustomerResponse> responses = customerService.getCustomersByName(name);
-            log.debug("Returning {} customers with name containing: {}", responses.size(), name);
-            return ResponseEntity.ok(responses);
+            log.debug("Received request to search customers by name: {}", name);
+            CustomerPageResponse page = customerService.getCustomersByName(name, cursor, pageSize);
+            log.debug("Returning {} customers with name containing: {}", page.getSize(), name);
+            return ResponseEntity.ok(page);
         } else if (email != null) {
-            log.info("Received request to search customer by email: {}", email);
+            log.debug("Received request to search customer by email: {}", email);
             CustomerResponse response = customerService.getCustomerByEmail(email);
             log.debug("Returning customer with email: {}", email);
             return ResponseEntity.ok(response);
+        } else if (tier != null) {
+            log.debug("Received request to list customers with tier: {}", tier);
+            CustomerPageResponse page = customerService.getCustomersByTier(tier, cursor, pageSize);
+            log.debug("Returning {} customers with tier: {}", page.getSize(), tier);
+            return ResponseEntity.ok(page);
+        } else {
+            log.debug("Received request to list customers after cursor: {}", cursor);
+            CustomerPageResponse page = customerService.getCustomers(cursor, pageSize);
+            log.debug("Returning {} customers", page.getSize());
+            return ResponseEntity.ok(page);
+        }
+    }
+
+    @GetMapping(params = "fields")
+    @Operation(summary = "List or search customers, returning only the requested fields",
+            description = "Reads only the columns behind the requested fields; the id is always returned")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Customers found"),
+            @ApiResponse(responseCode = "400", description = "Invalid fields, cursor, page size or tier"),
+            @ApiResponse(responseCode = "404", description = "No customers found")
+    })
+    public ResponseEntity<?> searchCustomerFields(
+            @Parameter(description = "Name to search for") @RequestParam(required = false) String name,
+            @Parameter(description = "Email to search for") @RequestParam(required = false) String email,
+            @Parameter(description = "Tier to filter by (Silver, Gold or Platinum)") @RequestParam(required = false) String tier,
+            @Parameter(description = "Continuation token returned as nextCursor by the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size") @RequestParam(required = false) Integer size,
+            @Parameter(description = "Comma-separated fields to return: id, name, email, annualSpend, lastPurchaseDate, tier") @RequestParam String fields) throws ResourceNotFoundException {
+        Set<CustomerField> selected = CustomerFields.parse(fields);
+        int pageSize = size != null ? size : CustomerConstants.DEFAULT_PAGE_SIZE;
+
+        if (name != null) {
+            log.debug("Received request for fields {} of customers by name: {}", selected, name);
+            return ResponseEntity.ok(customerService.getCustomersByName(name, cursor, pageSize, selected));
+        } else if (email != null) {
+            log.debug("Received request for fields {} of customer by email: {}", selected, email);
+            return ResponseEntity.ok(CustomerFields.select(customerService.getCustomerByEmail(email), selected));
+        } else if (tier != null) {
+            log.debug("Received request for fields {} of customers with tier: {}", selected, tier);
+            return ResponseEntity.ok(customerService.getCustomersByTier(tier, cursor, pageSize, selected));
+        } else {
+            log.debug("Received request for fields {} of customers after cursor: {}", selected, cursor);
+            return ResponseEntity.ok(customerService.getCustomers(cursor, pageSize, selected));
+        }
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Stream all customers, or those matching a name, email or tier, as newline-delimited JSON")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Customers streamed"),
+            @ApiResponse(responseCode = "400", description = "Blank name or invalid tier")
+    })
+    public ResponseEntity<StreamingResponseBody> streamCustomers(
+            @Parameter(description = "Name to filter by") @RequestParam(required = false) String name,
+            @Parameter(description = "Email to filter by (exact match)") @RequestParam(required = false) String email,
+            @Parameter(description = "Tier to filter by (Silver, Gold or Platinum)") @RequestParam(required = false) String tier) {
+        // Same precedence as the JSON search. Filters are checked here, as a stream that fails once
+        // started can no longer report a 400.
+        Consumer<Consumer<CustomerResponse>> customers;
+        if (name != null) {
+            if (NameNormalizer.normalize(name).isEmpty()) {
+                throw new BadRequestException(CustomerConstants.NAME_QUERY_REQUIRED);
+            }
+            log.debug("Received request to stream customers with name: {}", name);
+            customers = consumer -> customerService.streamCustomers(name, consumer);
+        } else if (email != null) {
+            log.debug("Received request to stream customer with email: {}", email);
+            customers = consumer -> customerService.streamCustomersByEmail(email, consumer);
+        } else if (tier != null) {
+            String normalizedTier = TierEngine.normalizeTier(tier);
+            log.debug("Received request to stream customers with tier: {}", normalizedTier);
+            customers = consumer -> customerService.streamCustomersByTier(normalizedTier, consumer);
         } else {
-            log.warn("Received search request without name or email parameters");
-            return ResponseEntity.badRequest().body("Either name or email parameter must be provided");
+            log.debug("Received request to stream all customers");
+            customers = consumer -> customerService.streamCustomers(null, consumer);
         }
+        ObjectWriter writer = objectMapper.writerFor(CustomerResponse.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        StreamingResponseBody body = out -> {
+            JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+            customers.accept(response -> {
+                try {
+                    writer.writeValue(generator, response);
+                    generator.writeRaw('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            generator.close();
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
     }
 
     @PutMapping("/{id}")
@@ -88,36 +232,83 @@ public class CustomerController {
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Customer updated successfully"),
             @ApiResponse(responseCode = "400", description = "Invalid input"),
-            @ApiResponse(responseCode = "404", description = "Customer not found")
+            @ApiResponse(responseCode = "404", description = "Customer not found"),
+            @ApiResponse(responseCode = "412", description = "Customer changed since the version in If-Match")
     })
     public ResponseEntity<CustomerResponse> updateCustomer(
             @Parameter(description = "ID of the customer to be updated") @PathVariable UUID id,
+            @Parameter(description = "ETag the customer must still have") @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Valid @RequestBody CustomerRequest customerRequest) throws ResourceNotFoundException {
-        log.info("Received request to update customer with ID: {}", id);
-        CustomerResponse response = customerService.updateCustomer(id, customerRequest);
+        log.debug("Received request to update customer with ID: {}", id);
+        CustomerResponse response = customerService.updateCustomer(id, customerRequest, CustomerETag.expectedVersion(ifMatch));
         log.debug("Customer with ID: {} updated successfully", id);
-        return ResponseEntity.ok(response);
+        return withETag(ResponseEntity.ok(), response);
+    }
+
+    @PatchMapping(path = "/{id}", consumes = {MERGE_PATCH_JSON, MediaType.APPLICATION_JSON_VALUE})
+    @Operation(summary = "Partially update customer by ID",
+            description = "Applies a JSON Merge Patch: fields present are replaced, null clears an optional field, absent fields are kept")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Customer patched, or already matched the patch"),
+            @ApiResponse(responseCode = "400", description = "Invalid patch or resulting customer"),
+            @ApiResponse(responseCode = "404", description = "Customer not found"),
+            @ApiResponse(responseCode = "409", description = "Customer changed concurrently"),
+            @ApiResponse(responseCode = "412", description = "Customer changed since the version in If-Match")
+    })
+    public ResponseEntity<CustomerResponse> patchCustomer(
+            @Parameter(description = "ID of the customer to be patched") @PathVariable UUID id,
+            @Parameter(description = "ETag the customer must still have") @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @RequestBody JsonNode patch) throws ResourceNotFoundException {
+        log.debug("Received request to patch customer with ID: {}", id);
+        CustomerResponse response = customerService.patchCustomer(id, patch, CustomerETag.expectedVersion(ifMatch));
+        log.debug("Customer with ID: {} patched successfully", id);
+        return withETag(ResponseEntity.ok(), response);
+    }
+
+    @PostMapping("/{id}/purchases")
+    @Operation(summary = "Record a purchase",
+            description = "Adds the amount to the annual spend and moves the last purchase date forward")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Purchase recorded"),
+            @ApiResponse(responseCode = "400", description = "Invalid input"),
+            @ApiResponse(responseCode = "404", description = "Customer not found"),
+            @ApiResponse(responseCode = "409", description = "Customer changed concurrently too often")
+    })
+    public ResponseEntity<CustomerResponse> recordPurchase(
+            @Parameter(description = "ID of the customer who made the purchase") @PathVariable UUID id,
+            @Valid @RequestBody PurchaseRequest purchaseRequest) throws ResourceNotFoundException {
+        log.debug("Received purchase of {} for customer with ID: {}", purchaseRequest.getAmount(), id);
+        CustomerResponse response = customerService.recordPurchase(id, purchaseRequest);
+        log.debug("Purchase recorded for customer with ID: {}", id);
+        return withETag(ResponseEntity.ok(), response);
     }
 
     @DeleteMapping("/{id}")
     @Operation(summary = "Delete customer by ID")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "204", description = "Customer deleted successfully"),
-            @ApiResponse(responseCode = "404", description = "Customer not found")
+            @ApiResponse(responseCode = "404", description = "Customer not found"),
+            @ApiResponse(responseCode = "412", description = "Customer changed since the version in If-Match")
     })
     public ResponseEntity<String> deleteCustomer(
-            @Parameter(description = "ID of the customer to be deleted") @PathVariable UUID id) throws ResourceNotFoundException {
-        log.info("Received request to delete customer with ID: {}", id);
-        CustomerResponse response = customerService.getCustomerById(id);
-        log.debug("Returning customer with ID: {}", id);
-        if (response == null) {
-            log.debug("No customers found with ID containing: {}", id);
-            throw new ResourceNotFoundException("No customers found with ID: " + id);
-        } else {
-            customerService.deleteCustomer(id);
-        }
+            @Parameter(description = "ID of the customer to be deleted") @PathVariable UUID id,
+            @Parameter(description = "ETag the customer must still have") @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) throws ResourceNotFoundException {
+        log.debug("Received request to delete customer with ID: {}", id);
+        customerService.deleteCustomer(id, CustomerETag.expectedVersion(ifMatch));
         log.debug("Customer with ID: {} deleted successfully", id);
         return ResponseEntity.status(HttpStatus.NO_CONTENT)
                 .body("Customer with ID: " + id + " deleted successfully");
     }
-}
\ No newline at end of file
+
+    private static ResponseEntity<CustomerResponse> withETag(ResponseEntity.BodyBuilder builder, CustomerResponse response) {
+        return withETag(builder, response, response);
+    }
+
+    private static <T> ResponseEntity<T> withETag(ResponseEntity.BodyBuilder builder, CustomerResponse response, T body) {
+        String etag = CustomerETag.of(response);
+        if (etag != null) {
+            builder.eTag(etag);
+        }
+        return builder.body(body);
+    }
+}
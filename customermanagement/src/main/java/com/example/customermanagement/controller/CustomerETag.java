@@ -0,0 +1,43 @@
+package com.example.customermanagement.controller;
+
+import com.example.customermanagement.constants.CustomerConstants;
+import com.example.customermanagement.dto.CustomerResponse;
+import com.example.customermanagement.exception.PreconditionFailedException;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Entity tags for a single customer. The tag carries the row version plus the tier, since the tier in a
+ * response is evaluated at read time and can change as a purchase ages without the row being written.
+ * Preconditions on writes only compare the version.
+ */
+final class CustomerETag {
+
+    private static final Pattern TAG = Pattern.compile("\"(\\d{1,18})(?:-[^\"]*)?\"");
+
+    private CustomerETag() {
+    }
+
+    static String of(CustomerResponse response) {
+        if (response.getVersion() == null) {
+            return null;
+        }
+        return "\"" + response.getVersion() + "-" + response.getTier() + "\"";
+    }
+
+    /**
+     * Returns the version an {@code If-Match} header requires, or null when any current version will do.
+     * A weak tag, a list or a tag this service never issued can never match, so those fail straight away.
+     */
+    static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.strip().equals("*")) {
+            return null;
+        }
+        Matcher matcher = TAG.matcher(ifMatch.strip());
+        if (!matcher.matches()) {
+            throw new PreconditionFailedException(CustomerConstants.VERSION_MISMATCH);
+        }
+        return Long.parseLong(matcher.group(1));
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.customermanagement.controller;
+
+import com.example.customermanagement.exception.BadRequestException;
+import com.example.customermanagement.service.CustomerExportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Locale;
+
+@RestController
+@RequestMapping("/customers/export")
+@Tag(name = "Customer Management", description = "API for managing customers")
+public class CustomerExportController {
+
+    @Autowired
+    CustomerExportService customerExportService;
+
+    private static final Logger log = LoggerFactory.getLogger(CustomerExportController.class);
+
+    @GetMapping
+    @Operation(summary = "Stream every customer with its current tier as CSV or newline-delimited JSON")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Customers streamed, gzip-compressed when the client accepts it"),
+            @ApiResponse(responseCode = "400", description = "Unknown format")
+    })
+    public ResponseEntity<StreamingResponseBody> exportCustomers(
+            @Parameter(description = "csv (default) or ndjson") @RequestParam(defaultValue = "csv") String format) {
+        CustomerExportService.Format exportFormat = format(format);
+        log.info("Received request to export customers as {}", exportFormat);
+        // Compression, and its Content-Encoding and Vary headers, come from server.compression
+        StreamingResponseBody body = out -> customerExportService.exportCustomers(out, exportFormat);
+        String extension = exportFormat == CustomerExportService.Format.CSV ? "csv" : "ndjson";
+        return ResponseEntity.ok()
+                .contentType(exportFormat == CustomerExportService.Format.CSV
+                        ? new MediaType("text", "csv", StandardCharsets.UTF_8)
+                        : MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("customers-" + LocalDate.now() + "." + extension)
+                        .build().toString())
+                .body(body);
+    }
+
+    private static CustomerExportService.Format format(String format) {
+        try {
+            return CustomerExportService.Format.valueOf(format.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Format must be csv or ndjson");
+        }
+    }
+}
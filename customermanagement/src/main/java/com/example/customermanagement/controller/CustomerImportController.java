@@ -0,0 +1,51 @@
+package com.example.customermanagement.controller;
+
+import com.example.customermanagement.dto.CustomerImportResponse;
+import com.example.customermanagement.service.CustomerImportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+@RestController
+@RequestMapping("/customers/import")
+@Tag(name = "Customer Management", description = "API for managing customers")
+public class CustomerImportController {
+
+    static final String TEXT_CSV_VALUE = "text/csv";
+
+    @Autowired
+    CustomerImportService customerImportService;
+
+    private static final Logger log = LoggerFactory.getLogger(CustomerImportController.class);
+
+    @PostMapping(consumes = {TEXT_CSV_VALUE, MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    @Operation(summary = "Import customers from a CSV, JSON array or newline-delimited JSON body of any size")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Import finished; see counts and rejected rows"),
+            @ApiResponse(responseCode = "400", description = "Import stopped at a malformed row; rows before it were imported")
+    })
+    public ResponseEntity<CustomerImportResponse> importCustomers(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType, InputStream body) throws IOException {
+        log.info("Received customer import request");
+        CustomerImportService.Format format = contentType.isCompatibleWith(MediaType.parseMediaType(TEXT_CSV_VALUE))
+                ? CustomerImportService.Format.CSV
+                : CustomerImportService.Format.JSON;
+        CustomerImportResponse response = customerImportService.importCustomers(body, format);
+        return ResponseEntity.status(response.getError() == null ? HttpStatus.OK : HttpStatus.BAD_REQUEST).body(response);
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.customermanagement.controller;
+
+import com.example.customermanagement.dto.CustomerLookupRequest;
+import com.example.customermanagement.dto.CustomerLookupResponse;
+import com.example.customermanagement.service.CustomerService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/customers/lookup")
+@Tag(name = "Customer Management", description = "API for managing customers")
+public class CustomerLookupController {
+
+    @Autowired
+    CustomerService customerService;
+
+    private static final Logger log = LoggerFactory.getLogger(CustomerLookupController.class);
+
+    @PostMapping
+    @Operation(summary = "Get many customers by ID and/or email in one request",
+            description = "Customers found are returned in request order, ids before emails, each customer once; keys with no customer are listed as missing")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Lookup processed"),
+            @ApiResponse(responseCode = "400", description = "Null key or too many keys")
+    })
+    public ResponseEntity<CustomerLookupResponse> lookupCustomers(@RequestBody CustomerLookupRequest request) {
+        log.debug("Received lookup request");
+        CustomerLookupResponse response = customerService.lookupCustomers(request);
+        log.debug("Lookup found {} customers", response.getFound().size());
+        return ResponseEntity.ok(response);
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.customermanagement.controller;
+
+import com.example.customermanagement.config.CustomerStatsProperties;
+import com.example.customermanagement.dto.CustomerStatsResponse;
+import com.example.customermanagement.service.CustomerStatsService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/customers/stats")
+@Tag(name = "Customer Management", description = "API for managing customers")
+public class CustomerStatsController {
+
+    @Autowired
+    CustomerStatsService customerStatsService;
+
+    @Autowired
+    CustomerStatsProperties statsProperties;
+
+    private static final Logger log = LoggerFactory.getLogger(CustomerStatsController.class);
+
+    @GetMapping
+    @Operation(summary = "Customer counts and spend aggregates per tier, with a spend histogram")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Statistics, at most customer.stats.ttl old")
+    })
+    public ResponseEntity<CustomerStatsResponse> getStats() {
+        log.debug("Received request for customer stats");
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(statsProperties.getTtl()))
+                .body(customerStatsService.getStats());
+    }
+}
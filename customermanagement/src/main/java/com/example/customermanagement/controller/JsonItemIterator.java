@@ -0,0 +1,55 @@
+package com.example.customermanagement.controller;
+
+import com.example.customermanagement.exception.BadRequestException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+
+/**
+ * Reads a request body holding either a JSON array or newline-delimited JSON one item at a time,
+ * reporting malformed input as a bad request instead of a server error.
+ */
+class JsonItemIterator<T> implements Iterator<T>, Closeable {
+
+    private final MappingIterator<T> delegate;
+    private int index;
+
+    JsonItemIterator(ObjectMapper objectMapper, Class<T> type, InputStream body) throws IOException {
+        this.delegate = objectMapper.readerFor(type).readValues(body);
+    }
+
+    @Override
+    public boolean hasNext() {
+        try {
+            return delegate.hasNextValue();
+        } catch (IOException e) {
+            throw malformed(e);
+        }
+    }
+
+    @Override
+    public T next() {
+        try {
+            T value = delegate.nextValue();
+            index++;
+            return value;
+        } catch (IOException e) {
+            throw malformed(e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        delegate.close();
+    }
+
+    private BadRequestException malformed(IOException e) {
+        String reason = e instanceof JsonProcessingException jsonException ? jsonException.getOriginalMessage() : e.getMessage();
+        return new BadRequestException("Malformed item at index " + index + ": " + reason);
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.customermanagement.controller;
+
+import com.example.customermanagement.config.PurchaseIngestProperties;
+import com.example.customermanagement.constants.CustomerConstants;
+import com.example.customermanagement.exception.BadRequestException;
+import com.example.customermanagement.ingest.PurchaseEvent;
+import com.example.customermanagement.ingest.PurchaseIngestor;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@RestController
+@RequestMapping("/purchase-events")
+@Tag(name = "Customer Management", description = "API for managing customers")
+public class PurchaseEventController {
+
+    @Autowired
+    PurchaseIngestor purchaseIngestor;
+
+    @Autowired
+    PurchaseIngestProperties ingestProperties;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Autowired
+    Validator validator;
+
+    private static final Logger log = LoggerFactory.getLogger(PurchaseEventController.class);
+
+    @PostMapping(consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    @Operation(summary = "Queue purchase events from a JSON array or newline-delimited JSON body")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "Events logged and queued"),
+            @ApiResponse(responseCode = "400", description = "Malformed body, invalid event or too many events"),
+            @ApiResponse(responseCode = "503", description = "Queue full; retry after the Retry-After delay")
+    })
+    public ResponseEntity<Map<String, Integer>> ingestPurchases(InputStream body) throws IOException {
+        int maxItems = ingestProperties.getQueueCapacity();
+        List<PurchaseEvent> events = new ArrayList<>();
+        try (JsonItemIterator<PurchaseEvent> items = new JsonItemIterator<>(objectMapper, PurchaseEvent.class, body)) {
+            while (items.hasNext()) {
+                if (events.size() == maxItems) {
+                    throw new BadRequestException(String.format(CustomerConstants.BATCH_TOO_LARGE, maxItems));
+                }
+                PurchaseEvent event = items.next();
+                if (event == null) {
+                    throw new BadRequestException("Invalid item at index " + events.size() + ": null");
+                }
+                Set<ConstraintViolation<PurchaseEvent>> violations = validator.validate(event);
+                if (!violations.isEmpty()) {
+                    throw new BadRequestException("Invalid item at index " + events.size() + ": " + violations.stream()
+                            .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                            .sorted()
+                            .collect(Collectors.joining(", ")));
+                }
+                events.add(event);
+            }
+        }
+        purchaseIngestor.accept(events);
+        log.debug("Queued {} purchase events", events.size());
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(Map.of("accepted", events.size()));
+    }
+}
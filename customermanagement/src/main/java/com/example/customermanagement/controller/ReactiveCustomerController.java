@@ -0,0 +1,213 @@
+package com.example.customermanagement.controller;
+
+import com.example.customermanagement.constants.CustomerConstants;
+import com.example.customermanagement.dto.CustomerRequest;
+import com.example.customermanagement.dto.CustomerResponse;
+import com.example.customermanagement.dto.PurchaseRequest;
+import com.example.customermanagement.exception.BadRequestException;
+import com.example.customermanagement.search.NameNormalizer;
+import com.example.customermanagement.service.ReactiveCustomerService;
+import com.example.customermanagement.service.TierEngine;
+import com.fasterxml.jackson.databind.JsonNode;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+/**
+ * The {@link CustomerController} endpoints for the {@code reactive} profile. Handlers return as soon as
+ * the query is issued; Spring MVC completes the response asynchronously when the {@link Mono} or
+ * {@link Flux} signals, and errors reach the same exception handlers.
+ */
+@RestController
+@Profile("reactive")
+@RequestMapping("/customers")
+@Tag(name = "Customer Management", description = "API for managing customers")
+public class ReactiveCustomerController {
+
+    @Autowired
+    ReactiveCustomerService customerService;
+
+    private static final Logger log = LoggerFactory.getLogger(ReactiveCustomerController.class);
+
+    private static final String MERGE_PATCH_JSON = "application/merge-patch+json";
+
+    @PostMapping
+    @Operation(summary = "Create a new customer")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Customer created successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid input")
+    })
+    public Mono<ResponseEntity<CustomerResponse>> createCustomer(@Valid @RequestBody CustomerRequest customerRequest) {
+        log.debug("Received request to create customer with email: {}", customerRequest.getEmail());
+        return customerService.createCustomer(customerRequest)
+                .map(response -> withETag(ResponseEntity.status(HttpStatus.CREATED), response));
+    }
+
+    @GetMapping("/{id}")
+    @Operation(summary = "Get customer by ID",
+            description = "Returns 304 without a body when If-None-Match carries the current ETag")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Customer found"),
+            @ApiResponse(responseCode = "304", description = "Customer not modified"),
+            @ApiResponse(responseCode = "404", description = "Customer not found")
+    })
+    public Mono<ResponseEntity<CustomerResponse>> getCustomerById(
+            @Parameter(description = "ID of the customer to be retrieved") @PathVariable UUID id) {
+        log.debug("Received request to get customer with ID: {}", id);
+        return customerService.getCustomerById(id)
+                .map(response -> withETag(ResponseEntity.ok(), response));
+    }
+
+    @GetMapping
+    @Operation(summary = "List customers, or search them by name, email or tier")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Customers found"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor, page size or tier"),
+            @ApiResponse(responseCode = "404", description = "No customers found")
+    })
+    public Mono<?> searchCustomers(
+            @Parameter(description = "Name to search for") @RequestParam(required = false) String name,
+            @Parameter(description = "Email to search for") @RequestParam(required = false) String email,
+            @Parameter(description = "Tier to filter by (Silver, Gold or Platinum)") @RequestParam(required = false) String tier,
+            @Parameter(description = "Continuation token returned as nextCursor by the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size") @RequestParam(required = false) Integer size) {
+        int pageSize = size != null ? size : CustomerConstants.DEFAULT_PAGE_SIZE;
+
+        if (name != null) {
+            log.debug("Received request to search customers by name: {}", name);
+            return customerService.getCustomersPageByName(name, cursor, pageSize);
+        } else if (email != null) {
+            log.debug("Received request to search customer by email: {}", email);
+            return customerService.getCustomerByEmail(email);
+        } else if (tier != null) {
+            log.debug("Received request to list customers with tier: {}", tier);
+            return customerService.getCustomersByTier(tier, cursor, pageSize);
+        } else {
+            log.debug("Received request to list customers after cursor: {}", cursor);
+            return customerService.getCustomers(cursor, pageSize);
+        }
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Stream all customers, or those matching a name, email or tier, as newline-delimited JSON",
+            description = "Each customer is written and flushed as soon as its row arrives")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Customers streamed"),
+            @ApiResponse(responseCode = "400", description = "Blank name or invalid tier")
+    })
+    public Flux<CustomerResponse> streamCustomers(
+            @Parameter(description = "Name to filter by") @RequestParam(required = false) String name,
+            @Parameter(description = "Email to filter by (exact match)") @RequestParam(required = false) String email,
+            @Parameter(description = "Tier to filter by (Silver, Gold or Platinum)") @RequestParam(required = false) String tier) {
+        // Same precedence as the JSON search; the name and tier are checked before the stream starts
+        if (name != null) {
+            if (NameNormalizer.normalize(name).isEmpty()) {
+                throw new BadRequestException(CustomerConstants.NAME_QUERY_REQUIRED);
+            }
+            log.debug("Received request to stream customers with name: {}", name);
+            return customerService.streamCustomers(name);
+        } else if (email != null) {
+            log.debug("Received request to stream customer with email: {}", email);
+            return customerService.streamCustomersByEmail(email);
+        } else if (tier != null) {
+            String normalizedTier = TierEngine.normalizeTier(tier);
+            log.debug("Received request to stream customers with tier: {}", normalizedTier);
+            return customerService.streamCustomersByTier(normalizedTier);
+        }
+        log.debug("Received request to stream all customers");
+        return customerService.streamCustomers(null);
+    }
+
+    @PutMapping("/{id}")
+    @Operation(summary = "Update customer by ID")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Customer updated successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid input"),
+            @ApiResponse(responseCode = "404", description = "Customer not found"),
+            @ApiResponse(responseCode = "412", description = "Customer changed since the version in If-Match")
+    })
+    public Mono<ResponseEntity<CustomerResponse>> updateCustomer(
+            @Parameter(description = "ID of the customer to be updated") @PathVariable UUID id,
+            @Parameter(description = "ETag the customer must still have") @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @Valid @RequestBody CustomerRequest customerRequest) {
+        log.debug("Received request to update customer with ID: {}", id);
+        return customerService.updateCustomer(id, customerRequest, CustomerETag.expectedVersion(ifMatch))
+                .map(response -> withETag(ResponseEntity.ok(), response));
+    }
+
+    @PatchMapping(path = "/{id}", consumes = {MERGE_PATCH_JSON, MediaType.APPLICATION_JSON_VALUE})
+    @Operation(summary = "Partially update customer by ID",
+            description = "Applies a JSON Merge Patch: fields present are replaced, null clears an optional field, absent fields are kept")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Customer patched, or already matched the patch"),
+            @ApiResponse(responseCode = "400", description = "Invalid patch or resulting customer"),
+            @ApiResponse(responseCode = "404", description = "Customer not found"),
+            @ApiResponse(responseCode = "409", description = "Customer changed concurrently"),
+            @ApiResponse(responseCode = "412", description = "Customer changed since the version in If-Match")
+    })
+    public Mono<ResponseEntity<CustomerResponse>> patchCustomer(
+            @Parameter(description = "ID of the customer to be patched") @PathVariable UUID id,
+            @Parameter(description = "ETag the customer must still have") @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @RequestBody JsonNode patch) {
+        log.debug("Received request to patch customer with ID: {}", id);
+        return customerService.patchCustomer(id, patch, CustomerETag.expectedVersion(ifMatch))
+                .map(response -> withETag(ResponseEntity.ok(), response));
+    }
+
+    @PostMapping("/{id}/purchases")
+    @Operation(summary = "Record a purchase",
+            description = "Adds the amount to the annual spend and moves the last purchase date forward")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Purchase recorded"),
+            @ApiResponse(responseCode = "400", description = "Invalid input"),
+            @ApiResponse(responseCode = "404", description = "Customer not found"),
+            @ApiResponse(responseCode = "409", description = "Customer changed concurrently too often")
+    })
+    public Mono<ResponseEntity<CustomerResponse>> recordPurchase(
+            @Parameter(description = "ID of the customer who made the purchase") @PathVariable UUID id,
+            @Valid @RequestBody PurchaseRequest purchaseRequest) {
+        log.debug("Received purchase of {} for customer with ID: {}", purchaseRequest.getAmount(), id);
+        return customerService.recordPurchase(id, purchaseRequest)
+                .map(response -> withETag(ResponseEntity.ok(), response));
+    }
+
+    @DeleteMapping("/{id}")
+    @Operation(summary = "Delete customer by ID")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Customer deleted successfully"),
+            @ApiResponse(responseCode = "404", description = "Customer not found"),
+            @ApiResponse(responseCode = "412", description = "Customer changed since the version in If-Match")
+    })
+    public Mono<ResponseEntity<String>> deleteCustomer(
+            @Parameter(description = "ID of the customer to be deleted") @PathVariable UUID id,
+            @Parameter(description = "ETag the customer must still have") @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        log.debug("Received request to delete customer with ID: {}", id);
+        return customerService.deleteCustomer(id, CustomerETag.expectedVersion(ifMatch))
+                .then(Mono.fromSupplier(() -> ResponseEntity.status(HttpStatus.NO_CONTENT)
+                        .body("Customer with ID: " + id + " deleted successfully")));
+    }
+
+    private static ResponseEntity<CustomerResponse> withETag(ResponseEntity.BodyBuilder builder, CustomerResponse response) {
+        String etag = CustomerETag.of(response);
+        if (etag != null) {
+            builder.eTag(etag);
+        }
+        return builder.body(response);
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.customermanagement.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.UUID;
+
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchItemResult {
+    private int index;
+    private int status;
+    private UUID id;
+    private String error;
+
+    public BatchItemResult() {
+    }
+
+    public BatchItemResult(int index, int status, UUID id, String error) {
+        this.index = index;
+        this.status = status;
+        this.id = id;
+        this.error = error;
+    }
+
+    public static BatchItemResult success(int index, int status, UUID id) {
+        return new BatchItemResult(index, status, id, null);
+    }
+
+    public static BatchItemResult failure(int index, int status, UUID id, String error) {
+        return new BatchItemResult(index, status, id, error);
+    }
+
+    @JsonIgnore
+    public boolean isSuccess() {
+        return status < 300;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public void setStatus(int status) {
+        this.status = status;
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public void setId(UUID id) {
+        this.id = id;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.customermanagement.dto;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+
+public class CustomerBatchResponse {
+    private int succeeded;
+    private int failed;
+    private List<BatchItemResult> results = new ArrayList<>();
+
+    public void add(BatchItemResult result) {
+        results.add(result);
+        if (result.isSuccess()) {
+            succeeded++;
+        } else {
+            failed++;
+        }
+    }
+
+    public CustomerBatchResponse sorted() {
+        results.sort(Comparator.comparingInt(BatchItemResult::getIndex));
+        return this;
+    }
+
+    public int getSucceeded() {
+        return succeeded;
+    }
+
+    public void setSucceeded(int succeeded) {
+        this.succeeded = succeeded;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+
+    public void setFailed(int failed) {
+        this.failed = failed;
+    }
+
+    public List<BatchItemResult> getResults() {
+        return results;
+    }
+
+    public void setResults(List<BatchItemResult> results) {
+        this.results = results;
+    }
+}
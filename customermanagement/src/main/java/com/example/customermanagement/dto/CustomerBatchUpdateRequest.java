@@ -0,0 +1,19 @@
+package com.example.customermanagement.dto;
+
+import jakarta.validation.constraints.NotNull;
+
+import java.util.UUID;
+
+
+public class CustomerBatchUpdateRequest extends CustomerRequest {
+    @NotNull(message = "Id is required")
+    private UUID id;
+
+    public UUID getId() {
+        return id;
+    }
+
+    public void setId(UUID id) {
+        this.id = id;
+    }
+}
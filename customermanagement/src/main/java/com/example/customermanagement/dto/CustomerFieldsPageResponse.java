@@ -0,0 +1,46 @@
+package com.example.customermanagement.dto;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A page of customers holding only the fields requested with {@code ?fields=}.
+ */
+public class CustomerFieldsPageResponse {
+    private List<Map<String, Object>> content;
+    private int size;
+    private String nextCursor;
+
+    public CustomerFieldsPageResponse() {
+    }
+
+    public CustomerFieldsPageResponse(List<Map<String, Object>> content, String nextCursor) {
+        this.content = content;
+        this.size = content.size();
+        this.nextCursor = nextCursor;
+    }
+
+    public List<Map<String, Object>> getContent() {
+        return content;
+    }
+
+    public void setContent(List<Map<String, Object>> content) {
+        this.content = content;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public void setSize(int size) {
+        this.size = size;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.customermanagement.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.ArrayList;
+import java.util.List;
+
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CustomerImportResponse {
+    private long rows;
+    private long imported;
+    private long rejected;
+    private long elapsedMillis;
+    private String error;
+    private List<BatchItemResult> rejections = new ArrayList<>();
+
+    public long getRows() {
+        return rows;
+    }
+
+    public void setRows(long rows) {
+        this.rows = rows;
+    }
+
+    public long getImported() {
+        return imported;
+    }
+
+    public void setImported(long imported) {
+        this.imported = imported;
+    }
+
+    public long getRejected() {
+        return rejected;
+    }
+
+    public void setRejected(long rejected) {
+        this.rejected = rejected;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public void setElapsedMillis(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    public List<BatchItemResult> getRejections() {
+        return rejections;
+    }
+
+    public void setRejections(List<BatchItemResult> rejections) {
+        this.rejections = rejections;
+    }
+}
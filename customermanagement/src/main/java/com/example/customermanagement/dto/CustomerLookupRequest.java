@@ -0,0 +1,27 @@
+package com.example.customermanagement.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+
+public class CustomerLookupRequest {
+    private List<UUID> ids = new ArrayList<>();
+    private List<String> emails = new ArrayList<>();
+
+    public List<UUID> getIds() {
+        return ids;
+    }
+
+    public void setIds(List<UUID> ids) {
+        this.ids = ids;
+    }
+
+    public List<String> getEmails() {
+        return emails;
+    }
+
+    public void setEmails(List<String> emails) {
+        this.emails = emails;
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.customermanagement.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+
+public class CustomerLookupResponse {
+    private List<CustomerResponse> found = new ArrayList<>();
+    private List<UUID> missingIds = new ArrayList<>();
+    private List<String> missingEmails = new ArrayList<>();
+
+    public List<CustomerResponse> getFound() {
+        return found;
+    }
+
+    public void setFound(List<CustomerResponse> found) {
+        this.found = found;
+    }
+
+    public List<UUID> getMissingIds() {
+        return missingIds;
+    }
+
+    public void setMissingIds(List<UUID> missingIds) {
+        this.missingIds = missingIds;
+    }
+
+    public List<String> getMissingEmails() {
+        return missingEmails;
+    }
+
+    public void setMissingEmails(List<String> missingEmails) {
+        this.missingEmails = missingEmails;
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.customermanagement.dto;
+
+import java.util.List;
+
+
+public class CustomerPageResponse {
+    private List<CustomerResponse> content;
+    private int size;
+    private String nextCursor;
+
+    public CustomerPageResponse() {
+    }
+
+    public CustomerPageResponse(List<CustomerResponse> content, String nextCursor) {
+        this.content = content;
+        this.size = content.size();
+        this.nextCursor = nextCursor;
+    }
+
+    public List<CustomerResponse> getContent() {
+        return content;
+    }
+
+    public void setContent(List<CustomerResponse> content) {
+        this.content = content;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public void setSize(int size) {
+        this.size = size;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
@@ -1,10 +1,9 @@
 package com.example.customermanagement.dto;
 
-import com.example.customermanagement.constants.CustomerConstants;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
-import java.time.temporal.ChronoUnit;
 import java.util.UUID;
 
 
@@ -15,22 +14,8 @@ public class CustomerResponse {
     private BigDecimal annualSpend;
     private LocalDateTime lastPurchaseDate;
     private String tier;
-
-    public void calculateTier() {
-        if (annualSpend == null) {
-            this.tier = CustomerConstants.SILVER;
-            return;
-        }
-        LocalDateTime now = LocalDateTime.now();
-        long months = lastPurchaseDate != null ? ChronoUnit.MONTHS.between(lastPurchaseDate, now) : Long.MAX_VALUE;
-        if (annualSpend.compareTo(new BigDecimal("10000")) >= 0 && months <= 6) {
-            this.tier = CustomerConstants.PLATINUM;
-        } else if (annualSpend.compareTo(new BigDecimal("1000")) >= 0 && months <= 12) {
-            this.tier = CustomerConstants.GOLD;
-        } else {
-            this.tier = CustomerConstants.SILVER;
-        }
-    }
+    @JsonIgnore
+    private Long version;
 
     public UUID getId() {
         return id;
@@ -79,4 +64,12 @@ public class CustomerResponse {
     public void setTier(String tier) {
         this.tier = tier;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
@@ -0,0 +1,78 @@
+package com.example.customermanagement.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+
+public class CustomerStatsResponse {
+    private LocalDateTime computedAt;
+    private long customers;
+    private BigDecimal totalSpend;
+    private BigDecimal averageSpend;
+    private List<TierStats> tiers = new ArrayList<>();
+    private List<SpendBucket> spendHistogram = new ArrayList<>();
+
+    /**
+     * Customers in one tier; {@code averageSpend}, {@code minSpend} and {@code maxSpend} cover only the
+     * customers with a recorded spend and are null when there are none.
+     */
+    public record TierStats(String tier, long customers, BigDecimal totalSpend, BigDecimal averageSpend,
+                            BigDecimal minSpend, BigDecimal maxSpend) {
+    }
+
+    /**
+     * Customers whose annual spend is at least {@code from} and below {@code to}; a null bound is open.
+     */
+    public record SpendBucket(BigDecimal from, BigDecimal to, long customers) {
+    }
+
+    public LocalDateTime getComputedAt() {
+        return computedAt;
+    }
+
+    public void setComputedAt(LocalDateTime computedAt) {
+        this.computedAt = computedAt;
+    }
+
+    public long getCustomers() {
+        return customers;
+    }
+
+    public void setCustomers(long customers) {
+        this.customers = customers;
+    }
+
+    public BigDecimal getTotalSpend() {
+        return totalSpend;
+    }
+
+    public void setTotalSpend(BigDecimal totalSpend) {
+        this.totalSpend = totalSpend;
+    }
+
+    public BigDecimal getAverageSpend() {
+        return averageSpend;
+    }
+
+    public void setAverageSpend(BigDecimal averageSpend) {
+        this.averageSpend = averageSpend;
+    }
+
+    public List<TierStats> getTiers() {
+        return tiers;
+    }
+
+    public void setTiers(List<TierStats> tiers) {
+        this.tiers = tiers;
+    }
+
+    public List<SpendBucket> getSpendHistogram() {
+        return spendHistogram;
+    }
+
+    public void setSpendHistogram(List<SpendBucket> spendHistogram) {
+        this.spendHistogram = spendHistogram;
+    }
+}
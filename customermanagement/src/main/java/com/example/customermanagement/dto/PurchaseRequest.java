@@ -0,0 +1,34 @@
+package com.example.customermanagement.dto;
+
+import com.example.customermanagement.constants.CustomerConstants;
+import com.fasterxml.jackson.annotation.JsonFormat;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotNull;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public class PurchaseRequest {
+    @NotNull(message = CustomerConstants.AMOUNT_REQUIRED)
+    @DecimalMin(value = "0.00", message = CustomerConstants.INVALID_AMOUNT)
+    private BigDecimal amount;
+
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime purchasedAt;
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public void setAmount(BigDecimal amount) {
+        this.amount = amount;
+    }
+
+    public LocalDateTime getPurchasedAt() {
+        return purchasedAt;
+    }
+
+    public void setPurchasedAt(LocalDateTime purchasedAt) {
+        this.purchasedAt = purchasedAt;
+    }
+}
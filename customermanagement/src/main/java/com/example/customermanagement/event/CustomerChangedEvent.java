@@ -0,0 +1,50 @@
+package com.example.customermanagement.event;
+
+import com.example.customermanagement.model.Customer;
+
+import java.util.UUID;
+
+/**
+ * Published after a customer row has been created, updated or deleted. {@code customer} holds the
+ * written state and is {@code null} for deletes.
+ */
+public class CustomerChangedEvent {
+
+    public enum Type {
+        CREATED, UPDATED, DELETED
+    }
+
+    private final Type type;
+    private final UUID id;
+    private final Customer customer;
+
+    private CustomerChangedEvent(Type type, UUID id, Customer customer) {
+        this.type = type;
+        this.id = id;
+        this.customer = customer;
+    }
+
+    public static CustomerChangedEvent created(Customer customer) {
+        return new CustomerChangedEvent(Type.CREATED, customer.getId(), customer);
+    }
+
+    public static CustomerChangedEvent updated(Customer customer) {
+        return new CustomerChangedEvent(Type.UPDATED, customer.getId(), customer);
+    }
+
+    public static CustomerChangedEvent deleted(UUID id) {
+        return new CustomerChangedEvent(Type.DELETED, id, null);
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public Customer getCustomer() {
+        return customer;
+    }
+}
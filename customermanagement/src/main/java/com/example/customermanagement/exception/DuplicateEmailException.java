@@ -0,0 +1,13 @@
+package com.example.customermanagement.exception;
+
+/**
+ * A create was rejected because another customer already has the email. Raised before any write, and
+ * often under retry storms, so it carries no stack trace.
+ */
+public class DuplicateEmailException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    public DuplicateEmailException(String message) {
+        super(message, null, false, false);
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.customermanagement.exception;
+
+public class QueueFullException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    public QueueFullException(String message) {
+        super(message);
+    }
+}
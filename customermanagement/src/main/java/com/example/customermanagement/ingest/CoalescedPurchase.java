@@ -0,0 +1,20 @@
+package com.example.customermanagement.ingest;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * The purchases of one customer within a flush, folded into a single row update.
+ */
+record CoalescedPurchase(UUID customerId, BigDecimal amount, LocalDateTime lastPurchaseDate, int events) {
+
+    static CoalescedPurchase of(PurchaseEvent event) {
+        return new CoalescedPurchase(event.customerId(), event.amount(), event.purchasedAt(), 1);
+    }
+
+    CoalescedPurchase plus(PurchaseEvent event) {
+        LocalDateTime latest = lastPurchaseDate.isBefore(event.purchasedAt()) ? event.purchasedAt() : lastPurchaseDate;
+        return new CoalescedPurchase(customerId, amount.add(event.amount()), latest, events + 1);
+    }
+}
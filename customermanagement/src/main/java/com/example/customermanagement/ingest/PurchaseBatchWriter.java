@@ -0,0 +1,144 @@
+package com.example.customermanagement.ingest;
+
+import com.example.customermanagement.config.PurchaseIngestProperties;
+import com.example.customermanagement.model.Customer;
+import com.example.customermanagement.service.TierEngine;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Applies coalesced purchases with JDBC batches. Spend and purchase date are changed relative to the
+ * stored row, so writes made through the API in the meantime are kept. Tiers are then recomputed for
+ * the touched rows, and the log checkpoint is moved in the same transaction, so a replay after a crash
+ * starts exactly after the last applied event.
+ */
+@Component
+public class PurchaseBatchWriter {
+
+    static final String CHECKPOINT_NAME = "purchase-events";
+
+    private static final String ADD_PURCHASES = "update customers set annual_spend = coalesce(annual_spend, 0) + ?,"
+            + " last_purchase_date = case when last_purchase_date is null or last_purchase_date < ? then cast(? as timestamp) else last_purchase_date end,"
+            + " version = version + 1 where id = ?";
+    private static final String SELECT_CUSTOMERS = "select id, name, email, annual_spend, last_purchase_date, tier, version"
+            + " from customers where id in (:ids)";
+    private static final String UPDATE_TIER = "update customers set tier = ? where id = ?";
+
+    private static final RowMapper<Customer> CUSTOMER_ROW = (rs, row) -> {
+        Customer customer = new Customer();
+        customer.setId(rs.getObject("id", UUID.class));
+        customer.setName(rs.getString("name"));
+        customer.setEmail(rs.getString("email"));
+        customer.setAnnualSpend(rs.getBigDecimal("annual_spend"));
+        customer.setLastPurchaseDate(rs.getObject("last_purchase_date", LocalDateTime.class));
+        customer.setTier(rs.getString("tier"));
+        customer.setVersion(rs.getLong("version"));
+        return customer;
+    };
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @Autowired
+    TierEngine tierEngine;
+
+    @Autowired
+    PurchaseIngestProperties ingestProperties;
+
+    public record Applied(List<Customer> customers, int droppedEvents) {
+    }
+
+    public long checkpoint() {
+        return transactionTemplate.execute(status -> {
+            List<Long> offsets = jdbcTemplate.queryForList("select log_offset from ingest_checkpoints where name = ?",
+                    Long.class, CHECKPOINT_NAME);
+            if (offsets.isEmpty()) {
+                jdbcTemplate.update("insert into ingest_checkpoints (name, log_offset) values (?, 0)", CHECKPOINT_NAME);
+                return 0L;
+            }
+            return offsets.get(0);
+        });
+    }
+
+    public void resetCheckpoint() {
+        moveCheckpoint(0);
+    }
+
+    /**
+     * Moves the checkpoint without applying anything, past events that are skipped.
+     */
+    public void moveCheckpoint(long offset) {
+        transactionTemplate.executeWithoutResult(status -> saveCheckpoint(offset));
+    }
+
+    public Applied apply(Collection<CoalescedPurchase> purchases, long checkpoint) {
+        return transactionTemplate.execute(status -> {
+            List<CoalescedPurchase> rows = new ArrayList<>(purchases);
+            int[][] counts = jdbcTemplate.batchUpdate(ADD_PURCHASES, rows, ingestProperties.getBatchSize(), (ps, purchase) -> {
+                ps.setBigDecimal(1, purchase.amount());
+                ps.setObject(2, purchase.lastPurchaseDate());
+                ps.setObject(3, purchase.lastPurchaseDate());
+                ps.setObject(4, purchase.customerId());
+            });
+            List<UUID> updated = new ArrayList<>(rows.size());
+            int dropped = 0;
+            int index = 0;
+            for (int[] batch : counts) {
+                for (int count : batch) {
+                    CoalescedPurchase purchase = rows.get(index++);
+                    if (count > 0) {
+                        updated.add(purchase.customerId());
+                    } else {
+                        dropped += purchase.events();
+                    }
+                }
+            }
+            List<Customer> customers = retier(updated);
+            saveCheckpoint(checkpoint);
+            return new Applied(customers, dropped);
+        });
+    }
+
+    private List<Customer> retier(List<UUID> ids) {
+        List<Customer> customers = new ArrayList<>(ids.size());
+        int chunk = ingestProperties.getBatchSize();
+        for (int from = 0; from < ids.size(); from += chunk) {
+            customers.addAll(namedParameterJdbcTemplate.query(SELECT_CUSTOMERS,
+                    Map.of("ids", ids.subList(from, Math.min(from + chunk, ids.size()))), CUSTOMER_ROW));
+        }
+        TierEngine.Evaluator tiers = tierEngine.now();
+        List<Object[]> changed = new ArrayList<>();
+        for (Customer customer : customers) {
+            String tier = tiers.tierOf(customer.getAnnualSpend(), customer.getLastPurchaseDate());
+            if (!tier.equals(customer.getTier())) {
+                customer.setTier(tier);
+                changed.add(new Object[]{tier, customer.getId()});
+            }
+        }
+        if (!changed.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPDATE_TIER, changed);
+        }
+        return customers;
+    }
+
+    private void saveCheckpoint(long offset) {
+        jdbcTemplate.update("update ingest_checkpoints set log_offset = ? where name = ?", offset, CHECKPOINT_NAME);
+    }
+}
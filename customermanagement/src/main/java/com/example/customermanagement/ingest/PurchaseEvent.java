@@ -0,0 +1,27 @@
+package com.example.customermanagement.ingest;
+
+import com.example.customermanagement.constants.CustomerConstants;
+import com.fasterxml.jackson.annotation.JsonFormat;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.NotNull;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * One purchase as it arrives on the ingestion endpoint and as it is kept in the purchase log.
+ * {@code purchasedAt} is optional on the wire and stamped with the arrival time before logging.
+ */
+public record PurchaseEvent(
+        @NotNull(message = CustomerConstants.CUSTOMER_ID_REQUIRED) UUID customerId,
+        @NotNull(message = CustomerConstants.AMOUNT_REQUIRED)
+        @DecimalMin(value = "0.00", message = CustomerConstants.INVALID_AMOUNT)
+        @Digits(integer = 36, fraction = 2, message = CustomerConstants.AMOUNT_OUT_OF_RANGE) BigDecimal amount,
+        @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss") LocalDateTime purchasedAt) {
+
+    PurchaseEvent withPurchasedAt(LocalDateTime purchasedAt) {
+        return new PurchaseEvent(customerId, amount, purchasedAt);
+    }
+}
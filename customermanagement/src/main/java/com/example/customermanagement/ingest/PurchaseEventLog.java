@@ -0,0 +1,144 @@
+package com.example.customermanagement.ingest;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Append-only file of accepted purchase events, one {@code customerId,amount,purchasedAt} line each.
+ * Events are appended before they are queued, so whatever was acknowledged can be replayed from the
+ * last applied offset after a crash. A torn last line left by a crash mid-append is cut off on open.
+ * Not thread-safe; the ingestor serializes access.
+ */
+class PurchaseEventLog implements Closeable {
+
+    private final Path path;
+    private final boolean sync;
+    private final FileChannel channel;
+
+    PurchaseEventLog(Path path, boolean sync) throws IOException {
+        this.path = path;
+        this.sync = sync;
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        channel.truncate(lastCompleteLineEnd());
+        channel.position(channel.size());
+    }
+
+    Path path() {
+        return path;
+    }
+
+    long size() throws IOException {
+        return channel.size();
+    }
+
+    /**
+     * Appends the events and returns the log offset just past each one.
+     */
+    long[] append(List<PurchaseEvent> events) throws IOException {
+        StringBuilder lines = new StringBuilder(events.size() * 72);
+        int[] lengths = new int[events.size()];
+        for (int i = 0; i < events.size(); i++) {
+            int start = lines.length();
+            PurchaseEvent event = events.get(i);
+            lines.append(event.customerId()).append(',')
+                    .append(event.amount().toPlainString()).append(',')
+                    .append(event.purchasedAt()).append('\n');
+            lengths[i] = lines.length() - start;
+        }
+        // Every character written is ASCII, so string length equals byte length.
+        ByteBuffer buffer = ByteBuffer.wrap(lines.toString().getBytes(StandardCharsets.US_ASCII));
+        long offset = channel.position();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        if (sync) {
+            channel.force(false);
+        }
+        long[] ends = new long[events.size()];
+        for (int i = 0; i < ends.length; i++) {
+            offset += lengths[i];
+            ends[i] = offset;
+        }
+        return ends;
+    }
+
+    /**
+     * Reads every event from {@code offset} to the end of the log.
+     */
+    void replay(long offset, Replay replay) throws IOException {
+        FileChannel reader = FileChannel.open(path, StandardOpenOption.READ);
+        reader.position(offset);
+        try (BufferedReader lines = new BufferedReader(new InputStreamReader(Channels.newInputStream(reader), StandardCharsets.US_ASCII))) {
+            long end = offset;
+            String line;
+            while ((line = lines.readLine()) != null) {
+                end += line.length() + 1;
+                replay.accept(parse(line), end);
+            }
+        }
+    }
+
+    /**
+     * Drops every event; only called once all of them have been applied.
+     */
+    void truncate() throws IOException {
+        channel.truncate(0);
+        channel.position(0);
+        if (sync) {
+            channel.force(true);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private long lastCompleteLineEnd() throws IOException {
+        long size = channel.size();
+        ByteBuffer buffer = ByteBuffer.allocate(4096);
+        long position = size;
+        while (position > 0) {
+            int length = (int) Math.min(buffer.capacity(), position);
+            position -= length;
+            buffer.clear().limit(length);
+            channel.read(buffer, position);
+            for (int i = length - 1; i >= 0; i--) {
+                if (buffer.get(i) == '\n') {
+                    return position + i + 1;
+                }
+            }
+        }
+        return 0;
+    }
+
+    private static PurchaseEvent parse(String line) {
+        String[] fields = line.split(",", 3);
+        if (fields.length != 3) {
+            throw new UncheckedIOException(new IOException("Corrupt purchase log line: " + line));
+        }
+        return new PurchaseEvent(UUID.fromString(fields[0]), new BigDecimal(fields[1]), LocalDateTime.parse(fields[2]));
+    }
+
+    interface Replay {
+        void accept(PurchaseEvent event, long end) throws IOException;
+    }
+}
@@ -0,0 +1,331 @@
+package com.example.customermanagement.ingest;
+
+import com.example.customermanagement.config.PurchaseIngestProperties;
+import com.example.customermanagement.constants.CustomerConstants;
+import com.example.customermanagement.event.CustomerChangedEvent;
+import com.example.customermanagement.exception.QueueFullException;
+import com.example.customermanagement.model.Customer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Accepts purchase events into a bounded queue and applies them in the background.
+ * <p>
+ * Accepted events are appended to a {@link PurchaseEventLog} before they are queued, and a batch only
+ * counts as applied once the database checkpoint has moved past its last event, so a crash loses
+ * nothing that was acknowledged: startup replays the log from the checkpoint. Each flush drains the
+ * queue in batches of at most {@code customer.ingest.batch-size} events and folds each batch into one
+ * row update per customer. When the queue cannot take a request, the whole request is rejected with
+ * {@link QueueFullException} instead of blocking the caller. A batch that
+ * violates a database constraint is applied again one event at a time, and the events that still fail
+ * on their own are logged, counted as failed and skipped, so they cannot hold back the queue or startup.
+ * Once everything has been applied and the queue is idle, the log is truncated and the checkpoint reset.
+ */
+@Component
+public class PurchaseIngestor {
+
+    @Autowired
+    PurchaseBatchWriter batchWriter;
+
+    @Autowired
+    PurchaseIngestProperties ingestProperties;
+
+    @Autowired
+    ApplicationEventPublisher eventPublisher;
+
+    @Autowired(required = false)
+    MeterRegistry meterRegistry;
+
+    private static final Logger log = LoggerFactory.getLogger(PurchaseIngestor.class);
+    private static final int SHUTDOWN_FLUSH_ATTEMPTS = 3;
+
+    private record Queued(PurchaseEvent event, long logEnd, long enqueuedNanos) {
+    }
+
+    private final Object appendLock = new Object();
+    private ArrayBlockingQueue<Queued> queue;
+    private PurchaseEventLog eventLog;
+    private boolean closed;
+    // Drained but not yet applied; retried by the next flush before anything new is drained
+    private volatile List<Queued> unapplied = List.of();
+
+    private Counter accepted;
+    private Counter rejected;
+    private Counter dropped;
+    private Counter failed;
+    private DistributionSummary batchEvents;
+    private DistributionSummary batchCustomers;
+    private Timer flushTimer;
+
+    @PostConstruct
+    void init() throws IOException {
+        queue = new ArrayBlockingQueue<>(ingestProperties.getQueueCapacity());
+        eventLog = new PurchaseEventLog(Path.of(ingestProperties.getLogPath()), ingestProperties.isSyncLog());
+        registerMeters(meterRegistry != null ? meterRegistry : new SimpleMeterRegistry());
+        replay();
+        log.info("Purchase ingestion ready: queue capacity {}, flush every {} ms, log {}",
+                ingestProperties.getQueueCapacity(), ingestProperties.getFlushIntervalMillis(), eventLog.path());
+    }
+
+    private void registerMeters(MeterRegistry registry) {
+        Gauge.builder("customer.ingest.queue.size", this, ingestor -> ingestor.queue.size())
+                .description("Purchase events waiting to be applied")
+                .register(registry);
+        Gauge.builder("customer.ingest.lag", this, PurchaseIngestor::lagSeconds)
+                .description("Age of the oldest purchase event not yet applied")
+                .baseUnit("seconds")
+                .register(registry);
+        accepted = eventCounter(registry, "accepted");
+        rejected = eventCounter(registry, "rejected");
+        dropped = eventCounter(registry, "dropped");
+        failed = eventCounter(registry, "failed");
+        batchEvents = DistributionSummary.builder("customer.ingest.batch.events")
+                .description("Purchase events applied per flush")
+                .register(registry);
+        batchCustomers = DistributionSummary.builder("customer.ingest.batch.customers")
+                .description("Customer rows updated per flush after coalescing")
+                .register(registry);
+        flushTimer = Timer.builder("customer.ingest.flush")
+                .description("Time spent applying one batch of purchase events")
+                .register(registry);
+    }
+
+    private static Counter eventCounter(MeterRegistry registry, String outcome) {
+        return Counter.builder("customer.ingest.events")
+                .description("Purchase events by outcome; dropped events named an unknown customer, failed ones violated a constraint")
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+
+    /**
+     * Logs and queues the events, or rejects all of them when the queue cannot take them.
+     */
+    public void accept(List<PurchaseEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        List<PurchaseEvent> stamped = new ArrayList<>(events.size());
+        for (PurchaseEvent event : events) {
+            stamped.add(event.purchasedAt() == null ? event.withPurchasedAt(now) : event);
+        }
+        synchronized (appendLock) {
+            // Only this block adds to the queue, so the remaining capacity can only grow until it is added to
+            if (closed || queue.remainingCapacity() < stamped.size()) {
+                rejected.increment(stamped.size());
+                throw new QueueFullException(CustomerConstants.INGEST_QUEUE_FULL);
+            }
+            long[] ends;
+            try {
+                ends = eventLog.append(stamped);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not append to the purchase log", e);
+            }
+            long enqueued = System.nanoTime();
+            for (int i = 0; i < stamped.size(); i++) {
+                queue.add(new Queued(stamped.get(i), ends[i], enqueued));
+            }
+        }
+        accepted.increment(stamped.size());
+    }
+
+    /**
+     * Applies the queue in batches of at most {@code customer.ingest.batch-size} events, each in its own
+     * transaction with its own checkpoint, until a batch comes up short or fails.
+     */
+    @Scheduled(fixedDelayString = "${customer.ingest.flush-interval-millis:200}")
+    public synchronized void flush() {
+        int batchSize = ingestProperties.getBatchSize();
+        while (true) {
+            List<Queued> batch = unapplied;
+            if (batch.isEmpty()) {
+                batch = new ArrayList<>(batchSize);
+                queue.drainTo(batch, batchSize);
+                if (batch.isEmpty()) {
+                    compact();
+                    return;
+                }
+                unapplied = batch;
+            }
+            if (!flushBatch(batch) || batch.size() < batchSize) {
+                return;
+            }
+        }
+    }
+
+    // Returns whether the whole batch was applied.
+    private boolean flushBatch(List<Queued> batch) {
+        long started = System.nanoTime();
+        int[] customers = new int[1];
+        List<Queued> remaining = apply(batch, applied -> {
+            customers[0] += applied.customers().size();
+            for (Customer customer : applied.customers()) {
+                eventPublisher.publishEvent(CustomerChangedEvent.updated(customer));
+            }
+        });
+        unapplied = remaining;
+        if (remaining.size() == batch.size()) {
+            return false;
+        }
+        flushTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        batchEvents.record(batch.size() - remaining.size());
+        batchCustomers.record(customers[0]);
+        log.debug("Applied {} purchase events to {} customers", batch.size() - remaining.size(), customers[0]);
+        return remaining.isEmpty();
+    }
+
+    /**
+     * Applies the events as one batch, or one at a time when the batch violates a constraint, and
+     * returns those left to retry after a failure that is not down to the events themselves.
+     */
+    private List<Queued> apply(List<Queued> batch, Consumer<PurchaseBatchWriter.Applied> onApplied) {
+        Map<UUID, CoalescedPurchase> purchases = new LinkedHashMap<>();
+        for (Queued queued : batch) {
+            purchases.merge(queued.event().customerId(), CoalescedPurchase.of(queued.event()),
+                    (current, next) -> current.plus(queued.event()));
+        }
+        try {
+            applied(batchWriter.apply(purchases.values(), batch.get(batch.size() - 1).logEnd()), onApplied);
+            return List.of();
+        } catch (DataIntegrityViolationException e) {
+            log.warn("Batch of {} purchase events violates a constraint, applying them one at a time", batch.size(), e);
+            return applyEach(batch, onApplied);
+        } catch (RuntimeException e) {
+            log.warn("Could not apply {} purchase events, retrying on the next flush", batch.size(), e);
+            return batch;
+        }
+    }
+
+    // Each event moves the checkpoint to its own end, so a failure part way leaves no event applied twice.
+    private List<Queued> applyEach(List<Queued> batch, Consumer<PurchaseBatchWriter.Applied> onApplied) {
+        for (int i = 0; i < batch.size(); i++) {
+            Queued queued = batch.get(i);
+            try {
+                try {
+                    applied(batchWriter.apply(List.of(CoalescedPurchase.of(queued.event())), queued.logEnd()), onApplied);
+                } catch (DataIntegrityViolationException e) {
+                    log.error("Skipping purchase of {} for customer {}: {}", queued.event().amount(),
+                            queued.event().customerId(), e.getMostSpecificCause().getMessage());
+                    batchWriter.moveCheckpoint(queued.logEnd());
+                    failed.increment();
+                }
+            } catch (RuntimeException e) {
+                log.warn("Could not apply {} purchase events, retrying on the next flush", batch.size() - i, e);
+                return new ArrayList<>(batch.subList(i, batch.size()));
+            }
+        }
+        return List.of();
+    }
+
+    private void applied(PurchaseBatchWriter.Applied applied, Consumer<PurchaseBatchWriter.Applied> onApplied) {
+        dropped.increment(applied.droppedEvents());
+        onApplied.accept(applied);
+    }
+
+    @PreDestroy
+    void close() throws IOException {
+        synchronized (appendLock) {
+            closed = true;
+        }
+        for (int attempt = 0; attempt < SHUTDOWN_FLUSH_ATTEMPTS && pending(); attempt++) {
+            flush();
+        }
+        if (pending()) {
+            log.warn("Shutting down with {} purchase events not applied; they will be replayed on the next start",
+                    queue.size() + unapplied.size());
+        }
+        eventLog.close();
+    }
+
+    private boolean pending() {
+        return !queue.isEmpty() || !unapplied.isEmpty();
+    }
+
+    private double lagSeconds() {
+        List<Queued> retrying = unapplied;
+        Queued oldest = retrying.isEmpty() ? queue.peek() : retrying.get(0);
+        return oldest == null ? 0 : (System.nanoTime() - oldest.enqueuedNanos()) / 1e9;
+    }
+
+    /**
+     * Truncates the log once every logged event has been applied. The log goes first: a crash in
+     * between leaves a checkpoint past the end of an empty log, which startup treats as zero.
+     */
+    private void compact() {
+        synchronized (appendLock) {
+            try {
+                if (!queue.isEmpty() || eventLog.size() == 0) {
+                    return;
+                }
+                eventLog.truncate();
+                batchWriter.resetCheckpoint();
+            } catch (IOException | RuntimeException e) {
+                log.warn("Could not compact the purchase log", e);
+            }
+        }
+    }
+
+    private void replay() throws IOException {
+        long checkpoint = batchWriter.checkpoint();
+        long size = eventLog.size();
+        if (checkpoint > size) {
+            log.info("Purchase log checkpoint {} is past the end of the log ({} bytes), starting from 0", checkpoint, size);
+            batchWriter.resetCheckpoint();
+            checkpoint = 0;
+        }
+        if (checkpoint == size) {
+            return;
+        }
+        log.info("Replaying purchase log {} from offset {} of {}", eventLog.path(), checkpoint, size);
+        List<Queued> chunk = new ArrayList<>(ingestProperties.getBatchSize());
+        int[] events = new int[2];
+        eventLog.replay(checkpoint, (event, eventEnd) -> {
+            chunk.add(new Queued(event, eventEnd, System.nanoTime()));
+            events[0]++;
+            if (chunk.size() == ingestProperties.getBatchSize()) {
+                events[1] += replayed(chunk);
+            }
+        });
+        events[1] += replayed(chunk);
+        log.info("Replayed {} purchase events, {} for unknown customers", events[0], events[1]);
+    }
+
+    private int replayed(List<Queued> chunk) {
+        if (chunk.isEmpty()) {
+            return 0;
+        }
+        int[] droppedEvents = new int[1];
+        if (!apply(chunk, applied -> droppedEvents[0] += applied.droppedEvents()).isEmpty()) {
+            throw new IllegalStateException("Could not replay the purchase log " + eventLog.path());
+        }
+        chunk.clear();
+        return droppedEvents[0];
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.customermanagement.logging;
+
+import com.example.customermanagement.config.RequestLogProperties;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Writes one key=value summary line per request: method, matched route, path, status and duration.
+ * Failed ({@code 5xx}) and slow requests are always logged; the rest are sampled at
+ * {@code customer.request-log.sample-rate}, and the {@code reason} field says which rule applied so
+ * sampled counts can be scaled back up. For a streamed (async) response the line is written when the
+ * handler returns, before the body is complete.
+ */
+@Component
+@ConditionalOnProperty(name = "customer.request-log.enabled", havingValue = "true", matchIfMissing = true)
+public class RequestSummaryFilter extends OncePerRequestFilter {
+
+    @Autowired
+    RequestLogProperties requestLogProperties;
+
+    private static final Logger log = LoggerFactory.getLogger(RequestSummaryFilter.class);
+
+    private double sampleRate;
+    private long slowNanos;
+
+    @PostConstruct
+    void init() {
+        sampleRate = requestLogProperties.getSampleRate();
+        slowNanos = requestLogProperties.getSlowThreshold().toNanos();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (!log.isInfoEnabled()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        long started = System.nanoTime();
+        boolean failed = true;
+        try {
+            filterChain.doFilter(request, response);
+            failed = false;
+        } finally {
+            long elapsed = System.nanoTime() - started;
+            int status = failed ? HttpServletResponse.SC_INTERNAL_SERVER_ERROR : response.getStatus();
+            String reason = status >= 500 ? "error"
+                    : elapsed >= slowNanos ? "slow"
+                    : sampleRate >= 1.0 || ThreadLocalRandom.current().nextDouble() < sampleRate ? "sample"
+                    : null;
+            if (reason != null) {
+                Object route = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+                log.info("request method={} route={} path={} status={} durationMs={} async={} reason={}",
+                        request.getMethod(), route == null ? "-" : route, request.getRequestURI(), status,
+                        elapsed / 1_000 / 1_000.0, request.isAsyncStarted(), reason);
+            }
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.customermanagement.metrics;
+
+/**
+ * Timers and counters for customer operations. Callers take a start mark from {@link #start()} and hand
+ * it back to a {@code record} method when the work is done, so a disabled implementation costs nothing
+ * beyond the calls themselves.
+ */
+public interface CustomerMetrics {
+
+    CustomerMetrics NOOP = new NoopCustomerMetrics();
+
+    enum Operation {
+        CREATE, GET_BY_ID, GET_BY_EMAIL, LIST, SEARCH, UPDATE, PATCH, RECORD_PURCHASE, DELETE, EXPORT, STATS, LOOKUP
+    }
+
+    enum Phase {
+        DB, MAPPING
+    }
+
+    long start();
+
+    void recordOperation(Operation operation, long start);
+
+    void recordPhase(Operation operation, Phase phase, long start);
+
+    void recordError(String outcome);
+}
@@ -0,0 +1,87 @@
+package com.example.customermanagement.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishes {@code customer.operation} and {@code customer.operation.phase} timers with percentile
+ * histograms, and {@code customer.errors} counters. Timers are registered once up front and looked up
+ * by enum ordinal, so recording is a clock read and a histogram update; error counters are registered on
+ * first use of an outcome and reused after that.
+ */
+@Component
+@ConditionalOnProperty(name = "customer.metrics.enabled", havingValue = "true", matchIfMissing = true)
+public class MicrometerCustomerMetrics implements CustomerMetrics {
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    private Timer[] operationTimers;
+    private Timer[][] phaseTimers;
+    private final Map<String, Counter> errorCounters = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void init() {
+        Operation[] operations = Operation.values();
+        Phase[] phases = Phase.values();
+        operationTimers = new Timer[operations.length];
+        phaseTimers = new Timer[operations.length][phases.length];
+        for (Operation operation : operations) {
+            operationTimers[operation.ordinal()] = histogram(Timer.builder("customer.operation")
+                    .description("Time spent in a customer service operation")
+                    .tag("operation", tag(operation)));
+            for (Phase phase : phases) {
+                phaseTimers[operation.ordinal()][phase.ordinal()] = histogram(Timer.builder("customer.operation.phase")
+                        .description("Time spent in one phase of a customer service operation")
+                        .tag("operation", tag(operation))
+                        .tag("phase", tag(phase)));
+            }
+        }
+    }
+
+    private Timer histogram(Timer.Builder builder) {
+        return builder.publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofNanos(10_000))
+                .maximumExpectedValue(Duration.ofSeconds(30))
+                .register(meterRegistry);
+    }
+
+    private static String tag(Enum<?> value) {
+        return value.name().toLowerCase(Locale.ROOT);
+    }
+
+    @Override
+    public long start() {
+        return System.nanoTime();
+    }
+
+    @Override
+    public void recordOperation(Operation operation, long start) {
+        operationTimers[operation.ordinal()].record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void recordPhase(Operation operation, Phase phase, long start) {
+        phaseTimers[operation.ordinal()][phase.ordinal()].record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void recordError(String outcome) {
+        errorCounters.computeIfAbsent(outcome, key -> Counter.builder("customer.errors")
+                        .description("Requests that ended in an error response, by outcome")
+                        .tag("outcome", key)
+                        .register(meterRegistry))
+                .increment();
+    }
+}
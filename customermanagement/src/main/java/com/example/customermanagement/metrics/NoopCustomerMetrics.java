@@ -0,0 +1,26 @@
+package com.example.customermanagement.metrics;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConditionalOnProperty(name = "customer.metrics.enabled", havingValue = "false")
+public class NoopCustomerMetrics implements CustomerMetrics {
+
+    @Override
+    public long start() {
+        return 0;
+    }
+
+    @Override
+    public void recordOperation(Operation operation, long start) {
+    }
+
+    @Override
+    public void recordPhase(Operation operation, Phase phase, long start) {
+    }
+
+    @Override
+    public void recordError(String outcome) {
+    }
+}
@@ -1,27 +1,33 @@
 package com.example.customermanagement.model;
 
 import com.example.customermanagement.constants.CustomerConstants;
+import com.example.customermanagement.id.UuidV7;
+import com.example.customermanagement.search.NameNormalizer;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Pattern;
-import org.hibernate.annotations.GenericGenerator;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
-@Table(name = "customers")
+@Table(name = "customers", indexes = {
+        @Index(name = "idx_customers_name_normalized_id", columnList = "nameNormalized, id"),
+        @Index(name = "idx_customers_tier_id", columnList = "tier, id"),
+        @Index(name = "idx_customers_last_purchase_date", columnList = "lastPurchaseDate")
+})
 public class Customer {
     @Id
-    @GeneratedValue(generator = "UUID")
-    @GenericGenerator(name = "UUID", strategy = "org.hibernate.id.UUIDGenerator")
+    @UuidV7
     private UUID id;
 
     @NotBlank(message = CustomerConstants.NAME_REQUIRED)
     private String name;
 
+    private String nameNormalized;
+
     @NotBlank(message = CustomerConstants.EMAIL_REQUIRED)
     @Email(message = CustomerConstants.INVALID_EMAIL)
     @Pattern(regexp = CustomerConstants.EMAIL_REGEX, message = CustomerConstants.INVALID_EMAIL)
@@ -32,6 +38,12 @@ public class Customer {
 
     private LocalDateTime lastPurchaseDate;
 
+    @Column(length = 16)
+    private String tier;
+
+    @Version
+    private Long version;
+
     public UUID getId() {
         return id;
     }
@@ -46,6 +58,11 @@ public class Customer {
 
     public void setName(String name) {
         this.name = name;
+        this.nameNormalized = NameNormalizer.normalize(name);
+    }
+
+    public String getNameNormalized() {
+        return nameNormalized;
     }
 
     public String getEmail() {
@@ -71,4 +88,20 @@ public class Customer {
     public void setLastPurchaseDate(LocalDateTime lastPurchaseDate) {
         this.lastPurchaseDate = lastPurchaseDate;
     }
+
+    public String getTier() {
+        return tier;
+    }
+
+    public void setTier(String tier) {
+        this.tier = tier;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,41 @@
+package com.example.customermanagement.model;
+
+import java.util.List;
+
+/**
+ * Customer fields a client can ask for with {@code ?fields=}, named as in the JSON response, with the
+ * entity attributes each one is read from. The tier is computed from spend and last purchase date.
+ */
+public enum CustomerField {
+    ID("id", "id"),
+    NAME("name", "name"),
+    EMAIL("email", "email"),
+    ANNUAL_SPEND("annualSpend", "annualSpend"),
+    LAST_PURCHASE_DATE("lastPurchaseDate", "lastPurchaseDate"),
+    TIER("tier", "annualSpend", "lastPurchaseDate");
+
+    private final String jsonName;
+    private final List<String> attributes;
+
+    CustomerField(String jsonName, String... attributes) {
+        this.jsonName = jsonName;
+        this.attributes = List.of(attributes);
+    }
+
+    public String getJsonName() {
+        return jsonName;
+    }
+
+    public List<String> getAttributes() {
+        return attributes;
+    }
+
+    public static CustomerField fromJsonName(String jsonName) {
+        for (CustomerField field : values()) {
+            if (field.jsonName.equals(jsonName)) {
+                return field;
+            }
+        }
+        return null;
+    }
+}
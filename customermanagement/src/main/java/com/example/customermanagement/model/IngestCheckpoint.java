@@ -0,0 +1,35 @@
+package com.example.customermanagement.model;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+/**
+ * How far an append-only ingestion log has been applied, stored in the same transaction as the writes
+ * it covers. Read and written with plain JDBC by the ingestion writer; mapped here so the table is
+ * managed with the rest of the schema.
+ */
+@Entity
+@Table(name = "ingest_checkpoints")
+public class IngestCheckpoint {
+    @Id
+    private String name;
+
+    private long logOffset;
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public long getLogOffset() {
+        return logOffset;
+    }
+
+    public void setLogOffset(long logOffset) {
+        this.logOffset = logOffset;
+    }
+}
@@ -0,0 +1,6 @@
+package com.example.customermanagement.repository;
+
+import java.util.UUID;
+
+public record CustomerName(UUID id, String name) {
+}
@@ -0,0 +1,18 @@
+package com.example.customermanagement.repository;
+
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Partial updates. Only the given columns appear in the UPDATE, so a patch that leaves the email alone
+ * does not write it or touch its unique index.
+ */
+public interface CustomerPatchRepository {
+
+    /**
+     * Sets each attribute in {@code values} and bumps the version, if the row is still at {@code version}.
+     *
+     * @return the number of rows updated, 0 when the row is gone or at another version
+     */
+    int updateColumns(UUID id, Map<String, Object> values, long version);
+}
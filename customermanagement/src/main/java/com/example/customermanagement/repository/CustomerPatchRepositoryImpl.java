@@ -0,0 +1,38 @@
+package com.example.customermanagement.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+class CustomerPatchRepositoryImpl implements CustomerPatchRepository {
+
+    private static final Set<String> UPDATABLE = Set.of(
+            "name", "nameNormalized", "email", "annualSpend", "lastPurchaseDate", "tier");
+
+    @PersistenceContext
+    EntityManager entityManager;
+
+    @Override
+    @Transactional
+    public int updateColumns(UUID id, Map<String, Object> values, long version) {
+        if (values.isEmpty()) {
+            throw new IllegalArgumentException("No columns to update");
+        }
+        StringBuilder jpql = new StringBuilder("update Customer c set ");
+        for (String attribute : values.keySet()) {
+            if (!UPDATABLE.contains(attribute)) {
+                throw new IllegalArgumentException("Not an updatable attribute: " + attribute);
+            }
+            jpql.append("c.").append(attribute).append(" = :").append(attribute).append(", ");
+        }
+        jpql.append("c.version = c.version + 1 where c.id = :id and c.version = :version");
+        Query query = entityManager.createQuery(jpql.toString());
+        values.forEach(query::setParameter);
+        return query.setParameter("id", id).setParameter("version", version).executeUpdate();
+    }
+}
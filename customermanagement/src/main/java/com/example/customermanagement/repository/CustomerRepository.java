@@ -1,16 +1,118 @@
 package com.example.customermanagement.repository;
 
+import com.example.customermanagement.constants.CustomerConstants;
 import com.example.customermanagement.model.Customer;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
-public interface CustomerRepository extends JpaRepository<Customer, UUID> {
+public interface CustomerRepository extends JpaRepository<Customer, UUID>, CustomerRowRepository, CustomerPatchRepository {
     Optional<Customer> findByEmail(String email);
 
-    List<Customer> findByName(String name);
-}
\ No newline at end of file
+    boolean existsByEmail(String email);
+
+    List<Customer> findByEmailIn(Collection<String> emails);
+
+    @Query("select c.email from Customer c where c.email in :emails")
+    Set<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    @Query("select c.id from Customer c where c.id in :ids")
+    Set<UUID> findExistingIds(@Param("ids") Collection<UUID> ids);
+
+    List<Customer> findAllByOrderByIdAsc(Limit limit);
+
+    List<Customer> findByIdGreaterThanOrderByIdAsc(UUID id, Limit limit);
+
+    List<Customer> findByNameNormalizedStartingWithOrderByNameNormalizedAscIdAsc(String prefix, Limit limit);
+
+    @Query("select c from Customer c where c.nameNormalized like :#{escape(#prefix)}% escape :#{escapeCharacter()}"
+            + " and (c.nameNormalized > :name or (c.nameNormalized = :name and c.id > :id))"
+            + " order by c.nameNormalized, c.id")
+    List<Customer> findByNamePrefixAfter(@Param("prefix") String prefix, @Param("name") String name,
+                                         @Param("id") UUID id, Limit limit);
+
+    @Query("select new com.example.customermanagement.repository.CustomerName(c.id, c.name) from Customer c order by c.id")
+    List<CustomerName> findNamesOrderByIdAsc(Limit limit);
+
+    @Query("select new com.example.customermanagement.repository.CustomerName(c.id, c.name) from Customer c"
+            + " where c.id > :after order by c.id")
+    List<CustomerName> findNamesAfterOrderByIdAsc(@Param("after") UUID after, Limit limit);
+
+    List<Customer> findByTierOrderByIdAsc(String tier, Limit limit);
+
+    List<Customer> findByTierAndIdGreaterThanOrderByIdAsc(String tier, UUID id, Limit limit);
+
+    @Query("select c from Customer c where c.lastPurchaseDate > :from and c.lastPurchaseDate <= :to order by c.id")
+    List<Customer> findPurchasedBetween(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to, Limit limit);
+
+    @Query("select c from Customer c where c.lastPurchaseDate > :from and c.lastPurchaseDate <= :to and c.id > :after order by c.id")
+    List<Customer> findPurchasedBetweenAfter(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to,
+                                             @Param("after") UUID after, Limit limit);
+
+    String UPDATE_CUSTOMER = "update customers set name = :name, name_normalized = :nameNormalized, email = :email,"
+            + " annual_spend = :annualSpend, last_purchase_date = :lastPurchaseDate, tier = :tier,"
+            + " version = version + 1 where id = :id";
+
+    // H2's data change delta table returns the version the update stored, in the same statement
+    @Transactional
+    @Query(nativeQuery = true, value = "select version from final table (" + UPDATE_CUSTOMER + ")")
+    Optional<Long> updateCustomer(@Param("id") UUID id, @Param("name") String name, @Param("nameNormalized") String nameNormalized,
+                                  @Param("email") String email, @Param("annualSpend") BigDecimal annualSpend,
+                                  @Param("lastPurchaseDate") LocalDateTime lastPurchaseDate, @Param("tier") String tier);
+
+    @Transactional
+    @Query(nativeQuery = true, value = "select version from final table (" + UPDATE_CUSTOMER + " and version = :version)")
+    Optional<Long> updateCustomer(@Param("id") UUID id, @Param("name") String name, @Param("nameNormalized") String nameNormalized,
+                                  @Param("email") String email, @Param("annualSpend") BigDecimal annualSpend,
+                                  @Param("lastPurchaseDate") LocalDateTime lastPurchaseDate, @Param("tier") String tier,
+                                  @Param("version") long version);
+
+    /**
+     * Replaces every column of the customer, if it is still at {@code expectedVersion} when one is given.
+     *
+     * @return the version stored by the update, or empty when the row is gone or at another version
+     */
+    default Optional<Long> updateCustomer(Customer customer, Long expectedVersion) {
+        return expectedVersion == null
+                ? updateCustomer(customer.getId(), customer.getName(), customer.getNameNormalized(), customer.getEmail(),
+                        customer.getAnnualSpend(), customer.getLastPurchaseDate(), customer.getTier())
+                : updateCustomer(customer.getId(), customer.getName(), customer.getNameNormalized(), customer.getEmail(),
+                        customer.getAnnualSpend(), customer.getLastPurchaseDate(), customer.getTier(), expectedVersion);
+    }
+
+    @Transactional
+    @Modifying
+    @Query("update Customer c set c.annualSpend = :annualSpend, c.lastPurchaseDate = :lastPurchaseDate, c.tier = :tier,"
+            + " c.version = c.version + 1 where c.id = :id and c.version = :version")
+    int recordPurchase(@Param("id") UUID id, @Param("annualSpend") BigDecimal annualSpend,
+                       @Param("lastPurchaseDate") LocalDateTime lastPurchaseDate, @Param("tier") String tier,
+                       @Param("version") Long version);
+
+    @Transactional
+    @Modifying
+    @Query("delete from Customer c where c.id = :id and (:version is null or c.version = :version)")
+    int deleteCustomerById(@Param("id") UUID id, @Param("version") Long expectedVersion);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + CustomerConstants.STREAM_FETCH_SIZE))
+    Stream<Customer> streamAllByOrderByIdAsc();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + CustomerConstants.STREAM_FETCH_SIZE))
+    Stream<Customer> streamByTierOrderByIdAsc(String tier);
+}
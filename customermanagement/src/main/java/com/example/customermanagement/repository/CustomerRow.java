@@ -0,0 +1,12 @@
+package com.example.customermanagement.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Columns of one customer read for a sparse response; those that were not selected are null.
+ */
+public record CustomerRow(UUID id, String nameNormalized, String name, String email, BigDecimal annualSpend,
+                          LocalDateTime lastPurchaseDate) {
+}
@@ -0,0 +1,25 @@
+package com.example.customermanagement.repository;
+
+import com.example.customermanagement.model.CustomerField;
+import org.springframework.data.domain.Limit;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Reads for sparse responses. Each query selects the id and the columns behind the requested fields
+ * into {@link CustomerRow}s, so no entity is created or managed. Name queries also select the
+ * normalized name for ranking and cursors.
+ */
+public interface CustomerRowRepository {
+
+    List<CustomerRow> findRowsOrderByIdAsc(Set<CustomerField> fields, UUID after, Limit limit);
+
+    List<CustomerRow> findRowsByTierOrderByIdAsc(Set<CustomerField> fields, String tier, UUID after, Limit limit);
+
+    List<CustomerRow> findRowsByNamePrefix(Set<CustomerField> fields, String prefix, String afterName, UUID afterId, Limit limit);
+
+    List<CustomerRow> findRowsByIdIn(Set<CustomerField> fields, Collection<UUID> ids);
+}
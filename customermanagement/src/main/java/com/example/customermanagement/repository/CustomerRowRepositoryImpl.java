@@ -0,0 +1,105 @@
+package com.example.customermanagement.repository;
+
+import com.example.customermanagement.model.CustomerField;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import org.springframework.data.domain.Limit;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+class CustomerRowRepositoryImpl implements CustomerRowRepository {
+
+    private static final String ID = "id";
+    private static final String NAME_NORMALIZED = "nameNormalized";
+
+    @PersistenceContext
+    EntityManager entityManager;
+
+    @Override
+    public List<CustomerRow> findRowsOrderByIdAsc(Set<CustomerField> fields, UUID after, Limit limit) {
+        return after == null
+                ? select(fields, false, "", "c.id", Map.of(), limit)
+                : select(fields, false, "where c.id > :after", "c.id", Map.of("after", after), limit);
+    }
+
+    @Override
+    public List<CustomerRow> findRowsByTierOrderByIdAsc(Set<CustomerField> fields, String tier, UUID after, Limit limit) {
+        return after == null
+                ? select(fields, false, "where c.tier = :tier", "c.id", Map.of("tier", tier), limit)
+                : select(fields, false, "where c.tier = :tier and c.id > :after", "c.id",
+                        Map.of("tier", tier, "after", after), limit);
+    }
+
+    @Override
+    public List<CustomerRow> findRowsByNamePrefix(Set<CustomerField> fields, String prefix, String afterName, UUID afterId, Limit limit) {
+        String pattern = escapeLike(prefix) + "%";
+        return afterName == null
+                ? select(fields, true, "where c.nameNormalized like :pattern escape '\\'",
+                        "c.nameNormalized, c.id", Map.of("pattern", pattern), limit)
+                : select(fields, true, "where c.nameNormalized like :pattern escape '\\'"
+                                + " and (c.nameNormalized > :name or (c.nameNormalized = :name and c.id > :id))",
+                        "c.nameNormalized, c.id", Map.of("pattern", pattern, "name", afterName, "id", afterId), limit);
+    }
+
+    @Override
+    public List<CustomerRow> findRowsByIdIn(Set<CustomerField> fields, Collection<UUID> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return select(fields, true, "where c.id in :ids", null, Map.of("ids", ids), Limit.unlimited());
+    }
+
+    private List<CustomerRow> select(Set<CustomerField> fields, boolean withNameNormalized, String where, String orderBy,
+                                     Map<String, Object> parameters, Limit limit) {
+        Set<String> columns = new LinkedHashSet<>();
+        columns.add(ID);
+        if (withNameNormalized) {
+            columns.add(NAME_NORMALIZED);
+        }
+        for (CustomerField field : fields) {
+            columns.addAll(field.getAttributes());
+        }
+        StringBuilder jpql = new StringBuilder("select ");
+        for (String column : columns) {
+            if (jpql.length() > "select ".length()) {
+                jpql.append(", ");
+            }
+            jpql.append("c.").append(column).append(" as ").append(column);
+        }
+        jpql.append(" from Customer c ").append(where);
+        if (orderBy != null) {
+            jpql.append(" order by ").append(orderBy);
+        }
+        TypedQuery<Tuple> query = entityManager.createQuery(jpql.toString(), Tuple.class);
+        parameters.forEach(query::setParameter);
+        if (limit.isLimited()) {
+            query.setMaxResults(limit.max());
+        }
+        return query.getResultList().stream()
+                .map(tuple -> new CustomerRow(
+                        tuple.get(ID, UUID.class),
+                        column(tuple, columns, NAME_NORMALIZED, String.class),
+                        column(tuple, columns, "name", String.class),
+                        column(tuple, columns, "email", String.class),
+                        column(tuple, columns, "annualSpend", BigDecimal.class),
+                        column(tuple, columns, "lastPurchaseDate", LocalDateTime.class)))
+                .toList();
+    }
+
+    private static <T> T column(Tuple tuple, Set<String> columns, String column, Class<T> type) {
+        return columns.contains(column) ? tuple.get(column, type) : null;
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -0,0 +1,195 @@
+package com.example.customermanagement.repository;
+
+import com.example.customermanagement.model.Customer;
+import com.example.customermanagement.search.NameMatch;
+import io.r2dbc.spi.Readable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.r2dbc.core.Parameter;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * Non-blocking counterpart of {@link CustomerRepository} for the {@code reactive} profile: the same
+ * queries and conditional writes, issued through R2DBC. Writes resolve to the number of rows changed,
+ * except {@link #update}, which reads back the version it wrote.
+ */
+@Repository
+@Profile("reactive")
+public class ReactiveCustomerRepository {
+
+    @Autowired
+    DatabaseClient databaseClient;
+
+    private static final String SELECT = "select id, name, email, annual_spend, last_purchase_date, tier, version from customers";
+    private static final String BY_ID = " order by id fetch first :limit rows only";
+
+    public Mono<Customer> findById(UUID id) {
+        return databaseClient.sql(SELECT + " where id = :id")
+                .bind("id", id)
+                .map(ReactiveCustomerRepository::customer)
+                .one();
+    }
+
+    public Mono<Customer> findByEmail(String email) {
+        return databaseClient.sql(SELECT + " where email = :email")
+                .bind("email", email)
+                .map(ReactiveCustomerRepository::customer)
+                .one();
+    }
+
+    public Flux<Customer> findAllById(Collection<UUID> ids) {
+        if (ids.isEmpty()) {
+            return Flux.empty();
+        }
+        return databaseClient.sql(SELECT + " where id in (:ids)")
+                .bind("ids", ids)
+                .map(ReactiveCustomerRepository::customer)
+                .all();
+    }
+
+    public Flux<Customer> findPage(UUID after, int limit) {
+        DatabaseClient.GenericExecuteSpec spec = after == null
+                ? databaseClient.sql(SELECT + BY_ID)
+                : databaseClient.sql(SELECT + " where id > :after" + BY_ID).bind("after", after);
+        return spec.bind("limit", limit)
+                .map(ReactiveCustomerRepository::customer)
+                .all();
+    }
+
+    public Flux<Customer> findByTier(String tier, UUID after, int limit) {
+        DatabaseClient.GenericExecuteSpec spec = after == null
+                ? databaseClient.sql(SELECT + " where tier = :tier" + BY_ID)
+                : databaseClient.sql(SELECT + " where tier = :tier and id > :after" + BY_ID).bind("after", after);
+        return spec.bind("tier", tier)
+                .bind("limit", limit)
+                .map(ReactiveCustomerRepository::customer)
+                .all();
+    }
+
+    public Flux<Customer> findByNamePrefix(String prefix, NameMatch after, int limit) {
+        String where = " where name_normalized like :pattern escape '\\'";
+        String order = " order by name_normalized, id fetch first :limit rows only";
+        DatabaseClient.GenericExecuteSpec spec = after == null
+                ? databaseClient.sql(SELECT + where + order)
+                : databaseClient.sql(SELECT + where + " and (name_normalized > :name or (name_normalized = :name and id > :id))" + order)
+                        .bind("name", after.name())
+                        .bind("id", after.id());
+        return spec.bind("pattern", escapeLike(prefix) + "%")
+                .bind("limit", limit)
+                .map(ReactiveCustomerRepository::customer)
+                .all();
+    }
+
+    public Flux<Customer> streamAll() {
+        return databaseClient.sql(SELECT + " order by id")
+                .map(ReactiveCustomerRepository::customer)
+                .all();
+    }
+
+    public Flux<Customer> streamByTier(String tier) {
+        return databaseClient.sql(SELECT + " where tier = :tier order by id")
+                .bind("tier", tier)
+                .map(ReactiveCustomerRepository::customer)
+                .all();
+    }
+
+    public Mono<Boolean> existsById(UUID id) {
+        return databaseClient.sql("select 1 from customers where id = :id")
+                .bind("id", id)
+                .map(row -> Boolean.TRUE)
+                .first()
+                .defaultIfEmpty(Boolean.FALSE);
+    }
+
+    public Mono<Boolean> existsByEmail(String email) {
+        return databaseClient.sql("select 1 from customers where email = :email")
+                .bind("email", email)
+                .map(row -> Boolean.TRUE)
+                .first()
+                .defaultIfEmpty(Boolean.FALSE);
+    }
+
+    public Mono<Long> insert(Customer customer) {
+        return databaseClient.sql("insert into customers"
+                        + " (id, name, name_normalized, email, annual_spend, last_purchase_date, tier, version)"
+                        + " values (:id, :name, :nameNormalized, :email, :annualSpend, :lastPurchaseDate, :tier, :version)")
+                .bind("id", customer.getId())
+                .bind("name", customer.getName())
+                .bind("nameNormalized", customer.getNameNormalized())
+                .bind("email", customer.getEmail())
+                .bind("annualSpend", Parameter.fromOrEmpty(customer.getAnnualSpend(), BigDecimal.class))
+                .bind("lastPurchaseDate", Parameter.fromOrEmpty(customer.getLastPurchaseDate(), LocalDateTime.class))
+                .bind("tier", Parameter.fromOrEmpty(customer.getTier(), String.class))
+                .bind("version", customer.getVersion() != null ? customer.getVersion() : 0L)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    /**
+     * Resolves to the version the update wrote, read from the updated row in the same statement, or
+     * completes empty when no row matched.
+     */
+    public Mono<Long> update(Customer customer, Long expectedVersion) {
+        String update = "update customers set name = :name, name_normalized = :nameNormalized, email = :email,"
+                + " annual_spend = :annualSpend, last_purchase_date = :lastPurchaseDate, tier = :tier,"
+                + " version = version + 1 where id = :id";
+        DatabaseClient.GenericExecuteSpec spec = expectedVersion == null
+                ? databaseClient.sql("select version from final table (" + update + ")")
+                : databaseClient.sql("select version from final table (" + update + " and version = :version)")
+                        .bind("version", expectedVersion);
+        return spec.bind("id", customer.getId())
+                .bind("name", customer.getName())
+                .bind("nameNormalized", customer.getNameNormalized())
+                .bind("email", customer.getEmail())
+                .bind("annualSpend", Parameter.fromOrEmpty(customer.getAnnualSpend(), BigDecimal.class))
+                .bind("lastPurchaseDate", Parameter.fromOrEmpty(customer.getLastPurchaseDate(), LocalDateTime.class))
+                .bind("tier", Parameter.fromOrEmpty(customer.getTier(), String.class))
+                .map(row -> row.get("version", Long.class))
+                .one();
+    }
+
+    public Mono<Long> recordPurchase(UUID id, BigDecimal annualSpend, LocalDateTime lastPurchaseDate, String tier, Long version) {
+        return databaseClient.sql("update customers set annual_spend = :annualSpend, last_purchase_date = :lastPurchaseDate,"
+                        + " tier = :tier, version = version + 1 where id = :id and version = :version")
+                .bind("id", id)
+                .bind("annualSpend", Parameter.fromOrEmpty(annualSpend, BigDecimal.class))
+                .bind("lastPurchaseDate", Parameter.fromOrEmpty(lastPurchaseDate, LocalDateTime.class))
+                .bind("tier", Parameter.fromOrEmpty(tier, String.class))
+                .bind("version", Parameter.fromOrEmpty(version, Long.class))
+                .fetch()
+                .rowsUpdated();
+    }
+
+    public Mono<Long> deleteById(UUID id, Long expectedVersion) {
+        DatabaseClient.GenericExecuteSpec spec = expectedVersion == null
+                ? databaseClient.sql("delete from customers where id = :id")
+                : databaseClient.sql("delete from customers where id = :id and version = :version").bind("version", expectedVersion);
+        return spec.bind("id", id)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    private static Customer customer(Readable row) {
+        Customer customer = new Customer();
+        customer.setId(row.get("id", UUID.class));
+        customer.setName(row.get("name", String.class));
+        customer.setEmail(row.get("email", String.class));
+        customer.setAnnualSpend(row.get("annual_spend", BigDecimal.class));
+        customer.setLastPurchaseDate(row.get("last_purchase_date", LocalDateTime.class));
+        customer.setTier(row.get("tier", String.class));
+        customer.setVersion(row.get("version", Long.class));
+        return customer;
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.customermanagement.search;
+
+import java.util.Comparator;
+import java.util.UUID;
+
+/**
+ * A customer whose normalized name matches a search query. Matches order by rank (exact, prefix,
+ * word prefix, then any substring), then name, then id, which is also the keyset used for paging.
+ */
+public record NameMatch(int rank, String name, UUID id) implements Comparable<NameMatch> {
+
+    public static final int EXACT = 0;
+    public static final int PREFIX = 1;
+    public static final int WORD_PREFIX = 2;
+    public static final int CONTAINS = 3;
+    public static final int NO_MATCH = -1;
+
+    private static final Comparator<NameMatch> ORDER = Comparator.comparingInt(NameMatch::rank)
+            .thenComparing(NameMatch::name)
+            .thenComparing(NameMatch::id);
+
+    public static int rankOf(String name, String query) {
+        int index = name.indexOf(query);
+        if (index < 0) {
+            return NO_MATCH;
+        }
+        if (index == 0) {
+            return name.length() == query.length() ? EXACT : PREFIX;
+        }
+        while (index > 0) {
+            if (name.charAt(index - 1) == ' ') {
+                return WORD_PREFIX;
+            }
+            index = name.indexOf(query, index + 1);
+        }
+        return CONTAINS;
+    }
+
+    @Override
+    public int compareTo(NameMatch other) {
+        return ORDER.compare(this, other);
+    }
+}
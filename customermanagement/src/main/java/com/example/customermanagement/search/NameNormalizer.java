@@ -0,0 +1,17 @@
+package com.example.customermanagement.search;
+
+import java.util.Locale;
+
+/**
+ * Canonical form of a customer name for case-insensitive matching. The same form is stored in the
+ * indexed {@code name_normalized} column and held by {@link NameSearchIndex}.
+ */
+public final class NameNormalizer {
+
+    private NameNormalizer() {
+    }
+
+    public static String normalize(String name) {
+        return name == null ? "" : name.strip().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,273 @@
+package com.example.customermanagement.search;
+
+import com.example.customermanagement.event.CustomerChangedEvent;
+import com.example.customermanagement.repository.CustomerName;
+import com.example.customermanagement.repository.CustomerRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory trigram index over normalized customer names for substring search. Every live customer
+ * is a document number; each trigram maps to the ascending list of documents containing it. A query
+ * walks the shortest posting list among its trigrams and checks the candidates, so its cost grows
+ * with the number of names sharing the query's rarest trigram: selective queries stay cheap however
+ * large the table, while queries made only of common trigrams check correspondingly more names.
+ * Renames and deletes leave tombstones; once they outnumber the live documents a scheduled check
+ * compacts the index into a fresh segment off the request path and swaps it in.
+ */
+@Component
+public class NameSearchIndex {
+
+    public static final int GRAM_LENGTH = 3;
+
+    private static final int LOAD_CHUNK_SIZE = 5000;
+    private static final int MIN_CAPACITY = 1024;
+
+    @Autowired
+    CustomerRepository customerRepository;
+
+    private static final Logger log = LoggerFactory.getLogger(NameSearchIndex.class);
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Segment segment = new Segment(MIN_CAPACITY);
+    // Collects changes while a compaction copies the segment, so they can be replayed onto the copy.
+    private List<CustomerChangedEvent> changesDuringCompaction;
+
+    @PostConstruct
+    void load() {
+        Limit limit = Limit.of(LOAD_CHUNK_SIZE);
+        UUID after = null;
+        while (true) {
+            List<CustomerName> chunk = after == null
+                    ? customerRepository.findNamesOrderByIdAsc(limit)
+                    : customerRepository.findNamesAfterOrderByIdAsc(after, limit);
+            lock.writeLock().lock();
+            try {
+                for (CustomerName customer : chunk) {
+                    segment.put(customer.id(), customer.name());
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+            if (chunk.size() < LOAD_CHUNK_SIZE) {
+                break;
+            }
+            after = chunk.get(chunk.size() - 1).id();
+        }
+        log.info("Name search index loaded with {} customers", size());
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return segment.documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns up to {@code limit} customers whose normalized name contains {@code query}, in
+     * {@link NameMatch} order and strictly after {@code after} when given. {@code query} must already
+     * be normalized and at least {@link #GRAM_LENGTH} characters long.
+     */
+    public List<NameMatch> search(String query, NameMatch after, int limit) {
+        if (query.length() < GRAM_LENGTH) {
+            throw new IllegalArgumentException("Query must be at least " + GRAM_LENGTH + " characters");
+        }
+        lock.readLock().lock();
+        try {
+            Segment current = segment;
+            Postings candidates = null;
+            for (int i = 0; i + GRAM_LENGTH <= query.length(); i++) {
+                Postings gramPostings = current.postings.get(gram(query, i));
+                if (gramPostings == null) {
+                    return Collections.emptyList();
+                }
+                if (candidates == null || gramPostings.size < candidates.size) {
+                    candidates = gramPostings;
+                }
+            }
+            PriorityQueue<NameMatch> best = new PriorityQueue<>(limit + 1, Comparator.reverseOrder());
+            for (int i = 0; i < candidates.size; i++) {
+                int document = candidates.documents[i];
+                String name = current.names[document];
+                if (name == null) {
+                    continue;
+                }
+                int rank = NameMatch.rankOf(name, query);
+                if (rank == NameMatch.NO_MATCH) {
+                    continue;
+                }
+                NameMatch match = new NameMatch(rank, name, current.ids[document]);
+                if (after != null && match.compareTo(after) <= 0) {
+                    continue;
+                }
+                if (best.size() < limit) {
+                    best.add(match);
+                } else if (match.compareTo(best.peek()) < 0) {
+                    best.poll();
+                    best.add(match);
+                }
+            }
+            List<NameMatch> matches = new ArrayList<>(best);
+            Collections.sort(matches);
+            return matches;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @EventListener
+    public void onCustomerChanged(CustomerChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            segment.apply(event);
+            if (changesDuringCompaction != null) {
+                changesDuringCompaction.add(event);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${customer.name-index.compact-interval-millis:60000}")
+    public void compactIfSparse() {
+        UUID[] ids;
+        String[] names;
+        int count;
+        int live;
+        lock.writeLock().lock();
+        try {
+            if (!segment.isSparse() || changesDuringCompaction != null) {
+                return;
+            }
+            ids = segment.ids;
+            names = segment.names;
+            count = segment.documentCount;
+            live = segment.documents.size();
+            changesDuringCompaction = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        long started = System.nanoTime();
+        Segment next = new Segment(Math.max(MIN_CAPACITY, live * 2));
+        boolean built = false;
+        try {
+            // Slots below count are only cleared from here on, and every change that clears one is replayed below.
+            for (int document = 0; document < count; document++) {
+                String name = names[document];
+                if (name != null) {
+                    next.add(ids[document], name);
+                }
+            }
+            built = true;
+        } finally {
+            lock.writeLock().lock();
+            try {
+                if (built) {
+                    for (CustomerChangedEvent event : changesDuringCompaction) {
+                        next.apply(event);
+                    }
+                    segment = next;
+                }
+                changesDuringCompaction = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+        log.debug("Compacted name search index to {} customers in {} ms",
+                next.documents.size(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    private static long gram(String text, int start) {
+        return ((long) text.charAt(start) << 32) | ((long) text.charAt(start + 1) << 16) | text.charAt(start + 2);
+    }
+
+    private static final class Segment {
+        private final Map<UUID, Integer> documents = new HashMap<>();
+        private final Map<Long, Postings> postings = new HashMap<>();
+        private UUID[] ids;
+        private String[] names;
+        private int documentCount;
+
+        Segment(int capacity) {
+            ids = new UUID[capacity];
+            names = new String[capacity];
+        }
+
+        boolean isSparse() {
+            return documentCount > MIN_CAPACITY && documentCount > 2 * documents.size();
+        }
+
+        void apply(CustomerChangedEvent event) {
+            if (event.getType() == CustomerChangedEvent.Type.DELETED) {
+                Integer document = documents.remove(event.getId());
+                if (document != null) {
+                    names[document] = null;
+                }
+            } else {
+                put(event.getId(), event.getCustomer().getName());
+            }
+        }
+
+        void put(UUID id, String name) {
+            String normalized = NameNormalizer.normalize(name);
+            Integer existing = documents.get(id);
+            if (existing != null) {
+                if (normalized.equals(names[existing])) {
+                    return;
+                }
+                names[existing] = null;
+            }
+            add(id, normalized);
+        }
+
+        void add(UUID id, String normalized) {
+            if (documentCount == ids.length) {
+                ids = Arrays.copyOf(ids, documentCount * 2);
+                names = Arrays.copyOf(names, documentCount * 2);
+            }
+            int document = documentCount++;
+            ids[document] = id;
+            names[document] = normalized;
+            documents.put(id, document);
+            for (int i = 0; i + GRAM_LENGTH <= normalized.length(); i++) {
+                postings.computeIfAbsent(gram(normalized, i), key -> new Postings()).add(document);
+            }
+        }
+    }
+
+    private static final class Postings {
+        private int[] documents = new int[4];
+        private int size;
+
+        void add(int document) {
+            if (size > 0 && documents[size - 1] == document) {
+                return;
+            }
+            if (size == documents.length) {
+                documents = Arrays.copyOf(documents, size * 2);
+            }
+            documents[size++] = document;
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.customermanagement.service;
+
+import com.example.customermanagement.dto.CustomerBatchResponse;
+import com.example.customermanagement.dto.CustomerBatchUpdateRequest;
+import com.example.customermanagement.dto.CustomerRequest;
+
+import java.util.Iterator;
+import java.util.UUID;
+
+public interface CustomerBatchService {
+    CustomerBatchResponse createCustomers(Iterator<? extends CustomerRequest> requests);
+
+    CustomerBatchResponse updateCustomers(Iterator<CustomerBatchUpdateRequest> requests);
+
+    CustomerBatchResponse deleteCustomers(Iterator<UUID> ids);
+}
@@ -0,0 +1,281 @@
+package com.example.customermanagement.service;
+
+import com.example.customermanagement.config.CustomerBatchProperties;
+import com.example.customermanagement.constants.CustomerConstants;
+import com.example.customermanagement.dto.BatchItemResult;
+import com.example.customermanagement.dto.CustomerBatchResponse;
+import com.example.customermanagement.dto.CustomerBatchUpdateRequest;
+import com.example.customermanagement.dto.CustomerRequest;
+import com.example.customermanagement.event.CustomerChangedEvent;
+import com.example.customermanagement.exception.BadRequestException;
+import com.example.customermanagement.model.Customer;
+import com.example.customermanagement.repository.CustomerRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+public class CustomerBatchServiceImpl implements CustomerBatchService {
+
+    @Autowired
+    CustomerRepository customerRepository;
+
+    @Autowired
+    CustomerMapper customerMapper;
+
+    @Autowired
+    TierEngine tierEngine;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @Autowired
+    Validator validator;
+
+    @Autowired
+    CustomerBatchProperties batchProperties;
+
+    @Autowired
+    ApplicationEventPublisher eventPublisher;
+
+    @PersistenceContext
+    EntityManager entityManager;
+
+    private static final Logger log = LoggerFactory.getLogger(CustomerBatchServiceImpl.class);
+
+    private record Item<T>(int index, T value) {
+    }
+
+    private record UpdateOutcome(BatchItemResult result, Customer customer) {
+    }
+
+    @Override
+    public CustomerBatchResponse createCustomers(Iterator<? extends CustomerRequest> requests) {
+        log.info("Processing batch create");
+        CustomerBatchResponse response = new CustomerBatchResponse();
+        Set<String> seenEmails = new HashSet<>();
+        this.<CustomerRequest>forEachChunk(requests, response, item -> {
+            if (!seenEmails.add(item.value().getEmail())) {
+                return BatchItemResult.failure(item.index(), HttpStatus.CONFLICT.value(), null, CustomerConstants.DUPLICATE_EMAIL);
+            }
+            return null;
+        }, chunk -> createChunk(chunk, response));
+        log.debug("Batch create finished: {} succeeded, {} failed", response.getSucceeded(), response.getFailed());
+        return response.sorted();
+    }
+
+    @Override
+    public CustomerBatchResponse updateCustomers(Iterator<CustomerBatchUpdateRequest> requests) {
+        log.info("Processing batch update");
+        CustomerBatchResponse response = new CustomerBatchResponse();
+        Set<String> seenEmails = new HashSet<>();
+        forEachChunk(requests, response, item -> {
+            if (!seenEmails.add(item.value().getEmail())) {
+                return BatchItemResult.failure(item.index(), HttpStatus.CONFLICT.value(), item.value().getId(), CustomerConstants.DUPLICATE_EMAIL);
+            }
+            return null;
+        }, chunk -> updateChunk(chunk, response));
+        log.debug("Batch update finished: {} succeeded, {} failed", response.getSucceeded(), response.getFailed());
+        return response.sorted();
+    }
+
+    @Override
+    public CustomerBatchResponse deleteCustomers(Iterator<UUID> ids) {
+        log.info("Processing batch delete");
+        CustomerBatchResponse response = new CustomerBatchResponse();
+        forEachChunk(ids, response, item -> null, chunk -> deleteChunk(chunk, response));
+        log.debug("Batch delete finished: {} succeeded, {} failed", response.getSucceeded(), response.getFailed());
+        return response.sorted();
+    }
+
+    private <T> void forEachChunk(Iterator<? extends T> items, CustomerBatchResponse response,
+                                  Function<Item<T>, BatchItemResult> precheck, Consumer<List<Item<T>>> writer) {
+        int batchSize = batchProperties.getSize();
+        List<Item<T>> chunk = new ArrayList<>(batchSize);
+        int index = 0;
+        while (items.hasNext()) {
+            if (index == batchProperties.getMaxItems()) {
+                throw new BadRequestException(String.format(CustomerConstants.BATCH_TOO_LARGE, batchProperties.getMaxItems()));
+            }
+            Item<T> item = new Item<>(index++, items.next());
+            BatchItemResult failure = validate(item);
+            if (failure == null) {
+                failure = precheck.apply(item);
+            }
+            if (failure != null) {
+                response.add(failure);
+                continue;
+            }
+            chunk.add(item);
+            if (chunk.size() == batchSize) {
+                writer.accept(chunk);
+                chunk = new ArrayList<>(batchSize);
+            }
+        }
+        if (!chunk.isEmpty()) {
+            writer.accept(chunk);
+        }
+    }
+
+    private BatchItemResult validate(Item<?> item) {
+        if (item.value() == null) {
+            return BatchItemResult.failure(item.index(), HttpStatus.BAD_REQUEST.value(), null, "Item is required");
+        }
+        Set<ConstraintViolation<Object>> violations = validator.validate(item.value());
+        if (violations.isEmpty()) {
+            return null;
+        }
+        String errors = violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", "));
+        return BatchItemResult.failure(item.index(), HttpStatus.BAD_REQUEST.value(), null, errors);
+    }
+
+    private void createChunk(List<Item<CustomerRequest>> chunk, CustomerBatchResponse response) {
+        Set<String> existing = customerRepository.findExistingEmails(
+                chunk.stream().map(item -> item.value().getEmail()).collect(Collectors.toList()));
+        List<Item<CustomerRequest>> pending = new ArrayList<>(chunk.size());
+        for (Item<CustomerRequest> item : chunk) {
+            if (existing.contains(item.value().getEmail())) {
+                response.add(BatchItemResult.failure(item.index(), HttpStatus.CONFLICT.value(), null, CustomerConstants.DUPLICATE_EMAIL));
+            } else {
+                pending.add(item);
+            }
+        }
+        if (pending.isEmpty()) {
+            return;
+        }
+        try {
+            List<Customer> saved = transactionTemplate.execute(status -> insert(pending));
+            for (int i = 0; i < pending.size(); i++) {
+                response.add(BatchItemResult.success(pending.get(i).index(), HttpStatus.CREATED.value(), saved.get(i).getId()));
+                eventPublisher.publishEvent(CustomerChangedEvent.created(saved.get(i)));
+            }
+        } catch (DataIntegrityViolationException e) {
+            log.warn("Batch insert of {} customers failed, retrying row by row", pending.size());
+            for (Item<CustomerRequest> item : pending) {
+                try {
+                    List<Customer> saved = transactionTemplate.execute(status -> insert(List.of(item)));
+                    response.add(BatchItemResult.success(item.index(), HttpStatus.CREATED.value(), saved.get(0).getId()));
+                    eventPublisher.publishEvent(CustomerChangedEvent.created(saved.get(0)));
+                } catch (DataIntegrityViolationException ex) {
+                    response.add(rowFailure(item.index(), null, ex));
+                }
+            }
+        }
+    }
+
+    private List<Customer> insert(List<Item<CustomerRequest>> items) {
+        TierEngine.Evaluator tiers = tierEngine.now();
+        List<Customer> customers = items.stream()
+                .map(item -> customerMapper.toEntity(item.value(), tiers))
+                .collect(Collectors.toList());
+        List<Customer> saved = customerRepository.saveAll(customers);
+        customerRepository.flush();
+        entityManager.clear();
+        return saved;
+    }
+
+    private void updateChunk(List<Item<CustomerBatchUpdateRequest>> chunk, CustomerBatchResponse response) {
+        try {
+            applyUpdates(transactionTemplate.execute(status -> update(chunk)), response);
+        } catch (DataIntegrityViolationException e) {
+            log.warn("Batch update of {} customers failed, retrying row by row", chunk.size());
+            for (Item<CustomerBatchUpdateRequest> item : chunk) {
+                try {
+                    applyUpdates(transactionTemplate.execute(status -> update(List.of(item))), response);
+                } catch (DataIntegrityViolationException ex) {
+                    response.add(rowFailure(item.index(), item.value().getId(), ex));
+                }
+            }
+        }
+    }
+
+    private static BatchItemResult rowFailure(int index, UUID id, DataIntegrityViolationException e) {
+        if (CustomerServiceSupport.isDuplicateEmail(e)) {
+            return BatchItemResult.failure(index, HttpStatus.CONFLICT.value(), id, CustomerConstants.DUPLICATE_EMAIL);
+        }
+        log.debug("Batch item {} violates a constraint", index, e);
+        return BatchItemResult.failure(index, HttpStatus.BAD_REQUEST.value(), id, CustomerConstants.CONSTRAINT_VIOLATION);
+    }
+
+    private void applyUpdates(List<UpdateOutcome> outcomes, CustomerBatchResponse response) {
+        for (UpdateOutcome outcome : outcomes) {
+            response.add(outcome.result());
+            if (outcome.customer() != null) {
+                eventPublisher.publishEvent(CustomerChangedEvent.updated(outcome.customer()));
+            }
+        }
+    }
+
+    private List<UpdateOutcome> update(List<Item<CustomerBatchUpdateRequest>> items) {
+        Map<UUID, Customer> customers = new HashMap<>();
+        customerRepository.findAllById(items.stream().map(item -> item.value().getId()).collect(Collectors.toSet()))
+                .forEach(customer -> customers.put(customer.getId(), customer));
+        Map<String, UUID> emailOwners = new HashMap<>();
+        customerRepository.findByEmailIn(items.stream().map(item -> item.value().getEmail()).collect(Collectors.toSet()))
+                .forEach(customer -> emailOwners.put(customer.getEmail(), customer.getId()));
+
+        List<UpdateOutcome> results = new ArrayList<>(items.size());
+        TierEngine.Evaluator tiers = tierEngine.now();
+        for (Item<CustomerBatchUpdateRequest> item : items) {
+            CustomerBatchUpdateRequest request = item.value();
+            Customer customer = customers.get(request.getId());
+            if (customer == null) {
+                results.add(new UpdateOutcome(BatchItemResult.failure(item.index(), HttpStatus.NOT_FOUND.value(), request.getId(),
+                        CustomerConstants.CUSTOMER_NOT_FOUND + request.getId()), null));
+                continue;
+            }
+            UUID owner = emailOwners.get(request.getEmail());
+            if (owner != null && !owner.equals(customer.getId())) {
+                results.add(new UpdateOutcome(BatchItemResult.failure(item.index(), HttpStatus.CONFLICT.value(), request.getId(), CustomerConstants.DUPLICATE_EMAIL), null));
+                continue;
+            }
+            customerMapper.updateEntity(customer, request, tiers);
+            results.add(new UpdateOutcome(BatchItemResult.success(item.index(), HttpStatus.OK.value(), customer.getId()), customer));
+        }
+        customerRepository.flush();
+        entityManager.clear();
+        return results;
+    }
+
+    private void deleteChunk(List<Item<UUID>> chunk, CustomerBatchResponse response) {
+        Set<UUID> deleted = transactionTemplate.execute(status -> {
+            Set<UUID> existing = customerRepository.findExistingIds(
+                    chunk.stream().map(Item::value).collect(Collectors.toSet()));
+            customerRepository.deleteAllByIdInBatch(existing);
+            return existing;
+        });
+        for (Item<UUID> item : chunk) {
+            if (deleted.contains(item.value())) {
+                response.add(BatchItemResult.success(item.index(), HttpStatus.NO_CONTENT.value(), item.value()));
+                eventPublisher.publishEvent(CustomerChangedEvent.deleted(item.value()));
+            } else {
+                response.add(BatchItemResult.failure(item.index(), HttpStatus.NOT_FOUND.value(), item.value(),
+                        CustomerConstants.CUSTOMER_NOT_FOUND + item.value()));
+            }
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.customermanagement.service;
+
+import com.example.customermanagement.constants.CustomerConstants;
+import com.example.customermanagement.exception.BadRequestException;
+import com.example.customermanagement.search.NameMatch;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Opaque keyset continuation token: the URL-safe Base64 form of the last id returned on a page, or
+ * for name searches of the last match's rank, id and normalized name.
+ */
+final class CustomerCursor {
+
+    private CustomerCursor() {
+    }
+
+    static String encode(UUID lastId) {
+        ByteBuffer buffer = ByteBuffer.allocate(16);
+        buffer.putLong(lastId.getMostSignificantBits());
+        buffer.putLong(lastId.getLeastSignificantBits());
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(buffer.array());
+    }
+
+    static String encode(NameMatch last) {
+        byte[] name = last.name().getBytes(StandardCharsets.UTF_8);
+        ByteBuffer buffer = ByteBuffer.allocate(17 + name.length);
+        buffer.put((byte) last.rank());
+        buffer.putLong(last.id().getMostSignificantBits());
+        buffer.putLong(last.id().getLeastSignificantBits());
+        buffer.put(name);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(buffer.array());
+    }
+
+    static UUID decode(String cursor) {
+        byte[] bytes = bytes(cursor);
+        if (bytes == null) {
+            return null;
+        }
+        if (bytes.length != 16) {
+            throw new BadRequestException(CustomerConstants.INVALID_CURSOR);
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        return new UUID(buffer.getLong(), buffer.getLong());
+    }
+
+    static NameMatch decodeNameMatch(String cursor) {
+        byte[] bytes = bytes(cursor);
+        if (bytes == null) {
+            return null;
+        }
+        if (bytes.length < 17 || bytes[0] < NameMatch.EXACT || bytes[0] > NameMatch.CONTAINS) {
+            throw new BadRequestException(CustomerConstants.INVALID_CURSOR);
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        int rank = buffer.get();
+        UUID id = new UUID(buffer.getLong(), buffer.getLong());
+        return new NameMatch(rank, new String(bytes, 17, bytes.length - 17, StandardCharsets.UTF_8), id);
+    }
+
+    private static byte[] bytes(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            return Base64.getUrlDecoder().decode(cursor);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException(CustomerConstants.INVALID_CURSOR);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.customermanagement.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface CustomerExportService {
+
+    enum Format {
+        /** Comma-separated with a header row. */
+        CSV,
+        /** One JSON object per line. */
+        NDJSON
+    }
+
+    /**
+     * Writes every customer to {@code out} in id order and returns the number of rows written.
+     * {@code out} is flushed but not closed.
+     */
+    long exportCustomers(OutputStream out, Format format) throws IOException;
+}
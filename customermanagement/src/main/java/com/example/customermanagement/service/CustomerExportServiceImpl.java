@@ -0,0 +1,183 @@
+package com.example.customermanagement.service;
+
+import com.example.customermanagement.constants.CustomerConstants;
+import com.example.customermanagement.metrics.CustomerMetrics;
+import com.example.customermanagement.metrics.CustomerMetrics.Operation;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.UUID;
+
+/**
+ * Exports the customers table straight from a forward-only, read-only JDBC cursor. Each row is read
+ * into locals, tiered with one {@link TierEngine.Evaluator} taken at the start of the export, and
+ * written to the output before the next row is fetched, so no entity, response object or
+ * persistence context grows with the table. Tiers are computed from spend and last purchase date at
+ * export time, not read from the stored column.
+ */
+@Service
+public class CustomerExportServiceImpl implements CustomerExportService {
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    TierEngine tierEngine;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Autowired
+    CustomerMetrics customerMetrics;
+
+    private static final Logger log = LoggerFactory.getLogger(CustomerExportServiceImpl.class);
+
+    private static final String SELECT = "select id, name, email, annual_spend, last_purchase_date from customers order by id";
+    static final String CSV_HEADER = "id,name,email,annualSpend,lastPurchaseDate,tier\n";
+
+    private interface RowWriter {
+        void write(UUID id, String name, String email, BigDecimal annualSpend, LocalDateTime lastPurchaseDate, String tier)
+                throws IOException;
+
+        void finish() throws IOException;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long exportCustomers(OutputStream out, Format format) throws IOException {
+        long started = customerMetrics.start();
+        try {
+            log.info("Exporting customers as {}", format);
+            RowWriter writer = format == Format.CSV ? csvWriter(out) : ndjsonWriter(out);
+            TierEngine.Evaluator tiers = tierEngine.now();
+            long[] rows = new long[1];
+            try {
+                jdbcTemplate.query(connection -> {
+                    PreparedStatement statement = connection.prepareStatement(SELECT,
+                            ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                    statement.setFetchSize(CustomerConstants.STREAM_FETCH_SIZE);
+                    return statement;
+                }, (ResultSet rs) -> {
+                    BigDecimal annualSpend = rs.getBigDecimal(4);
+                    LocalDateTime lastPurchaseDate = rs.getObject(5, LocalDateTime.class);
+                    try {
+                        writer.write(rs.getObject(1, UUID.class), rs.getString(2), rs.getString(3),
+                                annualSpend, lastPurchaseDate, tiers.tierOf(annualSpend, lastPurchaseDate));
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    rows[0]++;
+                });
+            } catch (UncheckedIOException e) {
+                // The client went away mid-export; surface it as the I/O error it is
+                throw e.getCause();
+            }
+            writer.finish();
+            log.info("Exported {} customers", rows[0]);
+            return rows[0];
+        } finally {
+            customerMetrics.recordOperation(Operation.EXPORT, started);
+        }
+    }
+
+    private static RowWriter csvWriter(OutputStream out) throws IOException {
+        Writer csv = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 1 << 16);
+        csv.write(CSV_HEADER);
+        return new RowWriter() {
+            @Override
+            public void write(UUID id, String name, String email, BigDecimal annualSpend, LocalDateTime lastPurchaseDate,
+                              String tier) throws IOException {
+                csv.write(id.toString());
+                csv.write(',');
+                writeCsvField(csv, name);
+                csv.write(',');
+                writeCsvField(csv, email);
+                csv.write(',');
+                if (annualSpend != null) {
+                    csv.write(annualSpend.toPlainString());
+                }
+                csv.write(',');
+                if (lastPurchaseDate != null) {
+                    csv.write(DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(lastPurchaseDate));
+                }
+                csv.write(',');
+                csv.write(tier);
+                csv.write('\n');
+            }
+
+            @Override
+            public void finish() throws IOException {
+                csv.flush();
+            }
+        };
+    }
+
+    static void writeCsvField(Writer csv, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            csv.write(value);
+            return;
+        }
+        csv.write('"');
+        csv.write(value.replace("\"", "\"\""));
+        csv.write('"');
+    }
+
+    private RowWriter ndjsonWriter(OutputStream out) throws IOException {
+        JsonGenerator json = objectMapper.getFactory().createGenerator(out);
+        json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        json.setRootValueSeparator(null);
+        return new RowWriter() {
+            @Override
+            public void write(UUID id, String name, String email, BigDecimal annualSpend, LocalDateTime lastPurchaseDate,
+                              String tier) throws IOException {
+                json.writeStartObject();
+                json.writeStringField("id", id.toString());
+                json.writeStringField("name", name);
+                json.writeStringField("email", email);
+                json.writeFieldName("annualSpend");
+                if (annualSpend == null) {
+                    json.writeNull();
+                } else {
+                    json.writeNumber(annualSpend);
+                }
+                json.writeStringField("lastPurchaseDate",
+                        lastPurchaseDate == null ? null : DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(lastPurchaseDate));
+                json.writeStringField("tier", tier);
+                json.writeEndObject();
+                json.writeRaw('\n');
+            }
+
+            @Override
+            public void finish() throws IOException {
+                json.close();
+            }
+        };
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.customermanagement.service;
+
+import com.example.customermanagement.constants.CustomerConstants;
+import com.example.customermanagement.dto.CustomerResponse;
+import com.example.customermanagement.exception.BadRequestException;
+import com.example.customermanagement.model.CustomerField;
+import com.example.customermanagement.repository.CustomerRow;
+
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Parses {@code ?fields=} and builds sparse customer bodies. The id is always included, and fields
+ * come out in the order of the full response whatever order they were asked for in.
+ */
+public final class CustomerFields {
+
+    private CustomerFields() {
+    }
+
+    public static Set<CustomerField> parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            throw new BadRequestException(CustomerConstants.INVALID_FIELDS);
+        }
+        EnumSet<CustomerField> parsed = EnumSet.of(CustomerField.ID);
+        for (String name : fields.split(",")) {
+            CustomerField field = CustomerField.fromJsonName(name.trim());
+            if (field == null) {
+                throw new BadRequestException(CustomerConstants.INVALID_FIELDS);
+            }
+            parsed.add(field);
+        }
+        return parsed;
+    }
+
+    public static Map<String, Object> select(CustomerResponse response, Set<CustomerField> fields) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        for (CustomerField field : fields) {
+            body.put(field.getJsonName(), switch (field) {
+                case ID -> response.getId();
+                case NAME -> response.getName();
+                case EMAIL -> response.getEmail();
+                case ANNUAL_SPEND -> response.getAnnualSpend();
+                case LAST_PURCHASE_DATE -> response.getLastPurchaseDate();
+                case TIER -> response.getTier();
+            });
+        }
+        return body;
+    }
+
+    /**
+     * {@code tiers} may be null unless {@code fields} holds {@link CustomerField#TIER}.
+     */
+    static Map<String, Object> select(CustomerRow row, Set<CustomerField> fields, TierEngine.Evaluator tiers) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        for (CustomerField field : fields) {
+            body.put(field.getJsonName(), switch (field) {
+                case ID -> row.id();
+                case NAME -> row.name();
+                case EMAIL -> row.email();
+                case ANNUAL_SPEND -> row.annualSpend();
+                case LAST_PURCHASE_DATE -> row.lastPurchaseDate();
+                case TIER -> tiers.tierOf(row.annualSpend(), row.lastPurchaseDate());
+            });
+        }
+        return body;
+    }
+}
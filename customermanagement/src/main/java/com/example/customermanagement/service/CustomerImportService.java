@@ -0,0 +1,18 @@
+package com.example.customermanagement.service;
+
+import com.example.customermanagement.dto.CustomerImportResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+public interface CustomerImportService {
+
+    enum Format {
+        /** Comma-separated with a header row naming the {@code CustomerRequest} fields. */
+        CSV,
+        /** A JSON array or newline-delimited JSON. */
+        JSON
+    }
+
+    CustomerImportResponse importCustomers(InputStream body, Format format) throws IOException;
+}
@@ -0,0 +1,336 @@
+package com.example.customermanagement.service;
+
+import com.example.customermanagement.config.CustomerBatchProperties;
+import com.example.customermanagement.config.CustomerImportProperties;
+import com.example.customermanagement.constants.CustomerConstants;
+import com.example.customermanagement.dto.BatchItemResult;
+import com.example.customermanagement.dto.CustomerImportResponse;
+import com.example.customermanagement.dto.CustomerRequest;
+import com.example.customermanagement.event.CustomerChangedEvent;
+import com.example.customermanagement.id.UuidV7Generator;
+import com.example.customermanagement.model.Customer;
+import com.example.customermanagement.repository.CustomerRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Imports customers from a CSV or JSON stream of any size.
+ * <p>
+ * The calling thread parses rows one at a time and hands them out in chunks to a fixed pool that
+ * trims, validates and maps them to entities. Results are taken back in input order, so the first
+ * row with an email wins. Emails already in the table are checked per chunk, and each chunk is then
+ * inserted with JDBC batches in its own transaction. Rows committed before a malformed row or a
+ * failure stay imported; the response says how far the import got. Only a bounded number of
+ * chunks is in flight at once, so memory does not grow with the input, apart from the set of
+ * emails seen so far.
+ */
+@Service
+public class CustomerImportServiceImpl implements CustomerImportService {
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Autowired
+    Validator validator;
+
+    @Autowired
+    CustomerMapper customerMapper;
+
+    @Autowired
+    TierEngine tierEngine;
+
+    @Autowired
+    CustomerRepository customerRepository;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @Autowired
+    ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    CustomerImportProperties importProperties;
+
+    @Autowired
+    CustomerBatchProperties batchProperties;
+
+    @Autowired(required = false)
+    MeterRegistry meterRegistry;
+
+    private static final Logger log = LoggerFactory.getLogger(CustomerImportServiceImpl.class);
+
+    private static final String INSERT = "insert into customers"
+            + " (id, name, name_normalized, email, annual_spend, last_purchase_date, tier, version)"
+            + " values (?, ?, ?, ?, ?, ?, ?, 0)";
+
+    private static final CsvMapper CSV_MAPPER = CsvMapper.builder()
+            .findAndAddModules()
+            .enable(CsvParser.Feature.TRIM_SPACES)
+            .enable(CsvParser.Feature.EMPTY_STRING_AS_NULL)
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .build();
+
+    private record Parsed(int index, CustomerRequest request, String error) {
+    }
+
+    private record Row(int index, Customer customer, BatchItemResult rejection) {
+    }
+
+    private ExecutorService workers;
+    private Counter importedRows;
+    private Counter rejectedRows;
+
+    @PostConstruct
+    void init() {
+        CustomizableThreadFactory threads = new CustomizableThreadFactory("customer-import-");
+        threads.setDaemon(true);
+        workers = Executors.newFixedThreadPool(importProperties.getParallelism(), threads);
+        MeterRegistry registry = meterRegistry != null ? meterRegistry : new SimpleMeterRegistry();
+        importedRows = rowCounter(registry, "imported");
+        rejectedRows = rowCounter(registry, "rejected");
+    }
+
+    @PreDestroy
+    void shutdown() {
+        workers.shutdownNow();
+    }
+
+    private static Counter rowCounter(MeterRegistry registry, String outcome) {
+        return Counter.builder("customer.import.rows")
+                .description("Rows processed by customer imports, by outcome")
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+
+    @Override
+    public CustomerImportResponse importCustomers(InputStream body, Format format) throws IOException {
+        log.info("Starting {} customer import", format);
+        long started = System.nanoTime();
+        CustomerImportResponse response = new CustomerImportResponse();
+        Set<String> seenEmails = new HashSet<>();
+        Deque<Future<List<Row>>> inFlight = new ArrayDeque<>();
+        TierEngine.Evaluator tiers = tierEngine.now();
+        int chunkSize = importProperties.getChunkSize();
+        int index = 0;
+        try (MappingIterator<CustomerRequest> rows = reader(format).readValues(body)) {
+            List<Parsed> chunk = new ArrayList<>(chunkSize);
+            try {
+                while (rows.hasNextValue()) {
+                    chunk.add(next(rows, index));
+                    index++;
+                    if (chunk.size() == chunkSize) {
+                        List<Parsed> submitted = chunk;
+                        inFlight.add(workers.submit(() -> validate(submitted, tiers)));
+                        chunk = new ArrayList<>(chunkSize);
+                        if (inFlight.size() > importProperties.getParallelism()) {
+                            write(take(inFlight), seenEmails, response, started);
+                        }
+                    }
+                }
+            } catch (JsonProcessingException e) {
+                // Keep what was read before the malformed row; nothing after it can be trusted
+                response.setError("Malformed row at index " + index + ": " + e.getOriginalMessage());
+            }
+            if (!chunk.isEmpty()) {
+                List<Parsed> submitted = chunk;
+                inFlight.add(workers.submit(() -> validate(submitted, tiers)));
+            }
+            while (!inFlight.isEmpty()) {
+                write(take(inFlight), seenEmails, response, started);
+            }
+        } finally {
+            inFlight.forEach(future -> future.cancel(true));
+        }
+        response.getRejections().sort(Comparator.comparingInt(BatchItemResult::getIndex));
+        response.setRows(response.getImported() + response.getRejected());
+        response.setElapsedMillis(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        log.info("Customer import finished: {} rows, {} imported, {} rejected in {} ms",
+                response.getRows(), response.getImported(), response.getRejected(), response.getElapsedMillis());
+        return response;
+    }
+
+    private ObjectReader reader(Format format) {
+        if (format == Format.CSV) {
+            return CSV_MAPPER.readerFor(CustomerRequest.class).with(CsvSchema.emptySchema().withHeader());
+        }
+        return objectMapper.readerFor(CustomerRequest.class);
+    }
+
+    private static Parsed next(MappingIterator<CustomerRequest> rows, int index) throws IOException {
+        try {
+            return new Parsed(index, rows.nextValue(), null);
+        } catch (JsonMappingException e) {
+            // A value of the wrong type; the iterator skips the rest of the row on the next read
+            String field = e.getPath().isEmpty() ? null : e.getPath().get(e.getPath().size() - 1).getFieldName();
+            return new Parsed(index, null, field == null ? e.getOriginalMessage() : field + ": " + e.getOriginalMessage());
+        }
+    }
+
+    private static List<Row> take(Deque<Future<List<Row>>> inFlight) {
+        try {
+            return inFlight.removeFirst().get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Customer import interrupted", e);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException runtime ? runtime : new IllegalStateException(e.getCause());
+        }
+    }
+
+    private List<Row> validate(List<Parsed> chunk, TierEngine.Evaluator tiers) {
+        List<Row> rows = new ArrayList<>(chunk.size());
+        for (Parsed parsed : chunk) {
+            CustomerRequest request = parsed.request();
+            if (parsed.error() != null || request == null) {
+                rows.add(new Row(parsed.index(), null, rejected(parsed.index(), HttpStatus.BAD_REQUEST,
+                        parsed.error() != null ? parsed.error() : "Item is required")));
+                continue;
+            }
+            request.setName(strip(request.getName()));
+            request.setEmail(strip(request.getEmail()));
+            Set<ConstraintViolation<CustomerRequest>> violations = validator.validate(request);
+            if (!violations.isEmpty()) {
+                rows.add(new Row(parsed.index(), null, rejected(parsed.index(), HttpStatus.BAD_REQUEST, violations.stream()
+                        .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                        .sorted()
+                        .collect(Collectors.joining(", ")))));
+                continue;
+            }
+            Customer customer = customerMapper.toEntity(request, tiers);
+            customer.setId(UuidV7Generator.next());
+            customer.setVersion(0L);
+            rows.add(new Row(parsed.index(), customer, null));
+        }
+        return rows;
+    }
+
+    private void write(List<Row> rows, Set<String> seenEmails, CustomerImportResponse response, long started) {
+        List<Row> unique = new ArrayList<>(rows.size());
+        for (Row row : rows) {
+            if (row.rejection() != null) {
+                reject(response, row.rejection());
+            } else if (!seenEmails.add(row.customer().getEmail())) {
+                reject(response, rejected(row.index(), HttpStatus.CONFLICT, CustomerConstants.DUPLICATE_EMAIL));
+            } else {
+                unique.add(row);
+            }
+        }
+        if (unique.isEmpty()) {
+            return;
+        }
+        Set<String> existing = customerRepository.findExistingEmails(
+                unique.stream().map(row -> row.customer().getEmail()).collect(Collectors.toList()));
+        List<Row> pending = new ArrayList<>(unique.size());
+        for (Row row : unique) {
+            if (existing.contains(row.customer().getEmail())) {
+                reject(response, rejected(row.index(), HttpStatus.CONFLICT, CustomerConstants.DUPLICATE_EMAIL));
+            } else {
+                pending.add(row);
+            }
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> insert(pending));
+            pending.forEach(row -> imported(response, row.customer()));
+        } catch (DataIntegrityViolationException e) {
+            log.warn("Import of {} customers failed, retrying row by row", pending.size());
+            for (Row row : pending) {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> insert(List.of(row)));
+                    imported(response, row.customer());
+                } catch (DataIntegrityViolationException ex) {
+                    if (CustomerServiceSupport.isDuplicateEmail(ex)) {
+                        reject(response, rejected(row.index(), HttpStatus.CONFLICT, CustomerConstants.DUPLICATE_EMAIL));
+                    } else {
+                        log.debug("Import row {} violates a constraint", row.index(), ex);
+                        reject(response, rejected(row.index(), HttpStatus.BAD_REQUEST, CustomerConstants.CONSTRAINT_VIOLATION));
+                    }
+                }
+            }
+        }
+        long rowsSoFar = response.getImported() + response.getRejected();
+        int interval = importProperties.getProgressInterval();
+        if (rowsSoFar / interval != (rowsSoFar - rows.size()) / interval) {
+            double seconds = (System.nanoTime() - started) / 1e9;
+            log.info("Customer import progress: {} rows, {} imported, {} rejected, {} rows/s",
+                    rowsSoFar, response.getImported(), response.getRejected(), Math.round(rowsSoFar / seconds));
+        }
+    }
+
+    private void insert(List<Row> rows) {
+        jdbcTemplate.batchUpdate(INSERT, rows, batchProperties.getSize(), (ps, row) -> {
+            Customer customer = row.customer();
+            ps.setObject(1, customer.getId());
+            ps.setString(2, customer.getName());
+            ps.setString(3, customer.getNameNormalized());
+            ps.setString(4, customer.getEmail());
+            ps.setBigDecimal(5, customer.getAnnualSpend());
+            ps.setObject(6, customer.getLastPurchaseDate());
+            ps.setString(7, customer.getTier());
+        });
+    }
+
+    private void imported(CustomerImportResponse response, Customer customer) {
+        response.setImported(response.getImported() + 1);
+        importedRows.increment();
+        eventPublisher.publishEvent(CustomerChangedEvent.created(customer));
+    }
+
+    private void reject(CustomerImportResponse response, BatchItemResult rejection) {
+        response.setRejected(response.getRejected() + 1);
+        rejectedRows.increment();
+        if (response.getRejections().size() < importProperties.getMaxReportedRejections()) {
+            response.getRejections().add(rejection);
+        }
+    }
+
+    private static BatchItemResult rejected(int index, HttpStatus status, String error) {
+        return BatchItemResult.failure(index, status.value(), null, error);
+    }
+
+    private static String strip(String value) {
+        return value == null ? null : value.strip();
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.customermanagement.service;
+
+import com.example.customermanagement.dto.CustomerRequest;
+import com.example.customermanagement.model.Customer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Component
+public class CustomerMapper {
+
+    @Autowired
+    TierEngine tierEngine;
+
+    public Customer toEntity(CustomerRequest request) {
+        return toEntity(request, tierEngine.now());
+    }
+
+    public Customer toEntity(CustomerRequest request, TierEngine.Evaluator tiers) {
+        Customer customer = new Customer();
+        updateEntity(customer, request, tiers);
+        return customer;
+    }
+
+    public void updateEntity(Customer customer, CustomerRequest request) {
+        updateEntity(customer, request, tierEngine.now());
+    }
+
+    public void updateEntity(Customer customer, CustomerRequest request, TierEngine.Evaluator tiers) {
+        customer.setName(request.getName());
+        customer.setEmail(request.getEmail());
+        customer.setAnnualSpend(request.getAnnualSpend());
+        customer.setLastPurchaseDate(request.getLastPurchaseDate());
+        customer.setTier(tiers.tierOf(request.getAnnualSpend(), request.getLastPurchaseDate()));
+    }
+
+    public CustomerRequest toRequest(Customer customer) {
+        CustomerRequest request = new CustomerRequest();
+        request.setName(customer.getName());
+        request.setEmail(customer.getEmail());
+        request.setAnnualSpend(customer.getAnnualSpend());
+        request.setLastPurchaseDate(customer.getLastPurchaseDate());
+        return request;
+    }
+
+    /**
+     * Returns a new customer with the purchase added to its annual spend, leaving {@code customer} untouched.
+     * A purchase older than the one on record does not move the last purchase date back. A customer without
+     * a version counts as version 0, the column default.
+     */
+    public Customer withPurchase(Customer customer, BigDecimal amount, LocalDateTime purchasedAt, TierEngine.Evaluator tiers) {
+        BigDecimal annualSpend = customer.getAnnualSpend() == null ? amount : customer.getAnnualSpend().add(amount);
+        LocalDateTime lastPurchaseDate = customer.getLastPurchaseDate() == null || customer.getLastPurchaseDate().isBefore(purchasedAt)
+                ? purchasedAt
+                : customer.getLastPurchaseDate();
+        Customer updated = new Customer();
+        updated.setId(customer.getId());
+        updated.setName(customer.getName());
+        updated.setEmail(customer.getEmail());
+        updated.setAnnualSpend(annualSpend);
+        updated.setLastPurchaseDate(lastPurchaseDate);
+        updated.setTier(tiers.tierOf(annualSpend, lastPurchaseDate));
+        updated.setVersion((customer.getVersion() != null ? customer.getVersion() : 0L) + 1);
+        return updated;
+    }
+}
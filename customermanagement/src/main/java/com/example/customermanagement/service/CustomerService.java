@@ -1,22 +1,60 @@
 package com.example.customermanagement.service;
 
+import com.example.customermanagement.dto.CustomerFieldsPageResponse;
+import com.example.customermanagement.dto.CustomerLookupRequest;
+import com.example.customermanagement.dto.CustomerLookupResponse;
+import com.example.customermanagement.dto.CustomerPageResponse;
 import com.example.customermanagement.dto.CustomerRequest;
 import com.example.customermanagement.dto.CustomerResponse;
+import com.example.customermanagement.dto.PurchaseRequest;
 import com.example.customermanagement.exception.ResourceNotFoundException;
+import com.example.customermanagement.model.CustomerField;
+import com.fasterxml.jackson.databind.JsonNode;
 
-import java.util.List;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 public interface CustomerService {
     CustomerResponse createCustomer(CustomerRequest customerRequest);
 
     CustomerResponse getCustomerById(UUID id) throws ResourceNotFoundException;
 
-    List<CustomerResponse> getCustomersByName(String name);
+    CustomerPageResponse getCustomers(String cursor, int size);
+
+    CustomerPageResponse getCustomersByName(String name, String cursor, int size) throws ResourceNotFoundException;
+
+    CustomerPageResponse getCustomersByTier(String tier, String cursor, int size);
+
+    CustomerFieldsPageResponse getCustomers(String cursor, int size, Set<CustomerField> fields);
+
+    CustomerFieldsPageResponse getCustomersByName(String name, String cursor, int size, Set<CustomerField> fields) throws ResourceNotFoundException;
+
+    CustomerFieldsPageResponse getCustomersByTier(String tier, String cursor, int size, Set<CustomerField> fields);
+
+    void streamCustomers(String name, Consumer<CustomerResponse> consumer);
+
+    void streamCustomersByEmail(String email, Consumer<CustomerResponse> consumer);
+
+    void streamCustomersByTier(String tier, Consumer<CustomerResponse> consumer);
 
     CustomerResponse getCustomerByEmail(String email) throws ResourceNotFoundException;
 
-    CustomerResponse updateCustomer(UUID id, CustomerRequest customerRequest) throws ResourceNotFoundException;
+    CustomerLookupResponse lookupCustomers(CustomerLookupRequest request);
+
+    default CustomerResponse updateCustomer(UUID id, CustomerRequest customerRequest) throws ResourceNotFoundException {
+        return updateCustomer(id, customerRequest, null);
+    }
+
+    CustomerResponse updateCustomer(UUID id, CustomerRequest customerRequest, Long expectedVersion) throws ResourceNotFoundException;
+
+    CustomerResponse patchCustomer(UUID id, JsonNode patch, Long expectedVersion) throws ResourceNotFoundException;
+
+    CustomerResponse recordPurchase(UUID id, PurchaseRequest purchase) throws ResourceNotFoundException;
+
+    default void deleteCustomer(UUID id) throws ResourceNotFoundException {
+        deleteCustomer(id, null);
+    }
 
-    void deleteCustomer(UUID id) throws ResourceNotFoundException;
+    void deleteCustomer(UUID id, Long expectedVersion) throws ResourceNotFoundException;
 }
\ No newline at end of file
@@ -1,19 +1,64 @@
 package com.example.customermanagement.service;
 
+import com.example.customermanagement.cache.CustomerCache;
+import com.example.customermanagement.cache.CustomerReadFlights;
+import com.example.customermanagement.cache.EmailFilter;
+import com.example.customermanagement.config.CustomerLookupProperties;
 import com.example.customermanagement.constants.CustomerConstants;
+import com.example.customermanagement.dto.CustomerFieldsPageResponse;
+import com.example.customermanagement.dto.CustomerLookupRequest;
+import com.example.customermanagement.dto.CustomerLookupResponse;
+import com.example.customermanagement.dto.CustomerPageResponse;
 import com.example.customermanagement.dto.CustomerRequest;
 import com.example.customermanagement.dto.CustomerResponse;
+import com.example.customermanagement.dto.PurchaseRequest;
+import com.example.customermanagement.event.CustomerChangedEvent;
+import com.example.customermanagement.exception.BadRequestException;
+import com.example.customermanagement.exception.DuplicateEmailException;
+import com.example.customermanagement.exception.PreconditionFailedException;
 import com.example.customermanagement.exception.ResourceNotFoundException;
+import com.example.customermanagement.metrics.CustomerMetrics;
+import com.example.customermanagement.metrics.CustomerMetrics.Operation;
+import com.example.customermanagement.metrics.CustomerMetrics.Phase;
 import com.example.customermanagement.model.Customer;
+import com.example.customermanagement.model.CustomerField;
 import com.example.customermanagement.repository.CustomerRepository;
+import com.example.customermanagement.repository.CustomerRow;
+import com.example.customermanagement.search.NameMatch;
+import com.example.customermanagement.search.NameNormalizer;
+import com.example.customermanagement.search.NameSearchIndex;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.Validator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class CustomerServiceImpl implements CustomerService {
@@ -21,100 +66,615 @@ public class CustomerServiceImpl implements CustomerService {
     @Autowired
     CustomerRepository customerRepository;
 
+    @Autowired
+    CustomerMapper customerMapper;
+
+    @Autowired
+    CustomerCache customerCache;
+
+    @Autowired
+    CustomerReadFlights readFlights;
+
+    @Autowired
+    EmailFilter emailFilter;
+
+    @Autowired
+    ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    TierEngine tierEngine;
+
+    @Autowired
+    NameSearchIndex nameSearchIndex;
+
+    @Autowired
+    CustomerMetrics customerMetrics;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Autowired
+    Validator validator;
+
+    @Autowired
+    CustomerLookupProperties lookupProperties;
+
+    @PersistenceContext
+    EntityManager entityManager;
+
     private static final Logger log = LoggerFactory.getLogger(CustomerServiceImpl.class);
 
 
     @Override
     public CustomerResponse createCustomer(CustomerRequest request) {
-        log.info("Creating new customer with email: {}", request.getEmail());
-        Customer customer = new Customer();
-        customer.setName(request.getName());
-        customer.setEmail(request.getEmail());
-        customer.setAnnualSpend(request.getAnnualSpend());
-        customer.setLastPurchaseDate(request.getLastPurchaseDate());
-        Customer savedCustomer = customerRepository.save(customer);
-        log.debug("Customer created successfully with ID: {}", savedCustomer.getId());
-        return toResponse(savedCustomer);
+        long started = customerMetrics.start();
+        try {
+            log.debug("Creating new customer with email: {}", request.getEmail());
+            if (emailFilter.needsDuplicateCheck(request.getEmail())) {
+                long phase = customerMetrics.start();
+                boolean exists = customerRepository.existsByEmail(request.getEmail());
+                customerMetrics.recordPhase(Operation.CREATE, Phase.DB, phase);
+                if (exists) {
+                    log.debug("Rejecting customer with existing email: {}", request.getEmail());
+                    throw new DuplicateEmailException(CustomerConstants.DUPLICATE_EMAIL);
+                }
+            }
+            long phase = customerMetrics.start();
+            Customer customer = customerMapper.toEntity(request);
+            customerMetrics.recordPhase(Operation.CREATE, Phase.MAPPING, phase);
+            phase = customerMetrics.start();
+            Customer savedCustomer = customerRepository.save(customer);
+            customerMetrics.recordPhase(Operation.CREATE, Phase.DB, phase);
+            eventPublisher.publishEvent(CustomerChangedEvent.created(savedCustomer));
+            log.debug("Customer created successfully with ID: {}", savedCustomer.getId());
+            return toResponse(Operation.CREATE, savedCustomer, tierEngine.now());
+        } finally {
+            customerMetrics.recordOperation(Operation.CREATE, started);
+        }
     }
 
     @Override
     public CustomerResponse getCustomerById(UUID id) throws ResourceNotFoundException {
-        log.info("Fetching customer with ID: {}", id);
-        Customer customer = customerRepository.findById(id)
-                .orElseThrow(() -> {
-                    log.error("Customer not found with ID: {}", id);
-                    return new ResourceNotFoundException(CustomerConstants.CUSTOMER_NOT_FOUND + id);
-                });
-        CustomerResponse response = toResponse(customer);
-        log.debug("Customer retrieved successfully with ID: {}", id);
-        return response;
+        long started = customerMetrics.start();
+        try {
+            log.debug("Fetching customer with ID: {}", id);
+            return readFlights.byId(id, () -> {
+                Customer customer = customerCache.getById(id, key -> findById(Operation.GET_BY_ID, key))
+                        .orElseThrow(() -> {
+                            log.error("Customer not found with ID: {}", id);
+                            return new ResourceNotFoundException(CustomerConstants.CUSTOMER_NOT_FOUND + id);
+                        });
+                CustomerResponse response = toResponse(Operation.GET_BY_ID, customer, tierEngine.now());
+                log.debug("Customer retrieved successfully with ID: {}", id);
+                return response;
+            });
+        } finally {
+            customerMetrics.recordOperation(Operation.GET_BY_ID, started);
+        }
     }
 
     @Override
-    public List<CustomerResponse> getCustomersByName(String name) {
-        log.info("Fetching customers with name containing: {}", name);
-        List<Customer> customers = customerRepository.findByName(name);
-        log.debug("Found {} customers with name containing: {}", customers.size(), name);
-        if (customers.isEmpty()) {
-            throw new ResourceNotFoundException("No data found with this name : " + name);
+    public CustomerPageResponse getCustomers(String cursor, int size) {
+        long started = customerMetrics.start();
+        try {
+            log.debug("Fetching customers page after cursor: {}", cursor);
+            CustomerServiceSupport.validatePageSize(size);
+            UUID after = CustomerCursor.decode(cursor);
+            Limit limit = Limit.of(size + 1);
+            long phase = customerMetrics.start();
+            List<Customer> customers = after == null
+                    ? customerRepository.findAllByOrderByIdAsc(limit)
+                    : customerRepository.findByIdGreaterThanOrderByIdAsc(after, limit);
+            customerMetrics.recordPhase(Operation.LIST, Phase.DB, phase);
+            log.debug("Found {} customers after cursor: {}", customers.size(), cursor);
+            phase = customerMetrics.start();
+            CustomerPageResponse page = CustomerServiceSupport.toPage(customers, size, tierEngine.now());
+            customerMetrics.recordPhase(Operation.LIST, Phase.MAPPING, phase);
+            return page;
+        } finally {
+            customerMetrics.recordOperation(Operation.LIST, started);
+        }
+    }
+
+    @Override
+    public CustomerPageResponse getCustomersByName(String name, String cursor, int size) {
+        long started = customerMetrics.start();
+        try {
+            log.debug("Fetching customers with name containing: {}", name);
+            CustomerServiceSupport.validatePageSize(size);
+            String query = NameNormalizer.normalize(name);
+            if (query.isEmpty()) {
+                throw new BadRequestException(CustomerConstants.NAME_QUERY_REQUIRED);
+            }
+            NameMatch after = CustomerCursor.decodeNameMatch(cursor);
+            List<Customer> customers = findByName(query, after, size + 1);
+            log.debug("Found {} customers with name containing: {}", customers.size(), name);
+            if (customers.isEmpty() && after == null) {
+                throw new ResourceNotFoundException("No data found with this name : " + name);
+            }
+            long phase = customerMetrics.start();
+            CustomerPageResponse page = CustomerServiceSupport.toNamePage(customers, query, size, tierEngine.now());
+            customerMetrics.recordPhase(Operation.SEARCH, Phase.MAPPING, phase);
+            return page;
+        } finally {
+            customerMetrics.recordOperation(Operation.SEARCH, started);
+        }
+    }
+
+    private List<Customer> findByName(String query, NameMatch after, int limit) {
+        return query.length() >= NameSearchIndex.GRAM_LENGTH
+                ? findByNameContaining(query, after, limit)
+                : findByNamePrefix(query, after, limit);
+    }
+
+    private List<Customer> findByNamePrefix(String prefix, NameMatch after, int limit) {
+        // Among prefix matches an exact match sorts first by name, so (name, id) order is also rank order.
+        long phase = customerMetrics.start();
+        List<Customer> customers = after == null
+                ? customerRepository.findByNameNormalizedStartingWithOrderByNameNormalizedAscIdAsc(prefix, Limit.of(limit))
+                : customerRepository.findByNamePrefixAfter(prefix, after.name(), after.id(), Limit.of(limit));
+        customerMetrics.recordPhase(Operation.SEARCH, Phase.DB, phase);
+        return customers;
+    }
+
+    private List<Customer> findByNameContaining(String query, NameMatch after, int limit) {
+        List<NameMatch> matches = nameSearchIndex.search(query, after, limit);
+        List<UUID> ids = matches.stream().map(NameMatch::id).toList();
+        long phase = customerMetrics.start();
+        List<Customer> customers = customerRepository.findAllById(ids);
+        customerMetrics.recordPhase(Operation.SEARCH, Phase.DB, phase);
+        return inMatchOrder(matches, customers, Customer::getId, Customer::getNameNormalized);
+    }
+
+    private static <T> List<T> inMatchOrder(List<NameMatch> matches, List<T> rows, Function<T, UUID> idOf,
+                                            Function<T, String> nameNormalizedOf) {
+        Map<UUID, T> found = rows.stream().collect(Collectors.toMap(idOf, Function.identity()));
+        List<T> ordered = new ArrayList<>(matches.size());
+        for (NameMatch match : matches) {
+            T row = found.get(match.id());
+            // The index can briefly run ahead of a write that was rolled back; trust the row.
+            if (row != null && match.name().equals(nameNormalizedOf.apply(row))) {
+                ordered.add(row);
+            }
+        }
+        return ordered;
+    }
+
+    @Override
+    public CustomerPageResponse getCustomersByTier(String tier, String cursor, int size) {
+        long started = customerMetrics.start();
+        try {
+            log.debug("Fetching customers with tier: {}", tier);
+            String normalizedTier = TierEngine.normalizeTier(tier);
+            CustomerServiceSupport.validatePageSize(size);
+            UUID after = CustomerCursor.decode(cursor);
+            Limit limit = Limit.of(size + 1);
+            long phase = customerMetrics.start();
+            List<Customer> customers = after == null
+                    ? customerRepository.findByTierOrderByIdAsc(normalizedTier, limit)
+                    : customerRepository.findByTierAndIdGreaterThanOrderByIdAsc(normalizedTier, after, limit);
+            customerMetrics.recordPhase(Operation.SEARCH, Phase.DB, phase);
+            log.debug("Found {} customers with tier: {}", customers.size(), normalizedTier);
+            phase = customerMetrics.start();
+            CustomerPageResponse page = CustomerServiceSupport.toPage(customers, size, tierEngine.now());
+            customerMetrics.recordPhase(Operation.SEARCH, Phase.MAPPING, phase);
+            return page;
+        } finally {
+            customerMetrics.recordOperation(Operation.SEARCH, started);
+        }
+    }
+
+    @Override
+    public CustomerFieldsPageResponse getCustomers(String cursor, int size, Set<CustomerField> fields) {
+        long started = customerMetrics.start();
+        try {
+            log.debug("Fetching fields {} of customers page after cursor: {}", fields, cursor);
+            CustomerServiceSupport.validatePageSize(size);
+            UUID after = CustomerCursor.decode(cursor);
+            long phase = customerMetrics.start();
+            List<CustomerRow> rows = customerRepository.findRowsOrderByIdAsc(fields, after, Limit.of(size + 1));
+            customerMetrics.recordPhase(Operation.LIST, Phase.DB, phase);
+            log.debug("Found {} customers after cursor: {}", rows.size(), cursor);
+            phase = customerMetrics.start();
+            CustomerFieldsPageResponse page = CustomerServiceSupport.toFieldsPage(rows, size, fields, tiersFor(fields));
+            customerMetrics.recordPhase(Operation.LIST, Phase.MAPPING, phase);
+            return page;
+        } finally {
+            customerMetrics.recordOperation(Operation.LIST, started);
+        }
+    }
+
+    @Override
+    public CustomerFieldsPageResponse getCustomersByName(String name, String cursor, int size, Set<CustomerField> fields) {
+        long started = customerMetrics.start();
+        try {
+            log.debug("Fetching fields {} of customers with name containing: {}", fields, name);
+            CustomerServiceSupport.validatePageSize(size);
+            String query = NameNormalizer.normalize(name);
+            if (query.isEmpty()) {
+                throw new BadRequestException(CustomerConstants.NAME_QUERY_REQUIRED);
+            }
+            NameMatch after = CustomerCursor.decodeNameMatch(cursor);
+            List<CustomerRow> rows;
+            if (query.length() >= NameSearchIndex.GRAM_LENGTH) {
+                List<NameMatch> matches = nameSearchIndex.search(query, after, size + 1);
+                List<UUID> ids = matches.stream().map(NameMatch::id).toList();
+                long phase = customerMetrics.start();
+                List<CustomerRow> found = customerRepository.findRowsByIdIn(fields, ids);
+                customerMetrics.recordPhase(Operation.SEARCH, Phase.DB, phase);
+                rows = inMatchOrder(matches, found, CustomerRow::id, CustomerRow::nameNormalized);
+            } else {
+                long phase = customerMetrics.start();
+                rows = customerRepository.findRowsByNamePrefix(fields, query,
+                        after == null ? null : after.name(), after == null ? null : after.id(), Limit.of(size + 1));
+                customerMetrics.recordPhase(Operation.SEARCH, Phase.DB, phase);
+            }
+            log.debug("Found {} customers with name containing: {}", rows.size(), name);
+            if (rows.isEmpty() && after == null) {
+                throw new ResourceNotFoundException("No data found with this name : " + name);
+            }
+            long phase = customerMetrics.start();
+            CustomerFieldsPageResponse page = CustomerServiceSupport.toFieldsNamePage(rows, query, size, fields, tiersFor(fields));
+            customerMetrics.recordPhase(Operation.SEARCH, Phase.MAPPING, phase);
+            return page;
+        } finally {
+            customerMetrics.recordOperation(Operation.SEARCH, started);
+        }
+    }
+
+    @Override
+    public CustomerFieldsPageResponse getCustomersByTier(String tier, String cursor, int size, Set<CustomerField> fields) {
+        long started = customerMetrics.start();
+        try {
+            log.debug("Fetching fields {} of customers with tier: {}", fields, tier);
+            String normalizedTier = TierEngine.normalizeTier(tier);
+            CustomerServiceSupport.validatePageSize(size);
+            UUID after = CustomerCursor.decode(cursor);
+            long phase = customerMetrics.start();
+            List<CustomerRow> rows = customerRepository.findRowsByTierOrderByIdAsc(fields, normalizedTier, after, Limit.of(size + 1));
+            customerMetrics.recordPhase(Operation.SEARCH, Phase.DB, phase);
+            log.debug("Found {} customers with tier: {}", rows.size(), normalizedTier);
+            phase = customerMetrics.start();
+            CustomerFieldsPageResponse page = CustomerServiceSupport.toFieldsPage(rows, size, fields, tiersFor(fields));
+            customerMetrics.recordPhase(Operation.SEARCH, Phase.MAPPING, phase);
+            return page;
+        } finally {
+            customerMetrics.recordOperation(Operation.SEARCH, started);
+        }
+    }
+
+    private TierEngine.Evaluator tiersFor(Set<CustomerField> fields) {
+        return fields.contains(CustomerField.TIER) ? tierEngine.now() : null;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void streamCustomers(String name, Consumer<CustomerResponse> consumer) {
+        if (name == null) {
+            log.debug("Streaming all customers");
+            stream(customerRepository.streamAllByOrderByIdAsc(), consumer);
+            return;
+        }
+        log.debug("Streaming customers with name containing: {}", name);
+        String query = NameNormalizer.normalize(name);
+        if (query.isEmpty()) {
+            throw new BadRequestException(CustomerConstants.NAME_QUERY_REQUIRED);
+        }
+        // The same matches, in the same order, as paging through the JSON search, a fetch at a time
+        TierEngine.Evaluator tiers = tierEngine.now();
+        NameMatch after = null;
+        List<Customer> customers;
+        while (!(customers = findByName(query, after, CustomerConstants.STREAM_FETCH_SIZE)).isEmpty()) {
+            for (Customer customer : customers) {
+                consumer.accept(toResponse(customer, tiers));
+                entityManager.detach(customer);
+            }
+            after = CustomerServiceSupport.matchOf(customers.get(customers.size() - 1), query);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void streamCustomersByEmail(String email, Consumer<CustomerResponse> consumer) {
+        log.debug("Streaming customer with email: {}", email);
+        customerCache.getByEmail(email, this::findByEmail)
+                .ifPresent(customer -> consumer.accept(toResponse(customer, tierEngine.now())));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void streamCustomersByTier(String tier, Consumer<CustomerResponse> consumer) {
+        String normalizedTier = TierEngine.normalizeTier(tier);
+        log.debug("Streaming customers with tier: {}", normalizedTier);
+        stream(customerRepository.streamByTierOrderByIdAsc(normalizedTier), consumer);
+    }
+
+    private void stream(Stream<Customer> rows, Consumer<CustomerResponse> consumer) {
+        TierEngine.Evaluator tiers = tierEngine.now();
+        try (Stream<Customer> customers = rows) {
+            customers.forEach(customer -> {
+                consumer.accept(toResponse(customer, tiers));
+                entityManager.detach(customer);
+            });
         }
-        return customers.stream()
-                .map(customer -> {
-                    CustomerResponse response = toResponse(customer);
-                    return response;
-                })
-                .collect(Collectors.toList());
     }
 
     @Override
     public CustomerResponse getCustomerByEmail(String email) throws ResourceNotFoundException {
-        log.info("Fetching customer with email: {}", email);
-        Customer customer = customerRepository.findByEmail(email)
-                .orElseThrow(() -> {
-                    log.error("Customer not found with email: {}", email);
-                    return new ResourceNotFoundException("Customer not found with email: " + email);
-                });
-        CustomerResponse response = toResponse(customer);
-        log.debug("Customer retrieved successfully with email: {}", email);
+        long started = customerMetrics.start();
+        try {
+            log.debug("Fetching customer with email: {}", email);
+            return readFlights.byEmail(email, () -> {
+                Customer customer = customerCache.getByEmail(email, this::findByEmail)
+                        .orElseThrow(() -> {
+                            log.error("Customer not found with email: {}", email);
+                            return new ResourceNotFoundException("Customer not found with email: " + email);
+                        });
+                CustomerResponse response = toResponse(Operation.GET_BY_EMAIL, customer, tierEngine.now());
+                log.debug("Customer retrieved successfully with email: {}", email);
+                return response;
+            });
+        } finally {
+            customerMetrics.recordOperation(Operation.GET_BY_EMAIL, started);
+        }
+    }
+
+    @Override
+    public CustomerLookupResponse lookupCustomers(CustomerLookupRequest request) {
+        long started = customerMetrics.start();
+        try {
+            List<UUID> ids = distinctKeys(request.getIds());
+            List<String> emails = distinctKeys(request.getEmails());
+            if (ids.size() + emails.size() > lookupProperties.getMaxKeys()) {
+                throw new BadRequestException(String.format(CustomerConstants.LOOKUP_TOO_LARGE, lookupProperties.getMaxKeys()));
+            }
+            log.debug("Looking up {} customer ids and {} emails", ids.size(), emails.size());
+            Map<UUID, Customer> byId = ids.isEmpty() ? Map.of() : customerCache.getAllById(ids, missing ->
+                    inChunks(missing, customerRepository::findAllById, Customer::getId));
+            Map<String, Customer> byEmail = emails.isEmpty() ? Map.of() : customerCache.getAllByEmail(emails, missing ->
+                    inChunks(missing, customerRepository::findByEmailIn, Customer::getEmail));
+            long phase = customerMetrics.start();
+            CustomerLookupResponse response = toLookupResponse(ids, emails, byId, byEmail);
+            customerMetrics.recordPhase(Operation.LOOKUP, Phase.MAPPING, phase);
+            return response;
+        } finally {
+            customerMetrics.recordOperation(Operation.LOOKUP, started);
+        }
+    }
+
+    private static <K> List<K> distinctKeys(List<K> keys) {
+        if (keys == null) {
+            return List.of();
+        }
+        Set<K> distinct = new LinkedHashSet<>(keys.size());
+        for (K key : keys) {
+            if (key == null) {
+                throw new BadRequestException(CustomerConstants.LOOKUP_KEY_REQUIRED);
+            }
+            distinct.add(key);
+        }
+        return new ArrayList<>(distinct);
+    }
+
+    // One IN query per chunk keeps the statement size, and the number of distinct plans, bounded.
+    private <K> Map<K, Customer> inChunks(Collection<K> keys, Function<List<K>, List<Customer>> query, Function<Customer, K> keyOf) {
+        List<K> pending = new ArrayList<>(keys);
+        int chunkSize = lookupProperties.getChunkSize();
+        Map<K, Customer> found = new HashMap<>(pending.size() * 2);
+        long phase = customerMetrics.start();
+        for (int from = 0; from < pending.size(); from += chunkSize) {
+            for (Customer customer : query.apply(pending.subList(from, Math.min(from + chunkSize, pending.size())))) {
+                found.put(keyOf.apply(customer), customer);
+            }
+        }
+        customerMetrics.recordPhase(Operation.LOOKUP, Phase.DB, phase);
+        return found;
+    }
+
+    private CustomerLookupResponse toLookupResponse(List<UUID> ids, List<String> emails,
+                                                    Map<UUID, Customer> byId, Map<String, Customer> byEmail) {
+        TierEngine.Evaluator tiers = tierEngine.now();
+        CustomerLookupResponse response = new CustomerLookupResponse();
+        Set<UUID> added = new HashSet<>();
+        for (UUID id : ids) {
+            Customer customer = byId.get(id);
+            if (customer == null) {
+                response.getMissingIds().add(id);
+            } else if (added.add(id)) {
+                response.getFound().add(CustomerServiceSupport.toResponse(customer, tiers));
+            }
+        }
+        for (String email : emails) {
+            Customer customer = byEmail.get(email);
+            if (customer == null) {
+                response.getMissingEmails().add(email);
+            } else if (added.add(customer.getId())) {
+                response.getFound().add(CustomerServiceSupport.toResponse(customer, tiers));
+            }
+        }
         return response;
     }
 
     @Override
-    public CustomerResponse updateCustomer(UUID id, CustomerRequest request) throws ResourceNotFoundException {
-        log.info("Updating customer with ID: {}", id);
-        Customer customer = customerRepository.findById(id)
-                .orElseThrow(() -> {
-                    log.error("Customer not found with ID: {}", id);
-                    return new ResourceNotFoundException(CustomerConstants.CUSTOMER_NOT_FOUND + id);
-                });
-        customer.setName(request.getName());
-        customer.setEmail(request.getEmail());
-        customer.setAnnualSpend(request.getAnnualSpend());
-        customer.setLastPurchaseDate(request.getLastPurchaseDate());
+    public CustomerResponse updateCustomer(UUID id, CustomerRequest request, Long expectedVersion) throws ResourceNotFoundException {
+        long started = customerMetrics.start();
+        try {
+            log.debug("Updating customer with ID: {}", id);
+            long phase = customerMetrics.start();
+            Customer customer = customerMapper.toEntity(request);
+            customerMetrics.recordPhase(Operation.UPDATE, Phase.MAPPING, phase);
+            customer.setId(id);
+            phase = customerMetrics.start();
+            Optional<Long> version = customerRepository.updateCustomer(customer, expectedVersion);
+            customerMetrics.recordPhase(Operation.UPDATE, Phase.DB, phase);
+            if (version.isEmpty()) {
+                throw notFoundOrModified(Operation.UPDATE, id, expectedVersion);
+            }
+            customer.setVersion(version.get());
+            eventPublisher.publishEvent(CustomerChangedEvent.updated(customer));
 
-        log.debug("Customer updated successfully with ID: {}", id);
-        return toResponse(customerRepository.save(customer));
+            log.debug("Customer updated successfully with ID: {}", id);
+            return toResponse(Operation.UPDATE, customer, tierEngine.now());
+        } finally {
+            customerMetrics.recordOperation(Operation.UPDATE, started);
+        }
     }
 
     @Override
-    public void deleteCustomer(UUID id) throws ResourceNotFoundException {
-        log.info("Deleting customer with ID: {}", id);
-        if (!customerRepository.existsById(id)) {
+    public CustomerResponse patchCustomer(UUID id, JsonNode patch, Long expectedVersion) throws ResourceNotFoundException {
+        long started = customerMetrics.start();
+        try {
+            log.debug("Patching customer with ID: {}", id);
+            if (patch == null || !patch.isObject()) {
+                throw new BadRequestException(CustomerConstants.INVALID_PATCH);
+            }
+            Patched patched;
+            try {
+                long phase = customerMetrics.start();
+                patched = transactionTemplate.execute(status -> applyPatch(id, patch, expectedVersion));
+                customerMetrics.recordPhase(Operation.PATCH, Phase.DB, phase);
+            } catch (OptimisticLockingFailureException e) {
+                if (expectedVersion != null) {
+                    throw new PreconditionFailedException(CustomerConstants.VERSION_MISMATCH);
+                }
+                throw e;
+            }
+            if (patched.changed()) {
+                eventPublisher.publishEvent(CustomerChangedEvent.updated(patched.customer()));
+                log.debug("Customer patched successfully with ID: {}", id);
+            } else {
+                log.debug("Patch left customer with ID: {} unchanged", id);
+            }
+            return toResponse(Operation.PATCH, patched.customer(), tierEngine.now());
+        } finally {
+            customerMetrics.recordOperation(Operation.PATCH, started);
+        }
+    }
+
+    private Patched applyPatch(UUID id, JsonNode patch, Long expectedVersion) {
+        Customer customer = customerRepository.findById(id).orElseThrow(() -> {
             log.error("Customer not found with ID: {}", id);
-            throw new ResourceNotFoundException(CustomerConstants.CUSTOMER_NOT_FOUND + id);
+            return new ResourceNotFoundException(CustomerConstants.CUSTOMER_NOT_FOUND + id);
+        });
+        Long version = customer.getVersion();
+        if (expectedVersion != null && !expectedVersion.equals(version)) {
+            throw new PreconditionFailedException(CustomerConstants.VERSION_MISMATCH);
+        }
+        // The patch goes into a new entity, so the managed one stays clean and is never flushed as a whole row;
+        // only the columns it changed are written, and nothing at all when it changed nothing.
+        Customer patched = customerMapper.toEntity(CustomerServiceSupport.merge(objectMapper, validator, customerMapper.toRequest(customer), patch));
+        patched.setId(id);
+        Map<String, Object> changes = CustomerServiceSupport.changedColumns(customer, patched);
+        if (changes.isEmpty()) {
+            return new Patched(customer, false);
+        }
+        if (customerRepository.updateColumns(id, changes, version) == 0) {
+            throw new ObjectOptimisticLockingFailureException(Customer.class, id);
         }
-        customerRepository.deleteById(id);
-        log.debug("Customer deleted successfully with ID: {}", id);
+        patched.setVersion(version + 1);
+        return new Patched(patched, true);
     }
 
-    private CustomerResponse toResponse(Customer customer) {
-        CustomerResponse response = new CustomerResponse();
-        response.setId(customer.getId());
-        response.setName(customer.getName());
-        response.setEmail(customer.getEmail());
-        response.setAnnualSpend(customer.getAnnualSpend());
-        response.setLastPurchaseDate(customer.getLastPurchaseDate());
-        response.calculateTier();
+    private record Patched(Customer customer, boolean changed) {
+    }
+
+    @Override
+    public CustomerResponse recordPurchase(UUID id, PurchaseRequest purchase) throws ResourceNotFoundException {
+        long started = customerMetrics.start();
+        try {
+            log.debug("Recording purchase of {} for customer with ID: {}", purchase.getAmount(), id);
+            TierEngine.Evaluator tiers = tierEngine.now();
+            LocalDateTime purchasedAt = purchase.getPurchasedAt() != null ? purchase.getPurchasedAt() : tiers.getNow().truncatedTo(ChronoUnit.SECONDS);
+            // Read through the cache and write conditionally on its version, so a cache hit costs one
+            // statement; a stale entry is dropped and the purchase re-applied to a fresh read.
+            for (int attempt = 1; ; attempt++) {
+                Customer current = customerCache.getById(id, key -> findById(Operation.RECORD_PURCHASE, key))
+                        .orElseThrow(() -> {
+                            log.error("Customer not found with ID: {}", id);
+                            return new ResourceNotFoundException(CustomerConstants.CUSTOMER_NOT_FOUND + id);
+                        });
+                Customer updated = customerMapper.withPurchase(current, purchase.getAmount(), purchasedAt, tiers);
+                long phase = customerMetrics.start();
+                int written = customerRepository.recordPurchase(id,
+                        updated.getAnnualSpend(), updated.getLastPurchaseDate(), updated.getTier(), current.getVersion());
+                customerMetrics.recordPhase(Operation.RECORD_PURCHASE, Phase.DB, phase);
+                if (written == 1) {
+                    eventPublisher.publishEvent(CustomerChangedEvent.updated(updated));
+                    log.debug("Purchase recorded for customer with ID: {}", id);
+                    return toResponse(Operation.RECORD_PURCHASE, updated, tiers);
+                }
+                customerCache.evict(id);
+                if (attempt == CustomerConstants.PURCHASE_MAX_ATTEMPTS) {
+                    log.warn("Giving up recording purchase for customer with ID: {} after {} attempts", id, attempt);
+                    throw new OptimisticLockingFailureException(CustomerConstants.CONCURRENT_UPDATE);
+                }
+            }
+        } finally {
+            customerMetrics.recordOperation(Operation.RECORD_PURCHASE, started);
+        }
+    }
+
+    @Override
+    public void deleteCustomer(UUID id, Long expectedVersion) throws ResourceNotFoundException {
+        long started = customerMetrics.start();
+        try {
+            log.debug("Deleting customer with ID: {}", id);
+            long phase = customerMetrics.start();
+            int deleted = customerRepository.deleteCustomerById(id, expectedVersion);
+            customerMetrics.recordPhase(Operation.DELETE, Phase.DB, phase);
+            if (deleted == 0) {
+                throw notFoundOrModified(Operation.DELETE, id, expectedVersion);
+            }
+            eventPublisher.publishEvent(CustomerChangedEvent.deleted(id));
+            log.debug("Customer deleted successfully with ID: {}", id);
+        } finally {
+            customerMetrics.recordOperation(Operation.DELETE, started);
+        }
+    }
+
+    private RuntimeException notFoundOrModified(Operation operation, UUID id, Long expectedVersion) {
+        if (expectedVersion != null && exists(operation, id)) {
+            log.warn("Customer with ID: {} is no longer at version {}", id, expectedVersion);
+            return new PreconditionFailedException(CustomerConstants.VERSION_MISMATCH);
+        }
+        log.error("Customer not found with ID: {}", id);
+        return new ResourceNotFoundException(CustomerConstants.CUSTOMER_NOT_FOUND + id);
+    }
+
+    // Phases are timed inline rather than through a Supplier so recording allocates nothing; a phase
+    // that throws is left out of its timer and only counts towards the operation's.
+    private Optional<Customer> findById(Operation operation, UUID id) {
+        long phase = customerMetrics.start();
+        Optional<Customer> customer = customerRepository.findById(id);
+        customerMetrics.recordPhase(operation, Phase.DB, phase);
+        return customer;
+    }
+
+    private Optional<Customer> findByEmail(String email) {
+        long phase = customerMetrics.start();
+        Optional<Customer> customer = customerRepository.findByEmail(email);
+        customerMetrics.recordPhase(Operation.GET_BY_EMAIL, Phase.DB, phase);
+        return customer;
+    }
+
+    private boolean exists(Operation operation, UUID id) {
+        long phase = customerMetrics.start();
+        boolean exists = customerRepository.existsById(id);
+        customerMetrics.recordPhase(operation, Phase.DB, phase);
+        return exists;
+    }
+
+    private CustomerResponse toResponse(Operation operation, Customer customer, TierEngine.Evaluator tiers) {
+        long phase = customerMetrics.start();
+        CustomerResponse response = toResponse(customer, tiers);
+        customerMetrics.recordPhase(operation, Phase.MAPPING, phase);
         return response;
     }
-}
\ No newline at end of file
+
+    CustomerResponse toResponse(Customer customer, TierEngine.Evaluator tiers) {
+        return CustomerServiceSupport.toResponse(customer, tiers);
+    }
+}
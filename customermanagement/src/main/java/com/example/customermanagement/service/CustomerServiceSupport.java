@@ -0,0 +1,192 @@
+package com.example.customermanagement.service;
+
+import com.example.customermanagement.constants.CustomerConstants;
+import com.example.customermanagement.dto.CustomerFieldsPageResponse;
+import com.example.customermanagement.dto.CustomerPageResponse;
+import com.example.customermanagement.dto.CustomerRequest;
+import com.example.customermanagement.dto.CustomerResponse;
+import com.example.customermanagement.exception.BadRequestException;
+import com.example.customermanagement.model.Customer;
+import com.example.customermanagement.model.CustomerField;
+import com.example.customermanagement.repository.CustomerRow;
+import com.example.customermanagement.search.NameMatch;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Request checks and response building shared by the blocking and the reactive customer services.
+ */
+final class CustomerServiceSupport {
+
+    private static final String UNIQUE_VIOLATION = "23505";
+
+    private CustomerServiceSupport() {
+    }
+
+    /**
+     * Whether a failed write hit the unique email constraint, the only unique key besides the generated
+     * id, rather than another rule such as a spend that overflows its column.
+     */
+    static boolean isDuplicateEmail(DataIntegrityViolationException e) {
+        if (e instanceof DuplicateKeyException) {
+            return true;
+        }
+        for (Throwable cause = e.getCause(); cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sqlException && UNIQUE_VIOLATION.equals(sqlException.getSQLState())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static void validatePageSize(int size) {
+        if (size < 1 || size > CustomerConstants.MAX_PAGE_SIZE) {
+            throw new BadRequestException(CustomerConstants.INVALID_PAGE_SIZE);
+        }
+    }
+
+    /**
+     * Builds a page from up to {@code size + 1} customers in id order; the extra row only signals that
+     * there is a next page.
+     */
+    static CustomerPageResponse toPage(List<Customer> customers, int size, TierEngine.Evaluator tiers) {
+        boolean hasNext = customers.size() > size;
+        List<Customer> page = hasNext ? customers.subList(0, size) : customers;
+        String nextCursor = hasNext ? CustomerCursor.encode(page.get(size - 1).getId()) : null;
+        return new CustomerPageResponse(page.stream()
+                .map(customer -> toResponse(customer, tiers))
+                .collect(Collectors.toList()), nextCursor);
+    }
+
+    /**
+     * Same as {@link #toPage} for name search results in rank order, with a cursor that resumes after
+     * the last match.
+     */
+    static CustomerPageResponse toNamePage(List<Customer> customers, String query, int size, TierEngine.Evaluator tiers) {
+        boolean hasNext = customers.size() > size;
+        List<Customer> page = hasNext ? customers.subList(0, size) : customers;
+        String nextCursor = null;
+        if (hasNext) {
+            nextCursor = CustomerCursor.encode(matchOf(page.get(size - 1), query));
+        }
+        return new CustomerPageResponse(page.stream()
+                .map(customer -> toResponse(customer, tiers))
+                .collect(Collectors.toList()), nextCursor);
+    }
+
+    /**
+     * The keyset position of {@code customer} among the matches for {@code query}, to continue after it.
+     */
+    static NameMatch matchOf(Customer customer, String query) {
+        String name = customer.getNameNormalized();
+        return new NameMatch(NameMatch.rankOf(name, query), name, customer.getId());
+    }
+
+    /**
+     * Same as {@link #toPage} for sparse rows.
+     */
+    static CustomerFieldsPageResponse toFieldsPage(List<CustomerRow> rows, int size, Set<CustomerField> fields,
+                                                   TierEngine.Evaluator tiers) {
+        boolean hasNext = rows.size() > size;
+        List<CustomerRow> page = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = hasNext ? CustomerCursor.encode(page.get(size - 1).id()) : null;
+        return new CustomerFieldsPageResponse(page.stream()
+                .map(row -> CustomerFields.select(row, fields, tiers))
+                .collect(Collectors.toList()), nextCursor);
+    }
+
+    /**
+     * Same as {@link #toNamePage} for sparse rows.
+     */
+    static CustomerFieldsPageResponse toFieldsNamePage(List<CustomerRow> rows, String query, int size,
+                                                       Set<CustomerField> fields, TierEngine.Evaluator tiers) {
+        boolean hasNext = rows.size() > size;
+        List<CustomerRow> page = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = null;
+        if (hasNext) {
+            CustomerRow last = page.get(size - 1);
+            nextCursor = CustomerCursor.encode(new NameMatch(NameMatch.rankOf(last.nameNormalized(), query),
+                    last.nameNormalized(), last.id()));
+        }
+        return new CustomerFieldsPageResponse(page.stream()
+                .map(row -> CustomerFields.select(row, fields, tiers))
+                .collect(Collectors.toList()), nextCursor);
+    }
+
+    static CustomerResponse toResponse(Customer customer, TierEngine.Evaluator tiers) {
+        CustomerResponse response = new CustomerResponse();
+        response.setId(customer.getId());
+        response.setName(customer.getName());
+        response.setEmail(customer.getEmail());
+        response.setAnnualSpend(customer.getAnnualSpend());
+        response.setLastPurchaseDate(customer.getLastPurchaseDate());
+        response.setTier(tiers.tierOf(customer.getAnnualSpend(), customer.getLastPurchaseDate()));
+        response.setVersion(customer.getVersion());
+        return response;
+    }
+
+    /**
+     * Applies a JSON Merge Patch to {@code current} in place and validates the result.
+     */
+    static CustomerRequest merge(ObjectMapper objectMapper, Validator validator, CustomerRequest current, JsonNode patch) {
+        try {
+            objectMapper.readerForUpdating(current)
+                    .with(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                    .readValue(patch);
+        } catch (JsonProcessingException e) {
+            throw new BadRequestException(CustomerConstants.INVALID_PATCH + ": " + e.getOriginalMessage());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        Set<ConstraintViolation<CustomerRequest>> violations = validator.validate(current);
+        if (!violations.isEmpty()) {
+            throw new BadRequestException(violations.stream()
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining(", ")));
+        }
+        return current;
+    }
+
+    /**
+     * Returns the attributes of {@code patched} that differ from {@code current}, by entity attribute name.
+     * Annual spends are compared by value, as dirty checking does, so a rescaled amount is not a change.
+     */
+    static Map<String, Object> changedColumns(Customer current, Customer patched) {
+        Map<String, Object> changed = new LinkedHashMap<>();
+        putIfChanged(changed, "name", current.getName(), patched.getName());
+        putIfChanged(changed, "nameNormalized", current.getNameNormalized(), patched.getNameNormalized());
+        putIfChanged(changed, "email", current.getEmail(), patched.getEmail());
+        if (current.getAnnualSpend() == null || patched.getAnnualSpend() == null
+                ? current.getAnnualSpend() != patched.getAnnualSpend()
+                : current.getAnnualSpend().compareTo(patched.getAnnualSpend()) != 0) {
+            changed.put("annualSpend", patched.getAnnualSpend());
+        }
+        putIfChanged(changed, "lastPurchaseDate", current.getLastPurchaseDate(), patched.getLastPurchaseDate());
+        putIfChanged(changed, "tier", current.getTier(), patched.getTier());
+        return changed;
+    }
+
+    private static void putIfChanged(Map<String, Object> changed, String attribute, Object current, Object patched) {
+        if (!Objects.equals(current, patched)) {
+            changed.put(attribute, patched);
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.customermanagement.service;
+
+import com.example.customermanagement.dto.CustomerStatsResponse;
+
+public interface CustomerStatsService {
+    CustomerStatsResponse getStats();
+}
@@ -0,0 +1,173 @@
+package com.example.customermanagement.service;
+
+import com.example.customermanagement.config.CustomerStatsProperties;
+import com.example.customermanagement.config.CustomerTierProperties;
+import com.example.customermanagement.constants.CustomerConstants;
+import com.example.customermanagement.dto.CustomerStatsResponse;
+import com.example.customermanagement.dto.CustomerStatsResponse.SpendBucket;
+import com.example.customermanagement.dto.CustomerStatsResponse.TierStats;
+import com.example.customermanagement.metrics.CustomerMetrics;
+import com.example.customermanagement.metrics.CustomerMetrics.Operation;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-tier counts and spend aggregates computed by one grouped query in the database. The tier is
+ * derived in SQL from spend and last purchase date with the same thresholds as {@link TierEngine}; the
+ * month windows are turned into timestamp cutoffs by {@link TierEngine.Evaluator#windowStart(int)}, so
+ * the counts agree with the tier the API reports for each customer at the same instant.
+ * <p>
+ * A result is reused for {@code customer.stats.ttl}, and concurrent pollers of an expired result wait
+ * for a single recomputation, so polling costs one query per TTL however many clients poll.
+ */
+@Service
+public class CustomerStatsServiceImpl implements CustomerStatsService {
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    TierEngine tierEngine;
+
+    @Autowired
+    CustomerTierProperties tierProperties;
+
+    @Autowired
+    CustomerStatsProperties statsProperties;
+
+    @Autowired
+    CustomerMetrics customerMetrics;
+
+    private static final Logger log = LoggerFactory.getLogger(CustomerStatsServiceImpl.class);
+
+    private static final List<String> TIERS = List.of(CustomerConstants.SILVER, CustomerConstants.GOLD, CustomerConstants.PLATINUM);
+
+    private List<BigDecimal> bucketBounds;
+    private String sql;
+    private volatile Snapshot snapshot;
+
+    private record Snapshot(CustomerStatsResponse stats, long expiresAtNanos) {
+    }
+
+    private static final class Totals {
+        long customers;
+        long withSpend;
+        BigDecimal totalSpend;
+        BigDecimal minSpend;
+        BigDecimal maxSpend;
+
+        void add(long customers, long withSpend, BigDecimal totalSpend, BigDecimal minSpend, BigDecimal maxSpend) {
+            this.customers += customers;
+            this.withSpend += withSpend;
+            if (totalSpend != null) {
+                this.totalSpend = this.totalSpend == null ? totalSpend : this.totalSpend.add(totalSpend);
+                this.minSpend = this.minSpend == null || minSpend.compareTo(this.minSpend) < 0 ? minSpend : this.minSpend;
+                this.maxSpend = this.maxSpend == null || maxSpend.compareTo(this.maxSpend) > 0 ? maxSpend : this.maxSpend;
+            }
+        }
+
+        BigDecimal total() {
+            return totalSpend == null ? BigDecimal.ZERO : totalSpend;
+        }
+
+        BigDecimal average() {
+            return withSpend == 0 ? null : totalSpend.divide(BigDecimal.valueOf(withSpend), 2, RoundingMode.HALF_UP);
+        }
+    }
+
+    @PostConstruct
+    void init() {
+        bucketBounds = statsProperties.getSpendBuckets().stream().distinct().sorted().toList();
+        StringBuilder bucket = new StringBuilder("case when annual_spend is null then -1");
+        for (int i = 0; i < bucketBounds.size(); i++) {
+            bucket.append(" when annual_spend < ? then ").append(i);
+        }
+        bucket.append(" else ").append(bucketBounds.size()).append(" end");
+        sql = "select tier, bucket, count(*), count(annual_spend), sum(annual_spend), min(annual_spend), max(annual_spend)"
+                + " from (select annual_spend,"
+                + " case when annual_spend >= ? and last_purchase_date >= ? then '" + CustomerConstants.PLATINUM + "'"
+                + " when annual_spend >= ? and last_purchase_date >= ? then '" + CustomerConstants.GOLD + "'"
+                + " else '" + CustomerConstants.SILVER + "' end as tier, "
+                + bucket + " as bucket from customers) t group by tier, bucket";
+    }
+
+    @Override
+    public CustomerStatsResponse getStats() {
+        long started = customerMetrics.start();
+        try {
+            Snapshot current = snapshot;
+            if (current == null || System.nanoTime() - current.expiresAtNanos() >= 0) {
+                current = refresh();
+            }
+            return current.stats();
+        } finally {
+            customerMetrics.recordOperation(Operation.STATS, started);
+        }
+    }
+
+    private synchronized Snapshot refresh() {
+        Snapshot current = snapshot;
+        if (current != null && System.nanoTime() - current.expiresAtNanos() < 0) {
+            return current;
+        }
+        current = new Snapshot(compute(), System.nanoTime() + statsProperties.getTtl().toNanos());
+        snapshot = current;
+        return current;
+    }
+
+    private CustomerStatsResponse compute() {
+        TierEngine.Evaluator tiers = tierEngine.now();
+        List<Object> args = new ArrayList<>();
+        args.add(tierProperties.getPlatinumMinSpend());
+        args.add(Timestamp.valueOf(tiers.windowStart(tierProperties.getPlatinumWindowMonths())));
+        args.add(tierProperties.getGoldMinSpend());
+        args.add(Timestamp.valueOf(tiers.windowStart(tierProperties.getGoldWindowMonths())));
+        args.addAll(bucketBounds);
+
+        Map<String, Totals> byTier = new LinkedHashMap<>();
+        TIERS.forEach(tier -> byTier.put(tier, new Totals()));
+        Totals overall = new Totals();
+        long[] buckets = new long[bucketBounds.size() + 1];
+        jdbcTemplate.query(sql, (ResultSet rs) -> {
+            String tier = rs.getString(1);
+            int bucket = rs.getInt(2);
+            long customers = rs.getLong(3);
+            long withSpend = rs.getLong(4);
+            BigDecimal total = rs.getBigDecimal(5);
+            BigDecimal min = rs.getBigDecimal(6);
+            BigDecimal max = rs.getBigDecimal(7);
+            byTier.computeIfAbsent(tier, t -> new Totals()).add(customers, withSpend, total, min, max);
+            overall.add(customers, withSpend, total, min, max);
+            if (bucket >= 0) {
+                buckets[bucket] += customers;
+            }
+        }, args.toArray());
+
+        CustomerStatsResponse response = new CustomerStatsResponse();
+        response.setComputedAt(tiers.getNow());
+        response.setCustomers(overall.customers);
+        response.setTotalSpend(overall.total());
+        response.setAverageSpend(overall.average());
+        byTier.forEach((tier, totals) -> response.getTiers().add(new TierStats(tier, totals.customers,
+                totals.total(), totals.average(), totals.minSpend, totals.maxSpend)));
+        for (int i = 0; i < buckets.length; i++) {
+            response.getSpendHistogram().add(new SpendBucket(i == 0 ? null : bucketBounds.get(i - 1),
+                    i == bucketBounds.size() ? null : bucketBounds.get(i), buckets[i]));
+        }
+        log.debug("Computed customer stats for {} customers", overall.customers);
+        return response;
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.customermanagement.service;
+
+import com.example.customermanagement.dto.CustomerPageResponse;
+import com.example.customermanagement.dto.CustomerRequest;
+import com.example.customermanagement.dto.CustomerResponse;
+import com.example.customermanagement.dto.PurchaseRequest;
+import com.fasterxml.jackson.databind.JsonNode;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+/**
+ * Non-blocking variant of {@link CustomerService} for the {@code reactive} profile. Failures are
+ * signalled with the same exceptions, so the same handlers turn them into responses.
+ */
+public interface ReactiveCustomerService {
+    Mono<CustomerResponse> createCustomer(CustomerRequest customerRequest);
+
+    Mono<CustomerResponse> getCustomerById(UUID id);
+
+    Mono<CustomerPageResponse> getCustomers(String cursor, int size);
+
+    /**
+     * Customers whose name matches, best match first, emitted as their rows arrive: at most {@code size}
+     * of them, after {@code cursor}.
+     */
+    Flux<CustomerResponse> getCustomersByName(String name, String cursor, int size);
+
+    /**
+     * The same matches as {@link #getCustomersByName} as one page, with the cursor of the next page.
+     */
+    Mono<CustomerPageResponse> getCustomersPageByName(String name, String cursor, int size);
+
+    Mono<CustomerPageResponse> getCustomersByTier(String tier, String cursor, int size);
+
+    Flux<CustomerResponse> streamCustomers(String name);
+
+    Flux<CustomerResponse> streamCustomersByEmail(String email);
+
+    Flux<CustomerResponse> streamCustomersByTier(String tier);
+
+    Mono<CustomerResponse> getCustomerByEmail(String email);
+
+    Mono<CustomerResponse> updateCustomer(UUID id, CustomerRequest customerRequest, Long expectedVersion);
+
+    Mono<CustomerResponse> patchCustomer(UUID id, JsonNode patch, Long expectedVersion);
+
+    Mono<CustomerResponse> recordPurchase(UUID id, PurchaseRequest purchase);
+
+    Mono<Void> deleteCustomer(UUID id, Long expectedVersion);
+}
@@ -0,0 +1,399 @@
+package com.example.customermanagement.service;
+
+import com.example.customermanagement.cache.CustomerCache;
+import com.example.customermanagement.cache.EmailFilter;
+import com.example.customermanagement.constants.CustomerConstants;
+import com.example.customermanagement.dto.CustomerPageResponse;
+import com.example.customermanagement.dto.CustomerRequest;
+import com.example.customermanagement.dto.CustomerResponse;
+import com.example.customermanagement.dto.PurchaseRequest;
+import com.example.customermanagement.event.CustomerChangedEvent;
+import com.example.customermanagement.exception.BadRequestException;
+import com.example.customermanagement.exception.DuplicateEmailException;
+import com.example.customermanagement.exception.PreconditionFailedException;
+import com.example.customermanagement.exception.ResourceNotFoundException;
+import com.example.customermanagement.id.UuidV7Generator;
+import com.example.customermanagement.metrics.CustomerMetrics;
+import com.example.customermanagement.metrics.CustomerMetrics.Operation;
+import com.example.customermanagement.model.Customer;
+import com.example.customermanagement.repository.ReactiveCustomerRepository;
+import com.example.customermanagement.search.NameMatch;
+import com.example.customermanagement.search.NameNormalizer;
+import com.example.customermanagement.search.NameSearchIndex;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Same rules as {@link CustomerServiceImpl}: cache, conditional writes on the version, change events
+ * and metrics. Each step runs when its query completes instead of waiting on a thread. A patch is a
+ * read followed by a write conditional on the version read, in place of the JPA dirty check.
+ */
+@Service
+@Profile("reactive")
+public class ReactiveCustomerServiceImpl implements ReactiveCustomerService {
+
+    @Autowired
+    ReactiveCustomerRepository customerRepository;
+
+    @Autowired
+    CustomerMapper customerMapper;
+
+    @Autowired
+    CustomerCache customerCache;
+
+    @Autowired
+    EmailFilter emailFilter;
+
+    @Autowired
+    ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    TierEngine tierEngine;
+
+    @Autowired
+    NameSearchIndex nameSearchIndex;
+
+    @Autowired
+    CustomerMetrics customerMetrics;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Autowired
+    Validator validator;
+
+    private static final Logger log = LoggerFactory.getLogger(ReactiveCustomerServiceImpl.class);
+
+    @Override
+    public Mono<CustomerResponse> createCustomer(CustomerRequest request) {
+        return timed(Operation.CREATE, () -> {
+            log.debug("Creating new customer with email: {}", request.getEmail());
+            TierEngine.Evaluator tiers = tierEngine.now();
+            Customer customer = customerMapper.toEntity(request, tiers);
+            customer.setId(UuidV7Generator.next());
+            customer.setVersion(0L);
+            Mono<Boolean> duplicate = emailFilter.needsDuplicateCheck(request.getEmail())
+                    ? customerRepository.existsByEmail(request.getEmail())
+                    : Mono.just(false);
+            return duplicate.flatMap(exists -> {
+                if (exists) {
+                    return Mono.error(new DuplicateEmailException(CustomerConstants.DUPLICATE_EMAIL));
+                }
+                return customerRepository.insert(customer).map(inserted -> {
+                    eventPublisher.publishEvent(CustomerChangedEvent.created(customer));
+                    log.debug("Customer created successfully with ID: {}", customer.getId());
+                    return CustomerServiceSupport.toResponse(customer, tiers);
+                });
+            });
+        });
+    }
+
+    @Override
+    public Mono<CustomerResponse> getCustomerById(UUID id) {
+        return timed(Operation.GET_BY_ID, () -> cachedById(id)
+                .switchIfEmpty(notFound(id))
+                .map(customer -> CustomerServiceSupport.toResponse(customer, tierEngine.now())));
+    }
+
+    @Override
+    public Mono<CustomerResponse> getCustomerByEmail(String email) {
+        return timed(Operation.GET_BY_EMAIL, () -> Mono.justOrEmpty(customerCache.peekByEmail(email))
+                .switchIfEmpty(customerRepository.findByEmail(email).doOnNext(customerCache::put))
+                .switchIfEmpty(Mono.error(() -> {
+                    log.error("Customer not found with email: {}", email);
+                    return new ResourceNotFoundException("Customer not found with email: " + email);
+                }))
+                .map(customer -> CustomerServiceSupport.toResponse(customer, tierEngine.now())));
+    }
+
+    @Override
+    public Mono<CustomerPageResponse> getCustomers(String cursor, int size) {
+        return timed(Operation.LIST, () -> {
+            CustomerServiceSupport.validatePageSize(size);
+            UUID after = CustomerCursor.decode(cursor);
+            return customerRepository.findPage(after, size + 1)
+                    .collectList()
+                    .map(customers -> CustomerServiceSupport.toPage(customers, size, tierEngine.now()));
+        });
+    }
+
+    @Override
+    public Flux<CustomerResponse> getCustomersByName(String name, String cursor, int size) {
+        return timedMany(Operation.SEARCH, () -> {
+            CustomerServiceSupport.validatePageSize(size);
+            NameMatch after = CustomerCursor.decodeNameMatch(cursor);
+            TierEngine.Evaluator tiers = tierEngine.now();
+            Flux<Customer> customers = findByName(name, after, size);
+            return (after == null ? customers.switchIfEmpty(noNameMatches(name)) : customers)
+                    .map(customer -> CustomerServiceSupport.toResponse(customer, tiers));
+        });
+    }
+
+    @Override
+    public Mono<CustomerPageResponse> getCustomersPageByName(String name, String cursor, int size) {
+        return timed(Operation.SEARCH, () -> {
+            CustomerServiceSupport.validatePageSize(size);
+            NameMatch after = CustomerCursor.decodeNameMatch(cursor);
+            Flux<Customer> customers = findByName(name, after, size + 1);
+            return (after == null ? customers.switchIfEmpty(noNameMatches(name)) : customers)
+                    .collectList()
+                    .map(found -> CustomerServiceSupport.toNamePage(found, NameNormalizer.normalize(name), size, tierEngine.now()));
+        });
+    }
+
+    private Flux<Customer> findByName(String name, NameMatch after, int limit) {
+        String query = NameNormalizer.normalize(name);
+        if (query.isEmpty()) {
+            throw new BadRequestException(CustomerConstants.NAME_QUERY_REQUIRED);
+        }
+        if (query.length() < NameSearchIndex.GRAM_LENGTH) {
+            return customerRepository.findByNamePrefix(query, after, limit);
+        }
+        // Rows come back in id order, so they can only be emitted once all of them are in.
+        List<NameMatch> matches = nameSearchIndex.search(query, after, limit);
+        return customerRepository.findAllById(matches.stream().map(NameMatch::id).toList())
+                .collectMap(Customer::getId, Function.identity())
+                .flatMapIterable(found -> inMatchOrder(matches, found));
+    }
+
+    private static <T> Flux<T> noNameMatches(String name) {
+        return Flux.error(() -> new ResourceNotFoundException("No data found with this name : " + name));
+    }
+
+    private static List<Customer> inMatchOrder(List<NameMatch> matches, Map<UUID, Customer> found) {
+        List<Customer> customers = new ArrayList<>(matches.size());
+        for (NameMatch match : matches) {
+            Customer customer = found.get(match.id());
+            // The index can briefly run ahead of a write that was rolled back; trust the row.
+            if (customer != null && match.name().equals(customer.getNameNormalized())) {
+                customers.add(customer);
+            }
+        }
+        return customers;
+    }
+
+    @Override
+    public Mono<CustomerPageResponse> getCustomersByTier(String tier, String cursor, int size) {
+        return timed(Operation.SEARCH, () -> {
+            String normalizedTier = TierEngine.normalizeTier(tier);
+            CustomerServiceSupport.validatePageSize(size);
+            UUID after = CustomerCursor.decode(cursor);
+            return customerRepository.findByTier(normalizedTier, after, size + 1)
+                    .collectList()
+                    .map(customers -> CustomerServiceSupport.toPage(customers, size, tierEngine.now()));
+        });
+    }
+
+    @Override
+    public Flux<CustomerResponse> streamCustomers(String name) {
+        return Flux.defer(() -> {
+            TierEngine.Evaluator tiers = tierEngine.now();
+            if (name == null) {
+                log.debug("Streaming all customers");
+                return customerRepository.streamAll().map(customer -> CustomerServiceSupport.toResponse(customer, tiers));
+            }
+            log.debug("Streaming customers with name containing: {}", name);
+            String query = NameNormalizer.normalize(name);
+            // The same matches, in the same order, as paging through the JSON search, a fetch at a time
+            return findByName(name, null, CustomerConstants.STREAM_FETCH_SIZE).collectList()
+                    .expand(customers -> customers.isEmpty()
+                            ? Mono.empty()
+                            : findByName(name, CustomerServiceSupport.matchOf(customers.get(customers.size() - 1), query),
+                                    CustomerConstants.STREAM_FETCH_SIZE).collectList())
+                    .flatMapIterable(Function.identity())
+                    .map(customer -> CustomerServiceSupport.toResponse(customer, tiers));
+        });
+    }
+
+    @Override
+    public Flux<CustomerResponse> streamCustomersByEmail(String email) {
+        return Flux.defer(() -> {
+            log.debug("Streaming customer with email: {}", email);
+            TierEngine.Evaluator tiers = tierEngine.now();
+            return customerRepository.findByEmail(email).map(customer -> CustomerServiceSupport.toResponse(customer, tiers)).flux();
+        });
+    }
+
+    @Override
+    public Flux<CustomerResponse> streamCustomersByTier(String tier) {
+        return Flux.defer(() -> {
+            String normalizedTier = TierEngine.normalizeTier(tier);
+            log.debug("Streaming customers with tier: {}", normalizedTier);
+            TierEngine.Evaluator tiers = tierEngine.now();
+            return customerRepository.streamByTier(normalizedTier).map(customer -> CustomerServiceSupport.toResponse(customer, tiers));
+        });
+    }
+
+    @Override
+    public Mono<CustomerResponse> updateCustomer(UUID id, CustomerRequest request, Long expectedVersion) {
+        return timed(Operation.UPDATE, () -> {
+            log.debug("Updating customer with ID: {}", id);
+            TierEngine.Evaluator tiers = tierEngine.now();
+            Customer customer = customerMapper.toEntity(request, tiers);
+            customer.setId(id);
+            return customerRepository.update(customer, expectedVersion)
+                    .map(version -> {
+                        customer.setVersion(version);
+                        eventPublisher.publishEvent(CustomerChangedEvent.updated(customer));
+                        log.debug("Customer updated successfully with ID: {}", id);
+                        return CustomerServiceSupport.toResponse(customer, tiers);
+                    })
+                    .switchIfEmpty(Mono.defer(() -> notFoundOrModified(id, expectedVersion)));
+        });
+    }
+
+    @Override
+    public Mono<CustomerResponse> patchCustomer(UUID id, JsonNode patch, Long expectedVersion) {
+        return timed(Operation.PATCH, () -> {
+            log.debug("Patching customer with ID: {}", id);
+            if (patch == null || !patch.isObject()) {
+                throw new BadRequestException(CustomerConstants.INVALID_PATCH);
+            }
+            TierEngine.Evaluator tiers = tierEngine.now();
+            return customerRepository.findById(id)
+                    .switchIfEmpty(notFound(id))
+                    .flatMap(current -> {
+                        if (expectedVersion != null && !expectedVersion.equals(current.getVersion())) {
+                            throw new PreconditionFailedException(CustomerConstants.VERSION_MISMATCH);
+                        }
+                        Customer patched = customerMapper.toEntity(CustomerServiceSupport.merge(objectMapper, validator,
+                                customerMapper.toRequest(current), patch), tiers);
+                        patched.setId(id);
+                        if (sameState(current, patched)) {
+                            log.debug("Patch left customer with ID: {} unchanged", id);
+                            return Mono.just(CustomerServiceSupport.toResponse(current, tiers));
+                        }
+                        return customerRepository.update(patched, current.getVersion())
+                                .map(version -> {
+                                    patched.setVersion(version);
+                                    eventPublisher.publishEvent(CustomerChangedEvent.updated(patched));
+                                    log.debug("Customer patched successfully with ID: {}", id);
+                                    return CustomerServiceSupport.toResponse(patched, tiers);
+                                })
+                                .switchIfEmpty(Mono.error(() -> expectedVersion != null
+                                        ? new PreconditionFailedException(CustomerConstants.VERSION_MISMATCH)
+                                        : new OptimisticLockingFailureException(CustomerConstants.CONCURRENT_UPDATE)));
+                    });
+        });
+    }
+
+    private static boolean sameState(Customer current, Customer patched) {
+        return Objects.equals(current.getName(), patched.getName())
+                && Objects.equals(current.getEmail(), patched.getEmail())
+                && (current.getAnnualSpend() == null ? patched.getAnnualSpend() == null
+                        : patched.getAnnualSpend() != null && current.getAnnualSpend().compareTo(patched.getAnnualSpend()) == 0)
+                && Objects.equals(current.getLastPurchaseDate(), patched.getLastPurchaseDate())
+                && Objects.equals(current.getTier(), patched.getTier());
+    }
+
+    @Override
+    public Mono<CustomerResponse> recordPurchase(UUID id, PurchaseRequest purchase) {
+        return timed(Operation.RECORD_PURCHASE, () -> {
+            log.debug("Recording purchase of {} for customer with ID: {}", purchase.getAmount(), id);
+            TierEngine.Evaluator tiers = tierEngine.now();
+            LocalDateTime purchasedAt = purchase.getPurchasedAt() != null ? purchase.getPurchasedAt() : tiers.getNow().truncatedTo(ChronoUnit.SECONDS);
+            return recordPurchase(id, purchase.getAmount(), purchasedAt, tiers, 1);
+        });
+    }
+
+    // Read through the cache and write conditionally on its version; a stale entry is dropped and the
+    // purchase re-applied to a fresh read.
+    private Mono<CustomerResponse> recordPurchase(UUID id, BigDecimal amount, LocalDateTime purchasedAt,
+                                                  TierEngine.Evaluator tiers, int attempt) {
+        return cachedById(id)
+                .switchIfEmpty(notFound(id))
+                .flatMap(current -> {
+                    Customer updated = customerMapper.withPurchase(current, amount, purchasedAt, tiers);
+                    return customerRepository.recordPurchase(id, updated.getAnnualSpend(), updated.getLastPurchaseDate(),
+                                    updated.getTier(), current.getVersion())
+                            .flatMap(written -> {
+                                if (written == 1) {
+                                    eventPublisher.publishEvent(CustomerChangedEvent.updated(updated));
+                                    log.debug("Purchase recorded for customer with ID: {}", id);
+                                    return Mono.just(CustomerServiceSupport.toResponse(updated, tiers));
+                                }
+                                customerCache.evict(id);
+                                if (attempt == CustomerConstants.PURCHASE_MAX_ATTEMPTS) {
+                                    log.warn("Giving up recording purchase for customer with ID: {} after {} attempts", id, attempt);
+                                    return Mono.error(new OptimisticLockingFailureException(CustomerConstants.CONCURRENT_UPDATE));
+                                }
+                                return recordPurchase(id, amount, purchasedAt, tiers, attempt + 1);
+                            });
+                });
+    }
+
+    @Override
+    public Mono<Void> deleteCustomer(UUID id, Long expectedVersion) {
+        return timed(Operation.DELETE, () -> {
+            log.debug("Deleting customer with ID: {}", id);
+            return customerRepository.deleteById(id, expectedVersion).flatMap(deleted -> {
+                if (deleted == 0) {
+                    return notFoundOrModified(id, expectedVersion);
+                }
+                eventPublisher.publishEvent(CustomerChangedEvent.deleted(id));
+                log.debug("Customer deleted successfully with ID: {}", id);
+                return Mono.empty();
+            });
+        });
+    }
+
+    private Mono<Customer> cachedById(UUID id) {
+        return Mono.justOrEmpty(customerCache.peekById(id))
+                .switchIfEmpty(Mono.defer(() -> customerRepository.findById(id).doOnNext(customerCache::put)));
+    }
+
+    private static <T> Mono<T> notFound(UUID id) {
+        return Mono.error(() -> {
+            log.error("Customer not found with ID: {}", id);
+            return new ResourceNotFoundException(CustomerConstants.CUSTOMER_NOT_FOUND + id);
+        });
+    }
+
+    private <T> Mono<T> notFoundOrModified(UUID id, Long expectedVersion) {
+        if (expectedVersion == null) {
+            return notFound(id);
+        }
+        return customerRepository.existsById(id).flatMap(exists -> {
+            if (exists) {
+                log.warn("Customer with ID: {} is no longer at version {}", id, expectedVersion);
+                return Mono.error(new PreconditionFailedException(CustomerConstants.VERSION_MISMATCH));
+            }
+            return notFound(id);
+        });
+    }
+
+    private <T> Mono<T> timed(Operation operation, Supplier<Mono<T>> work) {
+        return Mono.defer(() -> {
+            long started = customerMetrics.start();
+            return Mono.defer(work).doFinally(signal -> customerMetrics.recordOperation(operation, started));
+        });
+    }
+
+    private <T> Flux<T> timedMany(Operation operation, Supplier<Flux<T>> work) {
+        return Flux.defer(() -> {
+            long started = customerMetrics.start();
+            return Flux.defer(work).doFinally(signal -> customerMetrics.recordOperation(operation, started));
+        });
+    }
+}
@@ -0,0 +1,146 @@
+package com.example.customermanagement.service;
+
+import com.example.customermanagement.config.CustomerTierProperties;
+import com.example.customermanagement.constants.CustomerConstants;
+import com.example.customermanagement.exception.BadRequestException;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Computes Silver/Gold/Platinum tiers from annual spend and the months since the last purchase.
+ * <p>
+ * Thresholds are read once at startup. Callers take an {@link Evaluator} per request or batch so that
+ * "now" is captured once; evaluating a row then allocates nothing.
+ */
+@Component
+public class TierEngine {
+
+    private static final String[] TIERS = {CustomerConstants.SILVER, CustomerConstants.GOLD, CustomerConstants.PLATINUM};
+
+    @Autowired
+    CustomerTierProperties tierProperties;
+
+    private BigDecimal platinumMinSpend;
+    private BigDecimal goldMinSpend;
+    private int platinumWindowMonths;
+    private int goldWindowMonths;
+
+    @PostConstruct
+    void init() {
+        platinumMinSpend = tierProperties.getPlatinumMinSpend();
+        goldMinSpend = tierProperties.getGoldMinSpend();
+        platinumWindowMonths = tierProperties.getPlatinumWindowMonths();
+        goldWindowMonths = tierProperties.getGoldWindowMonths();
+    }
+
+    /**
+     * Returns the tier named by {@code tier}, ignoring case, as it is stored.
+     *
+     * @throws BadRequestException if it names no tier
+     */
+    public static String normalizeTier(String tier) {
+        for (String known : TIERS) {
+            if (known.equalsIgnoreCase(tier)) {
+                return known;
+            }
+        }
+        throw new BadRequestException(CustomerConstants.INVALID_TIER);
+    }
+
+    public Evaluator now() {
+        return at(LocalDateTime.now());
+    }
+
+    public Evaluator at(LocalDateTime now) {
+        return new Evaluator(now);
+    }
+
+    private static long packed(int year, int month, int day) {
+        return (year * 12L + month - 1) * 32L + day;
+    }
+
+    private static long packed(LocalDate date) {
+        return packed(date.getYear(), date.getMonthValue(), date.getDayOfMonth());
+    }
+
+    public final class Evaluator {
+        private final LocalDateTime now;
+        private final long nowPacked;
+        private final long previousDayPacked;
+        private final long nextDayPacked;
+        private final long nowNanoOfDay;
+
+        private Evaluator(LocalDateTime now) {
+            LocalDate today = now.toLocalDate();
+            this.now = now;
+            this.nowPacked = packed(today);
+            this.previousDayPacked = packed(today.minusDays(1));
+            this.nextDayPacked = packed(today.plusDays(1));
+            this.nowNanoOfDay = now.toLocalTime().toNanoOfDay();
+        }
+
+        public LocalDateTime getNow() {
+            return now;
+        }
+
+        public String tierOf(BigDecimal annualSpend, LocalDateTime lastPurchaseDate) {
+            if (annualSpend == null) {
+                return CustomerConstants.SILVER;
+            }
+            long months = monthsSince(lastPurchaseDate);
+            if (annualSpend.compareTo(platinumMinSpend) >= 0 && months <= platinumWindowMonths) {
+                return CustomerConstants.PLATINUM;
+            } else if (annualSpend.compareTo(goldMinSpend) >= 0 && months <= goldWindowMonths) {
+                return CustomerConstants.GOLD;
+            }
+            return CustomerConstants.SILVER;
+        }
+
+        /**
+         * Same result as {@code ChronoUnit.MONTHS.between(lastPurchaseDate, now)}, computed on packed
+         * year/month/day values; {@link Long#MAX_VALUE} when there has been no purchase.
+         */
+        public long monthsSince(LocalDateTime lastPurchaseDate) {
+            if (lastPurchaseDate == null) {
+                return Long.MAX_VALUE;
+            }
+            long lastPacked = packed(lastPurchaseDate.getYear(), lastPurchaseDate.getMonthValue(), lastPurchaseDate.getDayOfMonth());
+            long lastNanoOfDay = lastPurchaseDate.toLocalTime().toNanoOfDay();
+            long endPacked = nowPacked;
+            if (nowPacked > lastPacked && nowNanoOfDay < lastNanoOfDay) {
+                endPacked = previousDayPacked;
+            } else if (nowPacked < lastPacked && nowNanoOfDay > lastNanoOfDay) {
+                endPacked = nextDayPacked;
+            }
+            return (endPacked - lastPacked) / 32;
+        }
+
+        /**
+         * Earliest last purchase date that is still within {@code windowMonths} of now, so that
+         * {@code monthsSince(date) <= windowMonths} exactly when {@code !date.isBefore(windowStart(windowMonths))}.
+         * Lets a database query apply the same month arithmetic, end-of-month clamping included, as a
+         * plain timestamp comparison.
+         */
+        public LocalDateTime windowStart(int windowMonths) {
+            LocalDateTime pivot = now.minusMonths(windowMonths + 1L);
+            LocalDateTime outside = pivot.minusDays(2);
+            long low = 0;
+            long high = Duration.between(outside, pivot.plusDays(2)).toNanos();
+            while (high - low > 1) {
+                long middle = (low + high) >>> 1;
+                if (monthsSince(outside.plusNanos(middle)) <= windowMonths) {
+                    high = middle;
+                } else {
+                    low = middle;
+                }
+            }
+            return outside.plusNanos(high);
+        }
+    }
+}
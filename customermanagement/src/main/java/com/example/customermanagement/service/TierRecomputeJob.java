@@ -0,0 +1,119 @@
+package com.example.customermanagement.service;
+
+import com.example.customermanagement.config.CustomerTierProperties;
+import com.example.customermanagement.event.CustomerChangedEvent;
+import com.example.customermanagement.model.Customer;
+import com.example.customermanagement.repository.CustomerRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Keeps the persisted {@code tier} column in step with time. Tiers only change on their own when a
+ * purchase ages past the Platinum or Gold window, so after a full pass on the first run each run only
+ * re-tiers rows whose purchase date crossed one of those boundaries since the previous run.
+ */
+@Component
+public class TierRecomputeJob {
+
+    @Autowired
+    CustomerRepository customerRepository;
+
+    @Autowired
+    TierEngine tierEngine;
+
+    @Autowired
+    CustomerTierProperties tierProperties;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @Autowired
+    ApplicationEventPublisher eventPublisher;
+
+    @PersistenceContext
+    EntityManager entityManager;
+
+    private static final Logger log = LoggerFactory.getLogger(TierRecomputeJob.class);
+
+    private LocalDateTime lastRun;
+
+    @Scheduled(cron = "${customer.tier.recompute-cron}")
+    public void recomputeTiers() {
+        recompute(LocalDateTime.now());
+    }
+
+    synchronized int recompute(LocalDateTime now) {
+        TierEngine.Evaluator tiers = tierEngine.at(now);
+        int changed;
+        if (lastRun == null) {
+            log.info("Recomputing tiers for all customers");
+            changed = sweep(tiers, null, null);
+        } else {
+            log.info("Recomputing tiers for purchases that crossed a tier window since {}", lastRun);
+            changed = 0;
+            for (int windowMonths : new int[]{tierProperties.getPlatinumWindowMonths(), tierProperties.getGoldWindowMonths()}) {
+                // A purchase leaves an N-month window once N + 1 whole months have passed; pad a day either
+                // side for month-end clamping, the engine decides the exact tier.
+                LocalDateTime from = lastRun.minusMonths(windowMonths + 1L).minusDays(1);
+                LocalDateTime to = now.minusMonths(windowMonths + 1L).plusDays(1);
+                changed += sweep(tiers, from, to);
+            }
+        }
+        lastRun = now;
+        log.info("Tier recompute finished, {} customers changed tier", changed);
+        return changed;
+    }
+
+    private int sweep(TierEngine.Evaluator tiers, LocalDateTime from, LocalDateTime to) {
+        int changed = 0;
+        UUID after = null;
+        Limit limit = Limit.of(tierProperties.getRecomputeChunkSize());
+        while (true) {
+            UUID chunkAfter = after;
+            List<Customer> updated = new ArrayList<>();
+            List<Customer> chunk = transactionTemplate.execute(status -> {
+                List<Customer> customers = fetch(from, to, chunkAfter, limit);
+                for (Customer customer : customers) {
+                    String tier = tiers.tierOf(customer.getAnnualSpend(), customer.getLastPurchaseDate());
+                    if (!tier.equals(customer.getTier())) {
+                        customer.setTier(tier);
+                        updated.add(customer);
+                    }
+                }
+                customerRepository.flush();
+                entityManager.clear();
+                return customers;
+            });
+            updated.forEach(customer -> eventPublisher.publishEvent(CustomerChangedEvent.updated(customer)));
+            changed += updated.size();
+            if (chunk.size() < limit.max()) {
+                return changed;
+            }
+            after = chunk.get(chunk.size() - 1).getId();
+        }
+    }
+
+    private List<Customer> fetch(LocalDateTime from, LocalDateTime to, UUID after, Limit limit) {
+        if (from == null) {
+            return after == null
+                    ? customerRepository.findAllByOrderByIdAsc(limit)
+                    : customerRepository.findByIdGreaterThanOrderByIdAsc(after, limit);
+        }
+        return after == null
+                ? customerRepository.findPurchasedBetween(from, to, limit)
+                : customerRepository.findPurchasedBetweenAfter(from, to, after, limit);
+    }
+}
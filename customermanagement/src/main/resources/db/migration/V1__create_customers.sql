@@ -0,0 +1,27 @@
+create table customers (
+    id uuid not null,
+    name varchar(255),
+    name_normalized varchar(255),
+    email varchar(255),
+    annual_spend numeric(38,2),
+    last_purchase_date timestamp(6),
+    tier varchar(16),
+    version bigint not null default 0,
+    constraint pk_customers primary key (id),
+    constraint uk_customers_email unique (email)
+);
+
+-- Prefix search on the normalized name, paged by id
+create index idx_customers_name_normalized_id on customers (name_normalized, id);
+
+-- Tier filter paged by id
+create index idx_customers_tier_id on customers (tier, id);
+
+-- Tier recompute finds rows whose last purchase left a tier window
+create index idx_customers_last_purchase_date on customers (last_purchase_date);
+
+create table ingest_checkpoints (
+    name varchar(255) not null,
+    log_offset bigint not null,
+    constraint pk_ingest_checkpoints primary key (name)
+);
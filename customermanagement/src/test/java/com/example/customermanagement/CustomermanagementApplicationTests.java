@@ -1,13 +1,67 @@
 package com.example.customermanagement;
 
+import com.example.customermanagement.dto.CustomerRequest;
+import com.example.customermanagement.dto.CustomerResponse;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
 
-@SpringBootTest
+import java.math.BigDecimal;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Validating here checks the Flyway migrations against the entity mappings without paying for it at startup
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "spring.jpa.hibernate.ddl-auto=validate")
 class CustomermanagementApplicationTests {
 
+    @TempDir
+    static Path dir;
+
+    @Autowired
+    TestRestTemplate restTemplate;
+
+    @DynamicPropertySource
+    static void ingestLog(DynamicPropertyRegistry registry) {
+        registry.add("customer.ingest.log-path", () -> dir.resolve("purchase-events.log").toString());
+    }
+
     @Test
     void contextLoads() {
     }
 
+    @Test
+    void testBlindUpdateReturnsStoredVersion() {
+        CustomerRequest request = new CustomerRequest();
+        request.setName("vimalkumar");
+        request.setEmail("blind-put@gmail.com");
+        request.setAnnualSpend(new BigDecimal("1500.00"));
+
+        ResponseEntity<CustomerResponse> created = restTemplate.postForEntity("/customers", request, CustomerResponse.class);
+        assertEquals(HttpStatus.CREATED, created.getStatusCode());
+        assertEquals("\"0-Silver\"", created.getHeaders().getETag());
+
+        request.setName("Vimal Kumar");
+        ResponseEntity<CustomerResponse> updated = restTemplate.exchange("/customers/" + created.getBody().getId(),
+                HttpMethod.PUT, new HttpEntity<>(request), CustomerResponse.class);
+        assertEquals(HttpStatus.OK, updated.getStatusCode());
+        assertEquals("Vimal Kumar", updated.getBody().getName());
+        assertEquals("\"1-Silver\"", updated.getHeaders().getETag());
+
+        HttpHeaders ifMatch = new HttpHeaders();
+        ifMatch.setIfMatch(updated.getHeaders().getETag());
+        ResponseEntity<CustomerResponse> conditional = restTemplate.exchange("/customers/" + created.getBody().getId(),
+                HttpMethod.PUT, new HttpEntity<>(request, ifMatch), CustomerResponse.class);
+        assertEquals(HttpStatus.OK, conditional.getStatusCode());
+        assertEquals("\"2-Silver\"", conditional.getHeaders().getETag());
+    }
 }
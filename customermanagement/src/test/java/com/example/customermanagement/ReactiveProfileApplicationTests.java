@@ -0,0 +1,72 @@
+package com.example.customermanagement;
+
+import com.example.customermanagement.dto.CustomerRequest;
+import com.example.customermanagement.dto.CustomerResponse;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Its own database, so the JDBC and R2DBC pools of this context share rows with each other only
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:reactive_customer_db",
+        "customer.reactive.url=r2dbc:h2:mem:///reactive_customer_db"
+})
+@ActiveProfiles("reactive")
+class ReactiveProfileApplicationTests {
+
+    @TempDir
+    static Path dir;
+
+    @Autowired
+    TestRestTemplate restTemplate;
+
+    @DynamicPropertySource
+    static void ingestLog(DynamicPropertyRegistry registry) {
+        registry.add("customer.ingest.log-path", () -> dir.resolve("purchase-events.log").toString());
+    }
+
+    @Test
+    void testCreateReadAndBlindUpdate() {
+        CustomerRequest request = new CustomerRequest();
+        request.setName("vimalkumar");
+        request.setEmail("vimalkumar@gmail.com");
+        request.setAnnualSpend(new BigDecimal("1500.00"));
+
+        ResponseEntity<CustomerResponse> created = restTemplate.postForEntity("/customers", request, CustomerResponse.class);
+        assertEquals(HttpStatus.CREATED, created.getStatusCode());
+        assertEquals("\"0-Silver\"", created.getHeaders().getETag());
+
+        ResponseEntity<CustomerResponse> read = restTemplate.getForEntity("/customers/" + created.getBody().getId(), CustomerResponse.class);
+        assertEquals(HttpStatus.OK, read.getStatusCode());
+        assertEquals("vimalkumar@gmail.com", read.getBody().getEmail());
+        assertEquals(created.getHeaders().getETag(), read.getHeaders().getETag());
+
+        request.setName("Vimal Kumar");
+        ResponseEntity<CustomerResponse> updated = restTemplate.exchange("/customers/" + created.getBody().getId(),
+                HttpMethod.PUT, new HttpEntity<>(request), CustomerResponse.class);
+        assertEquals(HttpStatus.OK, updated.getStatusCode());
+        assertEquals("Vimal Kumar", updated.getBody().getName());
+        assertEquals("\"1-Silver\"", updated.getHeaders().getETag());
+
+        HttpHeaders stale = new HttpHeaders();
+        stale.setIfMatch(read.getHeaders().getETag());
+        ResponseEntity<String> rejected = restTemplate.exchange("/customers/" + created.getBody().getId(),
+                HttpMethod.PUT, new HttpEntity<>(request, stale), String.class);
+        assertEquals(HttpStatus.PRECONDITION_FAILED, rejected.getStatusCode());
+    }
+}
@@ -0,0 +1,161 @@
+package com.example.customermanagement.cache;
+
+import com.example.customermanagement.config.CustomerCacheProperties;
+import com.example.customermanagement.event.CustomerChangedEvent;
+import com.example.customermanagement.model.Customer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CustomerCacheTest {
+
+    private CustomerCache customerCache;
+    private Customer customer;
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        customerCache = new CustomerCache();
+        customerCache.cacheProperties = new CustomerCacheProperties();
+        customerCache.metricsEnabled = true;
+        customerCache.init();
+        customer = new Customer();
+        customer.setId(UUID.randomUUID());
+        customer.setName("vimalkumar");
+        customer.setEmail("vimalkumar@gmail.com");
+        customer.setVersion(2L);
+    }
+
+    private Optional<Customer> load(Object key) {
+        loads.incrementAndGet();
+        return Optional.of(customer);
+    }
+
+    @Test
+    void testGetById_LoadsOnceThenHits() {
+        customerCache.getById(customer.getId(), this::load);
+        Optional<Customer> cached = customerCache.getById(customer.getId(), this::load);
+
+        assertEquals(1, loads.get());
+        assertEquals("vimalkumar", cached.orElseThrow().getName());
+        assertNotSame(customer, cached.get());
+        assertEquals(2L, cached.get().getVersion());
+        assertEquals(1, customerCache.stats().hitCount());
+    }
+
+    @Test
+    void testMetricsDisabled_RecordsNoStatsAndRegistersNoMeters() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        customerCache = new CustomerCache();
+        customerCache.cacheProperties = new CustomerCacheProperties();
+        customerCache.meterRegistry = meterRegistry;
+        customerCache.init();
+
+        customerCache.getById(customer.getId(), this::load);
+        customerCache.getById(customer.getId(), this::load);
+
+        assertEquals(0, customerCache.stats().hitCount());
+        assertTrue(meterRegistry.getMeters().isEmpty());
+    }
+
+    @Test
+    void testGetById_DoesNotCacheMisses() {
+        customerCache.getById(customer.getId(), id -> Optional.empty());
+        Optional<Customer> loaded = customerCache.getById(customer.getId(), this::load);
+
+        assertTrue(loaded.isPresent());
+    }
+
+    @Test
+    void testGetByEmail_SharesEntryWithIdLookup() {
+        customerCache.getByEmail(customer.getEmail(), this::load);
+        customerCache.getById(customer.getId(), this::load);
+        customerCache.getByEmail(customer.getEmail(), this::load);
+
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void testGetByEmail_DoesNotCacheRowLoadedBeforeEviction() {
+        customerCache.getByEmail(customer.getEmail(), email -> {
+            customerCache.onCustomerChanged(CustomerChangedEvent.updated(customer));
+            return load(email);
+        });
+
+        customerCache.getById(customer.getId(), this::load);
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void testChangeEventInvalidatesBothKeys() {
+        customerCache.getByEmail(customer.getEmail(), this::load);
+        String oldEmail = customer.getEmail();
+        customer.setEmail("changed@gmail.com");
+
+        customerCache.onCustomerChanged(CustomerChangedEvent.updated(customer));
+
+        customerCache.getById(customer.getId(), this::load);
+        assertEquals(2, loads.get());
+        Optional<Customer> byOldEmail = customerCache.getByEmail(oldEmail, email -> Optional.empty());
+        assertTrue(byOldEmail.isEmpty());
+    }
+
+    @Test
+    void testDisabledCacheAlwaysLoads() {
+        customerCache.cacheProperties.setEnabled(false);
+
+        customerCache.getById(customer.getId(), this::load);
+        customerCache.getById(customer.getId(), this::load);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void testGetAllById_LoadsOnlyMisses() {
+        customerCache.getById(customer.getId(), this::load);
+        UUID unknown = UUID.randomUUID();
+        List<Set<UUID>> requested = new ArrayList<>();
+
+        Map<UUID, Customer> found = customerCache.getAllById(List.of(customer.getId(), unknown), missing -> {
+            requested.add(missing);
+            return Map.of();
+        });
+
+        assertEquals(Set.of(customer.getId()), found.keySet());
+        assertEquals(List.of(Set.of(unknown)), requested);
+    }
+
+    @Test
+    void testGetAllByEmail_DoesNotCacheRowsLoadedBeforeEviction() {
+        customerCache.getAllByEmail(List.of(customer.getEmail()), missing -> {
+            customerCache.onCustomerChanged(CustomerChangedEvent.updated(customer));
+            return Map.of(customer.getEmail(), customer);
+        });
+
+        customerCache.getById(customer.getId(), this::load);
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void testGetAllByEmail_CachesLoadedCustomers() {
+        Map<String, Customer> loaded = customerCache.getAllByEmail(List.of(customer.getEmail()),
+                missing -> Map.of(customer.getEmail(), customer));
+        Map<String, Customer> cached = customerCache.getAllByEmail(List.of(customer.getEmail()), missing -> {
+            throw new AssertionError("should be cached: " + missing);
+        });
+
+        assertEquals(customer.getId(), loaded.get(customer.getEmail()).getId());
+        assertNotSame(customer, cached.get(customer.getEmail()));
+        assertTrue(customerCache.peekById(customer.getId()).isPresent());
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.customermanagement.cache;
+
+import com.example.customermanagement.config.EmailFilterProperties;
+import com.example.customermanagement.event.CustomerChangedEvent;
+import com.example.customermanagement.model.Customer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.sql.ResultSet;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class EmailFilterTest {
+
+    private EmailFilter emailFilter;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        when(jdbcTemplate.queryForObject(any(String.class), eq(Long.class))).thenReturn(1L);
+        ResultSet row = mock(ResultSet.class);
+        when(row.getString(1)).thenReturn("Stored@Example.com");
+        doAnswer(invocation -> {
+            invocation.<RowCallbackHandler>getArgument(1).processRow(row);
+            return null;
+        }).when(jdbcTemplate).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+        emailFilter = new EmailFilter();
+        emailFilter.filterProperties = new EmailFilterProperties();
+        emailFilter.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Test
+    void testLoadedAndCreatedEmailsNeedCheck() {
+        emailFilter.init();
+
+        assertTrue(emailFilter.needsDuplicateCheck(" stored@example.COM"));
+        assertFalse(emailFilter.needsDuplicateCheck("new@example.com"));
+
+        Customer customer = new Customer();
+        customer.setId(UUID.randomUUID());
+        customer.setEmail("new@example.com");
+        emailFilter.onCustomerChanged(CustomerChangedEvent.created(customer));
+
+        assertTrue(emailFilter.needsDuplicateCheck("new@example.com"));
+    }
+
+    @Test
+    void testDisabledNeverChecks() {
+        emailFilter.filterProperties.setEnabled(false);
+        emailFilter.init();
+
+        assertFalse(emailFilter.needsDuplicateCheck("stored@example.com"));
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void testRebuildsOnlyWhenSaturated() {
+        emailFilter.filterProperties.setExpectedInsertions(1);
+        emailFilter.init();
+        emailFilter.rebuildIfSaturated();
+        verify(jdbcTemplate, times(1)).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+
+        for (int i = 0; i < 100; i++) {
+            Customer customer = new Customer();
+            customer.setId(UUID.randomUUID());
+            customer.setEmail("customer" + i + "@example.com");
+            emailFilter.onCustomerChanged(CustomerChangedEvent.created(customer));
+        }
+        emailFilter.rebuildIfSaturated();
+
+        verify(jdbcTemplate, times(2)).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+    }
+}
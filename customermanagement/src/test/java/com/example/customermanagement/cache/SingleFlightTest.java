@@ -0,0 +1,125 @@
+package com.example.customermanagement.cache;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SingleFlightTest {
+
+    private static final int CALLERS = 32;
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+    private final AtomicInteger runs = new AtomicInteger();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void testConcurrentCallsShareOneRun() throws Exception {
+        SingleFlight<String, Object> flight = new SingleFlight<>(Duration.ofSeconds(10));
+        CountDownLatch release = new CountDownLatch(1);
+        List<Future<Object>> results = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            results.add(executor.submit(() -> flight.execute("key", () -> {
+                runs.incrementAndGet();
+                await(release);
+                return new Object();
+            })));
+        }
+        waitUntil(() -> flight.waiting() == CALLERS - 1);
+        release.countDown();
+
+        Object first = results.get(0).get(5, TimeUnit.SECONDS);
+        for (Future<Object> result : results) {
+            assertSame(first, result.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, runs.get());
+        assertEquals(1, flight.leaders());
+        assertEquals(CALLERS - 1, flight.shared());
+        assertEquals(0, flight.inFlight());
+        assertEquals(0, flight.waiting());
+    }
+
+    @Test
+    void testWaitingCallersGetTheSameException() throws Exception {
+        SingleFlight<String, Object> flight = new SingleFlight<>(Duration.ofSeconds(10));
+        CountDownLatch release = new CountDownLatch(1);
+        IllegalStateException failure = new IllegalStateException("boom");
+        Future<Object> leader = executor.submit(() -> flight.execute("key", () -> {
+            await(release);
+            throw failure;
+        }));
+        waitUntil(() -> flight.inFlight() == 1);
+        Future<Object> follower = executor.submit(() -> flight.execute("key", Object::new));
+        waitUntil(() -> flight.waiting() == 1);
+        release.countDown();
+
+        assertSame(failure, assertThrows(Exception.class, () -> leader.get(5, TimeUnit.SECONDS)).getCause());
+        assertSame(failure, assertThrows(Exception.class, () -> follower.get(5, TimeUnit.SECONDS)).getCause());
+        assertEquals(1, flight.shared());
+    }
+
+    @Test
+    void testWaitingCallerRunsItselfAfterTimeout() throws Exception {
+        SingleFlight<String, String> flight = new SingleFlight<>(Duration.ofMillis(50));
+        CountDownLatch release = new CountDownLatch(1);
+        executor.submit(() -> flight.execute("key", () -> {
+            await(release);
+            return "slow";
+        }));
+        waitUntil(() -> flight.inFlight() == 1);
+
+        assertEquals("own", flight.execute("key", () -> "own"));
+        assertEquals(1, flight.timedOut());
+        assertEquals(0, flight.shared());
+        release.countDown();
+    }
+
+    @Test
+    void testForgottenCallIsNotJoined() throws Exception {
+        SingleFlight<String, String> flight = new SingleFlight<>(Duration.ofSeconds(10));
+        CountDownLatch release = new CountDownLatch(1);
+        Future<String> before = executor.submit(() -> flight.execute("key", () -> {
+            await(release);
+            return "before";
+        }));
+        waitUntil(() -> flight.inFlight() == 1);
+
+        flight.forget("key");
+
+        assertEquals("after", flight.execute("key", () -> "after"));
+        release.countDown();
+        assertEquals("before", before.get(5, TimeUnit.SECONDS));
+        assertEquals(0, flight.shared());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "condition not reached");
+            Thread.sleep(1);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.customermanagement.config;
+
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CompressionThresholdFilterTest {
+
+    private static MockFilterChain writingAndFlushing(String contentType) {
+        return new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+                resp.setContentType(contentType);
+                resp.getOutputStream().write("{\"id\":1}".getBytes(StandardCharsets.UTF_8));
+                resp.getOutputStream().flush();
+                resp.flushBuffer();
+            }
+        });
+    }
+
+    @Test
+    void testDefersFlushOfConvertedBodies() throws ServletException, IOException {
+        for (String contentType : new String[]{"application/json", "application/cbor", "application/x-jackson-smile"}) {
+            MockHttpServletResponse response = new MockHttpServletResponse();
+
+            new CompressionThresholdFilter().doFilter(new MockHttpServletRequest("GET", "/customers/1"), response,
+                    writingAndFlushing(contentType));
+
+            assertFalse(response.isCommitted(), contentType);
+            assertEquals("{\"id\":1}", response.getContentAsString());
+        }
+    }
+
+    @Test
+    void testKeepsFlushOfStreamedBodies() throws ServletException, IOException {
+        for (String contentType : new String[]{"application/x-ndjson", "text/csv;charset=UTF-8"}) {
+            MockHttpServletResponse response = new MockHttpServletResponse();
+
+            new CompressionThresholdFilter().doFilter(new MockHttpServletRequest("GET", "/customers"), response,
+                    writingAndFlushing(contentType));
+
+            assertTrue(response.isCommitted(), contentType);
+        }
+    }
+}
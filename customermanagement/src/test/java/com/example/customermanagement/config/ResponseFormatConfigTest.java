@@ -0,0 +1,85 @@
+package com.example.customermanagement.config;
+
+import com.example.customermanagement.dto.CustomerResponse;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.http.MockHttpInputMessage;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ResponseFormatConfigTest {
+
+    private final ResponseFormatConfig config = new ResponseFormatConfig();
+
+    @Test
+    void testBinaryFormatsRoundTripCustomerWithIsoDates() throws IOException {
+        CustomerResponse customer = customer(1);
+        List<AbstractJackson2HttpMessageConverter> converters = List.of(
+                config.cborHttpMessageConverter(bootBuilder()),
+                config.smileHttpMessageConverter(bootBuilder()));
+
+        for (AbstractJackson2HttpMessageConverter converter : converters) {
+            MediaType mediaType = converter.getSupportedMediaTypes().get(0);
+            assertTrue(converter.canWrite(CustomerResponse.class, mediaType));
+            byte[] body = write(converter, customer, mediaType);
+
+            ObjectMapper mapper = converter.getObjectMapper();
+            JsonNode tree = mapper.readTree(body);
+            assertEquals("2025-04-15T14:30:00", tree.get("lastPurchaseDate").asText());
+            CustomerResponse read = (CustomerResponse) converter.read(CustomerResponse.class, new MockHttpInputMessage(body));
+            assertEquals(customer.getId(), read.getId());
+            assertEquals(customer.getEmail(), read.getEmail());
+            assertEquals(0, customer.getAnnualSpend().compareTo(read.getAnnualSpend()));
+            assertEquals(customer.getLastPurchaseDate(), read.getLastPurchaseDate());
+            assertEquals(customer.getTier(), read.getTier());
+        }
+    }
+
+    @Test
+    void testBinaryFormatsAreSmallerThanJsonForLists() throws IOException {
+        List<CustomerResponse> customers = List.of(customer(1), customer(2), customer(3));
+        byte[] json = bootBuilder().build().writeValueAsBytes(customers);
+
+        byte[] cbor = write(config.cborHttpMessageConverter(bootBuilder()), customers, MediaType.APPLICATION_CBOR);
+        byte[] smile = write(config.smileHttpMessageConverter(bootBuilder()), customers,
+                MediaType.parseMediaType("application/x-jackson-smile"));
+
+        assertTrue(cbor.length < json.length, cbor.length + " >= " + json.length);
+        assertTrue(smile.length < json.length, smile.length + " >= " + json.length);
+    }
+
+    /** The builder Boot hands out with its default {@code spring.jackson.*} settings. */
+    private static Jackson2ObjectMapperBuilder bootBuilder() {
+        return new Jackson2ObjectMapperBuilder()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, SerializationFeature.WRITE_DURATIONS_AS_TIMESTAMPS);
+    }
+
+    private static byte[] write(AbstractJackson2HttpMessageConverter converter, Object value, MediaType mediaType) throws IOException {
+        MockHttpOutputMessage output = new MockHttpOutputMessage();
+        converter.write(value, mediaType, output);
+        return output.getBodyAsBytes();
+    }
+
+    private static CustomerResponse customer(int i) {
+        CustomerResponse customer = new CustomerResponse();
+        customer.setId(UUID.randomUUID());
+        customer.setName("Customer " + i);
+        customer.setEmail("customer" + i + "@example.com");
+        customer.setAnnualSpend(new BigDecimal("1234.56"));
+        customer.setLastPurchaseDate(LocalDateTime.of(2025, 4, 15, 14, 30));
+        customer.setTier("Gold");
+        return customer;
+    }
+}
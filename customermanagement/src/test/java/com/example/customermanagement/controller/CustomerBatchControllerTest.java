@@ -0,0 +1,94 @@
+package com.example.customermanagement.controller;
+
+import com.example.customermanagement.dto.CustomerBatchResponse;
+import com.example.customermanagement.dto.CustomerRequest;
+import com.example.customermanagement.exception.BadRequestException;
+import com.example.customermanagement.service.CustomerBatchService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.http.ResponseEntity;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+public class CustomerBatchControllerTest {
+
+    @Mock
+    private CustomerBatchService customerBatchService;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @InjectMocks
+    private CustomerBatchController customerBatchController;
+
+    private final List<String> emails = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(customerBatchService.createCustomers(any())).thenAnswer(invocation -> {
+            Iterator<CustomerRequest> requests = invocation.getArgument(0);
+            requests.forEachRemaining(request -> emails.add(request.getEmail()));
+            return new CustomerBatchResponse();
+        });
+    }
+
+    private InputStream body(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testCreateCustomers_JsonArray() throws Exception {
+        ResponseEntity<CustomerBatchResponse> response = customerBatchController.createCustomers(
+                body("[{\"name\":\"a\",\"email\":\"a@example.com\"},{\"name\":\"b\",\"email\":\"b@example.com\"}]"));
+
+        assertEquals(200, response.getStatusCodeValue());
+        assertEquals(List.of("a@example.com", "b@example.com"), emails);
+    }
+
+    @Test
+    void testCreateCustomers_Ndjson() throws Exception {
+        customerBatchController.createCustomers(
+                body("{\"name\":\"a\",\"email\":\"a@example.com\"}\n{\"name\":\"b\",\"email\":\"b@example.com\"}\n"));
+
+        assertEquals(List.of("a@example.com", "b@example.com"), emails);
+    }
+
+    @Test
+    void testCreateCustomers_MalformedItem() {
+        BadRequestException ex = assertThrows(BadRequestException.class, () -> customerBatchController.createCustomers(
+                body("{\"name\":\"a\",\"email\":\"a@example.com\"}\n{\"name\":")));
+
+        assertTrue(ex.getMessage().contains("index 1"));
+    }
+
+    @Test
+    void testDeleteCustomers_ParsesIds() throws Exception {
+        UUID id = UUID.randomUUID();
+        List<UUID> received = new ArrayList<>();
+        when(customerBatchService.deleteCustomers(any())).thenAnswer(invocation -> {
+            Iterator<UUID> ids = invocation.getArgument(0);
+            ids.forEachRemaining(received::add);
+            return new CustomerBatchResponse();
+        });
+
+        customerBatchController.deleteCustomers(body("[\"" + id + "\"]"));
+
+        assertEquals(List.of(id), received);
+    }
+}
@@ -1,20 +1,39 @@
 package com.example.customermanagement.controller;
 
+import com.example.customermanagement.constants.CustomerConstants;
+import com.example.customermanagement.dto.CustomerFieldsPageResponse;
+import com.example.customermanagement.dto.CustomerPageResponse;
 import com.example.customermanagement.dto.CustomerRequest;
 import com.example.customermanagement.dto.CustomerResponse;
+import com.example.customermanagement.dto.PurchaseRequest;
+import com.example.customermanagement.exception.BadRequestException;
+import com.example.customermanagement.exception.PreconditionFailedException;
 import com.example.customermanagement.exception.ResourceNotFoundException;
+import com.example.customermanagement.model.CustomerField;
 import com.example.customermanagement.service.CustomerService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -24,6 +43,9 @@ public class CustomerControllerTest {
     @Mock
     private CustomerService customerService;
 
+    @Spy
+    private ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+
     @InjectMocks
     private CustomerController customerController;
 
@@ -47,7 +69,8 @@ public class CustomerControllerTest {
         customerResponse.setEmail("john@example.com");
         customerResponse.setAnnualSpend(new BigDecimal("2000"));
         customerResponse.setLastPurchaseDate(customerRequest.getLastPurchaseDate());
-        customerResponse.calculateTier();
+        customerResponse.setTier(CustomerConstants.GOLD);
+        customerResponse.setVersion(3L);
     }
 
     @Test
@@ -69,64 +92,192 @@ public class CustomerControllerTest {
 
         assertEquals(200, response.getStatusCodeValue());
         assertEquals(customerId, response.getBody().getId());
+        assertEquals("\"3-Gold\"", response.getHeaders().getETag());
         verify(customerService, times(1)).getCustomerById(customerId);
     }
 
 
+    @Test
+    void testGetCustomerFieldsById_TrimsBodyAndKeepsETag() {
+        when(customerService.getCustomerById(customerId)).thenReturn(customerResponse);
+
+        ResponseEntity<Map<String, Object>> response = customerController.getCustomerFieldsById(customerId, "tier");
+
+        assertEquals(Map.of("id", customerId, "tier", CustomerConstants.GOLD), response.getBody());
+        assertEquals("\"3-Gold\"", response.getHeaders().getETag());
+    }
+
+    @Test
+    void testSearchCustomerFields_ListsPageOfRequestedFields() {
+        CustomerFieldsPageResponse page = new CustomerFieldsPageResponse(List.of(Map.of("id", customerId)), null);
+        when(customerService.getCustomers(null, 50, EnumSet.of(CustomerField.ID, CustomerField.EMAIL))).thenReturn(page);
+
+        ResponseEntity<?> response = customerController.searchCustomerFields(null, null, null, null, null, "email");
+
+        assertSame(page, response.getBody());
+        assertThrows(BadRequestException.class,
+                () -> customerController.searchCustomerFields(null, null, null, null, null, "password"));
+    }
+
     @Test
     void testSearchCustomerByName_Found() {
-        when(customerService.getCustomersByName("John")).thenReturn(List.of(customerResponse));
+        when(customerService.getCustomersByName("John", null, 50))
+                .thenReturn(new CustomerPageResponse(List.of(customerResponse), null));
 
-        ResponseEntity<?> response = customerController.searchCustomers("John", null);
+        ResponseEntity<?> response = customerController.searchCustomers("John", null, null, null, null);
 
         assertEquals(200, response.getStatusCodeValue());
-        verify(customerService).getCustomersByName("John");
+        verify(customerService).getCustomersByName("John", null, 50);
     }
 
     @Test
     void testSearchCustomerByEmail_Found() {
         when(customerService.getCustomerByEmail("john@example.com")).thenReturn(customerResponse);
 
-        ResponseEntity<?> response = customerController.searchCustomers(null, "john@example.com");
+        ResponseEntity<?> response = customerController.searchCustomers(null, "john@example.com", null, null, null);
 
         assertEquals(200, response.getStatusCodeValue());
         verify(customerService).getCustomerByEmail("john@example.com");
     }
 
     @Test
-    void testSearchCustomer_MissingParams() {
-        ResponseEntity<?> response = customerController.searchCustomers(null, null);
+    void testListCustomers_WithoutSearchParams() {
+        CustomerPageResponse page = new CustomerPageResponse(List.of(customerResponse), "next");
+        when(customerService.getCustomers("cursor", 20)).thenReturn(page);
+
+        ResponseEntity<?> response = customerController.searchCustomers(null, null, null, "cursor", 20);
+
+        assertEquals(200, response.getStatusCodeValue());
+        assertSame(page, response.getBody());
+    }
+
+    @Test
+    void testSearchCustomersByTier() {
+        CustomerPageResponse page = new CustomerPageResponse(List.of(customerResponse), null);
+        when(customerService.getCustomersByTier("Gold", null, 50)).thenReturn(page);
+
+        ResponseEntity<?> response = customerController.searchCustomers(null, null, "Gold", null, null);
+
+        assertEquals(200, response.getStatusCodeValue());
+        assertSame(page, response.getBody());
+    }
+
+    @Test
+    void testStreamCustomers_ByTier() throws IOException {
+        doAnswer(invocation -> {
+            invocation.<Consumer<CustomerResponse>>getArgument(1).accept(customerResponse);
+            return null;
+        }).when(customerService).streamCustomersByTier(eq("Gold"), any());
+
+        ResponseEntity<StreamingResponseBody> response = customerController.streamCustomers(null, null, "gold");
+
+        String body = write(response.getBody());
+        assertEquals(1, body.lines().count());
+        assertTrue(body.contains(customerId.toString()), body);
+        verify(customerService, never()).streamCustomers(any(), any());
+    }
+
+    @Test
+    void testStreamCustomers_ByEmail() throws IOException {
+        doAnswer(invocation -> {
+            invocation.<Consumer<CustomerResponse>>getArgument(1).accept(customerResponse);
+            return null;
+        }).when(customerService).streamCustomersByEmail(eq("john@example.com"), any());
+
+        ResponseEntity<StreamingResponseBody> response = customerController.streamCustomers(null, "john@example.com", null);
+
+        String body = write(response.getBody());
+        assertEquals(1, body.lines().count());
+        assertTrue(body.contains("john@example.com"), body);
+        verify(customerService, never()).streamCustomers(any(), any());
+    }
+
+    @Test
+    void testStreamCustomers_BlankName() {
+        assertThrows(BadRequestException.class, () -> customerController.streamCustomers("  ", null, null));
+        verifyNoInteractions(customerService);
+    }
 
-        assertEquals(400, response.getStatusCodeValue());
-        assertTrue(response.getBody().toString().contains("Either name or email"));
+    @Test
+    void testStreamCustomers_InvalidTier() {
+        assertThrows(BadRequestException.class, () -> customerController.streamCustomers(null, null, "Bronze"));
+        verifyNoInteractions(customerService);
+    }
+
+    private static String write(StreamingResponseBody body) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        body.writeTo(out);
+        return out.toString(StandardCharsets.UTF_8);
     }
 
     @Test
     void testUpdateCustomer_Success() {
-        when(customerService.updateCustomer(customerId, customerRequest)).thenReturn(customerResponse);
+        when(customerService.updateCustomer(customerId, customerRequest, null)).thenReturn(customerResponse);
 
-        ResponseEntity<CustomerResponse> response = customerController.updateCustomer(customerId, customerRequest);
+        ResponseEntity<CustomerResponse> response = customerController.updateCustomer(customerId, null, customerRequest);
 
         assertEquals(200, response.getStatusCodeValue());
-        verify(customerService).updateCustomer(customerId, customerRequest);
+        assertEquals("\"3-Gold\"", response.getHeaders().getETag());
+        verify(customerService).updateCustomer(customerId, customerRequest, null);
     }
 
+    @Test
+    void testUpdateCustomer_IfMatch() {
+        when(customerService.updateCustomer(customerId, customerRequest, 2L)).thenReturn(customerResponse);
+
+        ResponseEntity<CustomerResponse> response = customerController.updateCustomer(customerId, "\"2-Silver\"", customerRequest);
+
+        assertEquals("\"3-Gold\"", response.getHeaders().getETag());
+        verify(customerService).updateCustomer(customerId, customerRequest, 2L);
+    }
 
     @Test
-    void testDeleteCustomer_Success() {
-        when(customerService.getCustomerById(customerId)).thenReturn(customerResponse);
+    void testUpdateCustomer_IfMatchNeverIssued() {
+        assertThrows(PreconditionFailedException.class, () ->
+                customerController.updateCustomer(customerId, "W/\"2-Silver\"", customerRequest));
+        verifyNoInteractions(customerService);
+    }
+
 
-        ResponseEntity<String> response = customerController.deleteCustomer(customerId);
+    @Test
+    void testPatchCustomer_PassesIfMatchVersion() {
+        JsonNode patch = JsonNodeFactory.instance.objectNode().put("name", "John Doe");
+        when(customerService.patchCustomer(customerId, patch, 2L)).thenReturn(customerResponse);
+
+        ResponseEntity<CustomerResponse> response = customerController.patchCustomer(customerId, "\"2-Gold\"", patch);
+
+        assertEquals(200, response.getStatusCodeValue());
+        assertEquals("\"3-Gold\"", response.getHeaders().getETag());
+    }
+
+    @Test
+    void testRecordPurchase() {
+        PurchaseRequest purchase = new PurchaseRequest();
+        purchase.setAmount(new BigDecimal("10"));
+        when(customerService.recordPurchase(customerId, purchase)).thenReturn(customerResponse);
+
+        ResponseEntity<CustomerResponse> response = customerController.recordPurchase(customerId, purchase);
+
+        assertEquals(200, response.getStatusCodeValue());
+        assertEquals("\"3-Gold\"", response.getHeaders().getETag());
+        verify(customerService).recordPurchase(customerId, purchase);
+    }
+
+    @Test
+    void testDeleteCustomer_Success() {
+        ResponseEntity<String> response = customerController.deleteCustomer(customerId, "*");
 
         assertEquals(204, response.getStatusCodeValue());
         assertTrue(response.getBody().contains("deleted successfully"));
-        verify(customerService).deleteCustomer(customerId);
+        verify(customerService).deleteCustomer(customerId, null);
+        verify(customerService, never()).getCustomerById(any());
     }
 
     @Test
     void testDeleteCustomer_NotFound() {
-        when(customerService.getCustomerById(customerId)).thenReturn(null);
+        doThrow(new ResourceNotFoundException(CustomerConstants.CUSTOMER_NOT_FOUND + customerId))
+                .when(customerService).deleteCustomer(customerId, 4L);
 
-        assertThrows(ResourceNotFoundException.class, () -> customerController.deleteCustomer(customerId));
+        assertThrows(ResourceNotFoundException.class, () -> customerController.deleteCustomer(customerId, "\"4-Gold\""));
     }
 }
@@ -0,0 +1,62 @@
+package com.example.customermanagement.controller;
+
+import com.example.customermanagement.exception.BadRequestException;
+import com.example.customermanagement.service.CustomerExportService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class CustomerExportControllerTest {
+
+    @Mock
+    private CustomerExportService customerExportService;
+
+    @InjectMocks
+    private CustomerExportController customerExportController;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        MockitoAnnotations.openMocks(this);
+        when(customerExportService.exportCustomers(any(), any())).thenAnswer(invocation -> {
+            invocation.<OutputStream>getArgument(0).write("id,name\n".getBytes(StandardCharsets.UTF_8));
+            return 1L;
+        });
+    }
+
+    @Test
+    void testExport_Csv() throws Exception {
+        ResponseEntity<StreamingResponseBody> response = customerExportController.exportCustomers("csv");
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        response.getBody().writeTo(out);
+
+        assertEquals("text/csv;charset=UTF-8", response.getHeaders().getContentType().toString());
+        assertEquals("id,name\n", out.toString(StandardCharsets.UTF_8));
+        verify(customerExportService).exportCustomers(any(), eq(CustomerExportService.Format.CSV));
+    }
+
+    @Test
+    void testExport_Ndjson() throws Exception {
+        ResponseEntity<StreamingResponseBody> response = customerExportController.exportCustomers("NDJSON");
+        response.getBody().writeTo(new ByteArrayOutputStream());
+
+        assertEquals("application/x-ndjson", response.getHeaders().getContentType().toString());
+        verify(customerExportService).exportCustomers(any(), eq(CustomerExportService.Format.NDJSON));
+    }
+
+    @Test
+    void testExport_UnknownFormat() {
+        assertThrows(BadRequestException.class, () -> customerExportController.exportCustomers("xml"));
+    }
+}
@@ -1,6 +1,11 @@
 package com.example.customermanagement.exception;
 
+import com.example.customermanagement.metrics.CustomerMetrics;
+import com.example.customermanagement.metrics.MicrometerCustomerMetricsTest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
@@ -20,6 +25,11 @@ public class GlobalExceptionHandlerTest {
 
     private final GlobalExceptionHandler handler = new GlobalExceptionHandler();
 
+    @BeforeEach
+    void setUp() {
+        handler.customerMetrics = CustomerMetrics.NOOP;
+    }
+
     @Test
     void testHandleResourceNotFoundException() {
         ResourceNotFoundException ex = new ResourceNotFoundException("Customer not found");
@@ -31,6 +41,37 @@ public class GlobalExceptionHandlerTest {
         assertTrue(((LinkedHashMap<?, ?>) response.getBody()).get("message").toString().contains("Customer not found"));
     }
 
+    @Test
+    void testHandleOptimisticLockingFailure() {
+        ResponseEntity<Object> response = handler.handleOptimisticLockingFailure(
+                new OptimisticLockingFailureException("stale"), mock(WebRequest.class));
+
+        assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
+    }
+
+    @Test
+    void testHandleQueueFullException() {
+        ResponseEntity<Object> response = handler.handleQueueFullException(
+                new QueueFullException("Purchase ingestion queue is full"), mock(WebRequest.class));
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        assertEquals("1", response.getHeaders().getFirst("Retry-After"));
+    }
+
+    @Test
+    void testHandlersCountErrorsByOutcome() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        handler.customerMetrics = MicrometerCustomerMetricsTest.customerMetrics(meterRegistry);
+
+        handler.handleResourceNotFoundException(new ResourceNotFoundException("Customer not found"), mock(WebRequest.class));
+        handler.handleDuplicateEmail();
+        handler.handlePreconditionFailedException(new PreconditionFailedException("Customer has been modified"), mock(WebRequest.class));
+
+        assertEquals(1, meterRegistry.get("customer.errors").tag("outcome", "not_found").counter().count());
+        assertEquals(1, meterRegistry.get("customer.errors").tag("outcome", "conflict").counter().count());
+        assertEquals(1, meterRegistry.get("customer.errors").tag("outcome", "precondition_failed").counter().count());
+    }
+
     @Test
     void testHandleMethodArgumentNotValid() {
         MethodArgumentNotValidException ex = mock(MethodArgumentNotValidException.class);
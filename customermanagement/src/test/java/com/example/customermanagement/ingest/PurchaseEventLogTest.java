@@ -0,0 +1,75 @@
+package com.example.customermanagement.ingest;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PurchaseEventLogTest {
+
+    @TempDir
+    Path dir;
+
+    private final PurchaseEvent first = new PurchaseEvent(UUID.randomUUID(), new BigDecimal("12.50"),
+            LocalDateTime.of(2024, 3, 1, 10, 15, 30));
+    private final PurchaseEvent second = new PurchaseEvent(UUID.randomUUID(), new BigDecimal("7"),
+            LocalDateTime.of(2024, 3, 2, 8, 0));
+
+    @Test
+    void testAppendThenReplayFromOffset() throws Exception {
+        Path file = dir.resolve("nested/purchases.log");
+        try (PurchaseEventLog log = new PurchaseEventLog(file, true)) {
+            long[] ends = log.append(List.of(first, second));
+
+            assertEquals(log.size(), ends[1]);
+            assertEquals(List.of(first, second), replay(log, 0));
+            assertEquals(List.of(second), replay(log, ends[0]));
+            assertEquals(List.of(), replay(log, ends[1]));
+        }
+    }
+
+    @Test
+    void testReopenCutsTornLastLine() throws Exception {
+        Path file = dir.resolve("purchases.log");
+        long end;
+        try (PurchaseEventLog log = new PurchaseEventLog(file, false)) {
+            end = log.append(List.of(first))[0];
+        }
+        Files.writeString(file, second.customerId() + ",7,2024", StandardOpenOption.APPEND);
+
+        try (PurchaseEventLog log = new PurchaseEventLog(file, false)) {
+            assertEquals(end, log.size());
+            long[] ends = log.append(List.of(second));
+            assertEquals(List.of(first, second), replay(log, 0));
+            assertEquals(log.size(), ends[0]);
+        }
+    }
+
+    @Test
+    void testTruncateStartsOver() throws Exception {
+        try (PurchaseEventLog log = new PurchaseEventLog(dir.resolve("purchases.log"), false)) {
+            log.append(List.of(first, second));
+            log.truncate();
+
+            assertEquals(0, log.size());
+            long[] ends = log.append(List.of(second));
+            assertEquals(List.of(second), replay(log, 0));
+            assertEquals(log.size(), ends[0]);
+        }
+    }
+
+    private static List<PurchaseEvent> replay(PurchaseEventLog log, long offset) throws Exception {
+        List<PurchaseEvent> events = new ArrayList<>();
+        log.replay(offset, (event, end) -> events.add(event));
+        return events;
+    }
+}
@@ -0,0 +1,252 @@
+package com.example.customermanagement.ingest;
+
+import com.example.customermanagement.config.PurchaseIngestProperties;
+import com.example.customermanagement.event.CustomerChangedEvent;
+import com.example.customermanagement.exception.QueueFullException;
+import com.example.customermanagement.model.Customer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class PurchaseIngestorTest {
+
+    @InjectMocks
+    private PurchaseIngestor purchaseIngestor;
+
+    @Mock
+    private PurchaseBatchWriter batchWriter;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Spy
+    private PurchaseIngestProperties ingestProperties = new PurchaseIngestProperties();
+
+    @Spy
+    private SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @TempDir
+    Path dir;
+
+    private final UUID alice = UUID.randomUUID();
+    private final UUID bob = UUID.randomUUID();
+    private final List<List<CoalescedPurchase>> applied = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        MockitoAnnotations.openMocks(this);
+        ingestProperties.setQueueCapacity(3);
+        ingestProperties.setSyncLog(false);
+        ingestProperties.setLogPath(dir.resolve("purchases.log").toString());
+        when(batchWriter.apply(any(), anyLong())).thenAnswer(invocation -> {
+            List<CoalescedPurchase> purchases = new ArrayList<>(invocation.<Collection<CoalescedPurchase>>getArgument(0));
+            applied.add(purchases);
+            return new PurchaseBatchWriter.Applied(purchases.stream().map(purchase -> customer(purchase.customerId())).toList(), 0);
+        });
+        purchaseIngestor.init();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        purchaseIngestor.close();
+    }
+
+    @Test
+    void testFlushCoalescesPerCustomer() {
+        purchaseIngestor.accept(List.of(event(alice, "10", 1), event(bob, "5", 2), event(alice, "2.50", 3)));
+
+        purchaseIngestor.flush();
+
+        assertEquals(List.of(List.of(
+                new CoalescedPurchase(alice, new BigDecimal("12.50"), LocalDateTime.of(2024, 1, 3, 0, 0), 2),
+                new CoalescedPurchase(bob, new BigDecimal("5"), LocalDateTime.of(2024, 1, 2, 0, 0), 1))), applied);
+        verify(eventPublisher, times(2)).publishEvent(any(CustomerChangedEvent.class));
+        assertEquals(3, meterRegistry.get("customer.ingest.batch.events").summary().totalAmount());
+        assertEquals(2, meterRegistry.get("customer.ingest.batch.customers").summary().totalAmount());
+    }
+
+    @Test
+    void testFlushAppliesAtMostBatchSizeEventsPerTransaction() throws Exception {
+        ingestProperties.setBatchSize(2);
+        purchaseIngestor.accept(List.of(event(alice, "10", 1), event(bob, "50", 2), event(alice, "20", 3)));
+
+        purchaseIngestor.flush();
+
+        ArgumentCaptor<Long> checkpoints = ArgumentCaptor.forClass(Long.class);
+        verify(batchWriter, times(2)).apply(any(), checkpoints.capture());
+        assertEquals(List.of(List.of(alice, bob), List.of(alice)), applied.stream()
+                .map(batch -> batch.stream().map(CoalescedPurchase::customerId).toList()).toList());
+        long logSize = Files.size(dir.resolve("purchases.log"));
+        assertEquals(List.of(logSize * 2 / 3, logSize), checkpoints.getAllValues());
+    }
+
+    @Test
+    void testAcceptStampsMissingPurchaseDate() {
+        purchaseIngestor.accept(List.of(new PurchaseEvent(alice, BigDecimal.ONE, null)));
+
+        purchaseIngestor.flush();
+
+        assertNotNull(applied.get(0).get(0).lastPurchaseDate());
+    }
+
+    @Test
+    void testAcceptRejectsWholeRequestWhenQueueIsFull() {
+        purchaseIngestor.accept(List.of(event(alice, "1", 1), event(alice, "1", 2)));
+
+        assertThrows(QueueFullException.class, () ->
+                purchaseIngestor.accept(List.of(event(bob, "1", 1), event(bob, "1", 2))));
+        assertEquals(2.0, meterRegistry.get("customer.ingest.queue.size").gauge().value());
+        assertEquals(2, meterRegistry.get("customer.ingest.events").tag("outcome", "rejected").counter().count());
+
+        purchaseIngestor.flush();
+        purchaseIngestor.accept(List.of(event(bob, "1", 1), event(bob, "1", 2)));
+    }
+
+    @Test
+    void testFailedBatchIsRetriedBeforeNewEvents() {
+        purchaseIngestor.accept(List.of(event(alice, "10", 1)));
+        reset(batchWriter);
+        when(batchWriter.apply(any(), anyLong()))
+                .thenThrow(new QueryTimeoutException("timeout"))
+                .thenReturn(new PurchaseBatchWriter.Applied(List.of(customer(alice)), 0));
+
+        purchaseIngestor.flush();
+        purchaseIngestor.accept(List.of(event(bob, "5", 2)));
+        purchaseIngestor.flush();
+
+        ArgumentCaptor<Collection<CoalescedPurchase>> purchases = ArgumentCaptor.forClass(Collection.class);
+        verify(batchWriter, times(2)).apply(purchases.capture(), anyLong());
+        assertEquals(List.of(alice, alice), purchases.getAllValues().stream()
+                .map(batch -> batch.iterator().next().customerId()).toList());
+        assertTrue(meterRegistry.get("customer.ingest.lag").gauge().value() >= 0);
+    }
+
+    @Test
+    void testEventsThatViolateAConstraintOnTheirOwnAreSkipped() {
+        purchaseIngestor.accept(List.of(event(alice, "10", 1), event(bob, "5", 2)));
+        reset(batchWriter);
+        when(batchWriter.apply(any(), anyLong()))
+                .thenThrow(new DataIntegrityViolationException("overflow"))
+                .thenThrow(new DataIntegrityViolationException("overflow"))
+                .thenReturn(new PurchaseBatchWriter.Applied(List.of(customer(bob)), 0));
+
+        purchaseIngestor.flush();
+
+        ArgumentCaptor<Long> checkpoints = ArgumentCaptor.forClass(Long.class);
+        verify(batchWriter, times(3)).apply(any(), checkpoints.capture());
+        verify(batchWriter).moveCheckpoint(checkpoints.getAllValues().get(1));
+        verify(eventPublisher).publishEvent(any(CustomerChangedEvent.class));
+        assertEquals(1, meterRegistry.get("customer.ingest.events").tag("outcome", "failed").counter().count());
+
+        purchaseIngestor.flush();
+        verify(batchWriter, times(3)).apply(any(), anyLong());
+    }
+
+    @Test
+    void testTransientFailureWhileApplyingOneAtATimeKeepsTheRest() {
+        purchaseIngestor.accept(List.of(event(alice, "10", 1), event(bob, "5", 2)));
+        reset(batchWriter);
+        when(batchWriter.apply(any(), anyLong()))
+                .thenThrow(new DataIntegrityViolationException("overflow"))
+                .thenReturn(new PurchaseBatchWriter.Applied(List.of(customer(alice)), 0))
+                .thenThrow(new QueryTimeoutException("timeout"))
+                .thenReturn(new PurchaseBatchWriter.Applied(List.of(customer(bob)), 0));
+
+        purchaseIngestor.flush();
+        purchaseIngestor.flush();
+
+        ArgumentCaptor<Collection<CoalescedPurchase>> purchases = ArgumentCaptor.forClass(Collection.class);
+        verify(batchWriter, times(4)).apply(purchases.capture(), anyLong());
+        assertEquals(List.of(bob), purchases.getAllValues().get(3).stream().map(CoalescedPurchase::customerId).toList());
+        verify(batchWriter, never()).moveCheckpoint(anyLong());
+    }
+
+    @Test
+    void testInitSkipsReplayedEventsThatViolateAConstraint() throws Exception {
+        purchaseIngestor.accept(List.of(event(alice, "10", 1)));
+        purchaseIngestor.close();
+        long logSize = Files.size(dir.resolve("purchases.log"));
+        reset(batchWriter);
+        when(batchWriter.apply(any(), anyLong())).thenThrow(new DataIntegrityViolationException("overflow"));
+
+        purchaseIngestor.init();
+
+        verify(batchWriter).moveCheckpoint(logSize);
+    }
+
+    @Test
+    void testIdleFlushTruncatesLogAndResetsCheckpoint() throws Exception {
+        purchaseIngestor.accept(List.of(event(alice, "10", 1)));
+        purchaseIngestor.flush();
+        assertTrue(Files.size(dir.resolve("purchases.log")) > 0);
+
+        purchaseIngestor.flush();
+
+        assertEquals(0, Files.size(dir.resolve("purchases.log")));
+        verify(batchWriter).resetCheckpoint();
+    }
+
+    @Test
+    void testInitReplaysLogFromCheckpoint() throws Exception {
+        // Same line length for both events, so the second one starts half way through the log
+        purchaseIngestor.accept(List.of(event(alice, "10", 1), event(bob, "50", 2)));
+        purchaseIngestor.close();
+        long logSize = Files.size(dir.resolve("purchases.log"));
+        ArgumentCaptor<Long> checkpoint = ArgumentCaptor.forClass(Long.class);
+        verify(batchWriter).apply(any(), checkpoint.capture());
+        assertEquals(logSize, checkpoint.getValue());
+
+        // Pretend only alice's event made it to the database before a crash
+        applied.clear();
+        when(batchWriter.checkpoint()).thenReturn(logSize / 2);
+        purchaseIngestor.init();
+
+        assertEquals(List.of(List.of(new CoalescedPurchase(bob, new BigDecimal("50"), LocalDateTime.of(2024, 1, 2, 0, 0), 1))),
+                applied);
+        verify(batchWriter, times(2)).apply(any(), eq(logSize));
+    }
+
+    @Test
+    void testInitResetsCheckpointPastEndOfLog() throws Exception {
+        purchaseIngestor.close();
+        when(batchWriter.checkpoint()).thenReturn(1_000L);
+
+        purchaseIngestor.init();
+
+        verify(batchWriter).resetCheckpoint();
+        verify(batchWriter, never()).apply(any(), anyLong());
+    }
+
+    private static PurchaseEvent event(UUID customerId, String amount, int day) {
+        return new PurchaseEvent(customerId, new BigDecimal(amount), LocalDateTime.of(2024, 1, day, 0, 0));
+    }
+
+    private static Customer customer(UUID id) {
+        Customer customer = new Customer();
+        customer.setId(id);
+        return customer;
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.customermanagement.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import com.example.customermanagement.config.RequestLogProperties;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RequestSummaryFilterTest {
+
+    private final Logger logger = (Logger) LoggerFactory.getLogger(RequestSummaryFilter.class);
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+    private Level previousLevel;
+
+    @BeforeEach
+    void setUp() {
+        previousLevel = logger.getLevel();
+        logger.setLevel(Level.INFO);
+        appender.start();
+        logger.addAppender(appender);
+    }
+
+    @AfterEach
+    void tearDown() {
+        logger.detachAppender(appender);
+        logger.setLevel(previousLevel);
+    }
+
+    private static RequestSummaryFilter filter(double sampleRate, Duration slowThreshold) {
+        RequestLogProperties properties = new RequestLogProperties();
+        properties.setSampleRate(sampleRate);
+        properties.setSlowThreshold(slowThreshold);
+        RequestSummaryFilter filter = new RequestSummaryFilter();
+        filter.requestLogProperties = properties;
+        filter.init();
+        return filter;
+    }
+
+    private static MockHttpServletRequest request() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/customers/42");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/customers/{id}");
+        return request;
+    }
+
+    @Test
+    void testLogsOneSummaryLinePerRequest() throws ServletException, IOException {
+        filter(1.0, Duration.ofSeconds(5)).doFilter(request(), new MockHttpServletResponse(), new MockFilterChain());
+
+        assertEquals(1, appender.list.size());
+        String line = appender.list.get(0).getFormattedMessage();
+        assertTrue(line.startsWith("request method=GET route=/customers/{id} path=/customers/42 status=200 durationMs="), line);
+        assertTrue(line.endsWith("async=false reason=sample"), line);
+    }
+
+    @Test
+    void testSkipsUnsampledRequests() throws ServletException, IOException {
+        RequestSummaryFilter filter = filter(0.0, Duration.ofSeconds(5));
+        for (int i = 0; i < 100; i++) {
+            filter.doFilter(request(), new MockHttpServletResponse(), new MockFilterChain());
+        }
+
+        assertTrue(appender.list.isEmpty());
+    }
+
+    @Test
+    void testAlwaysLogsErrorsAndSlowRequests() throws ServletException, IOException {
+        MockHttpServletResponse failed = new MockHttpServletResponse();
+        failed.setStatus(503);
+        filter(0.0, Duration.ofSeconds(5)).doFilter(request(), failed, new MockFilterChain());
+        filter(0.0, Duration.ZERO).doFilter(request(), new MockHttpServletResponse(), new MockFilterChain());
+
+        assertEquals(2, appender.list.size());
+        assertTrue(appender.list.get(0).getFormattedMessage().contains("status=503"));
+        assertTrue(appender.list.get(0).getFormattedMessage().endsWith("reason=error"));
+        assertTrue(appender.list.get(1).getFormattedMessage().endsWith("reason=slow"));
+    }
+
+    @Test
+    void testLogsUnhandledExceptionAsServerError() {
+        MockFilterChain chain = new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void doGet(HttpServletRequest req, HttpServletResponse resp) {
+                throw new IllegalStateException("boom");
+            }
+        });
+
+        assertThrows(IllegalStateException.class, () ->
+                filter(0.0, Duration.ofSeconds(5)).doFilter(request(), new MockHttpServletResponse(), chain));
+        assertTrue(appender.list.get(0).getFormattedMessage().contains("status=500"));
+    }
+}
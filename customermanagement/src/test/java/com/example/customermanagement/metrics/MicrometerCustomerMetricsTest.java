@@ -0,0 +1,59 @@
+package com.example.customermanagement.metrics;
+
+import com.example.customermanagement.metrics.CustomerMetrics.Operation;
+import com.example.customermanagement.metrics.CustomerMetrics.Phase;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class MicrometerCustomerMetricsTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CustomerMetrics customerMetrics = customerMetrics(meterRegistry);
+
+    public static MicrometerCustomerMetrics customerMetrics(MeterRegistry meterRegistry) {
+        MicrometerCustomerMetrics customerMetrics = new MicrometerCustomerMetrics();
+        customerMetrics.meterRegistry = meterRegistry;
+        customerMetrics.init();
+        return customerMetrics;
+    }
+
+    @Test
+    void testRegistersTimersForEveryOperationAndPhase() {
+        int operations = Operation.values().length;
+        int phases = Phase.values().length;
+
+        assertEquals(operations, meterRegistry.find("customer.operation").timers().size());
+        assertEquals(operations * phases, meterRegistry.find("customer.operation.phase").timers().size());
+    }
+
+    @Test
+    void testRecordsOperationAndPhase() {
+        long started = customerMetrics.start();
+        customerMetrics.recordPhase(Operation.GET_BY_ID, Phase.DB, started);
+        customerMetrics.recordOperation(Operation.GET_BY_ID, started);
+
+        Timer operation = meterRegistry.get("customer.operation").tag("operation", "get_by_id").timer();
+        Timer phase = meterRegistry.get("customer.operation.phase")
+                .tags("operation", "get_by_id", "phase", "db").timer();
+        assertEquals(1, operation.count());
+        assertEquals(1, phase.count());
+        assertTrue(operation.totalTime(TimeUnit.NANOSECONDS) >= 0);
+    }
+
+    @Test
+    void testCountsErrorsByOutcome() {
+        customerMetrics.recordError("not_found");
+        customerMetrics.recordError("not_found");
+        customerMetrics.recordError("conflict");
+
+        assertEquals(2, meterRegistry.get("customer.errors").tag("outcome", "not_found").counter().count());
+        assertEquals(1, meterRegistry.get("customer.errors").tag("outcome", "conflict").counter().count());
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.customermanagement.repository;
+
+import com.example.customermanagement.model.Customer;
+import jakarta.persistence.EntityManager;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+public class CustomerPatchRepositoryTest {
+
+    private static final List<String> statements = new CopyOnWriteArrayList<>();
+
+    @TestConfiguration
+    static class CaptureStatements {
+
+        @Bean
+        HibernatePropertiesCustomizer statementInspector() {
+            return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, (StatementInspector) sql -> {
+                statements.add(sql.toLowerCase(Locale.ROOT));
+                return sql;
+            });
+        }
+    }
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void testUpdateColumnsWritesOnlyTheGivenColumns() {
+        Customer customer = new Customer();
+        customer.setName("vimalkumar");
+        customer.setEmail("vimalkumar@gmail.com");
+        customer.setAnnualSpend(new BigDecimal("1500.00"));
+        customer.setTier("Silver");
+        customer = customerRepository.saveAndFlush(customer);
+        statements.clear();
+
+        assertEquals(1, customerRepository.updateColumns(customer.getId(), Map.of("tier", "Gold"), customer.getVersion()));
+
+        List<String> updates = statements.stream().filter(sql -> sql.startsWith("update")).toList();
+        assertEquals(1, updates.size(), updates.toString());
+        String set = updates.get(0).substring(0, updates.get(0).indexOf(" where "));
+        assertTrue(set.contains("tier"), set);
+        assertTrue(set.contains("version"), set);
+        for (String unchanged : List.of("email", "name", "annual_spend", "last_purchase_date")) {
+            assertFalse(set.contains(unchanged), unchanged + " in " + set);
+        }
+        entityManager.clear();
+        Customer stored = customerRepository.findById(customer.getId()).orElseThrow();
+        assertEquals("Gold", stored.getTier());
+        assertEquals("vimalkumar@gmail.com", stored.getEmail());
+        assertEquals(customer.getVersion() + 1, stored.getVersion());
+    }
+
+    @Test
+    void testUpdateColumnsMissesStaleVersion() {
+        Customer customer = new Customer();
+        customer.setName("vimalkumar");
+        customer.setEmail("vimalkumar@gmail.com");
+        customer = customerRepository.saveAndFlush(customer);
+
+        assertEquals(0, customerRepository.updateColumns(customer.getId(), Map.of("name", "other"), customer.getVersion() + 1));
+    }
+}
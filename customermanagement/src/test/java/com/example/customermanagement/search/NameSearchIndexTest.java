@@ -0,0 +1,103 @@
+package com.example.customermanagement.search;
+
+import com.example.customermanagement.event.CustomerChangedEvent;
+import com.example.customermanagement.model.Customer;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class NameSearchIndexTest {
+
+    private final NameSearchIndex nameSearchIndex = new NameSearchIndex();
+
+    private Customer index(String name) {
+        Customer customer = new Customer();
+        customer.setId(UUID.randomUUID());
+        customer.setName(name);
+        nameSearchIndex.onCustomerChanged(CustomerChangedEvent.created(customer));
+        return customer;
+    }
+
+    private List<String> names(List<NameMatch> matches) {
+        return matches.stream().map(NameMatch::name).toList();
+    }
+
+    @Test
+    void testSearchRanksExactThenPrefixThenWordPrefixThenContains() {
+        index("Jonathan Ross");
+        index("Anna Jones");
+        index("Jon");
+        index("Mary Bjonsson");
+        index("Peter Parker");
+
+        List<NameMatch> matches = nameSearchIndex.search("jon", null, 10);
+
+        assertEquals(List.of("jon", "jonathan ross", "anna jones", "mary bjonsson"), names(matches));
+        assertEquals(NameMatch.EXACT, matches.get(0).rank());
+        assertEquals(NameMatch.CONTAINS, matches.get(3).rank());
+    }
+
+    @Test
+    void testSearchPagesAfterCursor() {
+        index("Alice Smith");
+        index("Bob Smith");
+        index("Carol Smithers");
+
+        List<NameMatch> first = nameSearchIndex.search("smith", null, 2);
+        List<NameMatch> second = nameSearchIndex.search("smith", first.get(1), 2);
+
+        assertEquals(List.of("alice smith", "bob smith"), names(first));
+        assertEquals(List.of("carol smithers"), names(second));
+    }
+
+    @Test
+    void testUpdatesAndDeletesAreReflected() {
+        Customer renamed = index("Old Name");
+        Customer deleted = index("Old Timer");
+
+        renamed.setName("New Name");
+        nameSearchIndex.onCustomerChanged(CustomerChangedEvent.updated(renamed));
+        nameSearchIndex.onCustomerChanged(CustomerChangedEvent.deleted(deleted.getId()));
+
+        assertTrue(nameSearchIndex.search("old", null, 10).isEmpty());
+        assertEquals(List.of("new name"), names(nameSearchIndex.search("name", null, 10)));
+        assertEquals(1, nameSearchIndex.size());
+    }
+
+    @Test
+    void testCompactionKeepsLiveCustomers() {
+        Customer kept = index("Kept Customer");
+        for (int i = 0; i < 3000; i++) {
+            Customer customer = index("Temporary " + i);
+            nameSearchIndex.onCustomerChanged(CustomerChangedEvent.deleted(customer.getId()));
+        }
+
+        nameSearchIndex.compactIfSparse();
+
+        assertEquals(List.of(kept.getId()), nameSearchIndex.search("kept", null, 10).stream().map(NameMatch::id).toList());
+        assertTrue(nameSearchIndex.search("temporary", null, 10).isEmpty());
+    }
+
+    @Test
+    void testChangesAfterCompactionAreApplied() {
+        for (int i = 0; i < 3000; i++) {
+            Customer customer = index("Temporary " + i);
+            nameSearchIndex.onCustomerChanged(CustomerChangedEvent.deleted(customer.getId()));
+        }
+        Customer added = index("Added Later");
+
+        nameSearchIndex.compactIfSparse();
+        nameSearchIndex.onCustomerChanged(CustomerChangedEvent.deleted(added.getId()));
+
+        assertTrue(nameSearchIndex.search("added", null, 10).isEmpty());
+        assertEquals(0, nameSearchIndex.size());
+    }
+
+    @Test
+    void testShortQueryIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> nameSearchIndex.search("jo", null, 10));
+    }
+}
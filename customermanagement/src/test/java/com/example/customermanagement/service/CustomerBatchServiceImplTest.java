@@ -0,0 +1,207 @@
+package com.example.customermanagement.service;
+
+import com.example.customermanagement.config.CustomerBatchProperties;
+import com.example.customermanagement.constants.CustomerConstants;
+import com.example.customermanagement.dto.BatchItemResult;
+import com.example.customermanagement.dto.CustomerBatchResponse;
+import com.example.customermanagement.dto.CustomerBatchUpdateRequest;
+import com.example.customermanagement.dto.CustomerRequest;
+import com.example.customermanagement.exception.BadRequestException;
+import com.example.customermanagement.model.Customer;
+import com.example.customermanagement.repository.CustomerRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(SpringExtension.class)
+public class CustomerBatchServiceImplTest {
+
+    @InjectMocks
+    private CustomerBatchServiceImpl customerBatchService;
+
+    @Mock
+    private CustomerRepository customerRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Spy
+    private CustomerMapper customerMapper = CustomerMapperTest.customerMapper();
+
+    @Spy
+    private TierEngine tierEngine = customerMapper.tierEngine;
+
+    @Spy
+    private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    @Spy
+    private CustomerBatchProperties batchProperties = new CustomerBatchProperties();
+
+    @BeforeEach
+    void setUp() {
+        batchProperties.setSize(2);
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        when(customerRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Customer> saved = new ArrayList<>();
+            for (Customer customer : invocation.<List<Customer>>getArgument(0)) {
+                customer.setId(UUID.randomUUID());
+                saved.add(customer);
+            }
+            return saved;
+        });
+    }
+
+    private CustomerRequest request(String name, String email) {
+        CustomerRequest request = new CustomerRequest();
+        request.setName(name);
+        request.setEmail(email);
+        request.setAnnualSpend(new BigDecimal("100"));
+        return request;
+    }
+
+    @Test
+    void testCreateCustomers_ReportsPerItemResults() {
+        when(customerRepository.findExistingEmails(anyCollection())).thenReturn(Set.of("taken@example.com"));
+        List<CustomerRequest> requests = List.of(
+                request("a", "a@example.com"),
+                request("", "b@example.com"),
+                request("c", "taken@example.com"),
+                request("d", "a@example.com"),
+                request("e", "e@example.com"));
+
+        CustomerBatchResponse response = customerBatchService.createCustomers(requests.iterator());
+
+        assertEquals(2, response.getSucceeded());
+        assertEquals(3, response.getFailed());
+        List<Integer> statuses = response.getResults().stream().map(BatchItemResult::getStatus).toList();
+        assertEquals(List.of(201, 400, 409, 409, 201), statuses);
+        assertTrue(response.getResults().get(1).getError().contains("name"));
+        verify(customerRepository, times(2)).saveAll(anyList());
+        verify(eventPublisher, times(2)).publishEvent(any(Object.class));
+    }
+
+    @Test
+    void testCreateCustomers_FallsBackToRowByRowOnConstraintViolation() {
+        when(customerRepository.findExistingEmails(anyCollection())).thenReturn(Collections.emptySet());
+        doThrow(new DuplicateKeyException("duplicate"))
+                .doNothing()
+                .doThrow(new DuplicateKeyException("duplicate"))
+                .when(customerRepository).flush();
+
+        CustomerBatchResponse response = customerBatchService.createCustomers(
+                List.of(request("a", "a@example.com"), request("b", "b@example.com")).iterator());
+
+        assertEquals(List.of(201, 409), response.getResults().stream().map(BatchItemResult::getStatus).toList());
+    }
+
+    @Test
+    void testCreateCustomers_ReportsOtherConstraintViolationsAsBadRequest() {
+        when(customerRepository.findExistingEmails(anyCollection())).thenReturn(Collections.emptySet());
+        DataIntegrityViolationException overflow = new DataIntegrityViolationException("overflow",
+                new SQLException("Numeric value out of range", "22003"));
+        doThrow(overflow).doNothing().doThrow(overflow).when(customerRepository).flush();
+
+        CustomerBatchResponse response = customerBatchService.createCustomers(
+                List.of(request("a", "a@example.com"), request("b", "b@example.com")).iterator());
+
+        assertEquals(List.of(201, 400), response.getResults().stream().map(BatchItemResult::getStatus).toList());
+        assertEquals(CustomerConstants.CONSTRAINT_VIOLATION, response.getResults().get(1).getError());
+    }
+
+    @Test
+    void testCreateCustomers_UniqueViolationStateIsDuplicateEmail() {
+        when(customerRepository.findExistingEmails(anyCollection())).thenReturn(Collections.emptySet());
+        DataIntegrityViolationException unique = new DataIntegrityViolationException("unique",
+                new SQLException("Unique index or primary key violation", "23505"));
+        doThrow(unique).doThrow(unique).when(customerRepository).flush();
+
+        CustomerBatchResponse response = customerBatchService.createCustomers(
+                List.of(request("a", "a@example.com")).iterator());
+
+        assertEquals(409, response.getResults().get(0).getStatus());
+    }
+
+    @Test
+    void testCreateCustomers_RejectsOversizedBatch() {
+        batchProperties.setMaxItems(1);
+        when(customerRepository.findExistingEmails(anyCollection())).thenReturn(Collections.emptySet());
+
+        assertThrows(BadRequestException.class, () -> customerBatchService.createCustomers(
+                List.of(request("a", "a@example.com"), request("b", "b@example.com")).iterator()));
+    }
+
+    @Test
+    void testUpdateCustomers_ReportsNotFoundAndConflicts() {
+        UUID existingId = UUID.randomUUID();
+        UUID otherId = UUID.randomUUID();
+        Customer existing = new Customer();
+        existing.setId(existingId);
+        existing.setEmail("old@example.com");
+        Customer other = new Customer();
+        other.setId(otherId);
+        other.setEmail("other@example.com");
+        when(customerRepository.findAllById(anyCollection())).thenReturn(List.of(existing));
+        when(customerRepository.findByEmailIn(anyCollection())).thenReturn(List.of(other));
+
+        CustomerBatchUpdateRequest update = updateRequest(existingId, "new@example.com");
+        CustomerBatchUpdateRequest missing = updateRequest(UUID.randomUUID(), "x@example.com");
+        CustomerBatchUpdateRequest conflict = updateRequest(existingId, "other@example.com");
+
+        CustomerBatchResponse response = customerBatchService.updateCustomers(List.of(update, missing, conflict).iterator());
+
+        assertEquals(List.of(200, 404, 409), response.getResults().stream().map(BatchItemResult::getStatus).toList());
+        assertEquals("new@example.com", existing.getEmail());
+    }
+
+    @Test
+    void testDeleteCustomers_ReportsMissingIds() {
+        UUID existingId = UUID.randomUUID();
+        UUID missingId = UUID.randomUUID();
+        when(customerRepository.findExistingIds(anyCollection())).thenReturn(Set.of(existingId));
+
+        CustomerBatchResponse response = customerBatchService.deleteCustomers(List.of(existingId, missingId).iterator());
+
+        assertEquals(List.of(204, 404), response.getResults().stream().map(BatchItemResult::getStatus).toList());
+        verify(customerRepository).deleteAllByIdInBatch(argThat((Collection<UUID> ids) -> ids.equals(Set.of(existingId))));
+    }
+
+    private CustomerBatchUpdateRequest updateRequest(UUID id, String email) {
+        CustomerBatchUpdateRequest request = new CustomerBatchUpdateRequest();
+        request.setId(id);
+        request.setName("name");
+        request.setEmail(email);
+        return request;
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.customermanagement.service;
+
+import com.example.customermanagement.config.CustomerTierProperties;
+import com.example.customermanagement.metrics.CustomerMetrics;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class CustomerExportServiceImplTest {
+
+    @InjectMocks
+    private CustomerExportServiceImpl customerExportService;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Spy
+    private TierEngine tierEngine = TierEngineTest.tierEngine(new CustomerTierProperties());
+
+    @Spy
+    private CustomerMetrics customerMetrics = CustomerMetrics.NOOP;
+
+    @Spy
+    private ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+
+    private final UUID first = UUID.fromString("01900000-0000-7000-8000-000000000001");
+    private final UUID second = UUID.fromString("01900000-0000-7000-8000-000000000002");
+    private final LocalDateTime recently = LocalDateTime.now().withSecond(30).withNano(0).minusMonths(1);
+
+    @BeforeEach
+    void setUp() throws Exception {
+        MockitoAnnotations.openMocks(this);
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getObject(1, UUID.class)).thenReturn(first, second);
+        when(rs.getString(2)).thenReturn("Doe, \"JD\" John", "Ann");
+        when(rs.getString(3)).thenReturn("jd@example.com", "ann@example.com");
+        when(rs.getBigDecimal(4)).thenReturn(new BigDecimal("12000.00"), (BigDecimal) null);
+        when(rs.getObject(5, LocalDateTime.class)).thenReturn(recently, (LocalDateTime) null);
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            handler.processRow(rs);
+            handler.processRow(rs);
+            return null;
+        }).when(jdbcTemplate).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+    }
+
+    @Test
+    void testExportCsv_QuotesFieldsAndComputesTier() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long rows = customerExportService.exportCustomers(out, CustomerExportService.Format.CSV);
+
+        assertEquals(2, rows);
+        assertEquals(CustomerExportServiceImpl.CSV_HEADER
+                        + first + ",\"Doe, \"\"JD\"\" John\",jd@example.com,12000.00," + recently + ",Platinum\n"
+                        + second + ",Ann,ann@example.com,,,Silver\n",
+                out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testExportNdjson_OneObjectPerLine() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        customerExportService.exportCustomers(out, CustomerExportService.Format.NDJSON);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        assertEquals("Platinum", objectMapper.readTree(lines[0]).get("tier").asText());
+        assertEquals("Doe, \"JD\" John", objectMapper.readTree(lines[0]).get("name").asText());
+        assertEquals(recently.toString(), objectMapper.readTree(lines[0]).get("lastPurchaseDate").asText());
+        assertTrue(objectMapper.readTree(lines[1]).get("annualSpend").isNull());
+    }
+}
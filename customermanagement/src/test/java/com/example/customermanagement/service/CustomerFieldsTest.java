@@ -0,0 +1,47 @@
+package com.example.customermanagement.service;
+
+import com.example.customermanagement.dto.CustomerResponse;
+import com.example.customermanagement.exception.BadRequestException;
+import com.example.customermanagement.model.CustomerField;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CustomerFieldsTest {
+
+    @Test
+    void testParseAlwaysIncludesId() {
+        assertEquals(EnumSet.of(CustomerField.ID, CustomerField.NAME, CustomerField.TIER), CustomerFields.parse(" tier, name "));
+        assertEquals(EnumSet.of(CustomerField.ID), CustomerFields.parse("id"));
+    }
+
+    @Test
+    void testParseRejectsUnknownAndBlankFields() {
+        assertThrows(BadRequestException.class, () -> CustomerFields.parse("name,version"));
+        assertThrows(BadRequestException.class, () -> CustomerFields.parse("Name"));
+        assertThrows(BadRequestException.class, () -> CustomerFields.parse(" "));
+        assertThrows(BadRequestException.class, () -> CustomerFields.parse("name,,tier"));
+    }
+
+    @Test
+    void testSelectKeepsResponseOrderAndRequestedNulls() {
+        CustomerResponse response = new CustomerResponse();
+        response.setId(UUID.randomUUID());
+        response.setName("John Doe");
+        response.setEmail("john@example.com");
+        response.setAnnualSpend(new BigDecimal("2000"));
+        response.setTier("Silver");
+
+        var body = CustomerFields.select(response, CustomerFields.parse("tier,lastPurchaseDate,name"));
+
+        assertEquals(List.of("id", "name", "lastPurchaseDate", "tier"), new ArrayList<>(body.keySet()));
+        assertNull(body.get("lastPurchaseDate"));
+        assertEquals("Silver", body.get("tier"));
+    }
+}
@@ -0,0 +1,202 @@
+package com.example.customermanagement.service;
+
+import com.example.customermanagement.config.CustomerBatchProperties;
+import com.example.customermanagement.config.CustomerImportProperties;
+import com.example.customermanagement.constants.CustomerConstants;
+import com.example.customermanagement.dto.BatchItemResult;
+import com.example.customermanagement.dto.CustomerImportResponse;
+import com.example.customermanagement.event.CustomerChangedEvent;
+import com.example.customermanagement.model.Customer;
+import com.example.customermanagement.repository.CustomerRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class CustomerImportServiceImplTest {
+
+    @InjectMocks
+    private CustomerImportServiceImpl customerImportService;
+
+    @Mock
+    private CustomerRepository customerRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Spy
+    private ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+
+    @Spy
+    private CustomerMapper customerMapper = CustomerMapperTest.customerMapper();
+
+    @Spy
+    private TierEngine tierEngine = customerMapper.tierEngine;
+
+    @Spy
+    private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    @Spy
+    private CustomerImportProperties importProperties = new CustomerImportProperties();
+
+    @Spy
+    private CustomerBatchProperties batchProperties = new CustomerBatchProperties();
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        importProperties.setChunkSize(2);
+        importProperties.setParallelism(2);
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        doCallRealMethod().when(transactionTemplate).executeWithoutResult(any());
+        when(customerRepository.findExistingEmails(anyCollection())).thenReturn(Set.of());
+        customerImportService.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        customerImportService.shutdown();
+    }
+
+    @Test
+    void testImportCsv_ReportsRejectedRowsAndKeepsFirstEmail() throws Exception {
+        when(customerRepository.findExistingEmails(anyCollection())).thenReturn(Set.of("taken@example.com"));
+        String csv = """
+                name,email,annualSpend,lastPurchaseDate
+                  Ann  , ann@example.com ,12000,
+                Bob,bob@example.com,lots,
+                ,cy@example.com,,
+                Ann Again,ann@example.com,5,
+                Taken,taken@example.com,,
+                Eve,eve@example.com,,2024-05-01T10:00:00
+                """;
+
+        CustomerImportResponse response = importCustomers(csv, CustomerImportService.Format.CSV);
+
+        assertEquals(6, response.getRows());
+        assertEquals(2, response.getImported());
+        assertEquals(4, response.getRejected());
+        assertNull(response.getError());
+        assertEquals(List.of(1, 2, 3, 4), response.getRejections().stream().map(BatchItemResult::getIndex).toList());
+        assertEquals(List.of(400, 400, 409, 409), response.getRejections().stream().map(BatchItemResult::getStatus).toList());
+        assertTrue(response.getRejections().get(0).getError().startsWith("annualSpend: "));
+        List<Customer> created = createdCustomers();
+        assertEquals(List.of("ann@example.com", "eve@example.com"), created.stream().map(Customer::getEmail).toList());
+        assertEquals("Ann", created.get(0).getName());
+        assertEquals(0L, created.get(0).getVersion());
+        assertNotNull(created.get(0).getId());
+        assertEquals(new BigDecimal("12000"), created.get(0).getAnnualSpend());
+    }
+
+    @Test
+    void testImportNdjson_AcrossManyChunksKeepsInputOrder() throws Exception {
+        String ndjson = IntStream.range(0, 25)
+                .mapToObj(i -> "{\"name\":\"Customer " + i + "\",\"email\":\"c" + (i % 20) + "@example.com\"}")
+                .collect(Collectors.joining("\n"));
+
+        CustomerImportResponse response = importCustomers(ndjson, CustomerImportService.Format.JSON);
+
+        assertEquals(20, response.getImported());
+        assertEquals(IntStream.range(20, 25).boxed().toList(),
+                response.getRejections().stream().map(BatchItemResult::getIndex).toList());
+        assertEquals(IntStream.range(0, 20).mapToObj(i -> "Customer " + i).toList(),
+                createdCustomers().stream().map(Customer::getName).toList());
+    }
+
+    @Test
+    void testImportStopsAtMalformedRowAndKeepsEarlierRows() throws Exception {
+        String ndjson = """
+                {"name":"A","email":"a@example.com"}
+                {"name":"B","email":"b@example.com"}
+                {"name": oops
+                {"name":"D","email":"d@example.com"}
+                """;
+
+        CustomerImportResponse response = importCustomers(ndjson, CustomerImportService.Format.JSON);
+
+        assertEquals(2, response.getImported());
+        assertTrue(response.getError().startsWith("Malformed row at index 2"));
+    }
+
+    @Test
+    void testImportRetriesRowByRowWhenBatchHitsDuplicate() throws Exception {
+        when(jdbcTemplate.batchUpdate(anyString(), anyCollection(), anyInt(), any()))
+                .thenThrow(new DuplicateKeyException("race"))
+                .thenReturn(new int[][]{{1}})
+                .thenThrow(new DuplicateKeyException("race"));
+
+        CustomerImportResponse response = importCustomers("name,email\nA,a@example.com\nB,b@example.com\n",
+                CustomerImportService.Format.CSV);
+
+        assertEquals(1, response.getImported());
+        assertEquals(409, response.getRejections().get(0).getStatus());
+        assertEquals(1, response.getRejections().get(0).getIndex());
+    }
+
+    @Test
+    void testImportReportsOtherConstraintViolationsAsBadRequest() throws Exception {
+        when(jdbcTemplate.batchUpdate(anyString(), anyCollection(), anyInt(), any()))
+                .thenThrow(new DataIntegrityViolationException("overflow", new SQLException("Numeric value out of range", "22003")));
+
+        CustomerImportResponse response = importCustomers("name,email\nA,a@example.com\n", CustomerImportService.Format.CSV);
+
+        assertEquals(0, response.getImported());
+        assertEquals(400, response.getRejections().get(0).getStatus());
+        assertEquals(CustomerConstants.CONSTRAINT_VIOLATION, response.getRejections().get(0).getError());
+    }
+
+    @Test
+    void testReportedRejectionsAreCapped() throws Exception {
+        importProperties.setMaxReportedRejections(1);
+
+        CustomerImportResponse response = importCustomers("name,email\n,a@example.com\n,b@example.com\n",
+                CustomerImportService.Format.CSV);
+
+        assertEquals(2, response.getRejected());
+        assertEquals(1, response.getRejections().size());
+    }
+
+    private CustomerImportResponse importCustomers(String body, CustomerImportService.Format format) throws Exception {
+        return customerImportService.importCustomers(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), format);
+    }
+
+    private List<Customer> createdCustomers() {
+        ArgumentCaptor<CustomerChangedEvent> events = ArgumentCaptor.forClass(CustomerChangedEvent.class);
+        verify(eventPublisher, atLeast(0)).publishEvent(events.capture());
+        return events.getAllValues().stream().map(CustomerChangedEvent::getCustomer).toList();
+    }
+}
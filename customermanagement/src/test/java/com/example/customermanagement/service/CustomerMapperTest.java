@@ -0,0 +1,94 @@
+package com.example.customermanagement.service;
+
+import com.example.customermanagement.config.CustomerTierProperties;
+import com.example.customermanagement.constants.CustomerConstants;
+import com.example.customermanagement.dto.CustomerRequest;
+import com.example.customermanagement.model.Customer;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class CustomerMapperTest {
+
+    private final CustomerMapper customerMapper = customerMapper();
+
+    static CustomerMapper customerMapper() {
+        CustomerMapper customerMapper = new CustomerMapper();
+        customerMapper.tierEngine = TierEngineTest.tierEngine(new CustomerTierProperties());
+        return customerMapper;
+    }
+
+    @Test
+    void testToEntity_CopiesFieldsAndComputesTier() {
+        CustomerRequest request = new CustomerRequest();
+        request.setName("vimalkumar");
+        request.setEmail("vimalkumar@gmail.com");
+        request.setAnnualSpend(new BigDecimal("12000"));
+        request.setLastPurchaseDate(LocalDateTime.now().minusMonths(1));
+
+        Customer customer = customerMapper.toEntity(request);
+
+        assertEquals("vimalkumar", customer.getName());
+        assertEquals("vimalkumar@gmail.com", customer.getEmail());
+        assertEquals(CustomerConstants.PLATINUM, customer.getTier());
+    }
+
+    @Test
+    void testUpdateEntity_RecomputesTier() {
+        Customer customer = new Customer();
+        customer.setTier(CustomerConstants.PLATINUM);
+        CustomerRequest request = new CustomerRequest();
+        request.setName("vimalkumar");
+        request.setEmail("vimalkumar@gmail.com");
+
+        customerMapper.updateEntity(customer, request);
+
+        assertEquals(CustomerConstants.SILVER, customer.getTier());
+    }
+
+    @Test
+    void testWithPurchase_AddsSpendAndKeepsLaterDate() {
+        LocalDateTime lastPurchase = LocalDateTime.now().minusDays(1);
+        Customer customer = new Customer();
+        customer.setName("vimalkumar");
+        customer.setAnnualSpend(new BigDecimal("9000"));
+        customer.setLastPurchaseDate(lastPurchase);
+        customer.setTier(CustomerConstants.GOLD);
+        customer.setVersion(4L);
+
+        Customer updated = customerMapper.withPurchase(customer, new BigDecimal("1500"), lastPurchase.minusMonths(2),
+                customerMapper.tierEngine.now());
+
+        assertEquals(new BigDecimal("10500"), updated.getAnnualSpend());
+        assertEquals(lastPurchase, updated.getLastPurchaseDate());
+        assertEquals(CustomerConstants.PLATINUM, updated.getTier());
+        assertEquals(5L, updated.getVersion());
+        assertEquals(new BigDecimal("9000"), customer.getAnnualSpend());
+    }
+
+    @Test
+    void testWithPurchase_FirstPurchase() {
+        LocalDateTime purchasedAt = LocalDateTime.now();
+        Customer customer = new Customer();
+        customer.setVersion(0L);
+
+        Customer updated = customerMapper.withPurchase(customer, new BigDecimal("20"), purchasedAt, customerMapper.tierEngine.now());
+
+        assertEquals(new BigDecimal("20"), updated.getAnnualSpend());
+        assertEquals(purchasedAt, updated.getLastPurchaseDate());
+        assertNull(customer.getLastPurchaseDate());
+    }
+
+    @Test
+    void testWithPurchase_UnversionedCustomer() {
+        Customer customer = new Customer();
+
+        Customer updated = customerMapper.withPurchase(customer, new BigDecimal("20"), LocalDateTime.now(), customerMapper.tierEngine.now());
+
+        assertEquals(1L, updated.getVersion());
+    }
+}
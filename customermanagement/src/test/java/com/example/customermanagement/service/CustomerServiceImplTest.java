@@ -1,24 +1,72 @@
 package com.example.customermanagement.service;
 
 
+import com.example.customermanagement.cache.CustomerCache;
+import com.example.customermanagement.cache.CustomerReadFlights;
+import com.example.customermanagement.cache.EmailFilter;
+import com.example.customermanagement.cache.SingleFlight;
+import com.example.customermanagement.config.CustomerLookupProperties;
+import com.example.customermanagement.constants.CustomerConstants;
+import com.example.customermanagement.dto.CustomerLookupRequest;
+import com.example.customermanagement.dto.CustomerLookupResponse;
+import com.example.customermanagement.dto.CustomerFieldsPageResponse;
+import com.example.customermanagement.dto.CustomerPageResponse;
 import com.example.customermanagement.dto.CustomerRequest;
 import com.example.customermanagement.dto.CustomerResponse;
+import com.example.customermanagement.event.CustomerChangedEvent;
+import com.example.customermanagement.exception.BadRequestException;
+import com.example.customermanagement.exception.DuplicateEmailException;
+import com.example.customermanagement.exception.PreconditionFailedException;
 import com.example.customermanagement.exception.ResourceNotFoundException;
+import com.example.customermanagement.metrics.CustomerMetrics;
+import com.example.customermanagement.metrics.MicrometerCustomerMetricsTest;
 import com.example.customermanagement.model.Customer;
+import com.example.customermanagement.model.CustomerField;
 import com.example.customermanagement.repository.CustomerRepository;
+import com.example.customermanagement.repository.CustomerRow;
+import com.example.customermanagement.search.NameMatch;
+import com.example.customermanagement.search.NameSearchIndex;
+import com.example.customermanagement.dto.PurchaseRequest;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -32,12 +80,67 @@ public class CustomerServiceImplTest {
     @Mock
     private CustomerRepository customerRepository;
 
+    @Mock
+    private EntityManager entityManager;
+
+    @Spy
+    private CustomerMapper customerMapper = CustomerMapperTest.customerMapper();
+
+    @Mock
+    private CustomerCache customerCache;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private EmailFilter emailFilter;
+
+    @Spy
+    private TierEngine tierEngine = customerMapper.tierEngine;
+
+    @Mock
+    private NameSearchIndex nameSearchIndex;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Spy
+    private CustomerMetrics customerMetrics = MicrometerCustomerMetricsTest.customerMetrics(meterRegistry);
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Spy
+    private ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+
+    @Spy
+    private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    @Spy
+    private CustomerLookupProperties lookupProperties = new CustomerLookupProperties();
+
+    @Mock
+    private CustomerReadFlights readFlights;
+
     private Customer customer;
     private CustomerRequest request;
     private UUID customerId;
 
     @BeforeEach
     void setUp() {
+        when(customerCache.getById(any(), any())).thenAnswer(invocation ->
+                invocation.<Function<UUID, Optional<Customer>>>getArgument(1).apply(invocation.getArgument(0)));
+        when(customerCache.getByEmail(any(), any())).thenAnswer(invocation ->
+                invocation.<Function<String, Optional<Customer>>>getArgument(1).apply(invocation.getArgument(0)));
+        when(customerCache.getAllById(any(), any())).thenAnswer(invocation ->
+                invocation.<Function<Set<UUID>, Map<UUID, Customer>>>getArgument(1).apply(new LinkedHashSet<>(invocation.<Collection<UUID>>getArgument(0))));
+        when(customerCache.getAllByEmail(any(), any())).thenAnswer(invocation ->
+                invocation.<Function<Set<String>, Map<String, Customer>>>getArgument(1).apply(new LinkedHashSet<>(invocation.<Collection<String>>getArgument(0))));
+        when(readFlights.byId(any(), any())).thenAnswer(invocation ->
+                invocation.<Supplier<CustomerResponse>>getArgument(1).get());
+        when(readFlights.byEmail(any(), any())).thenAnswer(invocation ->
+                invocation.<Supplier<CustomerResponse>>getArgument(1).get());
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
         customerId = UUID.randomUUID();
         request = new CustomerRequest();
         request.setName("vimalkumar");
@@ -59,7 +162,38 @@ public class CustomerServiceImplTest {
         CustomerResponse response = customerService.createCustomer(request);
 
         assertEquals(request.getEmail(), response.getEmail());
+        verify(customerRepository).save(argThat(saved -> CustomerConstants.GOLD.equals(saved.getTier())));
         verify(customerRepository, times(1)).save(any(Customer.class));
+        verify(eventPublisher).publishEvent(argThat((CustomerChangedEvent event) ->
+                event.getType() == CustomerChangedEvent.Type.CREATED && customerId.equals(event.getId())));
+    }
+
+    @Test
+    void testCreateCustomer_CertainlyNewEmailSkipsDuplicateCheck() {
+        when(customerRepository.save(any(Customer.class))).thenReturn(customer);
+
+        customerService.createCustomer(request);
+
+        verify(customerRepository, never()).existsByEmail(any());
+    }
+
+    @Test
+    void testCreateCustomer_DuplicateEmailRejectedBeforeInsert() {
+        when(emailFilter.needsDuplicateCheck(request.getEmail())).thenReturn(true);
+        when(customerRepository.existsByEmail(request.getEmail())).thenReturn(true);
+
+        assertThrows(DuplicateEmailException.class, () -> customerService.createCustomer(request));
+        verify(customerRepository, never()).save(any());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void testCreateCustomer_FilterFalsePositiveStillCreates() {
+        when(emailFilter.needsDuplicateCheck(request.getEmail())).thenReturn(true);
+        when(customerRepository.save(any(Customer.class))).thenReturn(customer);
+
+        assertEquals(request.getEmail(), customerService.createCustomer(request).getEmail());
+        verify(customerRepository).existsByEmail(request.getEmail());
     }
 
     @Test
@@ -69,6 +203,8 @@ public class CustomerServiceImplTest {
         CustomerResponse response = customerService.getCustomerById(customerId);
 
         assertEquals(customer.getName(), response.getName());
+        assertEquals(CustomerConstants.GOLD, response.getTier());
+        verify(customerCache).getById(eq(customerId), any());
     }
 
     @Test
@@ -80,21 +216,271 @@ public class CustomerServiceImplTest {
         assertTrue(ex.getMessage().contains(customerId.toString()));
     }
 
+    @Test
+    void testGetCustomerById_ConcurrentReadsHitDatabaseOnce() throws Exception {
+        int callers = 32;
+        SingleFlight<UUID, CustomerResponse> flight = new SingleFlight<>(Duration.ofSeconds(10));
+        doAnswer(invocation -> flight.execute(invocation.getArgument(0), invocation.getArgument(1)))
+                .when(readFlights).byId(any(), any());
+        CountDownLatch release = new CountDownLatch(1);
+        when(customerRepository.findById(customerId)).thenAnswer(invocation -> {
+            assertTrue(release.await(5, TimeUnit.SECONDS));
+            return Optional.of(customer);
+        });
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+        try {
+            List<Future<CustomerResponse>> responses = new ArrayList<>();
+            for (int i = 0; i < callers; i++) {
+                responses.add(executor.submit(() -> customerService.getCustomerById(customerId)));
+            }
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (flight.waiting() < callers - 1) {
+                assertTrue(System.nanoTime() < deadline, "callers not waiting");
+                Thread.sleep(1);
+            }
+            release.countDown();
+
+            for (Future<CustomerResponse> response : responses) {
+                assertSame(responses.get(0).get(5, TimeUnit.SECONDS), response.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        verify(customerRepository, times(1)).findById(customerId);
+    }
+
     @Test
     void testGetCustomersByName_Success() {
-        when(customerRepository.findByName("vimal")).thenReturn(List.of(customer));
+        when(nameSearchIndex.search("kum", null, 11))
+                .thenReturn(List.of(new NameMatch(NameMatch.CONTAINS, "vimalkumar", customerId)));
+        when(customerRepository.findAllById(List.of(customerId))).thenReturn(List.of(customer));
+
+        CustomerPageResponse page = customerService.getCustomersByName("  KUM ", null, 10);
+
+        assertEquals(1, page.getSize());
+        assertEquals("vimalkumar", page.getContent().get(0).getName());
+        assertNull(page.getNextCursor());
+    }
 
-        List<CustomerResponse> responses = customerService.getCustomersByName("vimal");
+    @Test
+    void testGetCustomersByName_PagesWithRankedCursor() {
+        Customer other = new Customer();
+        other.setId(UUID.randomUUID());
+        other.setName("Vimal Raj");
+        when(nameSearchIndex.search("vimal", null, 2)).thenReturn(List.of(
+                new NameMatch(NameMatch.PREFIX, "vimal raj", other.getId()),
+                new NameMatch(NameMatch.PREFIX, "vimalkumar", customerId)));
+        when(customerRepository.findAllById(any())).thenReturn(List.of(customer, other));
+
+        CustomerPageResponse page = customerService.getCustomersByName("vimal", null, 1);
+
+        assertEquals("Vimal Raj", page.getContent().get(0).getName());
+        customerService.getCustomersByName("vimal", page.getNextCursor(), 1);
+        verify(nameSearchIndex).search("vimal", new NameMatch(NameMatch.PREFIX, "vimal raj", other.getId()), 2);
+    }
+
+    @Test
+    void testGetCustomersByName_ShortQueryUsesIndexedPrefix() {
+        when(customerRepository.findByNameNormalizedStartingWithOrderByNameNormalizedAscIdAsc("vi", Limit.of(11)))
+                .thenReturn(List.of(customer));
+
+        CustomerPageResponse page = customerService.getCustomersByName("Vi", null, 10);
+
+        assertEquals(1, page.getSize());
+        verify(nameSearchIndex, never()).search(any(), any(), anyInt());
+    }
 
-        assertEquals(1, responses.size());
-        assertEquals("vimalkumar", responses.get(0).getName());
+    @Test
+    void testGetCustomersByName_BlankName() {
+        assertThrows(BadRequestException.class, () -> customerService.getCustomersByName("  ", null, 10));
     }
 
     @Test
     void testGetCustomersByName_NotFound() {
-        when(customerRepository.findByName("anita")).thenReturn(Collections.emptyList());
+        when(nameSearchIndex.search("anita", null, 11)).thenReturn(Collections.emptyList());
+
+        assertThrows(ResourceNotFoundException.class, () -> customerService.getCustomersByName("anita", null, 10));
+    }
 
-        assertThrows(ResourceNotFoundException.class, () -> customerService.getCustomersByName("anita"));
+    @Test
+    void testGetCustomers_FirstPageHasNextCursor() {
+        List<Customer> customers = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Customer c = new Customer();
+            c.setId(UUID.randomUUID());
+            c.setName("customer" + i);
+            customers.add(c);
+        }
+        when(customerRepository.findAllByOrderByIdAsc(Limit.of(3))).thenReturn(customers);
+
+        CustomerPageResponse page = customerService.getCustomers(null, 2);
+
+        assertEquals(2, page.getSize());
+        assertEquals(customers.get(1).getId(), CustomerCursor.decode(page.getNextCursor()));
+    }
+
+    @Test
+    void testGetCustomers_ContinuesAfterCursor() {
+        String cursor = CustomerCursor.encode(customerId);
+        UUID nextId = UUID.randomUUID();
+        Customer next = new Customer();
+        next.setId(nextId);
+        when(customerRepository.findByIdGreaterThanOrderByIdAsc(customerId, Limit.of(3))).thenReturn(List.of(next));
+
+        CustomerPageResponse page = customerService.getCustomers(cursor, 2);
+
+        assertEquals(1, page.getSize());
+        assertEquals(nextId, page.getContent().get(0).getId());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void testGetCustomers_InvalidCursor() {
+        assertThrows(BadRequestException.class, () -> customerService.getCustomers("not-a-cursor!", 10));
+    }
+
+    @Test
+    void testGetCustomers_InvalidPageSize() {
+        assertThrows(BadRequestException.class, () -> customerService.getCustomers(null, 0));
+        assertThrows(BadRequestException.class, () -> customerService.getCustomers(null, 501));
+    }
+
+    @Test
+    void testCreateCustomer_RecordsOperationAndPhaseTimers() {
+        when(customerRepository.save(any(Customer.class))).thenReturn(customer);
+
+        customerService.createCustomer(request);
+
+        assertEquals(1, meterRegistry.get("customer.operation").tag("operation", "create").timer().count());
+        assertEquals(1, meterRegistry.get("customer.operation.phase").tags("operation", "create", "phase", "db").timer().count());
+        assertEquals(2, meterRegistry.get("customer.operation.phase").tags("operation", "create", "phase", "mapping").timer().count());
+    }
+
+    @Test
+    void testGetCustomerById_NotFoundStillRecordsOperation() {
+        when(customerRepository.findById(customerId)).thenReturn(Optional.empty());
+
+        assertThrows(ResourceNotFoundException.class, () -> customerService.getCustomerById(customerId));
+
+        assertEquals(1, meterRegistry.get("customer.operation").tag("operation", "get_by_id").timer().count());
+    }
+
+    @Test
+    void testGetCustomersByTier_NormalizesTier() {
+        when(customerRepository.findByTierOrderByIdAsc(CustomerConstants.GOLD, Limit.of(11))).thenReturn(List.of(customer));
+
+        CustomerPageResponse page = customerService.getCustomersByTier("gold", null, 10);
+
+        assertEquals(1, page.getSize());
+    }
+
+    @Test
+    void testGetCustomersByTier_InvalidTier() {
+        assertThrows(BadRequestException.class, () -> customerService.getCustomersByTier("Bronze", null, 10));
+    }
+
+    @Test
+    void testGetCustomerFields_ReadsRowsAndSkipsTierUnlessRequested() {
+        Set<CustomerField> fields = CustomerFields.parse("name");
+        CustomerRow row = new CustomerRow(customerId, null, "vimalkumar", null, null, null);
+        when(customerRepository.findRowsOrderByIdAsc(fields, null, Limit.of(11))).thenReturn(List.of(row));
+
+        CustomerFieldsPageResponse page = customerService.getCustomers(null, 10, fields);
+
+        assertEquals(List.of(Map.of("id", customerId, "name", "vimalkumar")), page.getContent());
+        assertNull(page.getNextCursor());
+        verify(tierEngine, never()).now();
+        verify(customerRepository, never()).findAllByOrderByIdAsc(any());
+    }
+
+    @Test
+    void testGetCustomerFieldsByTier_ComputesRequestedTier() {
+        Set<CustomerField> fields = CustomerFields.parse("tier");
+        CustomerRow row = new CustomerRow(customerId, null, null, null, new BigDecimal("12000"), LocalDateTime.now());
+        when(customerRepository.findRowsByTierOrderByIdAsc(fields, CustomerConstants.PLATINUM, null, Limit.of(11)))
+                .thenReturn(List.of(row));
+
+        CustomerFieldsPageResponse page = customerService.getCustomersByTier("platinum", null, 10, fields);
+
+        assertEquals(CustomerConstants.PLATINUM, page.getContent().get(0).get("tier"));
+        assertFalse(page.getContent().get(0).containsKey("annualSpend"));
+    }
+
+    @Test
+    void testGetCustomerFieldsByName_KeepsRankOrderAndPages() {
+        Set<CustomerField> fields = CustomerFields.parse("email");
+        UUID otherId = UUID.randomUUID();
+        when(nameSearchIndex.search("vimal", null, 2)).thenReturn(List.of(
+                new NameMatch(NameMatch.PREFIX, "vimal raj", otherId),
+                new NameMatch(NameMatch.PREFIX, "vimalkumar", customerId)));
+        when(customerRepository.findRowsByIdIn(fields, List.of(otherId, customerId))).thenReturn(List.of(
+                new CustomerRow(customerId, "vimalkumar", null, "vimalkumar@gmail.com", null, null),
+                new CustomerRow(otherId, "vimal raj", null, "raj@example.com", null, null)));
+
+        CustomerFieldsPageResponse page = customerService.getCustomersByName("vimal", null, 1, fields);
+
+        assertEquals(List.of(Map.of("id", otherId, "email", "raj@example.com")), page.getContent());
+        customerService.getCustomersByName("vimal", page.getNextCursor(), 1, fields);
+        verify(nameSearchIndex).search("vimal", new NameMatch(NameMatch.PREFIX, "vimal raj", otherId), 2);
+    }
+
+    @Test
+    void testStreamCustomers_DetachesEachRow() {
+        when(customerRepository.streamAllByOrderByIdAsc()).thenReturn(Stream.of(customer));
+        List<CustomerResponse> streamed = new ArrayList<>();
+
+        customerService.streamCustomers(null, streamed::add);
+
+        assertEquals(1, streamed.size());
+        assertEquals(customerId, streamed.get(0).getId());
+        verify(entityManager).detach(customer);
+    }
+
+    @Test
+    void testStreamCustomers_ByNameFollowsSearchOrder() {
+        NameMatch match = new NameMatch(NameMatch.CONTAINS, "vimalkumar", customerId);
+        when(nameSearchIndex.search("kum", null, CustomerConstants.STREAM_FETCH_SIZE)).thenReturn(List.of(match));
+        when(customerRepository.findAllById(List.of(customerId))).thenReturn(List.of(customer));
+        List<CustomerResponse> streamed = new ArrayList<>();
+
+        customerService.streamCustomers("  KUM ", streamed::add);
+
+        assertEquals(List.of(customerId), streamed.stream().map(CustomerResponse::getId).toList());
+        verify(nameSearchIndex).search("kum", match, CustomerConstants.STREAM_FETCH_SIZE);
+        verify(entityManager).detach(customer);
+    }
+
+    @Test
+    void testStreamCustomers_ShortNameUsesIndexedPrefix() {
+        when(customerRepository.findByNameNormalizedStartingWithOrderByNameNormalizedAscIdAsc("vi", Limit.of(CustomerConstants.STREAM_FETCH_SIZE)))
+                .thenReturn(List.of(customer));
+        List<CustomerResponse> streamed = new ArrayList<>();
+
+        customerService.streamCustomers("Vi", streamed::add);
+
+        assertEquals(1, streamed.size());
+        verify(customerRepository).findByNamePrefixAfter("vi", "vimalkumar", customerId, Limit.of(CustomerConstants.STREAM_FETCH_SIZE));
+    }
+
+    @Test
+    void testStreamCustomersByTier() {
+        when(customerRepository.streamByTierOrderByIdAsc(CustomerConstants.GOLD)).thenReturn(Stream.of(customer));
+        List<CustomerResponse> streamed = new ArrayList<>();
+
+        customerService.streamCustomersByTier("gold", streamed::add);
+
+        assertEquals(List.of(customerId), streamed.stream().map(CustomerResponse::getId).toList());
+        verify(entityManager).detach(customer);
+    }
+
+    @Test
+    void testStreamCustomersByEmail_NoMatchStreamsNothing() {
+        when(customerRepository.findByEmail("notfound@example.com")).thenReturn(Optional.empty());
+        List<CustomerResponse> streamed = new ArrayList<>();
+
+        customerService.streamCustomersByEmail("notfound@example.com", streamed::add);
+
+        assertTrue(streamed.isEmpty());
     }
 
     @Test
@@ -116,36 +502,292 @@ public class CustomerServiceImplTest {
 
     @Test
     void testUpdateCustomer_Success() {
-        when(customerRepository.findById(customerId)).thenReturn(Optional.of(customer));
-        when(customerRepository.save(any(Customer.class))).thenReturn(customer);
+        when(customerRepository.updateCustomer(any(Customer.class), any())).thenReturn(Optional.of(5L));
 
         CustomerResponse response = customerService.updateCustomer(customerId, request);
 
+        assertEquals(customerId, response.getId());
         assertEquals("vimalkumar", response.getName());
+        assertEquals(5L, response.getVersion());
+        verify(customerRepository).updateCustomer(argThat(updated ->
+                customerId.equals(updated.getId()) && "vimalkumar".equals(updated.getNameNormalized())), isNull());
+        verify(customerRepository, never()).findById(any());
+        verify(eventPublisher).publishEvent(argThat((CustomerChangedEvent event) ->
+                event.getType() == CustomerChangedEvent.Type.UPDATED && customerId.equals(event.getId())));
     }
 
     @Test
     void testUpdateCustomer_NotFound() {
-        when(customerRepository.findById(customerId)).thenReturn(Optional.empty());
+        when(customerRepository.updateCustomer(any(Customer.class), any())).thenReturn(Optional.empty());
 
         assertThrows(ResourceNotFoundException.class, () ->
                 customerService.updateCustomer(customerId, request));
+        verify(eventPublisher, never()).publishEvent(any());
     }
 
     @Test
-    void testDeleteCustomer_Success() {
+    void testUpdateCustomer_MatchingVersion() {
+        when(customerRepository.updateCustomer(any(Customer.class), eq(3L))).thenReturn(Optional.of(4L));
+
+        CustomerResponse response = customerService.updateCustomer(customerId, request, 3L);
+
+        assertEquals(4L, response.getVersion());
+        verify(customerRepository, never()).existsById(any());
+    }
+
+    @Test
+    void testUpdateCustomer_StaleVersion() {
+        when(customerRepository.updateCustomer(any(Customer.class), eq(3L))).thenReturn(Optional.empty());
         when(customerRepository.existsById(customerId)).thenReturn(true);
 
+        assertThrows(PreconditionFailedException.class, () ->
+                customerService.updateCustomer(customerId, request, 3L));
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void testUpdateCustomer_VersionOfMissingCustomer() {
+        when(customerRepository.updateCustomer(any(Customer.class), eq(3L))).thenReturn(Optional.empty());
+        when(customerRepository.existsById(customerId)).thenReturn(false);
+
+        assertThrows(ResourceNotFoundException.class, () ->
+                customerService.updateCustomer(customerId, request, 3L));
+    }
+
+    @Test
+    void testDeleteCustomer_Success() {
+        when(customerRepository.deleteCustomerById(customerId, null)).thenReturn(1);
+
         assertDoesNotThrow(() -> customerService.deleteCustomer(customerId));
 
-        verify(customerRepository).deleteById(customerId);
+        verify(customerRepository, never()).existsById(any());
+        verify(eventPublisher).publishEvent(argThat((CustomerChangedEvent event) ->
+                event.getType() == CustomerChangedEvent.Type.DELETED && customerId.equals(event.getId())));
     }
 
     @Test
     void testDeleteCustomer_NotFound() {
-        when(customerRepository.existsById(customerId)).thenReturn(false);
+        when(customerRepository.deleteCustomerById(customerId, null)).thenReturn(0);
 
         assertThrows(ResourceNotFoundException.class, () ->
                 customerService.deleteCustomer(customerId));
+        verify(customerRepository, never()).existsById(any());
+    }
+
+    @Test
+    void testDeleteCustomer_StaleVersion() {
+        when(customerRepository.deleteCustomerById(customerId, 2L)).thenReturn(0);
+        when(customerRepository.existsById(customerId)).thenReturn(true);
+
+        assertThrows(PreconditionFailedException.class, () ->
+                customerService.deleteCustomer(customerId, 2L));
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void testPatchCustomer_WritesChangedFields() throws Exception {
+        customer.setVersion(1L);
+        when(customerRepository.findById(customerId)).thenReturn(Optional.of(customer));
+        when(customerRepository.updateColumns(eq(customerId), any(), eq(1L))).thenReturn(1);
+
+        CustomerResponse response = customerService.patchCustomer(customerId,
+                patch("{\"lastPurchaseDate\":\"2025-04-15T14:30:00\"}"), 1L);
+
+        assertEquals(LocalDateTime.of(2025, 4, 15, 14, 30), response.getLastPurchaseDate());
+        assertEquals("vimalkumar@gmail.com", response.getEmail());
+        assertEquals(2L, response.getVersion());
+        verify(customerRepository).updateColumns(eq(customerId), argThat(changes ->
+                LocalDateTime.of(2025, 4, 15, 14, 30).equals(changes.get("lastPurchaseDate"))
+                        && !changes.containsKey("email") && !changes.containsKey("name") && !changes.containsKey("annualSpend")), eq(1L));
+        verify(eventPublisher).publishEvent(argThat((CustomerChangedEvent event) ->
+                event.getType() == CustomerChangedEvent.Type.UPDATED && customerId.equals(event.getId())));
+    }
+
+    @Test
+    void testPatchCustomer_NoChangeSkipsEvent() throws Exception {
+        customer.setVersion(1L);
+        customer.setTier(tierEngine.now().tierOf(customer.getAnnualSpend(), customer.getLastPurchaseDate()));
+        when(customerRepository.findById(customerId)).thenReturn(Optional.of(customer));
+
+        CustomerResponse response = customerService.patchCustomer(customerId, patch("{\"name\":\"vimalkumar\"}"), null);
+
+        assertEquals(1L, response.getVersion());
+        verify(customerRepository, never()).updateColumns(any(), any(), anyLong());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void testPatchCustomer_NullClearsOptionalField() throws Exception {
+        customer.setVersion(1L);
+        when(customerRepository.findById(customerId)).thenReturn(Optional.of(customer));
+        when(customerRepository.updateColumns(eq(customerId), any(), eq(1L))).thenReturn(1);
+
+        CustomerResponse response = customerService.patchCustomer(customerId, patch("{\"lastPurchaseDate\":null}"), null);
+
+        assertNull(response.getLastPurchaseDate());
+        assertEquals(CustomerConstants.SILVER, response.getTier());
+    }
+
+    @Test
+    void testPatchCustomer_RejectsInvalidResult() throws Exception {
+        when(customerRepository.findById(customerId)).thenReturn(Optional.of(customer));
+
+        BadRequestException ex = assertThrows(BadRequestException.class, () ->
+                customerService.patchCustomer(customerId, patch("{\"name\":null}"), null));
+
+        assertEquals("name: " + CustomerConstants.NAME_REQUIRED, ex.getMessage());
+        verify(customerRepository, never()).updateColumns(any(), any(), anyLong());
+    }
+
+    @Test
+    void testPatchCustomer_RejectsUnknownField() throws Exception {
+        when(customerRepository.findById(customerId)).thenReturn(Optional.of(customer));
+
+        assertThrows(BadRequestException.class, () ->
+                customerService.patchCustomer(customerId, patch("{\"tier\":\"Platinum\"}"), null));
+    }
+
+    @Test
+    void testPatchCustomer_StaleIfMatch() throws Exception {
+        customer.setVersion(2L);
+        when(customerRepository.findById(customerId)).thenReturn(Optional.of(customer));
+
+        assertThrows(PreconditionFailedException.class, () ->
+                customerService.patchCustomer(customerId, patch("{\"name\":\"other\"}"), 1L));
+        verify(customerRepository, never()).updateColumns(any(), any(), anyLong());
+    }
+
+    @Test
+    void testPatchCustomer_ConcurrentWriteUnderIfMatch() throws Exception {
+        customer.setVersion(1L);
+        when(customerRepository.findById(customerId)).thenReturn(Optional.of(customer));
+        when(customerRepository.updateColumns(eq(customerId), any(), eq(1L))).thenReturn(0);
+
+        assertThrows(PreconditionFailedException.class, () ->
+                customerService.patchCustomer(customerId, patch("{\"name\":\"other\"}"), 1L));
+        assertThrows(OptimisticLockingFailureException.class, () ->
+                customerService.patchCustomer(customerId, patch("{\"name\":\"other\"}"), null));
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void testRecordPurchase_SingleStatementOnCacheHit() {
+        customer.setVersion(3L);
+        customer.setAnnualSpend(new BigDecimal("100"));
+        doReturn(Optional.of(customer)).when(customerCache).getById(eq(customerId), any());
+        when(customerRepository.recordPurchase(eq(customerId), any(), any(), any(), eq(3L))).thenReturn(1);
+
+        CustomerResponse response = customerService.recordPurchase(customerId, purchase("50"));
+
+        assertEquals(new BigDecimal("150"), response.getAnnualSpend());
+        assertEquals(4L, response.getVersion());
+        verify(customerRepository, never()).findById(any());
+        verify(eventPublisher).publishEvent(argThat((CustomerChangedEvent event) ->
+                event.getType() == CustomerChangedEvent.Type.UPDATED && event.getCustomer().getVersion() == 4L));
+    }
+
+    @Test
+    void testRecordPurchase_RetriesAfterStaleCacheEntry() {
+        Customer fresh = new Customer();
+        fresh.setId(customerId);
+        fresh.setAnnualSpend(new BigDecimal("200"));
+        fresh.setVersion(5L);
+        customer.setVersion(3L);
+        doReturn(Optional.of(customer), Optional.of(fresh)).when(customerCache).getById(eq(customerId), any());
+        when(customerRepository.recordPurchase(eq(customerId), any(), any(), any(), eq(3L))).thenReturn(0);
+        when(customerRepository.recordPurchase(eq(customerId), any(), any(), any(), eq(5L))).thenReturn(1);
+
+        CustomerResponse response = customerService.recordPurchase(customerId, purchase("50"));
+
+        assertEquals(new BigDecimal("250"), response.getAnnualSpend());
+        verify(customerCache).evict(customerId);
+    }
+
+    @Test
+    void testRecordPurchase_GivesUpUnderContention() {
+        customer.setVersion(3L);
+        doReturn(Optional.of(customer)).when(customerCache).getById(eq(customerId), any());
+        when(customerRepository.recordPurchase(any(), any(), any(), any(), any())).thenReturn(0);
+
+        assertThrows(OptimisticLockingFailureException.class, () ->
+                customerService.recordPurchase(customerId, purchase("50")));
+        verify(customerRepository, times(CustomerConstants.PURCHASE_MAX_ATTEMPTS))
+                .recordPurchase(any(), any(), any(), any(), any());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void testRecordPurchase_NotFound() {
+        when(customerRepository.findById(customerId)).thenReturn(Optional.empty());
+
+        assertThrows(ResourceNotFoundException.class, () ->
+                customerService.recordPurchase(customerId, purchase("50")));
+    }
+
+    @Test
+    void testLookupCustomers_KeepsRequestOrderAndReportsMissing() {
+        Customer other = new Customer();
+        other.setId(UUID.randomUUID());
+        other.setName("Other");
+        other.setEmail("other@gmail.com");
+        UUID unknown = UUID.randomUUID();
+        when(customerRepository.findAllById(any())).thenReturn(List.of(customer, other));
+        when(customerRepository.findByEmailIn(any())).thenReturn(List.of(customer));
+
+        CustomerLookupResponse response = customerService.lookupCustomers(lookup(
+                List.of(other.getId(), unknown, customerId, other.getId()),
+                List.of("nobody@gmail.com", "vimalkumar@gmail.com")));
+
+        assertEquals(List.of(other.getId(), customerId), response.getFound().stream().map(CustomerResponse::getId).toList());
+        assertEquals(List.of(unknown), response.getMissingIds());
+        assertEquals(List.of("nobody@gmail.com"), response.getMissingEmails());
+        verify(customerRepository).findAllById(List.of(other.getId(), unknown, customerId));
+    }
+
+    @Test
+    void testLookupCustomers_QueriesInChunks() {
+        lookupProperties.setChunkSize(2);
+        List<UUID> ids = Stream.generate(UUID::randomUUID).limit(5).toList();
+        when(customerRepository.findAllById(any())).thenReturn(List.of());
+
+        CustomerLookupResponse response = customerService.lookupCustomers(lookup(ids, null));
+
+        assertEquals(ids, response.getMissingIds());
+        verify(customerRepository, times(3)).findAllById(any());
+        verify(customerRepository, never()).findByEmailIn(any());
+    }
+
+    @Test
+    void testLookupCustomers_TooManyKeys() {
+        lookupProperties.setMaxKeys(2);
+
+        assertThrows(BadRequestException.class, () -> customerService.lookupCustomers(
+                lookup(List.of(UUID.randomUUID(), UUID.randomUUID()), List.of("a@gmail.com"))));
+        verifyNoInteractions(customerRepository);
+    }
+
+    @Test
+    void testLookupCustomers_NullKey() {
+        List<String> emails = new ArrayList<>();
+        emails.add(null);
+
+        assertThrows(BadRequestException.class, () -> customerService.lookupCustomers(lookup(null, emails)));
+    }
+
+    private static CustomerLookupRequest lookup(List<UUID> ids, List<String> emails) {
+        CustomerLookupRequest request = new CustomerLookupRequest();
+        request.setIds(ids);
+        request.setEmails(emails);
+        return request;
+    }
+
+    private JsonNode patch(String json) throws Exception {
+        return objectMapper.readTree(json);
+    }
+
+    private static PurchaseRequest purchase(String amount) {
+        PurchaseRequest purchase = new PurchaseRequest();
+        purchase.setAmount(new BigDecimal(amount));
+        return purchase;
     }
 }
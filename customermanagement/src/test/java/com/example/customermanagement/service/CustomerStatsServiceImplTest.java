@@ -0,0 +1,126 @@
+package com.example.customermanagement.service;
+
+import com.example.customermanagement.config.CustomerStatsProperties;
+import com.example.customermanagement.config.CustomerTierProperties;
+import com.example.customermanagement.constants.CustomerConstants;
+import com.example.customermanagement.dto.CustomerStatsResponse;
+import com.example.customermanagement.metrics.CustomerMetrics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class CustomerStatsServiceImplTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private CustomerStatsServiceImpl customerStatsService;
+    private CustomerStatsProperties statsProperties;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        CustomerTierProperties tierProperties = new CustomerTierProperties();
+        statsProperties = new CustomerStatsProperties();
+        statsProperties.setSpendBuckets(List.of(new BigDecimal("1000"), new BigDecimal("100")));
+        customerStatsService = new CustomerStatsServiceImpl();
+        customerStatsService.jdbcTemplate = jdbcTemplate;
+        customerStatsService.tierEngine = TierEngineTest.tierEngine(tierProperties);
+        customerStatsService.tierProperties = tierProperties;
+        customerStatsService.statsProperties = statsProperties;
+        customerStatsService.customerMetrics = CustomerMetrics.NOOP;
+        customerStatsService.init();
+    }
+
+    private void returnRows(Object[]... rows) {
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            for (Object[] row : rows) {
+                ResultSet rs = mock(ResultSet.class);
+                when(rs.getString(1)).thenReturn((String) row[0]);
+                when(rs.getInt(2)).thenReturn((Integer) row[1]);
+                when(rs.getLong(3)).thenReturn((Long) row[2]);
+                when(rs.getLong(4)).thenReturn((Long) row[3]);
+                when(rs.getBigDecimal(5)).thenReturn((BigDecimal) row[4]);
+                when(rs.getBigDecimal(6)).thenReturn((BigDecimal) row[5]);
+                when(rs.getBigDecimal(7)).thenReturn((BigDecimal) row[6]);
+                handler.processRow(rs);
+            }
+            return null;
+        }).when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class), any(Object[].class));
+    }
+
+    @Test
+    void testAggregatesRowsPerTierAndBucket() {
+        returnRows(
+                new Object[]{CustomerConstants.SILVER, -1, 2L, 0L, null, null, null},
+                new Object[]{CustomerConstants.SILVER, 0, 3L, 3L, new BigDecimal("60.00"), new BigDecimal("10.00"), new BigDecimal("30.00")},
+                new Object[]{CustomerConstants.SILVER, 2, 1L, 1L, new BigDecimal("20000.00"), new BigDecimal("20000.00"), new BigDecimal("20000.00")},
+                new Object[]{CustomerConstants.GOLD, 2, 2L, 2L, new BigDecimal("3000.00"), new BigDecimal("1000.00"), new BigDecimal("2000.00")});
+
+        CustomerStatsResponse stats = customerStatsService.getStats();
+
+        assertEquals(8, stats.getCustomers());
+        assertEquals(new BigDecimal("23060.00"), stats.getTotalSpend());
+        assertEquals(new BigDecimal("3843.33"), stats.getAverageSpend());
+        assertEquals(List.of(
+                new CustomerStatsResponse.TierStats(CustomerConstants.SILVER, 6, new BigDecimal("20060.00"),
+                        new BigDecimal("5015.00"), new BigDecimal("10.00"), new BigDecimal("20000.00")),
+                new CustomerStatsResponse.TierStats(CustomerConstants.GOLD, 2, new BigDecimal("3000.00"),
+                        new BigDecimal("1500.00"), new BigDecimal("1000.00"), new BigDecimal("2000.00")),
+                new CustomerStatsResponse.TierStats(CustomerConstants.PLATINUM, 0, BigDecimal.ZERO, null, null, null)),
+                stats.getTiers());
+        assertEquals(List.of(
+                new CustomerStatsResponse.SpendBucket(null, new BigDecimal("100"), 3),
+                new CustomerStatsResponse.SpendBucket(new BigDecimal("100"), new BigDecimal("1000"), 0),
+                new CustomerStatsResponse.SpendBucket(new BigDecimal("1000"), null, 3)),
+                stats.getSpendHistogram());
+    }
+
+    @Test
+    void testBindsEngineCutoffsAndSortedBuckets() {
+        returnRows();
+
+        CustomerStatsResponse stats = customerStatsService.getStats();
+
+        TierEngine.Evaluator tiers = customerStatsService.tierEngine.at(stats.getComputedAt());
+        verify(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class), eq(new BigDecimal("10000")),
+                eq(Timestamp.valueOf(tiers.windowStart(6))), eq(new BigDecimal("1000")),
+                eq(Timestamp.valueOf(tiers.windowStart(12))), eq(new BigDecimal("100")), eq(new BigDecimal("1000")));
+        assertEquals(0, stats.getCustomers());
+        assertNull(stats.getAverageSpend());
+    }
+
+    @Test
+    void testReusesResultWithinTtl() {
+        returnRows();
+
+        CustomerStatsResponse first = customerStatsService.getStats();
+        assertSame(first, customerStatsService.getStats());
+        verify(jdbcTemplate, times(1)).query(anyString(), any(RowCallbackHandler.class), any(Object[].class));
+    }
+
+    @Test
+    void testRecomputesOnceExpired() {
+        statsProperties.setTtl(Duration.ZERO);
+        returnRows();
+
+        CustomerStatsResponse first = customerStatsService.getStats();
+        assertNotSame(first, customerStatsService.getStats());
+        verify(jdbcTemplate, times(2)).query(anyString(), any(RowCallbackHandler.class), any(Object[].class));
+    }
+}
@@ -0,0 +1,311 @@
+package com.example.customermanagement.service;
+
+import com.example.customermanagement.cache.CustomerCache;
+import com.example.customermanagement.cache.EmailFilter;
+import com.example.customermanagement.constants.CustomerConstants;
+import com.example.customermanagement.dto.CustomerPageResponse;
+import com.example.customermanagement.dto.CustomerRequest;
+import com.example.customermanagement.dto.CustomerResponse;
+import com.example.customermanagement.dto.PurchaseRequest;
+import com.example.customermanagement.event.CustomerChangedEvent;
+import com.example.customermanagement.exception.BadRequestException;
+import com.example.customermanagement.exception.DuplicateEmailException;
+import com.example.customermanagement.exception.PreconditionFailedException;
+import com.example.customermanagement.exception.ResourceNotFoundException;
+import com.example.customermanagement.metrics.CustomerMetrics;
+import com.example.customermanagement.metrics.MicrometerCustomerMetricsTest;
+import com.example.customermanagement.model.Customer;
+import com.example.customermanagement.repository.ReactiveCustomerRepository;
+import com.example.customermanagement.search.NameMatch;
+import com.example.customermanagement.search.NameSearchIndex;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(SpringExtension.class)
+public class ReactiveCustomerServiceImplTest {
+
+    @InjectMocks
+    private ReactiveCustomerServiceImpl customerService;
+
+    @Mock
+    private ReactiveCustomerRepository customerRepository;
+
+    @Spy
+    private CustomerMapper customerMapper = CustomerMapperTest.customerMapper();
+
+    @Mock
+    private CustomerCache customerCache;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private EmailFilter emailFilter;
+
+    @Spy
+    private TierEngine tierEngine = customerMapper.tierEngine;
+
+    @Mock
+    private NameSearchIndex nameSearchIndex;
+
+    @Spy
+    private CustomerMetrics customerMetrics = MicrometerCustomerMetricsTest.customerMetrics(new SimpleMeterRegistry());
+
+    @Spy
+    private ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+
+    @Spy
+    private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    private Customer customer;
+    private CustomerRequest request;
+    private UUID customerId;
+
+    @BeforeEach
+    void setUp() {
+        customerId = UUID.randomUUID();
+        request = new CustomerRequest();
+        request.setName("vimalkumar");
+        request.setEmail("vimalkumar@gmail.com");
+        request.setAnnualSpend(BigDecimal.valueOf(1000.70));
+        request.setLastPurchaseDate(LocalDateTime.now());
+        customer = new Customer();
+        customer.setId(customerId);
+        customer.setName("vimalkumar");
+        customer.setEmail("vimalkumar@gmail.com");
+        customer.setAnnualSpend(BigDecimal.valueOf(1000.70));
+        customer.setLastPurchaseDate(LocalDateTime.now());
+        customer.setTier(CustomerConstants.GOLD);
+        customer.setVersion(1L);
+    }
+
+    @Test
+    void testCreateCustomer() {
+        when(customerRepository.insert(any())).thenReturn(Mono.just(1L));
+
+        CustomerResponse response = customerService.createCustomer(request).block();
+
+        assertEquals(request.getEmail(), response.getEmail());
+        assertEquals(0L, response.getVersion());
+        verify(customerRepository).insert(argThat(saved -> CustomerConstants.GOLD.equals(saved.getTier()) && saved.getId() != null));
+        verify(eventPublisher).publishEvent(argThat((CustomerChangedEvent event) ->
+                event.getType() == CustomerChangedEvent.Type.CREATED));
+    }
+
+    @Test
+    void testCreateCustomer_DuplicateEmailRejectedBeforeInsert() {
+        when(emailFilter.needsDuplicateCheck(request.getEmail())).thenReturn(true);
+        when(customerRepository.existsByEmail(request.getEmail())).thenReturn(Mono.just(true));
+
+        assertThrows(DuplicateEmailException.class, () -> customerService.createCustomer(request).block());
+        verify(customerRepository, never()).insert(any());
+    }
+
+    @Test
+    void testNothingRunsUntilSubscribed() {
+        Mono<CustomerResponse> pending = customerService.getCustomerById(customerId);
+
+        verifyNoInteractions(customerCache, customerRepository);
+        assertNotNull(pending);
+    }
+
+    @Test
+    void testGetCustomerById_LoadsAndCachesOnMiss() {
+        when(customerCache.peekById(customerId)).thenReturn(Optional.empty());
+        when(customerRepository.findById(customerId)).thenReturn(Mono.just(customer));
+
+        CustomerResponse response = customerService.getCustomerById(customerId).block();
+
+        assertEquals(CustomerConstants.GOLD, response.getTier());
+        verify(customerCache).put(customer);
+    }
+
+    @Test
+    void testGetCustomerById_CacheHitSkipsQuery() {
+        when(customerCache.peekById(customerId)).thenReturn(Optional.of(customer));
+
+        assertEquals("vimalkumar", customerService.getCustomerById(customerId).block().getName());
+        verify(customerRepository, never()).findById(any());
+    }
+
+    @Test
+    void testGetCustomerById_NotFound() {
+        when(customerCache.peekById(customerId)).thenReturn(Optional.empty());
+        when(customerRepository.findById(customerId)).thenReturn(Mono.empty());
+
+        ResourceNotFoundException ex = assertThrows(ResourceNotFoundException.class, () ->
+                customerService.getCustomerById(customerId).block());
+        assertTrue(ex.getMessage().contains(customerId.toString()));
+    }
+
+    @Test
+    void testGetCustomersByName_KeepsIndexOrder() {
+        Customer other = new Customer();
+        other.setId(UUID.randomUUID());
+        other.setName("Vimal Raj");
+        when(nameSearchIndex.search("vimal", null, 11)).thenReturn(List.of(
+                new NameMatch(NameMatch.PREFIX, "vimal raj", other.getId()),
+                new NameMatch(NameMatch.PREFIX, "vimalkumar", customerId)));
+        when(customerRepository.findAllById(any())).thenReturn(Flux.just(customer, other));
+
+        CustomerPageResponse page = customerService.getCustomersPageByName("Vimal", null, 10).block();
+
+        assertEquals(List.of("Vimal Raj", "vimalkumar"), page.getContent().stream().map(CustomerResponse::getName).toList());
+    }
+
+    @Test
+    void testGetCustomersByName_EmitsPrefixMatchesAsTheyArrive() {
+        when(customerRepository.findByNamePrefix("vi", null, 10)).thenReturn(Flux.just(customer));
+
+        List<CustomerResponse> found = customerService.getCustomersByName("Vi", null, 10).collectList().block();
+
+        assertEquals(List.of("vimalkumar"), found.stream().map(CustomerResponse::getName).toList());
+    }
+
+    @Test
+    void testGetCustomersByName_NoMatches() {
+        when(customerRepository.findByNamePrefix("vi", null, 10)).thenReturn(Flux.empty());
+        when(customerRepository.findByNamePrefix("vi", null, 11)).thenReturn(Flux.empty());
+
+        assertThrows(ResourceNotFoundException.class, () -> customerService.getCustomersByName("Vi", null, 10).blockLast());
+        assertThrows(ResourceNotFoundException.class, () -> customerService.getCustomersPageByName("Vi", null, 10).block());
+    }
+
+    @Test
+    void testStreamCustomersEmitsEachRow() {
+        when(customerRepository.streamAll()).thenReturn(Flux.just(customer, customer));
+
+        assertEquals(2, customerService.streamCustomers(null).collectList().block().size());
+    }
+
+    @Test
+    void testStreamCustomersByNamePagesThroughPrefixMatches() {
+        int fetch = CustomerConstants.STREAM_FETCH_SIZE;
+        when(customerRepository.findByNamePrefix("vi", null, fetch)).thenReturn(Flux.just(customer));
+        when(customerRepository.findByNamePrefix("vi", new NameMatch(NameMatch.PREFIX, "vimalkumar", customerId), fetch))
+                .thenReturn(Flux.empty());
+
+        assertEquals(1, customerService.streamCustomers("Vi").collectList().block().size());
+    }
+
+    @Test
+    void testStreamCustomersByTierNormalizesTier() {
+        when(customerRepository.streamByTier("Gold")).thenReturn(Flux.just(customer));
+
+        assertEquals(1, customerService.streamCustomersByTier("gold").collectList().block().size());
+        assertThrows(BadRequestException.class, () -> customerService.streamCustomersByTier("Bronze").blockLast());
+    }
+
+    @Test
+    void testUpdateCustomer_VersionMismatch() {
+        when(customerRepository.update(any(), eq(1L))).thenReturn(Mono.empty());
+        when(customerRepository.existsById(customerId)).thenReturn(Mono.just(true));
+
+        assertThrows(PreconditionFailedException.class, () ->
+                customerService.updateCustomer(customerId, request, 1L).block());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void testUpdateCustomer_Success() {
+        when(customerRepository.update(any(), eq(1L))).thenReturn(Mono.just(2L));
+
+        CustomerResponse response = customerService.updateCustomer(customerId, request, 1L).block();
+
+        assertEquals(2L, response.getVersion());
+        verify(eventPublisher).publishEvent(any(CustomerChangedEvent.class));
+    }
+
+    @Test
+    void testUpdateCustomer_WithoutPreconditionReturnsStoredVersion() {
+        when(customerRepository.update(any(), isNull())).thenReturn(Mono.just(7L));
+
+        CustomerResponse response = customerService.updateCustomer(customerId, request, null).block();
+
+        assertEquals(7L, response.getVersion());
+    }
+
+    @Test
+    void testPatchCustomer_UnchangedSkipsWrite() throws Exception {
+        when(customerRepository.findById(customerId)).thenReturn(Mono.just(customer));
+
+        CustomerResponse response = customerService.patchCustomer(customerId,
+                objectMapper.readTree("{\"name\":\"vimalkumar\"}"), null).block();
+
+        assertEquals(1L, response.getVersion());
+        verify(customerRepository, never()).update(any(), any());
+    }
+
+    @Test
+    void testPatchCustomer_WritesConditionallyOnVersionRead() throws Exception {
+        when(customerRepository.findById(customerId)).thenReturn(Mono.just(customer));
+        when(customerRepository.update(any(), eq(1L))).thenReturn(Mono.empty());
+
+        assertThrows(OptimisticLockingFailureException.class, () -> customerService.patchCustomer(customerId,
+                objectMapper.readTree("{\"name\":\"other\"}"), null).block());
+    }
+
+    @Test
+    void testRecordPurchase_RetriesAfterStaleCacheEntry() {
+        Customer fresh = new Customer();
+        fresh.setId(customerId);
+        fresh.setAnnualSpend(new BigDecimal("200"));
+        fresh.setVersion(5L);
+        customer.setVersion(3L);
+        when(customerCache.peekById(customerId)).thenReturn(Optional.of(customer), Optional.of(fresh));
+        when(customerRepository.recordPurchase(eq(customerId), any(), any(), any(), eq(3L))).thenReturn(Mono.just(0L));
+        when(customerRepository.recordPurchase(eq(customerId), any(), any(), any(), eq(5L))).thenReturn(Mono.just(1L));
+
+        CustomerResponse response = customerService.recordPurchase(customerId, purchase("50")).block();
+
+        assertEquals(new BigDecimal("250"), response.getAnnualSpend());
+        verify(customerCache).evict(customerId);
+    }
+
+    @Test
+    void testRecordPurchase_GivesUpUnderContention() {
+        when(customerCache.peekById(customerId)).thenReturn(Optional.of(customer));
+        when(customerRepository.recordPurchase(any(), any(), any(), any(), any())).thenReturn(Mono.just(0L));
+
+        assertThrows(OptimisticLockingFailureException.class, () ->
+                customerService.recordPurchase(customerId, purchase("50")).block());
+        verify(customerRepository, times(CustomerConstants.PURCHASE_MAX_ATTEMPTS))
+                .recordPurchase(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void testDeleteCustomer_NotFound() {
+        when(customerRepository.deleteById(customerId, null)).thenReturn(Mono.just(0L));
+
+        assertThrows(ResourceNotFoundException.class, () -> customerService.deleteCustomer(customerId, null).block());
+    }
+
+    private static PurchaseRequest purchase(String amount) {
+        PurchaseRequest purchase = new PurchaseRequest();
+        purchase.setAmount(new BigDecimal(amount));
+        return purchase;
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.customermanagement.service;
+
+import com.example.customermanagement.config.CustomerTierProperties;
+import com.example.customermanagement.constants.CustomerConstants;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class TierEngineTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 3, 31, 10, 15);
+
+    private final TierEngine tierEngine = tierEngine(new CustomerTierProperties());
+
+    static TierEngine tierEngine(CustomerTierProperties properties) {
+        TierEngine tierEngine = new TierEngine();
+        tierEngine.tierProperties = properties;
+        tierEngine.init();
+        return tierEngine;
+    }
+
+    @Test
+    void testTierRules() {
+        TierEngine.Evaluator tiers = tierEngine.at(NOW);
+
+        assertEquals(CustomerConstants.SILVER, tiers.tierOf(null, NOW));
+        assertEquals(CustomerConstants.PLATINUM, tiers.tierOf(new BigDecimal("10000.00"), NOW.minusMonths(6)));
+        assertEquals(CustomerConstants.GOLD, tiers.tierOf(new BigDecimal("10000"), NOW.minusMonths(7)));
+        assertEquals(CustomerConstants.GOLD, tiers.tierOf(new BigDecimal("9999.99"), NOW));
+        assertEquals(CustomerConstants.SILVER, tiers.tierOf(new BigDecimal("1000"), NOW.minusMonths(13)));
+        assertEquals(CustomerConstants.SILVER, tiers.tierOf(new BigDecimal("999.99"), NOW));
+        assertEquals(CustomerConstants.SILVER, tiers.tierOf(new BigDecimal("50000"), null));
+    }
+
+    @Test
+    void testConfigurableThresholds() {
+        CustomerTierProperties properties = new CustomerTierProperties();
+        properties.setGoldMinSpend(new BigDecimal("500.50"));
+        properties.setGoldWindowMonths(3);
+        TierEngine.Evaluator tiers = tierEngine(properties).at(NOW);
+
+        assertEquals(CustomerConstants.GOLD, tiers.tierOf(new BigDecimal("500.50"), NOW.minusMonths(3)));
+        assertEquals(CustomerConstants.SILVER, tiers.tierOf(new BigDecimal("500.49"), NOW));
+        assertEquals(CustomerConstants.SILVER, tiers.tierOf(new BigDecimal("600"), NOW.minusMonths(4)));
+    }
+
+    @Test
+    void testMonthsSinceMatchesChronoUnit() {
+        Random random = new Random(42);
+        LocalDateTime[] nows = {
+                NOW,
+                LocalDateTime.of(2024, 2, 29, 0, 0),
+                LocalDateTime.of(2024, 3, 1, 23, 59, 59, 999_999_999),
+                LocalDateTime.of(2025, 1, 1, 12, 0)
+        };
+        for (LocalDateTime now : nows) {
+            TierEngine.Evaluator tiers = tierEngine.at(now);
+            for (int i = 0; i < 20_000; i++) {
+                LocalDateTime last = now.minusSeconds(random.nextInt(60 * 60 * 24 * 800) - 60 * 60 * 24 * 30);
+                assertEquals(ChronoUnit.MONTHS.between(last, now), tiers.monthsSince(last), () -> last + " -> " + now);
+            }
+        }
+    }
+
+    @Test
+    void testWindowStartIsExactCutoff() {
+        LocalDateTime[] nows = {
+                NOW,
+                LocalDateTime.of(2024, 3, 31, 10, 15),
+                LocalDateTime.of(2024, 8, 31, 0, 0),
+                LocalDateTime.of(2025, 2, 28, 23, 59, 59, 999_999_999)
+        };
+        for (LocalDateTime now : nows) {
+            TierEngine.Evaluator tiers = tierEngine.at(now);
+            for (int window : new int[]{0, 1, 6, 12}) {
+                LocalDateTime start = tiers.windowStart(window);
+                assertEquals(window, tiers.monthsSince(start), () -> now + " window " + window);
+                assertEquals(window + 1, tiers.monthsSince(start.minusNanos(1)), () -> now + " window " + window);
+                assertEquals(window + 1, ChronoUnit.MONTHS.between(start.minusNanos(1), now));
+            }
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.customermanagement.service;
+
+import com.example.customermanagement.config.CustomerTierProperties;
+import com.example.customermanagement.constants.CustomerConstants;
+import com.example.customermanagement.model.Customer;
+import com.example.customermanagement.repository.CustomerRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(SpringExtension.class)
+public class TierRecomputeJobTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 6, 15, 12, 0);
+
+    @InjectMocks
+    private TierRecomputeJob tierRecomputeJob;
+
+    @Mock
+    private CustomerRepository customerRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Spy
+    private CustomerTierProperties tierProperties = new CustomerTierProperties();
+
+    @Spy
+    private TierEngine tierEngine = TierEngineTest.tierEngine(new CustomerTierProperties());
+
+    @BeforeEach
+    void setUp() {
+        tierProperties.setRecomputeChunkSize(2);
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    private Customer customer(String tier, String spend, LocalDateTime lastPurchaseDate) {
+        Customer customer = new Customer();
+        customer.setId(UUID.randomUUID());
+        customer.setTier(tier);
+        customer.setAnnualSpend(new BigDecimal(spend));
+        customer.setLastPurchaseDate(lastPurchaseDate);
+        return customer;
+    }
+
+    @Test
+    void testFirstRunSweepsAllRowsInChunks() {
+        Customer stale = customer(CustomerConstants.PLATINUM, "20000", NOW.minusMonths(8));
+        Customer current = customer(CustomerConstants.GOLD, "2000", NOW.minusMonths(1));
+        Customer untiered = customer(null, "50", NOW);
+        when(customerRepository.findAllByOrderByIdAsc(Limit.of(2))).thenReturn(List.of(stale, current));
+        when(customerRepository.findByIdGreaterThanOrderByIdAsc(current.getId(), Limit.of(2))).thenReturn(List.of(untiered));
+
+        int changed = tierRecomputeJob.recompute(NOW);
+
+        assertEquals(2, changed);
+        assertEquals(CustomerConstants.GOLD, stale.getTier());
+        assertEquals(CustomerConstants.SILVER, untiered.getTier());
+        verify(eventPublisher, times(2)).publishEvent(any(Object.class));
+    }
+
+    @Test
+    void testLaterRunsOnlyScanCrossedWindows() {
+        when(customerRepository.findAllByOrderByIdAsc(any())).thenReturn(Collections.emptyList());
+        tierRecomputeJob.recompute(NOW.minusHours(1));
+        Customer aged = customer(CustomerConstants.PLATINUM, "20000", NOW.minusMonths(7).minusMinutes(30));
+        when(customerRepository.findPurchasedBetween(any(), any(), eq(Limit.of(2)))).thenReturn(Collections.emptyList());
+        when(customerRepository.findPurchasedBetween(
+                eq(NOW.minusHours(1).minusMonths(7).minusDays(1)), eq(NOW.minusMonths(7).plusDays(1)), eq(Limit.of(2))))
+                .thenReturn(List.of(aged));
+
+        int changed = tierRecomputeJob.recompute(NOW);
+
+        assertEquals(1, changed);
+        assertEquals(CustomerConstants.GOLD, aged.getTier());
+        verify(customerRepository, times(1)).findAllByOrderByIdAsc(any());
+        verify(customerRepository, times(2)).findPurchasedBetween(any(), any(), any());
+    }
+}